@@ -0,0 +1,38 @@
+package com.ecommerce.jmh;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Set;
+
+// Entry point of benchmarks.jar: the standard JMH command line, with two defaults turned on
+//  - the gc profiler, so every result comes with gc.alloc.rate.norm (bytes allocated per operation)
+//  - JSON results in jmh-result.json (override with -rf / -rff)
+// Listing and help options are passed straight to JMH's own main.
+public final class BenchmarkMain {
+    private static final Set<String> JMH_INFO_OPTIONS = Set.of("-h", "-l", "-lp", "-lrf", "-lprof");
+
+    private BenchmarkMain() {}
+
+    public static void main(String[] args) throws Exception {
+        for (String arg : args) {
+            if (JMH_INFO_OPTIONS.contains(arg)) {
+                org.openjdk.jmh.Main.main(args);
+                return;
+            }
+        }
+
+        CommandLineOptions cli = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+        boolean gcRequested = cli.getProfilers().stream()
+                .anyMatch(p -> p.getKlass().equals("gc") || p.getKlass().equals(GCProfiler.class.getName()));
+        if (!gcRequested) options.addProfiler(GCProfiler.class);
+        if (!cli.getResultFormat().hasValue()) options.resultFormat(ResultFormatType.JSON);
+        if (!cli.getResult().hasValue()) options.result("jmh-result.json");
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,58 @@
+package com.ecommerce.jmh;
+
+import com.ecommerce.product.FrozenBundle;
+import com.ecommerce.product.ProductBundle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Nested ProductBundle pricing: a tree of depth levels with fanout children each (fanout^depth
+// products). bundleGetPrice walks the tree on every call; frozenGetPrice reads the price the
+// FrozenBundle computed once; freeze is the cost of flattening and interning the tree.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BundleBenchmark {
+    @Param({"1", "2", "4"})
+    public int depth;
+
+    @Param({"4", "8"})
+    public int fanout;
+
+    private ProductBundle bundle;
+    private FrozenBundle frozen;
+
+    @Setup
+    public void setup() {
+        bundle = new CatalogData().bundle(depth, fanout);
+        frozen = bundle.freeze();
+    }
+
+    @Benchmark
+    public double bundleGetPrice() {
+        return bundle.getPrice();
+    }
+
+    @Benchmark
+    public double frozenGetPrice() {
+        return frozen.getPrice();
+    }
+
+    @Benchmark
+    public FrozenBundle freeze() {
+        return bundle.freeze();
+    }
+}
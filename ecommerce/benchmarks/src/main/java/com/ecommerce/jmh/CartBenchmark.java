@@ -0,0 +1,50 @@
+package com.ecommerce.jmh;
+
+import com.ecommerce.cart.Cart;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+// Cart.getTotal over carts of the given size, filled with CatalogData.cartItem lines
+// (plain products, decorated products and small bundles).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CartBenchmark {
+    @Param({"10", "1000", "100000"})
+    public int items;
+
+    private Cart cart;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        PrintStream stdout = CatalogData.silenceStdout();
+        try {
+            CatalogData data = new CatalogData();
+            cart = new Cart();
+            for (int i = 0; i < items; i++) cart.addProduct(data.cartItem());
+        } finally {
+            System.setOut(stdout);
+        }
+    }
+
+    @Benchmark
+    public double getTotal() {
+        return cart.getTotal();
+    }
+}
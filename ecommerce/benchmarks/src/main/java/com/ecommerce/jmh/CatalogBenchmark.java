@@ -0,0 +1,65 @@
+package com.ecommerce.jmh;
+
+import com.ecommerce.catalog.ProductCatalog;
+import com.ecommerce.product.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+// ProductCatalog.getProduct against catalog size, at seeded random 1-based indexes.
+// The catalog lives in the DatabaseConnection singleton; JMH runs every catalogSize in its own
+// fork, so each fork starts from an empty table. The table is copy-on-write, so filling it one
+// addProduct at a time is quadratic; 100,000 products is where setup starts taking seconds.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CatalogBenchmark {
+    private static final int LOOKUPS = 4096;
+
+    @Param({"100", "10000", "100000"})
+    public int catalogSize;
+
+    private ProductCatalog catalog;
+    private int[] indexes;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        PrintStream stdout = CatalogData.silenceStdout();
+        try {
+            CatalogData data = new CatalogData();
+            catalog = new ProductCatalog();
+            for (int i = 0; i < catalogSize; i++) catalog.addProduct(data.product());
+            indexes = new int[LOOKUPS];
+            for (int i = 0; i < LOOKUPS; i++) indexes[i] = data.index(catalogSize);
+        } finally {
+            System.setOut(stdout);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public Product getProduct(Cursor cursor) {
+        int index = indexes[cursor.next];
+        cursor.next = (cursor.next + 1) & (LOOKUPS - 1);
+        return catalog.getProduct(index);
+    }
+}
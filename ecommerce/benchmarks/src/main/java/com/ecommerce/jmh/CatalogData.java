@@ -0,0 +1,88 @@
+package com.ecommerce.jmh;
+
+import com.ecommerce.product.Product;
+import com.ecommerce.product.ProductBundle;
+import com.ecommerce.product.SingleProduct;
+import com.ecommerce.product.decorators.DiscountDecorator;
+import com.ecommerce.product.decorators.EngravingDecorator;
+import com.ecommerce.product.decorators.GiftWrapDecorator;
+import com.ecommerce.product.decorators.TaxDecorator;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.SplittableRandom;
+
+// Reproducible test data: every generator draws from a SplittableRandom with a fixed seed,
+// so the same parameters build the same products, prices and decorator orders on every run.
+final class CatalogData {
+    static final long SEED = 20240601L;
+
+    private static final String[] NAMES = {"Laptop", "Phone", "Headphones", "Monitor", "Keyboard", "Mouse", "Camera", "Watch"};
+    private static final PrintStream DISCARD = new PrintStream(OutputStream.nullOutputStream());
+
+    private final SplittableRandom random;
+
+    CatalogData() {
+        this(SEED);
+    }
+
+    CatalogData(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    // A plain product priced between 5 and 2000
+    SingleProduct product() {
+        String name = NAMES[random.nextInt(NAMES.length)] + " " + random.nextInt(1000);
+        double price = Math.round(random.nextDouble(5, 2000) * 100) / 100.0;
+        return new SingleProduct(name, price);
+    }
+
+    // A product wrapped in depth decorators; mixed picks each layer from all four decorator
+    // types (a megamorphic getPrice chain), otherwise every layer is a TaxDecorator
+    Product decorated(int depth, boolean mixed) {
+        Product product = product();
+        for (int i = 0; i < depth; i++) {
+            product = mixed ? randomDecorator(product) : new TaxDecorator(product, 18);
+        }
+        return product;
+    }
+
+    // A bundle tree: every level holds fanout children, leaves are plain products
+    ProductBundle bundle(int depth, int fanout) {
+        ProductBundle bundle = new ProductBundle("Bundle d" + depth);
+        for (int i = 0; i < fanout; i++) {
+            bundle.addProduct(depth <= 1 ? product() : bundle(depth - 1, fanout));
+        }
+        return bundle;
+    }
+
+    // A cart line as shoppers build them: mostly plain or lightly decorated items, some small bundles
+    Product cartItem() {
+        int kind = random.nextInt(10);
+        if (kind < 5) return product();
+        if (kind < 9) return decorated(1 + random.nextInt(3), true);
+        return bundle(1, 2 + random.nextInt(3));
+    }
+
+    // A valid 1-based catalog index
+    int index(int catalogSize) {
+        return 1 + random.nextInt(catalogSize);
+    }
+
+    private Product randomDecorator(Product product) {
+        return switch (random.nextInt(4)) {
+            case 0 -> new DiscountDecorator(product, 5 + random.nextInt(30));
+            case 1 -> new TaxDecorator(product, 18);
+            case 2 -> new GiftWrapDecorator(product);
+            default -> new EngravingDecorator(product, "For you");
+        };
+    }
+
+    // Cart, catalog, database and order service report every step on stdout; benchmarks run with
+    // stdout discarded so the numbers measure the code, not the terminal. Returns the old stream.
+    static PrintStream silenceStdout() {
+        PrintStream previous = System.out;
+        System.setOut(DISCARD);
+        return previous;
+    }
+}
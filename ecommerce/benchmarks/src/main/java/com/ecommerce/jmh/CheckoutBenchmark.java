@@ -0,0 +1,68 @@
+package com.ecommerce.jmh;
+
+import com.ecommerce.db.DatabaseConnection;
+import com.ecommerce.order.Order;
+import com.ecommerce.order.OrderService;
+import com.ecommerce.order.events.OrderEventLog;
+import com.ecommerce.order.observer.AdminObserver;
+import com.ecommerce.order.observer.OrderObserverRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+// Checkout as the CLI and the storefront do it: OrderService.placeOrder (PLACED goes to the
+// admin observer and the event log) followed by DatabaseConnection.saveOrder.
+// Stdout is discarded, so the println calls cost their string building but no terminal I/O.
+// Saved orders are never removed from the database, so the order table grows during the run
+// as it does in the application; the fork gets a fixed 2 GB heap to keep that from hitting
+// the default heap limit.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class CheckoutBenchmark {
+    private OrderService orderService;
+    private DatabaseConnection db;
+    private PrintStream stdout;
+    private long orderIds;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        stdout = CatalogData.silenceStdout();
+        OrderObserverRegistry registry = new OrderObserverRegistry();
+        registry.subscribe(new AdminObserver());
+        orderService = new OrderService(registry, new OrderEventLog(1 << 16));
+        db = DatabaseConnection.getInstance();
+    }
+
+    @TearDown(Level.Trial)
+    public void restoreStdout() {
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public Order placeOrder() {
+        return orderService.placeOrder("ORD-" + ++orderIds);
+    }
+
+    @Benchmark
+    public Order placeAndSaveOrder() {
+        Order order = orderService.placeOrder("ORD-" + ++orderIds);
+        db.saveOrder(order);
+        return order;
+    }
+}
@@ -0,0 +1,52 @@
+package com.ecommerce.jmh;
+
+import com.ecommerce.product.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// getPrice through a chain of depth decorators.
+// Cycles through CHAINS different chains so the result can't be cached; with mixed=true every
+// layer is one of four decorator types, which makes the chain's getPrice call sites megamorphic.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DecoratorChainBenchmark {
+    private static final int CHAINS = 256;
+
+    @Param({"1", "4", "16", "64"})
+    public int depth;
+
+    @Param({"false", "true"})
+    public boolean mixed;
+
+    private Product[] chains;
+    private int next;
+
+    @Setup
+    public void setup() {
+        CatalogData data = new CatalogData();
+        chains = new Product[CHAINS];
+        for (int i = 0; i < CHAINS; i++) chains[i] = data.decorated(depth, mixed);
+    }
+
+    @Benchmark
+    public double getPrice() {
+        Product product = chains[next];
+        next = (next + 1) & (CHAINS - 1);
+        return product.getPrice();
+    }
+}
@@ -3,6 +3,7 @@ package com.ecommerce;
 import com.ecommerce.cart.Cart;
 import com.ecommerce.catalog.ProductCatalog;
 import com.ecommerce.db.DatabaseConnection;
+import com.ecommerce.http.StorefrontServer;
 import com.ecommerce.order.Order;
 import com.ecommerce.order.OrderService;
 import com.ecommerce.order.OrderStatus;
@@ -10,18 +11,35 @@ import com.ecommerce.order.observer.AdminObserver;
 import com.ecommerce.order.observer.CustomerObserver;
 import com.ecommerce.payment.PaymentFactory;
 import com.ecommerce.payment.PaymentStrategy;
+import com.ecommerce.product.FrozenBundle;
 import com.ecommerce.product.Product;
 import com.ecommerce.product.ProductBundle;
 import com.ecommerce.product.SingleProduct;
 import com.ecommerce.product.decorators.*;
+import com.ecommerce.util.MoneyFormat;
+import com.ecommerce.util.RequestExecutors;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.CountDownLatch;
 
 public class Main {
     private static final ProductCatalog catalog = new ProductCatalog();
+    private static final OrderService orderService = new OrderService();
 
-    public static void main(String[] args) {
+    static {
+        // the admin follows every order; customers subscribe per order at checkout
+        orderService.getRegistry().subscribe(new AdminObserver());
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("--http")) {
+            runStorefront(args);
+            return;
+        }
         System.out.println("✅ Database initialized.");
         try (Scanner scanner = new Scanner(System.in)) {
             boolean running = true;
@@ -43,6 +61,32 @@ public class Main {
         }
     }
 
+    // ---------------- HTTP MODE ----------------
+
+    // --http [port] [--quiet]: serves the storefront API until the process is stopped.
+    // --quiet drops the per-operation console messages, which would otherwise serialize every request on stdout.
+    private static void runStorefront(String[] args) throws IOException {
+        int port = args.length > 1 && !args[1].startsWith("--") ? Integer.parseInt(args[1]) : 8080;
+        boolean quiet = List.of(args).contains("--quiet");
+        PrintStream console = System.out;
+        if (quiet) System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        StorefrontServer server = new StorefrontServer(catalog, orderService, port);
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            stopped.countDown();
+        }));
+        server.start();
+        console.println("🌐 Storefront on http://localhost:" + server.getPort() + "/products ("
+                + (RequestExecutors.virtualThreadsAvailable() ? "virtual threads" : "thread pool") + "), Ctrl+C to stop");
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     // ---------------- OWNER MODE ----------------
     private static void ownerMode(Scanner scanner) {
         boolean ownerRunning = true;
@@ -121,6 +165,8 @@ public class Main {
                     }
                 } while (true);
 
+                // Catalog bundles never change again, store the compact immutable form
+                FrozenBundle frozen = bundle.freeze();
                 String bundleDiscount = readOptionalString(scanner, "Enter bundle discount percentage (or press Enter to skip): ");
                 if (!bundleDiscount.isEmpty()) {
                     try {
@@ -128,13 +174,13 @@ public class Main {
                         if (discount < 0 || discount > 100) {
                             System.out.println("⚠️ Discount must be between 0 and 100%. Skipped.");
                         } else {
-                            product = new DiscountDecorator(bundle, discount);
+                            product = new DiscountDecorator(frozen, discount);
                         }
                     } catch (NumberFormatException e) {
                         System.out.println("⚠️ Invalid discount input. Skipped.");
                     }
                 } else {
-                    product = bundle;
+                    product = frozen;
                 }
             }
 
@@ -159,8 +205,9 @@ public class Main {
             System.out.println("3. View Cart");
             System.out.println("4. Remove Product");
             System.out.println("5. Checkout");
-            System.out.println("6. Exit Customer Mode");
-            int choice = readMenuChoice(scanner, "Choose option (1-6): ", 1, 6);
+            System.out.println("6. Browse Products by Price");
+            System.out.println("7. Exit Customer Mode");
+            int choice = readMenuChoice(scanner, "Choose option (1-7): ", 1, 7);
 
             switch (choice) {
                 case 1 -> catalog.showCatalog();
@@ -199,6 +246,11 @@ public class Main {
                 case 5 -> checkoutFlow(scanner, cart);
 
                 case 6 -> {
+                    double max = readValidatedDouble(scanner, "Enter maximum price: ", 0, Double.MAX_VALUE, "price");
+                    catalog.showCatalogByPrice(0, max);
+                }
+
+                case 7 -> {
                     shopping = false;
                     System.out.println("↩️ Returning to main menu...");
                 }
@@ -233,8 +285,7 @@ public class Main {
 
         // Coupon
         String coupon = readOptionalString(scanner, "\nEnter coupon code (or press Enter to skip): ");
-        Product orderWrapper = new ProductBundle("Order Items");
-        for (Product p : cart.getProducts()) ((ProductBundle) orderWrapper).addProduct(p);
+        Product orderWrapper = FrozenBundle.of("Order Items", cart.getProducts());
 
         if (coupon.equalsIgnoreCase("SAVE10")) {
             orderWrapper = new DiscountDecorator(orderWrapper, 10.0);
@@ -247,7 +298,7 @@ public class Main {
         System.out.println("\n--- Final Order ---");
         orderWrapper.showDetails();
         double total = orderWrapper.getPrice();
-        System.out.println("💰 Total amount: $" + String.format("%.2f", total));
+        System.out.println("💰 Total amount: $" + MoneyFormat.format(total));
 
         System.out.println("\nPayment Methods:");
         System.out.println("1. Credit Card");
@@ -257,11 +308,9 @@ public class Main {
         PaymentStrategy payment = PaymentFactory.getPaymentStrategy(payChoice);
         payment.pay(total);
 
-        OrderService orderService = new OrderService();
         Order order = orderService.placeOrder(
                 "ORD" + System.currentTimeMillis(),
-                new CustomerObserver("Alice"),
-                new AdminObserver()
+                new CustomerObserver("Alice")
         );
         DatabaseConnection.getInstance().saveOrder(order);
         simulateOrderFlow(order);
@@ -1,6 +1,7 @@
 package com.ecommerce.cart;
 
 import com.ecommerce.product.Product;
+import com.ecommerce.util.MoneyFormat;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -51,22 +52,34 @@ public class Cart {
         return products.stream().mapToDouble(Product::getPrice).sum();
     }
 
-    // Display cart contents
+    // Display cart contents (one write per screen)
     public void showCart() {
+        StringBuilder out = new StringBuilder(256 + products.size() * 160);
+        renderCart(out);
+        System.out.print(out);
+    }
+
+    // Append cart contents to out
+    public void renderCart(StringBuilder out) {
         if (products.isEmpty()) {
-            System.out.println("\n🛒 Your cart is empty. Add some products to get started!");
+            out.append("\n🛒 Your cart is empty. Add some products to get started!\n");
             return;
         }
 
-        System.out.println("\n=== 🧾 Your Shopping Cart ===");
+        out.append("\n=== 🧾 Your Shopping Cart ===\n");
+        double total = 0;
         for (int i = 0; i < products.size(); i++) {
             Product p = products.get(i);
-            System.out.println((i + 1) + ". " + p.getName());
-            p.showDetails();
-            System.out.printf("   💲 Price: $%.2f%n", p.getPrice());
-            System.out.println("----------------------------");
+            double price = p.getPrice();
+            total += price;
+            out.append(i + 1).append(". ").append(p.getName()).append('\n');
+            p.render(out);
+            out.append("   💲 Price: $");
+            MoneyFormat.appendAmount(out, price).append('\n');
+            out.append("----------------------------\n");
         }
-        System.out.printf("🧮 Total Cart Value: $%.2f%n", getTotal());
+        out.append("🧮 Total Cart Value: $");
+        MoneyFormat.appendAmount(out, total).append('\n');
     }
 
     // Check if cart is empty
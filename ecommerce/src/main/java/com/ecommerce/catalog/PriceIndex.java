@@ -0,0 +1,153 @@
+package com.ecommerce.catalog;
+
+import com.ecommerce.product.Product;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Sorted secondary index on effective (fully decorated) price.
+// Skip list keyed on primitive (price, productId) pairs: a product is priced once when it is
+// indexed, and range / top-k queries only walk the entries they return.
+public class PriceIndex {
+    private static final int MAX_LEVEL = 24;
+
+    // Receives matching entries in ascending price order
+    @FunctionalInterface
+    public interface Visitor {
+        void visit(int productId, double price, Product product);
+    }
+
+    private static final class Node {
+        final double price;
+        final int productId;
+        final Product product;
+        final Node[] next;
+
+        Node(double price, int productId, Product product, int height) {
+            this.price = price;
+            this.productId = productId;
+            this.product = product;
+            this.next = new Node[height];
+        }
+    }
+
+    private final Node head = new Node(Double.NEGATIVE_INFINITY, -1, null, MAX_LEVEL);
+    private int level = 1;
+    private int size;
+
+    // productId -> indexed price (NaN when the id is not indexed), used to locate nodes on removal
+    private double[] priceById = new double[0];
+
+    // Adds or re-prices a product; call again whenever the product is re-decorated
+    public void put(int productId, Product product) {
+        if (productId < 0) throw new IllegalArgumentException("Product id cannot be negative");
+        if (product == null) throw new IllegalArgumentException("Cannot index null product");
+        remove(productId);
+
+        double price = product.getPrice();
+        Node[] update = findPredecessors(price, productId);
+        int height = randomHeight();
+        if (height > level) {
+            for (int i = level; i < height; i++) update[i] = head;
+            level = height;
+        }
+        Node node = new Node(price, productId, product, height);
+        for (int i = 0; i < height; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+        }
+
+        ensureCapacity(productId + 1);
+        priceById[productId] = price;
+        size++;
+    }
+
+    // Removes a product from the index, returns false if it was not indexed
+    public boolean remove(int productId) {
+        if (productId < 0 || productId >= priceById.length || Double.isNaN(priceById[productId])) return false;
+
+        double price = priceById[productId];
+        Node[] update = findPredecessors(price, productId);
+        Node target = update[0].next[0];
+        if (target == null || target.productId != productId) return false;
+
+        for (int i = 0; i < target.next.length; i++) {
+            update[i].next[i] = target.next[i];
+        }
+        while (level > 1 && head.next[level - 1] == null) level--;
+        priceById[productId] = Double.NaN;
+        size--;
+        return true;
+    }
+
+    // Visits products with minPrice <= price <= maxPrice in ascending order, stopping after limit matches
+    public void forEachInRange(double minPrice, double maxPrice, int limit, Visitor visitor) {
+        if (minPrice > maxPrice || limit <= 0) return;
+        Node node = ceiling(minPrice);
+        int visited = 0;
+        while (node != null && node.price <= maxPrice && visited < limit) {
+            visitor.visit(node.productId, node.price, node.product);
+            visited++;
+            node = node.next[0];
+        }
+    }
+
+    // Products priced within [minPrice, maxPrice], cheapest first
+    public List<Product> range(double minPrice, double maxPrice) {
+        List<Product> result = new ArrayList<>();
+        forEachInRange(minPrice, maxPrice, Integer.MAX_VALUE, (id, price, product) -> result.add(product));
+        return result;
+    }
+
+    // The k cheapest products
+    public List<Product> cheapest(int k) {
+        List<Product> result = new ArrayList<>(Math.max(0, Math.min(k, size)));
+        forEachInRange(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, k, (id, price, product) -> result.add(product));
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // First node with price >= minPrice
+    private Node ceiling(double minPrice) {
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && x.next[i].price < minPrice) x = x.next[i];
+        }
+        return x.next[0];
+    }
+
+    // Rightmost node per level that orders strictly before (price, productId)
+    private Node[] findPredecessors(double price, int productId) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && before(x.next[i], price, productId)) x = x.next[i];
+            update[i] = x;
+        }
+        return update;
+    }
+
+    private static boolean before(Node node, double price, int productId) {
+        int cmp = Double.compare(node.price, price);
+        return cmp < 0 || (cmp == 0 && node.productId < productId);
+    }
+
+    private static int randomHeight() {
+        int height = 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (height < MAX_LEVEL && random.nextBoolean()) height++;
+        return height;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= priceById.length) return;
+        int oldLength = priceById.length;
+        priceById = Arrays.copyOf(priceById, Math.max(required, Math.max(16, oldLength * 2)));
+        Arrays.fill(priceById, oldLength, priceById.length, Double.NaN);
+    }
+}
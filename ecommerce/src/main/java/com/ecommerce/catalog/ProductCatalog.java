@@ -2,45 +2,99 @@ package com.ecommerce.catalog;
 
 import com.ecommerce.db.DatabaseConnection;
 import com.ecommerce.product.Product;
+import com.ecommerce.util.MoneyFormat;
 
 import java.util.List;
 
 public class ProductCatalog {
+    // price queries go to the database's price index, shared by every catalog over it
     private final DatabaseConnection db = DatabaseConnection.getInstance();
 
-    // Adds a product to the database
-    public void addProduct(Product product) {
-        db.saveProduct(product);
+    // Adds a product to the database, returns its id (0-based) or -1 if nothing was saved
+    public int addProduct(Product product) {
+        return db.saveProduct(product);
     }
 
-    // Displays all products in catalog
+    // Replaces a product (1-based index), e.g. after adding a decorator; the database re-prices it
+    public void updateProduct(int index, Product product) {
+        if (product == null) throw new IllegalArgumentException("Product cannot be null");
+        getProduct(index);
+        db.updateProduct(index - 1, product);
+    }
+
+    // Displays all products in catalog (one write per screen)
     public void showCatalog() {
+        StringBuilder out = new StringBuilder(4096);
+        renderCatalog(out);
+        System.out.print(out);
+    }
+
+    // Appends all products in catalog to out
+    public void renderCatalog(StringBuilder out) {
         List<Product> products = db.getProducts();
 
         if (products.isEmpty()) {
-            System.out.println("\n📭 No products have been added yet!");
+            out.append("\n📭 No products have been added yet!\n");
             return;
         }
 
-        System.out.println("\n=== 🛒 Product Catalog ===");
+        out.append("\n=== 🛒 Product Catalog ===\n");
         int index = 1;
         for (Product product : products) {
-            System.out.printf("%d. %s%n", index++, product.getName());
-            product.showDetails();
-            System.out.printf("💰 Price: $%.2f%n", product.getPrice());
-            System.out.println("----------------------------");
+            out.append(index++).append(". ").append(product.getName()).append('\n');
+            product.render(out);
+            out.append("💰 Price: $");
+            MoneyFormat.appendAmount(out, product.getPrice()).append('\n');
+            out.append("----------------------------\n");
+        }
+    }
+
+    // Displays products priced within [minPrice, maxPrice], cheapest first, with their catalog numbers
+    public void showCatalogByPrice(double minPrice, double maxPrice) {
+        StringBuilder out = new StringBuilder(1024);
+        renderCatalogByPrice(out, minPrice, maxPrice);
+        System.out.print(out);
+    }
+
+    // Appends products priced within [minPrice, maxPrice] to out, cheapest first
+    public void renderCatalogByPrice(StringBuilder out, double minPrice, double maxPrice) {
+        if (db.getProductCount() == 0) {
+            out.append("\n📭 No products have been added yet!\n");
+            return;
+        }
+
+        out.append("\n=== 🏷️ Products from $");
+        MoneyFormat.appendAmount(out, minPrice).append(" to $");
+        MoneyFormat.appendAmount(out, maxPrice).append(" ===\n");
+        int before = out.length();
+        db.forEachProductByPrice(minPrice, maxPrice, Integer.MAX_VALUE, (id, price, product) -> {
+            out.append(id + 1).append(". ").append(product.getName()).append(" - $");
+            MoneyFormat.appendAmount(out, price).append('\n');
+        });
+        if (out.length() == before) {
+            out.append("🔍 No products found in this price range.\n");
         }
     }
 
+    // Products priced within [minPrice, maxPrice], cheapest first
+    public List<Product> findByPriceRange(double minPrice, double maxPrice) {
+        return db.findProductsByPrice(minPrice, maxPrice);
+    }
+
+    // The k cheapest products
+    public List<Product> findCheapest(int k) {
+        return db.findCheapestProducts(k);
+    }
+
     // Retrieves product by index (1-based)
     public Product getProduct(int index) {
-        List<Product> products = db.getProducts();
-        if (products.isEmpty()) {
+        if (db.getProductCount() == 0) {
             throw new IllegalArgumentException("No products available. Please ask admin to add some first.");
         }
-        if (index <= 0 || index > products.size()) {
+        Product product = db.getProduct(index - 1);
+        if (product == null) {
             throw new IllegalArgumentException("Invalid product number. Please select a valid item from the catalog.");
         }
-        return products.get(index - 1);
+        return product;
     }
 }
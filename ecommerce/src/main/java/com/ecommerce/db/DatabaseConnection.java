@@ -1,17 +1,29 @@
 package com.ecommerce.db;
 
+import com.ecommerce.catalog.PriceIndex;
 import com.ecommerce.product.Product;
 import com.ecommerce.order.Order;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+// Safe for concurrent use (the HTTP storefront serves many requests at once):
+// products are read far more often than written, so row reads never lock;
+// the price index lives next to the product table and changes with it, so every catalog sees
+// every product; it is not thread-safe, so price queries and writes hold the table's lock;
+// orders are appended under the table's lock and indexed by id for status lookups.
 public class DatabaseConnection {
     private static volatile DatabaseConnection instance;
 
     // Simulated DB tables
-    private final List<Product> productTable = new ArrayList<>();
+    private final List<Product> productTable = new CopyOnWriteArrayList<>();
+    // secondary index on effective price, keyed by product id; guarded by productTable
+    private final PriceIndex priceIndex = new PriceIndex();
     private final List<Order> orderTable = new ArrayList<>();
+    private final Map<String, Order> ordersById = new ConcurrentHashMap<>();
 
     // Private constructor for Singleton
     private DatabaseConnection() {
@@ -32,19 +44,74 @@ public class DatabaseConnection {
 
     // ------------------- Product Operations -------------------
 
-    public void saveProduct(Product product) {
+    // Returns the product id (0-based row number) or -1 if nothing was saved
+    public int saveProduct(Product product) {
         if (product == null) {
             System.out.println("⚠️ Cannot save null product to database.");
-            return;
+            return -1;
+        }
+        int id;
+        synchronized (productTable) {
+            productTable.add(product);
+            id = productTable.size() - 1;
+            priceIndex.put(id, product);
         }
-        productTable.add(product);
         System.out.println("📦 Product '" + product.getName() + "' saved successfully to the database.");
+        return id;
+    }
+
+    // Replaces a stored product, e.g. after it has been re-decorated
+    public void updateProduct(int productId, Product product) {
+        if (product == null) {
+            System.out.println("⚠️ Cannot update product to null.");
+            return;
+        }
+        synchronized (productTable) {
+            if (productId < 0 || productId >= productTable.size()) {
+                throw new IllegalArgumentException("Invalid product id: " + productId);
+            }
+            productTable.set(productId, product);
+            priceIndex.put(productId, product);
+        }
+        System.out.println("✏️ Product '" + product.getName() + "' updated in the database.");
     }
 
     public List<Product> getProducts() {
         return new ArrayList<>(productTable);
     }
 
+    // Single row without copying the table; null if there is no such id
+    public Product getProduct(int productId) {
+        List<Product> products = productTable;
+        return productId < 0 || productId >= products.size() ? null : products.get(productId);
+    }
+
+    public int getProductCount() {
+        return productTable.size();
+    }
+
+    // Visits products priced within [minPrice, maxPrice], cheapest first, at most limit of them.
+    // The visitor runs under the table's lock, so it must not call back into the database.
+    public void forEachProductByPrice(double minPrice, double maxPrice, int limit, PriceIndex.Visitor visitor) {
+        synchronized (productTable) {
+            priceIndex.forEachInRange(minPrice, maxPrice, limit, visitor);
+        }
+    }
+
+    // Products priced within [minPrice, maxPrice], cheapest first
+    public List<Product> findProductsByPrice(double minPrice, double maxPrice) {
+        synchronized (productTable) {
+            return priceIndex.range(minPrice, maxPrice);
+        }
+    }
+
+    // The k cheapest products
+    public List<Product> findCheapestProducts(int k) {
+        synchronized (productTable) {
+            return priceIndex.cheapest(k);
+        }
+    }
+
     // ------------------- Order Operations -------------------
 
     public void saveOrder(Order order) {
@@ -52,12 +119,22 @@ public class DatabaseConnection {
             System.out.println("⚠️ Cannot save null order to database.");
             return;
         }
-        orderTable.add(order);
+        synchronized (orderTable) {
+            orderTable.add(order);
+        }
+        ordersById.put(order.getOrderId(), order);
         System.out.println("🧾 Order '" + order.getOrderId() + "' saved successfully to the database.");
     }
 
     public List<Order> getOrders() {
-        return new ArrayList<>(orderTable);
+        synchronized (orderTable) {
+            return new ArrayList<>(orderTable);
+        }
+    }
+
+    // null if no order with this id was saved
+    public Order findOrder(String orderId) {
+        return orderId == null ? null : ordersById.get(orderId);
     }
 
     // ------------------- Utility -------------------
@@ -65,7 +142,7 @@ public class DatabaseConnection {
     public void showSummary() {
         System.out.println("\n=== 🗄️ Database Summary ===");
         System.out.println("Products stored: " + productTable.size());
-        System.out.println("Orders stored: " + orderTable.size());
+        System.out.println("Orders stored: " + ordersById.size());
         System.out.println("----------------------------");
     }
 }
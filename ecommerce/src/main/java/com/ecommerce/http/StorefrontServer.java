@@ -0,0 +1,521 @@
+package com.ecommerce.http;
+
+import com.ecommerce.cart.Cart;
+import com.ecommerce.catalog.ProductCatalog;
+import com.ecommerce.db.DatabaseConnection;
+import com.ecommerce.order.Order;
+import com.ecommerce.order.OrderService;
+import com.ecommerce.order.OrderStatus;
+import com.ecommerce.payment.PaymentFactory;
+import com.ecommerce.payment.PaymentStrategy;
+import com.ecommerce.product.FrozenBundle;
+import com.ecommerce.product.Product;
+import com.ecommerce.product.SingleProduct;
+import com.ecommerce.product.decorators.DiscountDecorator;
+import com.ecommerce.product.decorators.EngravingDecorator;
+import com.ecommerce.product.decorators.GiftWrapDecorator;
+import com.ecommerce.product.decorators.TaxDecorator;
+import com.ecommerce.util.MoneyFormat;
+import com.ecommerce.util.RequestExecutors;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// HTTP/JSON storefront on the JDK's built-in server, backed by the same ProductCatalog, Cart,
+// PaymentFactory, OrderService and DatabaseConnection as the CLI.
+//
+//   GET    /products?page=1&size=20         catalog page, streamed (X-Total-Count = number of products)
+//   GET    /products/{n}                    product n (1-based, as in the CLI)
+//   POST   /products?name=..&price=..[&discount=..]   admin: add a single product (18% tax applied, as in the CLI)
+//   POST   /carts                           new cart -> {"cartId":..}
+//   GET    /carts/{id}
+//   POST   /carts/{id}/items?product=n[&giftWrap=true][&engraving=text]
+//   DELETE /carts/{id}/items/{n}
+//   POST   /carts/{id}/checkout?payment=1|2|3[&coupon=SAVE10]   -> order, cart is closed
+//   GET    /orders/{id}
+//
+// Parameters come from the query string or an application/x-www-form-urlencoded body.
+// Each request runs on its own (virtual, on Java 21+) thread and may block. Connections are kept
+// alive: every request body is drained and every response has a length or is chunked.
+// Errors are {"error":..}: 400 bad input, 404 unknown product/cart/order, 409 cart state,
+// 503 too many open carts.
+// A cart nobody has touched for cartIdleTimeout is closed and dropped, as if it never existed; the
+// number of open carts is capped so anonymous POST /carts can't grow the server without bound.
+public class StorefrontServer implements AutoCloseable {
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final double TAX_PERCENT = 18;
+    private static final Duration CART_IDLE_TIMEOUT = Duration.ofMinutes(30);
+    private static final int MAX_OPEN_CARTS = 100_000;
+
+    static {
+        // headers and chunked bodies go out as separate small writes; with Nagle on, each response
+        // can stall on the client's delayed ACK. Read once, when the first server is created.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final ProductCatalog catalog;
+    private final OrderService orderService;
+    private final DatabaseConnection db = DatabaseConnection.getInstance();
+    private final Duration fulfilmentStep;
+    private final Duration cartIdleTimeout;
+    private final int maxOpenCarts;
+    private final HttpServer server;
+    private final ExecutorService requestExecutor = RequestExecutors.newPerRequestExecutor("storefront");
+    // moves paid orders on to SHIPPED and DELIVERED, like the CLI's simulated order flow, and
+    // sweeps idle carts
+    private final ScheduledExecutorService fulfilment = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "storefront-fulfilment");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Map<String, CartSession> carts = new ConcurrentHashMap<>();
+    private final AtomicLong cartIds = new AtomicLong();
+    private final AtomicLong orderIds = new AtomicLong();
+    private final String orderIdPrefix = "ORD" + System.currentTimeMillis() + "-";
+
+    // Cart is not thread-safe; all access goes through the session's lock
+    private static final class CartSession {
+        final Cart cart = new Cart();
+        // checked out or expired; a request still holding the session sees the cart as gone
+        boolean closed;
+        long lastUsedNanos = System.nanoTime();
+    }
+
+    public StorefrontServer(ProductCatalog catalog, OrderService orderService, int port) throws IOException {
+        this(catalog, orderService, port, Duration.ofMillis(1500));
+    }
+
+    // fulfilmentStep: delay between PAID, SHIPPED and DELIVERED; port 0 picks a free port
+    public StorefrontServer(ProductCatalog catalog, OrderService orderService, int port, Duration fulfilmentStep)
+            throws IOException {
+        this(catalog, orderService, port, fulfilmentStep, CART_IDLE_TIMEOUT, MAX_OPEN_CARTS);
+    }
+
+    // cartIdleTimeout: how long an untouched cart is kept; maxOpenCarts: POST /carts answers 503
+    // once this many carts are open and none of them has expired
+    public StorefrontServer(ProductCatalog catalog, OrderService orderService, int port, Duration fulfilmentStep,
+                            Duration cartIdleTimeout, int maxOpenCarts) throws IOException {
+        if (cartIdleTimeout.isNegative() || cartIdleTimeout.isZero()) {
+            throw new IllegalArgumentException("cartIdleTimeout must be positive");
+        }
+        if (maxOpenCarts < 1) throw new IllegalArgumentException("maxOpenCarts must be at least 1");
+        this.catalog = catalog;
+        this.orderService = orderService;
+        this.fulfilmentStep = fulfilmentStep;
+        this.cartIdleTimeout = cartIdleTimeout;
+        this.maxOpenCarts = maxOpenCarts;
+        this.server = HttpServer.create(new InetSocketAddress(port), 1024);
+        server.setExecutor(requestExecutor);
+        server.createContext("/products", exchange -> handle(exchange, this::products));
+        server.createContext("/carts", exchange -> handle(exchange, this::carts));
+        server.createContext("/orders", exchange -> handle(exchange, this::orders));
+        // a cart expires between one and one and a half idle timeouts after its last use
+        long sweepMillis = Math.max(1, cartIdleTimeout.toMillis() / 2);
+        fulfilment.scheduleWithFixedDelay(this::expireIdleCarts, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // Number of carts that have not been checked out or expired
+    public int getOpenCartCount() {
+        return carts.size();
+    }
+
+    // Closes and drops every cart that has been idle for cartIdleTimeout; returns how many
+    int expireIdleCarts() {
+        long now = System.nanoTime();
+        long timeout = cartIdleTimeout.toNanos();
+        int expired = 0;
+        for (Iterator<CartSession> it = carts.values().iterator(); it.hasNext(); ) {
+            CartSession session = it.next();
+            synchronized (session) {
+                if (session.closed || now - session.lastUsedNanos < timeout) continue;
+                session.closed = true;
+            }
+            it.remove();
+            expired++;
+        }
+        return expired;
+    }
+
+    @Override
+    public void close() {
+        server.stop(1);
+        requestExecutor.shutdown();
+        fulfilment.shutdownNow();
+    }
+
+    // ------------------- Dispatch -------------------
+
+    private interface Handler {
+        void handle(HttpExchange exchange, String[] path, Map<String, String> params) throws IOException;
+    }
+
+    private static final class NotFoundException extends RuntimeException {
+        NotFoundException(String message) {
+            super(message);
+        }
+    }
+
+    private static final class UnavailableException extends RuntimeException {
+        UnavailableException(String message) {
+            super(message);
+        }
+    }
+
+    private void handle(HttpExchange exchange, Handler handler) throws IOException {
+        // close after the catch blocks, which still need to send the error response
+        try (exchange) {
+            try {
+                Map<String, String> params = params(exchange);
+                String[] path = exchange.getRequestURI().getPath().replaceAll("^/+|/+$", "").split("/");
+                handler.handle(exchange, path, params);
+            } catch (NotFoundException e) {
+                error(exchange, 404, e.getMessage());
+            } catch (UnavailableException e) {
+                error(exchange, 503, e.getMessage());
+            } catch (IllegalArgumentException e) {
+                error(exchange, 400, e.getMessage());
+            } catch (IllegalStateException e) {
+                error(exchange, 409, e.getMessage());
+            } catch (RuntimeException e) {
+                System.err.println("⚠️ " + exchange.getRequestMethod() + " " + exchange.getRequestURI() + " failed: " + e);
+                error(exchange, 500, "internal error");
+            }
+        }
+    }
+
+    private static void methodNotAllowed(HttpExchange exchange) throws IOException {
+        error(exchange, 405, exchange.getRequestMethod() + " not allowed");
+    }
+
+    // ------------------- /products -------------------
+
+    private void products(HttpExchange exchange, String[] path, Map<String, String> params) throws IOException {
+        String method = exchange.getRequestMethod();
+        if (path.length == 1 && method.equals("GET")) {
+            int page = intParam(params, "page", 1);
+            int size = intParam(params, "size", 20);
+            if (page < 1 || size < 1 || size > MAX_PAGE_SIZE) {
+                throw new IllegalArgumentException("page must be >= 1 and size between 1 and " + MAX_PAGE_SIZE);
+            }
+            streamProducts(exchange, (page - 1) * size, size);
+        } else if (path.length == 1 && method.equals("POST")) {
+            Product product = new SingleProduct(required(params, "name"), doubleParam(params, "price"));
+            if (params.containsKey("discount")) {
+                double discount = doubleParam(params, "discount");
+                if (discount < 0 || discount > 100) throw new IllegalArgumentException("discount must be between 0 and 100");
+                product = new DiscountDecorator(product, discount);
+            }
+            product = new TaxDecorator(product, TAX_PERCENT);
+            int number = catalog.addProduct(product) + 1;
+            exchange.getResponseHeaders().set("Location", "/products/" + number);
+            json(exchange, 201, appendProduct(new StringBuilder(), number, product, false));
+        } else if (path.length == 2 && method.equals("GET")) {
+            int number = parseInt(path[1], "product number");
+            Product product = db.getProduct(number - 1);
+            if (product == null) throw new NotFoundException("No product " + number);
+            json(exchange, 200, appendProduct(new StringBuilder(), number, product, true));
+        } else if (path.length <= 2) {
+            methodNotAllowed(exchange);
+        } else {
+            throw new NotFoundException("not found");
+        }
+    }
+
+    // Writes the page product by product as a chunked JSON array; nothing but one product's
+    // text is buffered beyond the writer's own buffer
+    private void streamProducts(HttpExchange exchange, int offset, int limit) throws IOException {
+        int total = db.getProductCount();
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.getResponseHeaders().set("X-Total-Count", Integer.toString(total));
+        exchange.sendResponseHeaders(200, 0);
+        StringBuilder sb = new StringBuilder(512);
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8), 8192)) {
+            out.write('[');
+            int end = (int) Math.min(total, (long) offset + limit);
+            for (int id = offset; id < end; id++) {
+                Product product = db.getProduct(id);
+                if (product == null) break;
+                sb.setLength(0);
+                if (id > offset) sb.append(',');
+                out.append(appendProduct(sb, id + 1, product, true));
+            }
+            out.write(']');
+        }
+    }
+
+    private static StringBuilder appendProduct(StringBuilder sb, int number, Product product, boolean details) {
+        sb.append("{\"id\":").append(number).append(",\"name\":");
+        quote(sb, product.getName()).append(",\"price\":");
+        MoneyFormat.appendAmount(sb, product.getPrice());
+        if (details) {
+            StringBuilder text = new StringBuilder(128);
+            product.render(text);
+            sb.append(",\"details\":");
+            quote(sb, text);
+        }
+        return sb.append('}');
+    }
+
+    // ------------------- /carts -------------------
+
+    private void carts(HttpExchange exchange, String[] path, Map<String, String> params) throws IOException {
+        String method = exchange.getRequestMethod();
+        if (path.length == 1) {
+            if (!method.equals("POST")) {
+                methodNotAllowed(exchange);
+                return;
+            }
+            // the cap is approximate: concurrent POSTs can each pass the check
+            if (carts.size() >= maxOpenCarts && expireIdleCarts() == 0) {
+                throw new UnavailableException("Too many open carts, try again later");
+            }
+            String cartId = "C" + cartIds.incrementAndGet();
+            carts.put(cartId, new CartSession());
+            exchange.getResponseHeaders().set("Location", "/carts/" + cartId);
+            json(exchange, 201, new StringBuilder("{\"cartId\":\"").append(cartId).append("\"}"));
+            return;
+        }
+        CartSession session = carts.get(path[1]);
+        if (session == null) throw new NotFoundException("No open cart " + path[1]);
+        String action = path.length == 2 ? "" : path[2];
+        switch (action + " " + method + " " + path.length) {
+            case " GET 2" -> {
+                synchronized (session) {
+                    requireOpen(session, path[1]);
+                    json(exchange, 200, appendCart(new StringBuilder(256), path[1], session.cart));
+                }
+            }
+            case "items POST 3" -> {
+                Product product = catalog.getProduct(intParam(params, "product", 0));
+                if (Boolean.parseBoolean(params.get("giftWrap"))) product = new GiftWrapDecorator(product);
+                String engraving = params.get("engraving");
+                if (engraving != null && !engraving.isBlank()) product = new EngravingDecorator(product, engraving);
+                synchronized (session) {
+                    requireOpen(session, path[1]);
+                    session.cart.addProduct(product);
+                    json(exchange, 201, appendCart(new StringBuilder(256), path[1], session.cart));
+                }
+            }
+            case "items DELETE 4" -> {
+                int number = parseInt(path[3], "item number");
+                synchronized (session) {
+                    requireOpen(session, path[1]);
+                    if (number < 1 || number > session.cart.getProducts().size()) {
+                        throw new NotFoundException("No item " + number + " in cart " + path[1]);
+                    }
+                    session.cart.removeProduct(number - 1);
+                }
+                exchange.sendResponseHeaders(204, -1);
+            }
+            case "checkout POST 3" -> checkout(exchange, path[1], session, params);
+            default -> throw new NotFoundException("not found");
+        }
+    }
+
+    // Called with the session's lock held; every use of an open cart restarts its idle timeout
+    private static void requireOpen(CartSession session, String cartId) {
+        if (session.closed) throw new NotFoundException("No open cart " + cartId);
+        session.lastUsedNanos = System.nanoTime();
+    }
+
+    // Same pricing and payment as the CLI checkout: the cart becomes one frozen bundle, SAVE10
+    // takes 10% off it, and the chosen payment strategy is charged the total
+    private void checkout(HttpExchange exchange, String cartId, CartSession session, Map<String, String> params)
+            throws IOException {
+        PaymentStrategy payment = PaymentFactory.getPaymentStrategy(intParam(params, "payment", 0));
+        String coupon = params.getOrDefault("coupon", "");
+        if (!coupon.isEmpty() && !coupon.equalsIgnoreCase("SAVE10")) {
+            throw new IllegalArgumentException("Invalid coupon code: " + coupon);
+        }
+        List<Product> items;
+        synchronized (session) {
+            requireOpen(session, cartId);
+            if (session.cart.isEmpty()) throw new IllegalStateException("Cart " + cartId + " is empty");
+            items = session.cart.getProducts();
+            session.closed = true;
+        }
+        carts.remove(cartId);
+
+        Product orderItems = FrozenBundle.of("Order Items", items);
+        if (!coupon.isEmpty()) orderItems = new DiscountDecorator(orderItems, 10.0);
+        double total = orderItems.getPrice();
+        payment.pay(total);
+
+        Order order = orderService.placeOrder(orderIdPrefix + orderIds.incrementAndGet());
+        db.saveOrder(order);
+        order.setStatus(OrderStatus.PAID);
+        long step = fulfilmentStep.toMillis();
+        fulfilment.schedule(() -> order.setStatus(OrderStatus.SHIPPED), step, TimeUnit.MILLISECONDS);
+        fulfilment.schedule(() -> order.setStatus(OrderStatus.DELIVERED), 2 * step, TimeUnit.MILLISECONDS);
+
+        exchange.getResponseHeaders().set("Location", "/orders/" + order.getOrderId());
+        StringBuilder sb = appendOrder(new StringBuilder(128), order);
+        sb.setLength(sb.length() - 1);
+        sb.append(",\"items\":").append(items.size()).append(",\"total\":");
+        MoneyFormat.appendAmount(sb, total).append(",\"payment\":");
+        quote(sb, payment.name()).append('}');
+        json(exchange, 201, sb);
+    }
+
+    private static StringBuilder appendCart(StringBuilder sb, String cartId, Cart cart) {
+        sb.append("{\"cartId\":\"").append(cartId).append("\",\"items\":[");
+        List<Product> products = cart.getProducts();
+        double total = 0;
+        for (int i = 0; i < products.size(); i++) {
+            Product p = products.get(i);
+            double price = p.getPrice();
+            total += price;
+            if (i > 0) sb.append(',');
+            sb.append("{\"item\":").append(i + 1).append(",\"name\":");
+            quote(sb, p.getName()).append(",\"price\":");
+            MoneyFormat.appendAmount(sb, price).append('}');
+        }
+        sb.append("],\"total\":");
+        return MoneyFormat.appendAmount(sb, total).append('}');
+    }
+
+    // ------------------- /orders -------------------
+
+    private void orders(HttpExchange exchange, String[] path, Map<String, String> params) throws IOException {
+        if (path.length != 2) throw new NotFoundException("not found");
+        if (!exchange.getRequestMethod().equals("GET")) {
+            methodNotAllowed(exchange);
+            return;
+        }
+        Order order = db.findOrder(path[1]);
+        if (order == null) throw new NotFoundException("No order " + path[1]);
+        json(exchange, 200, appendOrder(new StringBuilder(128), order));
+    }
+
+    private static StringBuilder appendOrder(StringBuilder sb, Order order) {
+        sb.append("{\"orderId\":");
+        quote(sb, order.getOrderId());
+        return sb.append(",\"status\":\"").append(order.getStatus())
+                .append("\",\"createdAt\":\"").append(order.getCreatedAt()).append("\"}");
+    }
+
+    // ------------------- Requests and responses -------------------
+
+    // Query parameters plus form-encoded body parameters; always drains the body so the
+    // connection can be reused
+    private static Map<String, String> params(HttpExchange exchange) throws IOException {
+        Map<String, String> params = new HashMap<>();
+        parseForm(exchange.getRequestURI().getRawQuery(), params);
+        String body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        if (!body.isEmpty() && contentType != null && contentType.startsWith("application/x-www-form-urlencoded")) {
+            parseForm(body, params);
+        }
+        return params;
+    }
+
+    private static void parseForm(String raw, Map<String, String> params) {
+        if (raw == null || raw.isEmpty()) return;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private static String required(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null || value.isBlank()) throw new IllegalArgumentException(name + " is required");
+        return value.trim();
+    }
+
+    private static int intParam(Map<String, String> params, String name, int defaultValue) {
+        String value = params.get(name);
+        return value == null ? defaultValue : parseInt(value, name);
+    }
+
+    private static int parseInt(String value, String name) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static double doubleParam(Map<String, String> params, String name) {
+        String value = required(params, name);
+        try {
+            double parsed = Double.parseDouble(value);
+            if (!(parsed >= 0) || Double.isInfinite(parsed)) throw new NumberFormatException();
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static void json(HttpExchange exchange, int status, CharSequence body) throws IOException {
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void error(HttpExchange exchange, int status, String message) throws IOException {
+        StringBuilder sb = new StringBuilder("{\"error\":");
+        quote(sb, message == null ? "" : message);
+        json(exchange, status, sb.append('}'));
+    }
+
+    private static StringBuilder quote(StringBuilder sb, CharSequence value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+                }
+            }
+        }
+        return sb.append('"');
+    }
+}
@@ -1,20 +1,36 @@
 package com.ecommerce.order;
 
 import com.ecommerce.order.observer.OrderObserver;
+import com.ecommerce.order.observer.OrderObserverRegistry;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 
 public class Order {
+    private static final OrderObserver[] NO_OBSERVERS = new OrderObserver[0];
+
     private final String orderId;
-    private OrderStatus status;
+    // written by the order flow, read by status queries from other threads
+    private volatile OrderStatus status;
     private final LocalDateTime createdAt;
-    private final List<OrderObserver> observers = new ArrayList<>();
+    // shared routing table for observers of every order
+    private final OrderObserverRegistry registry;
+    // observers of this order only; copy-on-write, dropped once the order is delivered or cancelled
+    private volatile OrderObserver[] observers;
 
     public Order(String orderId) {
+        this(orderId, OrderObserverRegistry.getInstance());
+    }
+
+    // The given observers follow this order only and also receive PLACED
+    public Order(String orderId, OrderObserverRegistry registry, OrderObserver... observers) {
         this.orderId = orderId;
         this.status = OrderStatus.PLACED;
         this.createdAt = LocalDateTime.now();
+        this.registry = registry;
+        OrderObserver[] initial = NO_OBSERVERS;
+        for (OrderObserver observer : observers) {
+            if (observer != null) initial = OrderObserverRegistry.with(initial, observer);
+        }
+        this.observers = initial;
         notifyObservers(); // initial notification
     }
 
@@ -22,12 +38,14 @@ public class Order {
     public OrderStatus getStatus() { return status; }
     public LocalDateTime getCreatedAt() { return createdAt; }
 
-    public void addObserver(OrderObserver observer) {
-        if (observer != null) observers.add(observer);
+    // Subscribes the observer to this order only; a no-op once the order is delivered or cancelled
+    public synchronized void addObserver(OrderObserver observer) {
+        if (observer != null && !isFinal(status)) observers = OrderObserverRegistry.with(observers, observer);
     }
 
-    public void removeObserver(OrderObserver observer) {
-        observers.remove(observer);
+    public synchronized void removeObserver(OrderObserver observer) {
+        OrderObserver[] remaining = OrderObserverRegistry.without(observers, observer);
+        observers = remaining.length == 0 ? NO_OBSERVERS : remaining;
     }
 
     public void setStatus(OrderStatus newStatus) {
@@ -36,8 +54,20 @@ public class Order {
     }
 
     private void notifyObservers() {
-        for (OrderObserver obs : observers) {
-            obs.update(this, status);
+        OrderStatus current = status;
+        registry.publish(this, current);
+        OrderObserver[] perOrder = observers;
+        if (isFinal(current)) {
+            synchronized (this) {
+                observers = NO_OBSERVERS;
+            }
         }
+        for (OrderObserver obs : perOrder) {
+            obs.update(this, current);
+        }
+    }
+
+    private static boolean isFinal(OrderStatus status) {
+        return status == OrderStatus.DELIVERED || status == OrderStatus.CANCELLED;
     }
 }
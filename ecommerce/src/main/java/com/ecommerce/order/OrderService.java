@@ -1,15 +1,39 @@
 package com.ecommerce.order;
 
+import com.ecommerce.order.events.OrderEventLog;
 import com.ecommerce.order.observer.OrderObserver;
+import com.ecommerce.order.observer.OrderObserverRegistry;
 
 public class OrderService {
+    private final OrderObserverRegistry registry;
+    // every order's status changes are appended here so late consumers can replay them
+    private final OrderEventLog eventLog;
+
+    public OrderService() {
+        this(OrderObserverRegistry.getInstance(), OrderEventLog.getInstance());
+    }
+
+    public OrderService(OrderObserverRegistry registry, OrderEventLog eventLog) {
+        if (registry == null || eventLog == null) throw new IllegalArgumentException("Registry and event log are required");
+        this.registry = registry;
+        this.eventLog = eventLog;
+        registry.subscribe(eventLog); // idempotent, safe for several services on one registry
+    }
+
+    // Observers passed here follow this order only; subscribe to the registry to follow every order
     public Order placeOrder(String orderId, OrderObserver... observers) {
-        Order order = new Order(orderId);
-        for (OrderObserver obs : observers) {
-            order.addObserver(obs);
-        }
+        // handed to the order at construction so they also receive PLACED
+        Order order = new Order(orderId, registry, observers);
 
         System.out.println("🛒 Order placed successfully: " + orderId);
         return order;
     }
+
+    public OrderObserverRegistry getRegistry() {
+        return registry;
+    }
+
+    public OrderEventLog getEventLog() {
+        return eventLog;
+    }
 }
@@ -0,0 +1,29 @@
+package com.ecommerce.order.events;
+
+import com.ecommerce.order.OrderStatus;
+
+// One status change as recorded in the OrderEventLog
+public final class OrderEvent {
+    private final long offset;
+    private final String orderId;
+    private final OrderStatus status;
+    private final long timestamp;
+
+    public OrderEvent(long offset, String orderId, OrderStatus status, long timestamp) {
+        this.offset = offset;
+        this.orderId = orderId;
+        this.status = status;
+        this.timestamp = timestamp;
+    }
+
+    public long getOffset() { return offset; }
+    public String getOrderId() { return orderId; }
+    public OrderStatus getStatus() { return status; }
+    // Epoch millis at which the event was appended
+    public long getTimestamp() { return timestamp; }
+
+    @Override
+    public String toString() {
+        return "OrderEvent{offset=" + offset + ", orderId='" + orderId + "', status=" + status + ", timestamp=" + timestamp + "}";
+    }
+}
@@ -0,0 +1,9 @@
+package com.ecommerce.order.events;
+
+import java.util.List;
+
+// Receives order events in offset order, one batch at a time
+@FunctionalInterface
+public interface OrderEventConsumer {
+    void onEvents(List<OrderEvent> batch);
+}
@@ -0,0 +1,310 @@
+package com.ecommerce.order.events;
+
+import com.ecommerce.order.Order;
+import com.ecommerce.order.OrderStatus;
+import com.ecommerce.order.observer.OrderObserver;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Append-only log of order status events, addressed by offset.
+// The newest events are kept in memory in fixed-size primitive segments; older segments are dropped
+// once the retention limit is reached, so memory stays bounded however many events are appended.
+// With a journal file every event is also written to disk and offsets behind the memory window are
+// replayed from the file, using one file position per segment as a sparse index.
+public class OrderEventLog implements OrderObserver, Closeable {
+    static final int SEGMENT_SIZE = 4096;
+    private static final int DEFAULT_RETAINED_EVENTS = 1 << 20;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private static volatile OrderEventLog instance;
+
+    private static final class Segment {
+        final long baseOffset;
+        final long[] timestamps = new long[SEGMENT_SIZE];
+        final byte[] statuses = new byte[SEGMENT_SIZE];
+        final String[] orderIds = new String[SEGMENT_SIZE];
+        int size;
+
+        Segment(long baseOffset) {
+            this.baseOffset = baseOffset;
+        }
+    }
+
+    private final int maxSegments;
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+    private long firstOffset;
+    private long nextOffset;
+
+    // journal (null when the log is memory-only)
+    private final Path journalPath;
+    private final FileChannel readChannel;
+    private final DataOutputStream journal;
+    private long journalBytes;
+    // set by close() while holding both the log and the readChannel monitors
+    private boolean closed;
+    // file position of the first record of every segment, indexed by offset / SEGMENT_SIZE
+    private long[] segmentPositions = new long[16];
+
+    // Memory-only log keeping at least retainedEvents of the newest events
+    public OrderEventLog(int retainedEvents) {
+        this.maxSegments = segmentsFor(retainedEvents);
+        this.journalPath = null;
+        this.readChannel = null;
+        this.journal = null;
+    }
+
+    private OrderEventLog(Path journalPath, int retainedEvents) throws IOException {
+        this.maxSegments = segmentsFor(retainedEvents);
+        this.journalPath = journalPath;
+        this.readChannel = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        recover();
+        this.journal = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(journalPath, StandardOpenOption.APPEND), 64 * 1024));
+    }
+
+    // Durable log backed by journalPath; existing events in the file are recovered
+    public static OrderEventLog open(Path journalPath, int retainedEvents) throws IOException {
+        if (journalPath == null) throw new IllegalArgumentException("Journal path cannot be null");
+        return new OrderEventLog(journalPath, retainedEvents);
+    }
+
+    // Shared memory-only log used by OrderService by default
+    public static OrderEventLog getInstance() {
+        if (instance == null) {
+            synchronized (OrderEventLog.class) {
+                if (instance == null) {
+                    instance = new OrderEventLog(DEFAULT_RETAINED_EVENTS);
+                }
+            }
+        }
+        return instance;
+    }
+
+    // Every status change of an observed order becomes an event
+    @Override
+    public void update(Order order, OrderStatus status) {
+        append(order.getOrderId(), status);
+    }
+
+    // Appends an event and returns its offset
+    public synchronized long append(String orderId, OrderStatus status) {
+        if (orderId == null || status == null) throw new IllegalArgumentException("Order id and status are required");
+        checkOpen();
+        long timestamp = System.currentTimeMillis();
+        long offset = nextOffset;
+        if (journal != null) writeRecord(offset, orderId, status, timestamp);
+        store(offset, orderId, status, timestamp);
+        return offset;
+    }
+
+    // Opens a cursor starting at fromOffset (0 replays everything still available)
+    public OrderEventSubscription subscribe(long fromOffset) {
+        if (fromOffset < 0) throw new IllegalArgumentException("Offset cannot be negative");
+        return new OrderEventSubscription(this, fromOffset);
+    }
+
+    // Opens a cursor that only sees events appended from now on
+    public OrderEventSubscription subscribeFromLatest() {
+        return new OrderEventSubscription(this, getNextOffset());
+    }
+
+    // Reads up to maxEvents events starting at fromOffset.
+    // Offsets that were trimmed from memory come from the journal, or are skipped when there is none.
+    // Fails with IllegalStateException once a durable log is closed, including a journal read racing close().
+    public List<OrderEvent> read(long fromOffset, int maxEvents) {
+        if (maxEvents <= 0) return Collections.emptyList();
+        long diskEnd;
+        long segmentPosition;
+        synchronized (this) {
+            checkOpen();
+            if (fromOffset >= nextOffset) return Collections.emptyList();
+            if (fromOffset >= firstOffset || journal == null) {
+                return readMemory(Math.max(fromOffset, firstOffset), maxEvents);
+            }
+            flushJournal();
+            diskEnd = firstOffset;
+            segmentPosition = segmentPositions[(int) (fromOffset / SEGMENT_SIZE)];
+        }
+        // reads on the channel do not need the log lock, only the channel's
+        return readJournal(segmentPosition, fromOffset, (int) Math.min(maxEvents, diskEnd - fromOffset));
+    }
+
+    public synchronized long getNextOffset() { return nextOffset; }
+
+    // Oldest offset still held in memory
+    public synchronized long getFirstRetainedOffset() { return firstOffset; }
+
+    public boolean isDurable() { return journal != null; }
+
+    // Forces buffered journal records to the file
+    public synchronized void flush() {
+        if (journal != null) flushJournal();
+    }
+
+    // Closes the journal; a memory-only log stays usable
+    @Override
+    public synchronized void close() throws IOException {
+        if (journal == null || closed) return;
+        // a journal read in progress holds the channel monitor; wait for it rather than closing under it
+        synchronized (readChannel) {
+            closed = true;
+        }
+        try {
+            journal.close();
+        } finally {
+            readChannel.close();
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) throw new IllegalStateException("Order event log " + journalPath + " is closed");
+    }
+
+    private void store(long offset, String orderId, OrderStatus status, long timestamp) {
+        Segment tail = segments.peekLast();
+        if (tail == null || tail.size == SEGMENT_SIZE) {
+            tail = new Segment(offset);
+            segments.addLast(tail);
+            if (segments.size() > maxSegments) {
+                Segment dropped = segments.pollFirst();
+                firstOffset = dropped.baseOffset + dropped.size;
+            }
+        }
+        tail.timestamps[tail.size] = timestamp;
+        tail.statuses[tail.size] = (byte) status.ordinal();
+        tail.orderIds[tail.size] = orderId;
+        tail.size++;
+        nextOffset = offset + 1;
+    }
+
+    private List<OrderEvent> readMemory(long fromOffset, int maxEvents) {
+        int count = (int) Math.min(maxEvents, nextOffset - fromOffset);
+        List<OrderEvent> batch = new ArrayList<>(count);
+        long offset = fromOffset;
+        for (Segment segment : segments) {
+            long end = segment.baseOffset + segment.size;
+            if (offset >= end) continue;
+            for (int i = (int) (offset - segment.baseOffset); i < segment.size && batch.size() < count; i++) {
+                batch.add(new OrderEvent(offset++, segment.orderIds[i], STATUSES[segment.statuses[i]], segment.timestamps[i]));
+            }
+            if (batch.size() == count) break;
+        }
+        return batch;
+    }
+
+    // ------------------- Journal -------------------
+    // Record layout: long timestamp | byte status | int idLength | UTF-8 id bytes
+
+    private void writeRecord(long offset, String orderId, OrderStatus status, long timestamp) {
+        byte[] id = orderId.getBytes(StandardCharsets.UTF_8);
+        try {
+            if (offset % SEGMENT_SIZE == 0) indexSegment(offset, journalBytes);
+            journal.writeLong(timestamp);
+            journal.writeByte(status.ordinal());
+            journal.writeInt(id.length);
+            journal.write(id);
+            journalBytes += 13 + id.length;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append order event to " + journalPath, e);
+        }
+    }
+
+    private void flushJournal() {
+        try {
+            journal.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to flush order event journal " + journalPath, e);
+        }
+    }
+
+    private List<OrderEvent> readJournal(long segmentPosition, long fromOffset, int count) {
+        long offset = fromOffset / SEGMENT_SIZE * SEGMENT_SIZE;
+        List<OrderEvent> batch = new ArrayList<>(count);
+        // the stream moves the shared channel position, so readers take turns; close() waits for them
+        synchronized (readChannel) {
+            checkOpen();
+            readJournalLocked(segmentPosition, offset, fromOffset, count, batch);
+        }
+        return batch;
+    }
+
+    private void readJournalLocked(long segmentPosition, long offset, long fromOffset, int count, List<OrderEvent> batch) {
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(
+                    Channels.newInputStream(readChannel.position(segmentPosition)), 64 * 1024));
+            while (batch.size() < count) {
+                long timestamp = in.readLong();
+                OrderStatus status = STATUSES[in.readByte()];
+                int length = in.readInt();
+                if (offset < fromOffset) {
+                    in.skipNBytes(length);
+                } else {
+                    byte[] id = new byte[length];
+                    in.readFully(id);
+                    batch.add(new OrderEvent(offset, new String(id, StandardCharsets.UTF_8), status, timestamp));
+                }
+                offset++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read order event journal " + journalPath, e);
+        }
+    }
+
+    // Rebuilds the segment index and the in-memory tail from an existing journal
+    private void recover() throws IOException {
+        long size = readChannel.size();
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(readChannel.position(0)), 64 * 1024));
+        long position = 0;
+        long offset = 0;
+        while (position < size) {
+            try {
+                long timestamp = in.readLong();
+                int ordinal = in.readByte();
+                int length = in.readInt();
+                byte[] id = new byte[length];
+                in.readFully(id);
+                if (offset % SEGMENT_SIZE == 0) indexSegment(offset, position);
+                store(offset, new String(id, StandardCharsets.UTF_8), STATUSES[ordinal], timestamp);
+                position += 13 + length;
+                offset++;
+            } catch (EOFException torn) {
+                // a crash mid-append leaves a partial record; drop it so new records start on a boundary
+                readChannel.truncate(position);
+                break;
+            }
+        }
+        journalBytes = position;
+    }
+
+    private void indexSegment(long offset, long position) {
+        int segment = (int) (offset / SEGMENT_SIZE);
+        if (segment >= segmentPositions.length) {
+            segmentPositions = Arrays.copyOf(segmentPositions, Math.max(segment + 1, segmentPositions.length * 2));
+        }
+        segmentPositions[segment] = position;
+    }
+
+    private static int segmentsFor(int retainedEvents) {
+        if (retainedEvents <= 0) throw new IllegalArgumentException("Retained events must be positive");
+        // one extra segment so a partly filled tail never cuts retention below the requested size
+        return (retainedEvents + SEGMENT_SIZE - 1) / SEGMENT_SIZE + 1;
+    }
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.order.events;
+
+import java.util.List;
+
+// Consumer-owned cursor into the OrderEventLog.
+// Nothing is pushed: the consumer polls at its own pace and can seek back to replay.
+public class OrderEventSubscription {
+    private final OrderEventLog log;
+    private long position;
+
+    OrderEventSubscription(OrderEventLog log, long fromOffset) {
+        this.log = log;
+        this.position = fromOffset;
+    }
+
+    // Next batch of at most maxEvents events, empty when caught up
+    public List<OrderEvent> poll(int maxEvents) {
+        List<OrderEvent> batch = log.read(position, maxEvents);
+        if (!batch.isEmpty()) position = batch.get(batch.size() - 1).getOffset() + 1;
+        return batch;
+    }
+
+    // Hands the next batch to consumer, returns how many events were delivered
+    public int deliver(int maxEvents, OrderEventConsumer consumer) {
+        List<OrderEvent> batch = poll(maxEvents);
+        if (!batch.isEmpty()) consumer.onEvents(batch);
+        return batch.size();
+    }
+
+    // Delivers batches until caught up with the log, returns the total delivered
+    public long drainTo(int batchSize, OrderEventConsumer consumer) {
+        long total = 0;
+        int delivered;
+        while ((delivered = deliver(batchSize, consumer)) > 0) total += delivered;
+        return total;
+    }
+
+    // Moves the cursor, e.g. to replay from an earlier offset
+    public void seek(long offset) {
+        if (offset < 0) throw new IllegalArgumentException("Offset cannot be negative");
+        this.position = offset;
+    }
+
+    // Offset of the next event this subscription will read
+    public long getPosition() { return position; }
+
+    // Events appended but not yet read by this subscription
+    public long getLag() { return Math.max(0, log.getNextOffset() - position); }
+}
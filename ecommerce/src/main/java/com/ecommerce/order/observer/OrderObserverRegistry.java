@@ -0,0 +1,81 @@
+package com.ecommerce.order.observer;
+
+import com.ecommerce.order.Order;
+import com.ecommerce.order.OrderStatus;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Central subscription registry for observers of every order (e.g. admin, event log), so an Order
+// carries no list of them. Routes each status change to the observers subscribed to that status.
+// Observers of a single order (e.g. the customer) live on the Order itself, so they go away with it.
+// Subscriber arrays are copy-on-write, so publishing never locks.
+public class OrderObserverRegistry {
+    private static final OrderObserver[] NONE = new OrderObserver[0];
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private static volatile OrderObserverRegistry instance;
+
+    // status ordinal -> observers of that status on every order
+    private final AtomicReferenceArray<OrderObserver[]> byStatus = new AtomicReferenceArray<>(STATUSES.length);
+
+    public OrderObserverRegistry() {
+        for (int i = 0; i < STATUSES.length; i++) byStatus.set(i, NONE);
+    }
+
+    // Registry used by orders that were not given one explicitly
+    public static OrderObserverRegistry getInstance() {
+        if (instance == null) {
+            synchronized (OrderObserverRegistry.class) {
+                if (instance == null) {
+                    instance = new OrderObserverRegistry();
+                }
+            }
+        }
+        return instance;
+    }
+
+    // Observe the given statuses (all statuses when none are given) on every order; repeated calls are no-ops
+    public void subscribe(OrderObserver observer, OrderStatus... statuses) {
+        if (observer == null) throw new IllegalArgumentException("Observer cannot be null");
+        OrderStatus[] targets = (statuses == null || statuses.length == 0) ? STATUSES : statuses;
+        for (OrderStatus status : targets) {
+            byStatus.getAndUpdate(status.ordinal(), current -> with(current, observer));
+        }
+    }
+
+    public void unsubscribe(OrderObserver observer) {
+        for (int i = 0; i < STATUSES.length; i++) {
+            byStatus.getAndUpdate(i, current -> without(current, observer));
+        }
+    }
+
+    // Delivers a status change to every observer of that status
+    public void publish(Order order, OrderStatus status) {
+        for (OrderObserver obs : byStatus.get(status.ordinal())) {
+            obs.update(order, status);
+        }
+    }
+
+    // Copy-on-write helpers, shared with Order's own observer array
+    public static OrderObserver[] with(OrderObserver[] current, OrderObserver observer) {
+        for (OrderObserver obs : current) {
+            if (obs == observer) return current;
+        }
+        OrderObserver[] next = Arrays.copyOf(current, current.length + 1);
+        next[current.length] = observer;
+        return next;
+    }
+
+    public static OrderObserver[] without(OrderObserver[] current, OrderObserver observer) {
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == observer) {
+                OrderObserver[] next = new OrderObserver[current.length - 1];
+                System.arraycopy(current, 0, next, 0, i);
+                System.arraycopy(current, i + 1, next, i, current.length - i - 1);
+                return next;
+            }
+        }
+        return current;
+    }
+}
@@ -0,0 +1,126 @@
+package com.ecommerce.product;
+
+import com.ecommerce.util.MoneyFormat;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+// Immutable, hash-consed Composite.
+// Nested bundles are flattened into parallel (item, count) arrays, identical children are interned
+// into one shared instance, and the aggregate price and item count are computed once at freeze time.
+// Decorated bundles stay opaque items because their decorator applies to the bundle as a whole.
+public final class FrozenBundle implements Product {
+    // Canonical instances of structurally equal products; weak so unused items can be collected
+    private static final Map<Product, WeakReference<Product>> INTERNED = new WeakHashMap<>();
+
+    private final String bundleName;
+    private final Product[] items;
+    private final int[] counts;
+    private final double price;
+    private final int itemCount;
+    private final int hash;
+
+    private FrozenBundle(String bundleName, Product[] items, int[] counts) {
+        this.bundleName = bundleName;
+        this.items = items;
+        this.counts = counts;
+
+        double total = 0;
+        int totalCount = 0;
+        for (int i = 0; i < items.length; i++) {
+            total += items[i].getPrice() * counts[i];
+            totalCount += counts[i];
+        }
+        this.price = total;
+        this.itemCount = totalCount;
+        this.hash = 31 * (31 * bundleName.hashCode() + Arrays.hashCode(items)) + Arrays.hashCode(counts);
+    }
+
+    // Flattens the given children into a frozen bundle and returns its canonical instance
+    public static FrozenBundle of(String bundleName, List<Product> children) {
+        if (bundleName == null || bundleName.isBlank()) throw new IllegalArgumentException("Bundle name cannot be empty");
+        Map<Product, int[]> flat = new LinkedHashMap<>();
+        for (Product child : children) {
+            flatten(child, 1, flat);
+        }
+
+        Product[] items = new Product[flat.size()];
+        int[] counts = new int[flat.size()];
+        int i = 0;
+        for (Map.Entry<Product, int[]> entry : flat.entrySet()) {
+            items[i] = entry.getKey();
+            counts[i++] = entry.getValue()[0];
+        }
+        return (FrozenBundle) intern(new FrozenBundle(bundleName, items, counts));
+    }
+
+    // Returns the shared instance that is equal to the given product
+    public static Product intern(Product product) {
+        synchronized (INTERNED) {
+            WeakReference<Product> ref = INTERNED.get(product);
+            Product canonical = (ref == null) ? null : ref.get();
+            if (canonical != null) return canonical;
+            INTERNED.put(product, new WeakReference<>(product));
+            return product;
+        }
+    }
+
+    private static void flatten(Product product, int multiplier, Map<Product, int[]> flat) {
+        if (product == null) throw new IllegalArgumentException("Cannot add null product to bundle");
+        if (product instanceof ProductBundle bundle) {
+            for (Product child : bundle.getProducts()) flatten(child, multiplier, flat);
+        } else if (product instanceof FrozenBundle frozen) {
+            for (int i = 0; i < frozen.items.length; i++) {
+                flat.computeIfAbsent(frozen.items[i], k -> new int[1])[0] += frozen.counts[i] * multiplier;
+            }
+        } else {
+            flat.computeIfAbsent(intern(product), k -> new int[1])[0] += multiplier;
+        }
+    }
+
+    @Override
+    public String getName() { return bundleName; }
+
+    @Override
+    public void addProduct(Product product) {
+        throw new UnsupportedOperationException("Cannot add product to a frozen bundle");
+    }
+
+    @Override
+    public void render(StringBuilder out) {
+        out.append("Bundle: ").append(bundleName).append('\n');
+        for (int i = 0; i < items.length; i++) {
+            out.append("  - ");
+            if (counts[i] > 1) out.append(counts[i]).append(" x ");
+            items[i].render(out);
+        }
+        out.append("  Total Bundle Price: $");
+        MoneyFormat.appendAmount(out, price).append('\n');
+    }
+
+    @Override
+    public double getPrice() { return price; }
+
+    // Total number of items, counting repeats
+    public int getItemCount() { return itemCount; }
+
+    // Number of distinct items held after interning
+    public int getDistinctItemCount() { return items.length; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof FrozenBundle other)) return false;
+        return hash == other.hash
+                && bundleName.equals(other.bundleName)
+                && Arrays.equals(counts, other.counts)
+                && Arrays.equals(items, other.items);
+    }
+
+    @Override
+    public int hashCode() { return hash; }
+}
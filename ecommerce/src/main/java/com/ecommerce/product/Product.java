@@ -3,9 +3,18 @@ package com.ecommerce.product;
 // Component
 public interface Product {
     String getName();
-    void showDetails();
     double getPrice();
 
+    // Appends the product description to out, one line per detail
+    void render(StringBuilder out);
+
+    // Prints the description with a single write to stdout
+    default void showDetails() {
+        StringBuilder out = new StringBuilder(128);
+        render(out);
+        System.out.print(out);
+    }
+
     // Default: only composites override this
     default void addProduct(Product product) {
         throw new UnsupportedOperationException("Cannot add product to a single product");
@@ -1,6 +1,9 @@
 package com.ecommerce.product;
 
+import com.ecommerce.util.MoneyFormat;
+
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class ProductBundle implements Product {
@@ -22,17 +25,28 @@ public class ProductBundle implements Product {
     }
 
     @Override
-    public void showDetails() {
-        System.out.println("Bundle: " + bundleName);
+    public void render(StringBuilder out) {
+        out.append("Bundle: ").append(bundleName).append('\n');
         for (Product p : products) {
-            System.out.print("  - ");
-            p.showDetails();
+            out.append("  - ");
+            p.render(out);
         }
-        System.out.println("  Total Bundle Price: $" + String.format("%.2f", getPrice()));
+        out.append("  Total Bundle Price: $");
+        MoneyFormat.appendAmount(out, getPrice()).append('\n');
     }
 
     @Override
     public double getPrice() {
         return products.stream().mapToDouble(Product::getPrice).sum();
     }
+
+    // Read-only view of the direct children
+    public List<Product> getProducts() {
+        return Collections.unmodifiableList(products);
+    }
+
+    // Immutable, flattened snapshot of this bundle with cached price and item count
+    public FrozenBundle freeze() {
+        return FrozenBundle.of(bundleName, products);
+    }
 }
@@ -1,5 +1,7 @@
 package com.ecommerce.product;
 
+import com.ecommerce.util.MoneyFormat;
+
 public class SingleProduct implements Product {
     private final String name;
     private final double price;
@@ -15,10 +17,24 @@ public class SingleProduct implements Product {
     public String getName() { return name; }
 
     @Override
-    public void showDetails() {
-        System.out.println("Product: " + name + " | Price: $" + String.format("%.2f", getPrice()));
+    public void render(StringBuilder out) {
+        out.append("Product: ").append(name).append(" | Price: $");
+        MoneyFormat.appendAmount(out, getPrice()).append('\n');
     }
 
     @Override
     public double getPrice() { return price; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SingleProduct other = (SingleProduct) o;
+        return Double.compare(price, other.price) == 0 && name.equals(other.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * name.hashCode() + Double.hashCode(price);
+    }
 }
@@ -1,6 +1,7 @@
 package com.ecommerce.product.decorators;
 
 import com.ecommerce.product.Product;
+import com.ecommerce.util.MoneyFormat;
 
 public class DiscountDecorator extends ProductDecorator {
     private final double discountPercent;
@@ -12,10 +13,22 @@ public class DiscountDecorator extends ProductDecorator {
     }
 
     @Override
-    public void showDetails() {
-        product.showDetails();
-        System.out.println("    - Discount (" + String.format("%.2f", discountPercent) + "%)");
-        System.out.println("    Price after discount: $" + String.format("%.2f", getPrice()));
+    public void render(StringBuilder out) {
+        product.render(out);
+        out.append("    - Discount (");
+        MoneyFormat.appendAmount(out, discountPercent).append("%)\n");
+        out.append("    Price after discount: $");
+        MoneyFormat.appendAmount(out, getPrice()).append('\n');
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return super.equals(o) && Double.compare(discountPercent, ((DiscountDecorator) o).discountPercent) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Double.hashCode(discountPercent);
     }
 
     @Override
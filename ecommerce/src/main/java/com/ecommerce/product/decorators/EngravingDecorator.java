@@ -1,6 +1,7 @@
 package com.ecommerce.product.decorators;
 
 import com.ecommerce.product.Product;
+import com.ecommerce.util.MoneyFormat;
 
 public class EngravingDecorator extends ProductDecorator {
     private final double engravingCost = 10.0;
@@ -12,9 +13,20 @@ public class EngravingDecorator extends ProductDecorator {
     }
 
     @Override
-    public void showDetails() {
-        product.showDetails();
-        System.out.println("    + Engraving: \"" + text + "\" ($" + String.format("%.2f", engravingCost) + ")");
+    public void render(StringBuilder out) {
+        product.render(out);
+        out.append("    + Engraving: \"").append(text).append("\" ($");
+        MoneyFormat.appendAmount(out, engravingCost).append(")\n");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return super.equals(o) && text.equals(((EngravingDecorator) o).text);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + text.hashCode();
     }
 
     @Override
@@ -1,6 +1,7 @@
 package com.ecommerce.product.decorators;
 
 import com.ecommerce.product.Product;
+import com.ecommerce.util.MoneyFormat;
 
 public class GiftWrapDecorator extends ProductDecorator {
     private final double wrapCost = 5.0;
@@ -10,9 +11,10 @@ public class GiftWrapDecorator extends ProductDecorator {
     }
 
     @Override
-    public void showDetails() {
-        product.showDetails();
-        System.out.println("    + Gift Wrap ($" + String.format("%.2f", wrapCost) + ")");
+    public void render(StringBuilder out) {
+        product.render(out);
+        out.append("    + Gift Wrap ($");
+        MoneyFormat.appendAmount(out, wrapCost).append(")\n");
     }
 
     @Override
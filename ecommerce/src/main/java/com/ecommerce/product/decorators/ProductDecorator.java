@@ -19,13 +19,26 @@ public abstract class ProductDecorator implements Product {
     }
 
     @Override
-    public void showDetails() {
-        product.showDetails();
+    public void render(StringBuilder out) {
+        product.render(out);
     }
 
     @Override
     public double getPrice() {
         return product.getPrice();
     } // delegate to wrapped product
+
+    // Decorators are equal when they apply the same decoration to equal products
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return product.equals(((ProductDecorator) o).product);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * getClass().hashCode() + product.hashCode();
+    }
 }
 
@@ -1,6 +1,7 @@
 package com.ecommerce.product.decorators;
 
 import com.ecommerce.product.Product;
+import com.ecommerce.util.MoneyFormat;
 
 public class TaxDecorator extends ProductDecorator {
     private final double taxPercent;
@@ -12,10 +13,22 @@ public class TaxDecorator extends ProductDecorator {
     }
 
     @Override
-    public void showDetails() {
-        product.showDetails();
-        System.out.println("    + Tax (" + String.format("%.2f", taxPercent) + "%)");
-        System.out.println("    Price after tax: $" + String.format("%.2f", getPrice()));
+    public void render(StringBuilder out) {
+        product.render(out);
+        out.append("    + Tax (");
+        MoneyFormat.appendAmount(out, taxPercent).append("%)\n");
+        out.append("    Price after tax: $");
+        MoneyFormat.appendAmount(out, getPrice()).append('\n');
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return super.equals(o) && Double.compare(taxPercent, ((TaxDecorator) o).taxPercent) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Double.hashCode(taxPercent);
     }
 
     @Override
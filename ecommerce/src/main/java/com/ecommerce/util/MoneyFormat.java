@@ -0,0 +1,48 @@
+package com.ecommerce.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Allocation-free replacement for String.format("%.2f", value) on the rendering paths
+public final class MoneyFormat {
+    // Above this a double can no longer tell neighbouring half-cent ties apart; use BigDecimal instead
+    private static final double MAX_FAST = 1e12;
+
+    private MoneyFormat() {}
+
+    // Appends value rounded half-up to two decimals, e.g. 1234.5 -> "1234.50"
+    public static StringBuilder appendAmount(StringBuilder out, double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value) || Math.abs(value) >= MAX_FAST) {
+            return out.append(format(value));
+        }
+        long cents = roundHalfUpCents(Math.abs(value));
+        // sign bit, like Formatter: -0.001 and -0.0 print as "-0.00"
+        if (Math.copySign(1.0, value) < 0) out.append('-');
+        out.append(cents / 100).append('.');
+        long fraction = cents % 100;
+        if (fraction < 10) out.append('0');
+        return out.append(fraction);
+    }
+
+    // Rounds half-up the way Formatter does: on the shortest decimal that round-trips to amount,
+    // so 1.005 prints as 1.01 even though its binary value is slightly below the tie.
+    private static long roundHalfUpCents(double amount) {
+        double scaled = amount * 100;
+        long floor = (long) Math.floor(scaled);
+        // amount is the double nearest to the decimal tie floor + 0.5 cents -> round up
+        if ((2 * floor + 1) / 200.0 == amount) return floor + 1;
+        // otherwise round the exact product; fma recovers the error of the multiplication
+        double error = Math.fma(amount, 100, -scaled);
+        double aboveHalf = (scaled - floor) - 0.5;
+        return floor + (aboveHalf + error >= 0 ? 1 : 0);
+    }
+
+    // Two-decimal string for callers that need a String
+    public static String format(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) return String.valueOf(value);
+        if (Math.abs(value) >= MAX_FAST) {
+            return new BigDecimal(Double.toString(value)).setScale(2, RoundingMode.HALF_UP).toPlainString();
+        }
+        return appendAmount(new StringBuilder(16), value).toString();
+    }
+}
@@ -0,0 +1,35 @@
+package com.ecommerce.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Thread-per-request executors for blocking request handlers.
+// The module targets Java 17, so virtual threads are looked up reflectively: on 21+ every task
+// gets its own virtual thread, on 17 a cached pool of daemon platform threads is used instead.
+public final class RequestExecutors {
+    private RequestExecutors() {}
+
+    public static ExecutorService newPerRequestExecutor(String threadName) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            AtomicInteger count = new AtomicInteger();
+            return Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, threadName + "-" + count.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    // True when newPerRequestExecutor hands out virtual threads on this JVM
+    public static boolean virtualThreadsAvailable() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.ecommerce.bench;
+
+import com.ecommerce.catalog.ProductCatalog;
+import com.ecommerce.http.StorefrontServer;
+import com.ecommerce.order.OrderService;
+import com.ecommerce.order.events.OrderEventLog;
+import com.ecommerce.order.observer.OrderObserverRegistry;
+import com.ecommerce.product.SingleProduct;
+import com.ecommerce.product.decorators.TaxDecorator;
+import com.ecommerce.util.RequestExecutors;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Closed-loop checkout load against StorefrontServer. Each client repeats one shopping session:
+// browse a catalog page, open a cart, add ITEMS products, check out, read the order status
+// (5 + ITEMS requests on the client's pooled keep-alive connections). Reports completed
+// checkouts and requests per second, and p50/p99 of the checkout request and of the whole session.
+//
+// With no URL an in-process server on an ephemeral port is seeded with PRODUCTS products and
+// its console output is discarded; pass a base URL to load a running `Main --http` instead.
+// Run: mvn test-compile && java -cp target/classes:target/test-classes com.ecommerce.bench.CheckoutLoadGenerator [baseUrl] [clients] [seconds]
+public class CheckoutLoadGenerator {
+    private static final int PRODUCTS = 1_000;
+    private static final int ITEMS = 3;
+    private static final int WARMUP_SECONDS = 3;
+
+    public static void main(String[] args) throws Exception {
+        boolean external = args.length > 0 && args[0].startsWith("http");
+        int shift = external ? 1 : 0;
+        int clients = args.length > shift ? Integer.parseInt(args[shift]) : 32;
+        int seconds = args.length > shift + 1 ? Integer.parseInt(args[shift + 1]) : 10;
+
+        PrintStream console = System.out;
+        StorefrontServer server = null;
+        String baseUrl;
+        int products;
+        if (external) {
+            baseUrl = args[0].replaceAll("/+$", "");
+            products = -1;
+        } else {
+            // every add-to-cart and order status change prints a line; keep that out of the measurement
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            ProductCatalog catalog = new ProductCatalog();
+            for (int i = 0; i < PRODUCTS; i++) {
+                catalog.addProduct(new TaxDecorator(new SingleProduct("Item " + i, 1 + i % 200), 18));
+            }
+            products = PRODUCTS;
+            server = new StorefrontServer(catalog, new OrderService(new OrderObserverRegistry(), new OrderEventLog(10_000)),
+                    0, Duration.ofMillis(100));
+            server.start();
+            baseUrl = "http://localhost:" + server.getPort();
+        }
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(RequestExecutors.newPerRequestExecutor("load-client"))
+                .build();
+        if (products < 0) {
+            HttpResponse<String> page = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/products?size=1")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            products = Integer.parseInt(page.headers().firstValue("X-Total-Count").orElse("0"));
+            if (products == 0) throw new IllegalStateException("The store has no products; add some first");
+        }
+
+        console.printf("%d clients against %s (%s)%n", clients, baseUrl,
+                RequestExecutors.virtualThreadsAvailable() ? "virtual threads" : "platform threads");
+        run(console, client, baseUrl, products, clients, WARMUP_SECONDS, "warmup");
+        run(console, client, baseUrl, products, clients, seconds, "measured");
+        if (server != null) server.close();
+        System.setOut(console);
+    }
+
+    private static void run(PrintStream console, HttpClient client, String baseUrl, int products, int clients,
+                            int seconds, String label) throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        long[][] checkoutNanos = new long[clients][];
+        long[][] sessionNanos = new long[clients][];
+        int[] sessions = new int[clients];
+        AtomicLong requests = new AtomicLong();
+        AtomicLong failures = new AtomicLong();
+        long begin = System.nanoTime();
+        ExecutorService pool = RequestExecutors.newPerRequestExecutor("load");
+        for (int c = 0; c < clients; c++) {
+            int id = c;
+            pool.submit(() -> {
+                long[] checkout = new long[1 << 12];
+                long[] session = new long[1 << 12];
+                int n = 0;
+                while (System.nanoTime() < deadline) {
+                    long t0 = System.nanoTime();
+                    long checkoutTime;
+                    try {
+                        checkoutTime = shop(client, baseUrl, products, requests);
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                        continue;
+                    }
+                    if (n == checkout.length) {
+                        checkout = Arrays.copyOf(checkout, n * 2);
+                        session = Arrays.copyOf(session, n * 2);
+                    }
+                    checkout[n] = checkoutTime;
+                    session[n++] = System.nanoTime() - t0;
+                }
+                checkoutNanos[id] = checkout;
+                sessionNanos[id] = session;
+                sessions[id] = n;
+                return null;
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        double elapsed = (System.nanoTime() - begin) / 1e9;
+
+        long[] checkout = merge(checkoutNanos, sessions);
+        long[] session = merge(sessionNanos, sessions);
+        console.printf("%-8s %,d checkouts in %.1f s = %,.0f checkouts/s, %,.0f req/s | checkout p50 %.2f ms p99 %.2f ms"
+                        + " | session p50 %.2f ms p99 %.2f ms | failed sessions %d%n",
+                label, checkout.length, elapsed, checkout.length / elapsed, requests.get() / elapsed,
+                percentile(checkout, 0.50), percentile(checkout, 0.99),
+                percentile(session, 0.50), percentile(session, 0.99), failures.get());
+    }
+
+    // One shopping session; returns the latency of the checkout request
+    private static long shop(HttpClient client, String baseUrl, int products, AtomicLong requests) throws Exception {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        expect(send(client, "GET", baseUrl + "/products?page=" + (1 + rnd.nextInt(Math.max(1, products / 20))) + "&size=20"), 200, requests);
+        String cart = expect(send(client, "POST", baseUrl + "/carts"), 201, requests);
+        String cartUrl = baseUrl + "/carts/" + field(cart, "cartId");
+        for (int i = 0; i < ITEMS; i++) {
+            String gift = rnd.nextInt(4) == 0 ? "&giftWrap=true" : "";
+            expect(send(client, "POST", cartUrl + "/items?product=" + (1 + rnd.nextInt(products)) + gift), 201, requests);
+        }
+        expect(send(client, "GET", cartUrl), 200, requests);
+        long t0 = System.nanoTime();
+        String order = expect(send(client, "POST", cartUrl + "/checkout?payment=" + (1 + rnd.nextInt(3))
+                + (rnd.nextBoolean() ? "&coupon=SAVE10" : "")), 201, requests);
+        long checkoutTime = System.nanoTime() - t0;
+        expect(send(client, "GET", baseUrl + "/orders/" + field(order, "orderId")), 200, requests);
+        return checkoutTime;
+    }
+
+    private static HttpResponse<String> send(HttpClient client, String method, String url) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).method(method, HttpRequest.BodyPublishers.noBody()).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String expect(HttpResponse<String> response, int status, AtomicLong requests) {
+        requests.incrementAndGet();
+        if (response.statusCode() != status) {
+            throw new IllegalStateException(response.request().uri() + " -> " + response.statusCode() + " " + response.body());
+        }
+        return response.body();
+    }
+
+    private static String field(String json, String name) {
+        int from = json.indexOf("\"" + name + "\":\"") + name.length() + 4;
+        return json.substring(from, json.indexOf('"', from));
+    }
+
+    private static long[] merge(long[][] perClient, int[] counts) {
+        long[] all = new long[Arrays.stream(counts).sum()];
+        int pos = 0;
+        for (int c = 0; c < perClient.length; c++) {
+            if (perClient[c] == null) continue;
+            System.arraycopy(perClient[c], 0, all, pos, counts[c]);
+            pos += counts[c];
+        }
+        Arrays.sort(all);
+        return all;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted.length == 0 ? 0 : sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] / 1e6;
+    }
+}
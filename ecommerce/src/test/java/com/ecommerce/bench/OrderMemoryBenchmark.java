@@ -0,0 +1,54 @@
+package com.ecommerce.bench;
+
+import com.ecommerce.order.Order;
+import com.ecommerce.order.OrderStatus;
+import com.ecommerce.order.observer.OrderObserver;
+
+// Approximates the retained heap per live Order when every order has a customer and an admin observer.
+// Uses only Order's public API so the same harness can be run against older revisions.
+// Run: mvn test-compile && java -Xmx2g -cp target/classes:target/test-classes com.ecommerce.bench.OrderMemoryBenchmark
+public class OrderMemoryBenchmark {
+    private static final int ORDERS = 500_000;
+
+    public static void main(String[] args) {
+        OrderObserver admin = (order, status) -> { };
+        OrderObserver customer = (order, status) -> { };
+
+        System.out.printf("in flight : %.1f bytes/order%n", measure("A", admin, customer, false));
+        System.out.printf("delivered : %.1f bytes/order%n", measure("B", admin, customer, true));
+    }
+
+    // Bytes retained per order, including any listener state kept on its behalf
+    private static double measure(String prefix, OrderObserver admin, OrderObserver customer, boolean deliver) {
+        Order[] orders = new Order[ORDERS];
+        long before = usedHeap();
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order(prefix + "ORD" + i);
+            order.addObserver(customer);
+            order.addObserver(admin);
+            if (deliver) order.setStatus(OrderStatus.DELIVERED);
+            orders[i] = order;
+        }
+        long after = usedHeap();
+        if (orders[ORDERS - 1] == null) throw new AssertionError();
+        // subtract what the order id string costs in every revision
+        return (after - before) / (double) ORDERS - idBytes(prefix);
+    }
+
+    private static double idBytes(String prefix) {
+        String[] ids = new String[ORDERS];
+        long before = usedHeap();
+        for (int i = 0; i < ORDERS; i++) ids[i] = prefix + "ORD" + i;
+        long after = usedHeap();
+        if (ids[ORDERS - 1] == null) throw new AssertionError();
+        return (after - before) / (double) ORDERS;
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) System.gc();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    private OrderMemoryBenchmark() {}
+}
@@ -0,0 +1,59 @@
+package com.ecommerce.bench;
+
+import com.ecommerce.cart.Cart;
+import com.ecommerce.product.Product;
+import com.ecommerce.product.ProductBundle;
+import com.ecommerce.product.SingleProduct;
+import com.ecommerce.product.decorators.DiscountDecorator;
+import com.ecommerce.product.decorators.GiftWrapDecorator;
+import com.ecommerce.product.decorators.TaxDecorator;
+
+import java.io.BufferedOutputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+// Times Cart.showCart for a cart whose printout is ~12k lines.
+// stdout is swapped for a PrintStream on /dev/null built the way the JVM builds System.out
+// (128-byte buffer, autoflush), so formatting and write syscalls are measured but not the terminal.
+// Run: mvn test-compile && java -cp target/classes:target/test-classes com.ecommerce.bench.RenderBenchmark
+public class RenderBenchmark {
+    private static final int PRODUCTS = 2000;
+    private static final int WARMUP = 20;
+    private static final int RUNS = 50;
+
+    public static void main(String[] args) throws FileNotFoundException {
+        PrintStream console = System.out;
+        PrintStream sink = new PrintStream(new BufferedOutputStream(new FileOutputStream("/dev/null"), 128),
+                true, StandardCharsets.UTF_8);
+        System.setOut(sink);
+
+        Cart cart = new Cart();
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product p;
+            if (i % 10 == 0) {
+                ProductBundle bundle = new ProductBundle("Bundle " + i);
+                bundle.addProduct(new SingleProduct("Item A" + i, 10 + i));
+                bundle.addProduct(new SingleProduct("Item B" + i, 20 + i));
+                p = new DiscountDecorator(bundle, 5);
+            } else {
+                p = new SingleProduct("Product " + i, 1 + i * 0.37);
+            }
+            p = new TaxDecorator(p, 18);
+            if (i % 3 == 0) p = new GiftWrapDecorator(p);
+            cart.addProduct(p);
+        }
+
+        for (int i = 0; i < WARMUP; i++) cart.showCart();
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) cart.showCart();
+        long elapsed = System.nanoTime() - start;
+
+        System.setOut(console);
+        System.err.printf("showCart with %d products: %.2f ms/op%n", PRODUCTS, elapsed / 1e6 / RUNS);
+        sink.close();
+    }
+
+    private RenderBenchmark() {}
+}
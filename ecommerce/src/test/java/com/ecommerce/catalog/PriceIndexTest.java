@@ -0,0 +1,61 @@
+package com.ecommerce.catalog;
+
+import com.ecommerce.product.Product;
+import com.ecommerce.product.SingleProduct;
+import com.ecommerce.product.decorators.DiscountDecorator;
+import junit.framework.TestCase;
+
+import java.util.List;
+
+public class PriceIndexTest extends TestCase {
+
+    public void testRangeIsSortedAndInclusive() {
+        PriceIndex index = new PriceIndex();
+        index.put(0, new SingleProduct("Laptop", 900));
+        index.put(1, new SingleProduct("Mouse", 20));
+        index.put(2, new SingleProduct("Keyboard", 50));
+        index.put(3, new SingleProduct("Cable", 5));
+
+        List<Product> underFifty = index.range(0, 50);
+        assertEquals(3, underFifty.size());
+        assertEquals("Cable", underFifty.get(0).getName());
+        assertEquals("Mouse", underFifty.get(1).getName());
+        assertEquals("Keyboard", underFifty.get(2).getName());
+    }
+
+    public void testCheapestReturnsTopK() {
+        PriceIndex index = new PriceIndex();
+        for (int i = 0; i < 100; i++) {
+            index.put(i, new SingleProduct("P" + i, 100 - i));
+        }
+        List<Product> cheapest = index.cheapest(3);
+        assertEquals(3, cheapest.size());
+        assertEquals("P99", cheapest.get(0).getName());
+        assertEquals("P97", cheapest.get(2).getName());
+        assertEquals(100, index.size());
+    }
+
+    public void testReDecoratingMovesProduct() {
+        PriceIndex index = new PriceIndex();
+        Product tv = new SingleProduct("TV", 100);
+        index.put(0, tv);
+        index.put(1, new SingleProduct("Radio", 60));
+
+        index.put(0, new DiscountDecorator(tv, 50));
+
+        assertEquals(2, index.size());
+        assertEquals("TV", index.cheapest(1).get(0).getName());
+        assertTrue(index.range(90, 110).isEmpty());
+    }
+
+    public void testRemove() {
+        PriceIndex index = new PriceIndex();
+        index.put(0, new SingleProduct("A", 10));
+        index.put(1, new SingleProduct("B", 10));
+
+        assertTrue(index.remove(0));
+        assertFalse(index.remove(0));
+        assertEquals(1, index.size());
+        assertEquals("B", index.range(10, 10).get(0).getName());
+    }
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.catalog;
+
+import com.ecommerce.db.DatabaseConnection;
+import com.ecommerce.product.Product;
+import com.ecommerce.product.SingleProduct;
+import com.ecommerce.product.decorators.DiscountDecorator;
+import junit.framework.TestCase;
+
+import java.util.List;
+
+public class ProductCatalogTest extends TestCase {
+    // the database is a process-wide singleton; these prices are used by no other test
+    private static final double LOW = 91_000;
+    private static final double HIGH = 91_999;
+
+    public void testEveryCatalogSeesProductsAddedThroughAnother() {
+        ProductCatalog admin = new ProductCatalog();
+        ProductCatalog storefront = new ProductCatalog();
+
+        admin.addProduct(new SingleProduct("Grand Piano", 91_500));
+        DatabaseConnection.getInstance().saveProduct(new SingleProduct("Harp", 91_200));
+
+        List<Product> found = storefront.findByPriceRange(LOW, HIGH);
+        assertEquals(2, found.size());
+        assertEquals("Harp", found.get(0).getName());
+        assertEquals("Grand Piano", found.get(1).getName());
+
+        // a catalog created afterwards sees them too
+        assertEquals(2, new ProductCatalog().findByPriceRange(LOW, HIGH).size());
+    }
+
+    public void testUpdatesThroughOneCatalogRepriceEveryCatalog() {
+        ProductCatalog admin = new ProductCatalog();
+        ProductCatalog storefront = new ProductCatalog();
+
+        Product organ = new SingleProduct("Organ", 91_800);
+        int number = admin.addProduct(organ) + 1;
+        assertEquals(1, storefront.findByPriceRange(91_800, 91_800).size());
+
+        // 50% off moves it out of the range in every catalog
+        admin.updateProduct(number, new DiscountDecorator(organ, 50));
+        assertTrue(storefront.findByPriceRange(91_800, 91_800).isEmpty());
+        assertEquals(1, storefront.findByPriceRange(45_900, 45_900).size());
+
+        StringBuilder out = new StringBuilder();
+        storefront.renderCatalogByPrice(out, 45_900, 45_900);
+        assertTrue(out.toString(), out.toString().contains(number + ". Organ"));
+    }
+}
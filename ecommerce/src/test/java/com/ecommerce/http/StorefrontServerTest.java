@@ -0,0 +1,122 @@
+package com.ecommerce.http;
+
+import com.ecommerce.catalog.ProductCatalog;
+import com.ecommerce.db.DatabaseConnection;
+import com.ecommerce.order.OrderService;
+import com.ecommerce.order.events.OrderEventLog;
+import com.ecommerce.order.observer.OrderObserverRegistry;
+import com.ecommerce.product.SingleProduct;
+import junit.framework.TestCase;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+public class StorefrontServerTest extends TestCase {
+
+    private StorefrontServer server;
+    private HttpClient client;
+    // the database is a process-wide singleton; products added by other tests come first
+    private int firstProduct;
+
+    @Override
+    protected void setUp() throws Exception {
+        firstProduct = DatabaseConnection.getInstance().getProductCount() + 1;
+        ProductCatalog catalog = new ProductCatalog();
+        catalog.addProduct(new SingleProduct("Pen", 2.50));
+        catalog.addProduct(new SingleProduct("Notebook", 7.50));
+        catalog.addProduct(new SingleProduct("Lamp \"Deluxe\"", 40.00));
+        OrderService orders = new OrderService(new OrderObserverRegistry(), new OrderEventLog(100));
+        server = new StorefrontServer(catalog, orders, 0, Duration.ofMillis(20));
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @Override
+    protected void tearDown() {
+        server.close();
+    }
+
+    public void testCartCheckoutAndOrderStatus() throws Exception {
+        HttpResponse<String> cart = send("POST", "/carts");
+        assertEquals(201, cart.statusCode());
+        String cartId = cart.body().replaceAll(".*\"cartId\":\"([^\"]+)\".*", "$1");
+
+        assertEquals(201, send("POST", "/carts/" + cartId + "/items?product=" + firstProduct).statusCode());
+        assertEquals(201, send("POST", "/carts/" + cartId + "/items?product=" + (firstProduct + 1) + "&giftWrap=true").statusCode());
+        assertEquals(201, send("POST", "/carts/" + cartId + "/items?product=" + (firstProduct + 2)).statusCode());
+        assertEquals(204, send("DELETE", "/carts/" + cartId + "/items/3").statusCode());
+        assertTrue(send("GET", "/carts/" + cartId).body().endsWith("\"total\":15.00}"));
+
+        HttpResponse<String> checkout = send("POST", "/carts/" + cartId + "/checkout?payment=2&coupon=SAVE10");
+        assertEquals(201, checkout.statusCode());
+        assertTrue(checkout.body(), checkout.body().contains("\"status\":\"PAID\",") && checkout.body().contains("\"total\":13.50,"));
+        String orderId = checkout.body().replaceAll(".*\"orderId\":\"([^\"]+)\".*", "$1");
+
+        // the cart is closed by checkout
+        assertEquals(404, send("POST", "/carts/" + cartId + "/items?product=" + firstProduct).statusCode());
+        assertEquals(0, server.getOpenCartCount());
+
+        Thread.sleep(200);
+        assertTrue(send("GET", "/orders/" + orderId).body().contains("\"status\":\"DELIVERED\""));
+        assertEquals(404, send("GET", "/orders/missing").statusCode());
+    }
+
+    public void testCatalogPagesAreStreamedOverOneConnection() throws Exception {
+        HttpResponse<String> page = send("GET", "/products?page=" + firstProduct + "&size=1");
+        assertEquals(200, page.statusCode());
+        assertTrue(page.body(), page.body().startsWith("[{\"id\":" + firstProduct + ",\"name\":\"Pen\",\"price\":2.50,"));
+        assertEquals(String.valueOf(firstProduct + 2), page.headers().firstValue("X-Total-Count").orElse(null));
+
+        HttpResponse<String> product = send("GET", "/products/" + (firstProduct + 2));
+        assertTrue(product.body(), product.body().contains("\"name\":\"Lamp \\\"Deluxe\\\"\""));
+        assertEquals("[]", send("GET", "/products?page=1000&size=50").body());
+    }
+
+    public void testBadRequests() throws Exception {
+        String cartId = send("POST", "/carts").body().replaceAll(".*\"cartId\":\"([^\"]+)\".*", "$1");
+        assertEquals(409, send("POST", "/carts/" + cartId + "/checkout?payment=1").statusCode());
+        assertEquals(400, send("POST", "/carts/" + cartId + "/items?product=0").statusCode());
+        assertEquals(400, send("POST", "/carts/" + cartId + "/checkout?payment=9").statusCode());
+        assertEquals(400, send("GET", "/products?size=100000").statusCode());
+        assertEquals(404, send("GET", "/carts/nope").statusCode());
+        assertEquals(405, send("PUT", "/products").statusCode());
+    }
+
+    public void testIdleCartsExpireAndOpenCartsAreCapped() throws Exception {
+        server.close();
+        OrderService orders = new OrderService(new OrderObserverRegistry(), new OrderEventLog(100));
+        server = new StorefrontServer(new ProductCatalog(), orders, 0, Duration.ofMillis(20), Duration.ofMillis(300), 2);
+        server.start();
+
+        String used = send("POST", "/carts").body().replaceAll(".*\"cartId\":\"([^\"]+)\".*", "$1");
+        String abandoned = send("POST", "/carts").body().replaceAll(".*\"cartId\":\"([^\"]+)\".*", "$1");
+        // both carts are still fresh, so none can make room for a third
+        assertEquals(503, send("POST", "/carts").statusCode());
+
+        // keep one cart in use for well over the idle timeout; the other is swept
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (server.getOpenCartCount() > 1) {
+            if (System.nanoTime() > deadline) fail("idle cart was never expired");
+            assertEquals(200, send("GET", "/carts/" + used).statusCode());
+            Thread.sleep(50);
+        }
+        assertEquals(404, send("GET", "/carts/" + abandoned).statusCode());
+        assertEquals(200, send("GET", "/carts/" + used).statusCode());
+        assertEquals(201, send("POST", "/carts").statusCode());
+
+        // left alone, both remaining carts expire and free their slots
+        Thread.sleep(350);
+        assertEquals(201, send("POST", "/carts").statusCode());
+        assertEquals(404, send("GET", "/carts/" + used).statusCode());
+    }
+
+    private HttpResponse<String> send(String method, String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,105 @@
+package com.ecommerce.order.events;
+
+import com.ecommerce.order.OrderStatus;
+import junit.framework.TestCase;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class OrderEventLogTest extends TestCase {
+
+    public void testSubscriptionReadsInBatchesAndReplays() {
+        OrderEventLog log = new OrderEventLog(1000);
+        for (int i = 0; i < 10; i++) log.append("ORD" + i, OrderStatus.PLACED);
+
+        OrderEventSubscription sub = log.subscribe(0);
+        assertEquals(4, sub.poll(4).size());
+        assertEquals(6, sub.getLag());
+
+        List<OrderEvent> seen = new ArrayList<>();
+        assertEquals(6, sub.drainTo(4, seen::addAll));
+        assertEquals("ORD9", seen.get(5).getOrderId());
+        assertEquals(0, sub.getLag());
+
+        sub.seek(7);
+        assertEquals(7, sub.poll(10).get(0).getOffset());
+    }
+
+    public void testRetentionBoundsMemory() {
+        OrderEventLog log = new OrderEventLog(OrderEventLog.SEGMENT_SIZE);
+        int total = OrderEventLog.SEGMENT_SIZE * 5;
+        for (int i = 0; i < total; i++) log.append("ORD" + i, OrderStatus.PAID);
+
+        assertTrue(log.getFirstRetainedOffset() > 0);
+        assertTrue(total - log.getFirstRetainedOffset() >= OrderEventLog.SEGMENT_SIZE);
+        // trimmed offsets are skipped when there is no journal
+        List<OrderEvent> batch = log.subscribe(0).poll(1);
+        assertEquals(log.getFirstRetainedOffset(), batch.get(0).getOffset());
+    }
+
+    public void testJournalReplaysTrimmedOffsetsAndSurvivesReopen() throws Exception {
+        Path file = Files.createTempFile("order-events", ".log");
+        int total = OrderEventLog.SEGMENT_SIZE * 4 + 17;
+
+        try (OrderEventLog log = OrderEventLog.open(file, OrderEventLog.SEGMENT_SIZE)) {
+            for (int i = 0; i < total; i++) log.append("ORD" + i, OrderStatus.values()[i % 4]);
+            assertTrue(log.getFirstRetainedOffset() > 0);
+
+            List<OrderEvent> old = log.read(5000, 3);
+            assertEquals("ORD5000", old.get(0).getOrderId());
+            assertEquals(OrderStatus.values()[5000 % 4], old.get(0).getStatus());
+        }
+
+        try (OrderEventLog reopened = OrderEventLog.open(file, OrderEventLog.SEGMENT_SIZE)) {
+            assertEquals(total, reopened.getNextOffset());
+            OrderEventSubscription sub = reopened.subscribe(0);
+            long[] count = {0};
+            sub.drainTo(1000, batch -> {
+                for (OrderEvent e : batch) assertEquals("ORD" + e.getOffset(), e.getOrderId());
+                count[0] += batch.size();
+            });
+            assertEquals(total, count[0]);
+            assertEquals(total, reopened.append("ORD-next", OrderStatus.SHIPPED));
+        }
+        Files.deleteIfExists(file);
+    }
+
+    public void testReadsRacingCloseFailWithLogClosed() throws Exception {
+        Path file = Files.createTempFile("order-events", ".log");
+        OrderEventLog log = OrderEventLog.open(file, OrderEventLog.SEGMENT_SIZE);
+        for (int i = 0; i < OrderEventLog.SEGMENT_SIZE * 3; i++) log.append("ORD" + i, OrderStatus.PAID);
+
+        CountDownLatch reading = new CountDownLatch(1);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            try {
+                // offset 0 is behind the memory window, so every read goes to the journal
+                while (true) {
+                    assertEquals("ORD0", log.read(0, 100).get(0).getOrderId());
+                    reading.countDown();
+                }
+            } catch (RuntimeException e) {
+                failure.set(e);
+            }
+        });
+        reader.start();
+        assertTrue(reading.await(5, TimeUnit.SECONDS));
+        log.close();
+        reader.join(5000);
+
+        assertTrue(String.valueOf(failure.get()), failure.get() instanceof IllegalStateException);
+        assertTrue(failure.get().getMessage().endsWith("is closed"));
+        try {
+            log.append("ORD-late", OrderStatus.PAID);
+            fail("appending to a closed log");
+        } catch (IllegalStateException expected) {
+        }
+        log.close(); // a second close is a no-op
+        Files.deleteIfExists(file);
+    }
+}
@@ -0,0 +1,95 @@
+package com.ecommerce.order.observer;
+
+import com.ecommerce.order.Order;
+import com.ecommerce.order.OrderStatus;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class OrderObserverRegistryTest extends TestCase {
+
+    private OrderObserverRegistry registry;
+
+    @Override
+    protected void setUp() {
+        registry = new OrderObserverRegistry();
+    }
+
+    public void testStatusSubscriptionsSeeOnlyTheirStatusesOnEveryOrder() {
+        Recorder shipping = new Recorder();
+        Recorder all = new Recorder();
+        registry.subscribe(shipping, OrderStatus.SHIPPED);
+        registry.subscribe(all);
+        registry.subscribe(all); // repeated subscriptions are no-ops
+
+        Order first = new Order("ORD1", registry);
+        Order second = new Order("ORD2", registry);
+        first.setStatus(OrderStatus.SHIPPED);
+        second.setStatus(OrderStatus.PAID);
+
+        assertEquals(List.of("ORD1 SHIPPED"), shipping.seen);
+        assertEquals(List.of("ORD1 PLACED", "ORD2 PLACED", "ORD1 SHIPPED", "ORD2 PAID"), all.seen);
+
+        registry.unsubscribe(all);
+        second.setStatus(OrderStatus.SHIPPED);
+        assertEquals(List.of("ORD1 SHIPPED", "ORD2 SHIPPED"), shipping.seen);
+        assertEquals(4, all.seen.size());
+    }
+
+    public void testOrderObserversSeeOnlyTheirOrder() {
+        Recorder customer = new Recorder();
+        // handed over at construction, so PLACED is delivered too
+        Order first = new Order("ORD1", registry, customer);
+        Order second = new Order("ORD2", registry);
+        first.setStatus(OrderStatus.PAID);
+        second.setStatus(OrderStatus.PAID);
+
+        assertEquals(List.of("ORD1 PLACED", "ORD1 PAID"), customer.seen);
+
+        Recorder late = new Recorder();
+        second.addObserver(late);
+        second.addObserver(late); // repeated subscriptions are no-ops
+        second.setStatus(OrderStatus.SHIPPED);
+        second.removeObserver(late);
+        second.setStatus(OrderStatus.DELIVERED);
+        assertEquals(List.of("ORD2 SHIPPED"), late.seen);
+        assertEquals(2, customer.seen.size());
+    }
+
+    public void testStatusAndOrderObserversBothSeeAChange() {
+        Recorder admin = new Recorder();
+        Recorder customer = new Recorder();
+        registry.subscribe(admin, OrderStatus.PAID);
+        new Order("ORD1", registry, customer).setStatus(OrderStatus.PAID);
+
+        assertEquals(List.of("ORD1 PAID"), admin.seen);
+        assertEquals(List.of("ORD1 PLACED", "ORD1 PAID"), customer.seen);
+    }
+
+    public void testOrderObserversAreDroppedAtAFinalStatus() {
+        Recorder customer = new Recorder();
+        Order delivered = new Order("ORD1", registry);
+        Order cancelled = new Order("ORD2", registry);
+        delivered.addObserver(customer);
+        cancelled.addObserver(customer);
+
+        delivered.setStatus(OrderStatus.DELIVERED);
+        cancelled.setStatus(OrderStatus.CANCELLED);
+        assertEquals(List.of("ORD1 DELIVERED", "ORD2 CANCELLED"), customer.seen);
+
+        // nothing is delivered after the final status, and late subscriptions are ignored
+        delivered.addObserver(customer);
+        delivered.setStatus(OrderStatus.DELIVERED);
+        assertEquals(2, customer.seen.size());
+    }
+
+    private static final class Recorder implements OrderObserver {
+        final List<String> seen = new ArrayList<>();
+
+        @Override
+        public void update(Order order, OrderStatus status) {
+            seen.add(order.getOrderId() + " " + status);
+        }
+    }
+}
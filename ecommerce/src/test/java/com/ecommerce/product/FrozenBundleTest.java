@@ -0,0 +1,53 @@
+package com.ecommerce.product;
+
+import com.ecommerce.product.decorators.DiscountDecorator;
+import junit.framework.TestCase;
+
+import java.util.List;
+
+public class FrozenBundleTest extends TestCase {
+
+    public void testFlattensNestedBundlesAndKeepsPrice() {
+        ProductBundle inner = new ProductBundle("Inner");
+        inner.addProduct(new SingleProduct("Pen", 2));
+        inner.addProduct(new SingleProduct("Pad", 3));
+
+        ProductBundle outer = new ProductBundle("Outer");
+        outer.addProduct(inner);
+        outer.addProduct(inner);
+        outer.addProduct(new SingleProduct("Pen", 2));
+
+        FrozenBundle frozen = outer.freeze();
+        assertEquals(outer.getPrice(), frozen.getPrice(), 1e-9);
+        assertEquals(5, frozen.getItemCount());
+        assertEquals(2, frozen.getDistinctItemCount());
+    }
+
+    public void testDecoratedBundleStaysOpaque() {
+        ProductBundle inner = new ProductBundle("Inner");
+        inner.addProduct(new SingleProduct("Cup", 10));
+        inner.addProduct(new SingleProduct("Mug", 10));
+        Product discounted = new DiscountDecorator(inner.freeze(), 50);
+
+        FrozenBundle frozen = FrozenBundle.of("Order", List.of(discounted, discounted));
+        assertEquals(20.0, frozen.getPrice(), 1e-9);
+        assertEquals(2, frozen.getItemCount());
+        assertEquals(1, frozen.getDistinctItemCount());
+    }
+
+    public void testIdenticalBundlesShareOneInstance() {
+        FrozenBundle a = FrozenBundle.of("Kit", List.of(new SingleProduct("Bolt", 1), new SingleProduct("Nut", 1)));
+        FrozenBundle b = FrozenBundle.of("Kit", List.of(new SingleProduct("Bolt", 1), new SingleProduct("Nut", 1)));
+        assertSame(a, b);
+    }
+
+    public void testFrozenBundleIsImmutable() {
+        FrozenBundle frozen = FrozenBundle.of("Kit", List.of(new SingleProduct("Bolt", 1)));
+        try {
+            frozen.addProduct(new SingleProduct("Nut", 1));
+            fail("Expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException expected) {
+            // expected
+        }
+    }
+}
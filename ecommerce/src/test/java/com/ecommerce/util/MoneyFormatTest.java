@@ -0,0 +1,34 @@
+package com.ecommerce.util;
+
+import junit.framework.TestCase;
+
+import java.util.Random;
+
+public class MoneyFormatTest extends TestCase {
+
+    public void testFormatsTwoDecimals() {
+        assertEquals("0.00", MoneyFormat.format(0));
+        assertEquals("5.00", MoneyFormat.format(5));
+        assertEquals("47080.88", MoneyFormat.format(47080.8779));
+        assertEquals("0.05", MoneyFormat.format(0.049999));
+        assertEquals("-3.10", MoneyFormat.format(-3.1));
+        assertEquals("-0.00", MoneyFormat.format(-0.001));
+        assertEquals("1.01", MoneyFormat.format(1.005));
+        assertEquals("41360.08", MoneyFormat.format(41360.075));
+        assertEquals("12345678901234.57", MoneyFormat.format(12345678901234.567));
+    }
+
+    public void testKeepsSignOfValuesThatRoundToZero() {
+        for (double value : new double[]{-0.0, -0.001, -0.004999, 0.0, 0.001, 0.004999}) {
+            assertEquals(String.format("%.2f", value), MoneyFormat.format(value));
+        }
+    }
+
+    public void testMatchesStringFormatForCatalogPrices() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            double price = random.nextInt(10_000_000) / 100.0 * (1 + random.nextInt(30) / 100.0);
+            assertEquals(String.format("%.2f", price), MoneyFormat.format(price));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.smartoffice.jmh;
+
+import com.smartoffice.manager.BookingManager;
+import com.smartoffice.model.Booking;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Auto-release scheduling: every booking puts a task on the scheduler's delay queue, and
+ * cancelling the booking or reporting the room occupied takes it off again. Measured against a
+ * queue already holding P pending auto-releases (bookings in rooms 2..8), since queue inserts
+ * and removals are O(log P).
+ *
+ * bookThenCancel: schedule + cancel. bookOccupyThenCancel: schedule, cancelled by an occupied
+ * reading, room emptied, booking cancelled. Contended: 4 threads in one room.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Benchmark)
+public class AutoReleaseBenchmark {
+    static final int ROOMS = 8;
+
+    @Param({"0", "10000", "100000"})
+    public int pendingAutoReleases;
+
+    BookingManager manager;
+
+    @Setup(Level.Trial)
+    public void open() {
+        manager = BenchmarkOffice.open(ROOMS);
+        int perRoom = pendingAutoReleases / (ROOMS - 1);
+        for (int roomId = 2; roomId <= ROOMS; roomId++) BenchmarkOffice.fill(manager, roomId, perRoom);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        manager.shutdownNow();
+    }
+
+    @State(Scope.Thread)
+    public static class Lane {
+        BenchmarkOffice.Ring ring;
+
+        @Setup(Level.Trial)
+        public void setup(ThreadParams threads) {
+            ring = new BenchmarkOffice.Ring(BenchmarkOffice.gapBookings(1, 1024, threads.getThreadIndex(), threads.getThreadCount()));
+        }
+    }
+
+    @Benchmark
+    public void bookThenCancel(Lane lane) {
+        Booking booking = lane.ring.next();
+        manager.bookRoom(booking);
+        manager.cancelBooking(booking.getBookingId());
+    }
+
+    @Benchmark
+    public void bookOccupyThenCancel(Lane lane) {
+        Booking booking = lane.ring.next();
+        manager.bookRoom(booking);
+        manager.updateOccupancy(1, 2);
+        manager.updateOccupancy(1, 0);
+        manager.cancelBooking(booking.getBookingId());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void bookThenCancelContended(Lane lane) {
+        Booking booking = lane.ring.next();
+        manager.bookRoom(booking);
+        manager.cancelBooking(booking.getBookingId());
+    }
+}
@@ -0,0 +1,102 @@
+package com.smartoffice.jmh;
+
+import com.smartoffice.config.OfficeConfiguration;
+import com.smartoffice.manager.BookingManager;
+import com.smartoffice.model.Booking;
+import com.smartoffice.model.User;
+import com.smartoffice.util.LoggerUtil;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Shared fixtures for the benchmarks: an office of identical rooms and a fixed booking grid.
+ *
+ * Grid: existing booking k of a room runs for 30 minutes from BASE + k hours, so every hour has a
+ * free half hour after its booking (the "gap"). Benchmarks book into gaps and cancel again, which
+ * keeps the room at its starting size for the whole run. When several threads share a room, the
+ * gap is cut into one lane per thread so their bookings never conflict with each other.
+ *
+ * Logging is set to ERROR: these benchmarks measure booking work, not log I/O (see
+ * BookingLoggingBenchmark in the test sources for that).
+ */
+final class BenchmarkOffice {
+    static final User USER = new User("bench@example.com", "Bench");
+    static final int ROOM_CAPACITY = 10;
+
+    // tomorrow at midnight, so every grid slot passes bookRoom's start-time check
+    static final LocalDateTime BASE = LocalDateTime.now().plusDays(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+
+    private static final int GAP_MINUTES = 30;
+
+    private BenchmarkOffice() {}
+
+    /**
+     * Configure the office singleton with this many rooms and return a fresh manager.
+     */
+    static BookingManager open(int rooms) {
+        LoggerUtil.setRootLevel("ERROR");
+        int[] capacities = new int[rooms];
+        Arrays.fill(capacities, ROOM_CAPACITY);
+        OfficeConfiguration.getInstance(rooms, ROOM_CAPACITY).reload(capacities);
+        return new BookingManager(Duration.ofMinutes(5), 1);
+    }
+
+    /**
+     * Book the first count grid slots of a room.
+     */
+    static void fill(BookingManager manager, int roomId, int count) {
+        for (int k = 0; k < count; k++) {
+            manager.bookRoom(new Booking(roomId, USER, BASE.plusHours(k), 30));
+        }
+    }
+
+    /**
+     * One booking per gap (at least one), each in the given lane of that gap.
+     *
+     * @param gaps  number of gaps to cover, usually the room's existing booking count
+     * @param lane  0-based lane of the calling thread
+     * @param lanes lanes per gap (threads sharing the room), at most 30
+     */
+    static Booking[] gapBookings(int roomId, int gaps, int lane, int lanes) {
+        int width = GAP_MINUTES / lanes;
+        Booking[] bookings = new Booking[Math.max(1, gaps)];
+        for (int k = 0; k < bookings.length; k++) {
+            LocalDateTime start = BASE.plusHours(k).plusMinutes(30 + (long) lane * width);
+            bookings[k] = new Booking(roomId, USER, start, width);
+        }
+        // visit gaps in a scattered order so the binary search doesn't always land in the same place
+        shuffle(bookings, 31L * roomId + lane);
+        return bookings;
+    }
+
+    private static void shuffle(Booking[] bookings, long seed) {
+        Random random = new Random(seed);
+        for (int i = bookings.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Booking tmp = bookings[i];
+            bookings[i] = bookings[j];
+            bookings[j] = tmp;
+        }
+    }
+
+    /**
+     * Cycles through a fixed set of bookings, one per call.
+     */
+    static final class Ring {
+        private final Booking[] bookings;
+        private int next;
+
+        Ring(Booking[] bookings) {
+            this.bookings = bookings;
+        }
+
+        Booking next() {
+            Booking booking = bookings[next];
+            next = next + 1 == bookings.length ? 0 : next + 1;
+            return booking;
+        }
+    }
+}
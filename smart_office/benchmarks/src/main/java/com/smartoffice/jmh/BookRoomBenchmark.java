@@ -0,0 +1,106 @@
+package com.smartoffice.jmh;
+
+import com.smartoffice.exception.BookingConflictException;
+import com.smartoffice.manager.BookingManager;
+import com.smartoffice.model.Booking;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * bookRoom with N bookings already in the room.
+ *
+ * Each operation books a free gap between existing bookings and cancels it again (the room stays
+ * at N bookings), so one op is conflict check + insert + auto-release schedule + cancel. conflict
+ * measures the rejected path on its own, exception included.
+ *
+ * Contention: SameRoom puts 4 threads on one room lock; OwnRoom gives each thread its own room,
+ * so only the shared maps and the scheduler are contended.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Benchmark)
+public class BookRoomBenchmark {
+    static final int ROOMS = 4;
+
+    @Param({"1", "100", "10000"})
+    public int existingBookings;
+
+    BookingManager manager;
+    Booking conflicting;
+
+    @Setup(Level.Trial)
+    public void open() {
+        manager = BenchmarkOffice.open(ROOMS);
+        for (int roomId = 1; roomId <= ROOMS; roomId++) BenchmarkOffice.fill(manager, roomId, existingBookings);
+        // straddles the middle booking of room 1
+        conflicting = new Booking(1, BenchmarkOffice.USER, BenchmarkOffice.BASE.plusHours(existingBookings / 2).plusMinutes(15), 30);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        manager.shutdownNow();
+    }
+
+    @State(Scope.Thread)
+    public static class Lane {
+        BenchmarkOffice.Ring sameRoom;
+        BenchmarkOffice.Ring ownRoom;
+
+        @Setup(Level.Trial)
+        public void setup(BookRoomBenchmark office, ThreadParams threads) {
+            int lane = threads.getThreadIndex();
+            sameRoom = new BenchmarkOffice.Ring(BenchmarkOffice.gapBookings(1, office.existingBookings, lane, threads.getThreadCount()));
+            ownRoom = new BenchmarkOffice.Ring(BenchmarkOffice.gapBookings(1 + lane % ROOMS, office.existingBookings, 0, 1));
+        }
+    }
+
+    @Benchmark
+    public void bookThenCancel(Lane lane) {
+        bookThenCancel(lane.ownRoom.next());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void bookThenCancelSameRoom(Lane lane) {
+        bookThenCancel(lane.sameRoom.next());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void bookThenCancelOwnRoom(Lane lane) {
+        bookThenCancel(lane.ownRoom.next());
+    }
+
+    @Benchmark
+    public Object conflict() {
+        try {
+            manager.bookRoom(conflicting);
+        } catch (BookingConflictException expected) {
+            return expected;
+        }
+        throw new IllegalStateException("expected a conflict");
+    }
+
+    private void bookThenCancel(Booking booking) {
+        manager.bookRoom(booking);
+        manager.cancelBooking(booking.getBookingId());
+    }
+}
@@ -0,0 +1,104 @@
+package com.smartoffice.jmh;
+
+import com.smartoffice.manager.BookingManager;
+import com.smartoffice.observer.ACSystem;
+import com.smartoffice.observer.LightSystem;
+import com.smartoffice.observer.OccupancySensor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * updateOccupancy and its fan-out.
+ *
+ * An occupied reading (2 or more people) walks the room's bookings under the room lock to cancel
+ * their pending auto-releases; the first call cancels them, later calls measure the walk itself.
+ * An empty reading only stores the count. sensorWithDevices goes through OccupancySensor, which
+ * also notifies an ACSystem and a LightSystem. Readings alternate so every call is a change.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Benchmark)
+public class OccupancyBenchmark {
+    static final int ROOMS = 4;
+
+    @Param({"1", "100", "1000"})
+    public int bookingsInRoom;
+
+    BookingManager manager;
+    OccupancySensor sensor;
+
+    @Setup(Level.Trial)
+    public void open() {
+        manager = BenchmarkOffice.open(ROOMS);
+        for (int roomId = 1; roomId <= ROOMS; roomId++) BenchmarkOffice.fill(manager, roomId, bookingsInRoom);
+        sensor = new OccupancySensor(manager);
+        sensor.registerObserver(new ACSystem());
+        sensor.registerObserver(new LightSystem());
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        manager.shutdownNow();
+    }
+
+    @State(Scope.Thread)
+    public static class Reading {
+        int ownRoom;
+        boolean flip;
+
+        @Setup(Level.Trial)
+        public void setup(ThreadParams threads) {
+            ownRoom = 1 + threads.getThreadIndex() % ROOMS;
+        }
+
+        int next(int low, int high) {
+            flip = !flip;
+            return flip ? high : low;
+        }
+    }
+
+    @Benchmark
+    public int occupied(Reading reading) {
+        return manager.updateOccupancy(1, reading.next(2, 3));
+    }
+
+    @Benchmark
+    public int empty(Reading reading) {
+        return manager.updateOccupancy(1, reading.next(0, 1));
+    }
+
+    @Benchmark
+    public int sensorWithDevices(Reading reading) {
+        return sensor.setOccupancy(1, reading.next(2, 3));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int occupiedSameRoom(Reading reading) {
+        return manager.updateOccupancy(1, reading.next(2, 3));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int occupiedOwnRoom(Reading reading) {
+        return manager.updateOccupancy(reading.ownRoom, reading.next(2, 3));
+    }
+}
@@ -0,0 +1,57 @@
+package com.smartoffice.jmh;
+
+import com.smartoffice.model.Booking;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking.overlapsWith, the check behind every conflict test, for each way a pair can relate:
+ * overlapping, disjoint, back to back (end == start, not an overlap) and in different rooms
+ * (rejected before comparing times).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Thread)
+public class OverlapBenchmark {
+    private static final LocalDateTime NINE = BenchmarkOffice.BASE.plusHours(9);
+
+    // non-final fields, so the JIT can't fold the comparisons away
+    Booking booking = new Booking(1, BenchmarkOffice.USER, NINE, 60);
+    Booking overlapping = new Booking(1, BenchmarkOffice.USER, NINE.plusMinutes(30), 60);
+    Booking disjoint = new Booking(1, BenchmarkOffice.USER, NINE.plusHours(3), 60);
+    Booking backToBack = new Booking(1, BenchmarkOffice.USER, NINE.plusMinutes(60), 60);
+    Booking otherRoom = new Booking(2, BenchmarkOffice.USER, NINE, 60);
+
+    @Benchmark
+    public boolean overlapping() {
+        return booking.overlapsWith(overlapping);
+    }
+
+    @Benchmark
+    public boolean disjoint() {
+        return booking.overlapsWith(disjoint);
+    }
+
+    @Benchmark
+    public boolean backToBack() {
+        return booking.overlapsWith(backToBack);
+    }
+
+    @Benchmark
+    public boolean otherRoom() {
+        return booking.overlapsWith(otherRoom);
+    }
+}
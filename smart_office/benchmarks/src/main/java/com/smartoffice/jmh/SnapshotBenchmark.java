@@ -0,0 +1,89 @@
+package com.smartoffice.jmh;
+
+import com.smartoffice.manager.BookingManager;
+import com.smartoffice.model.Booking;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * getAllBookings: a copy of every room's list, taken room by room under each room's lock.
+ *
+ * readWhileBooking runs one snapshot reader against three writers booking and cancelling in
+ * rooms 1-3, so the reader waits on locks the writers hold (and the writers on the reader).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Benchmark)
+public class SnapshotBenchmark {
+    @Param({"10", "100"})
+    public int rooms;
+
+    @Param({"10", "100"})
+    public int bookingsPerRoom;
+
+    BookingManager manager;
+
+    @Setup(Level.Trial)
+    public void open() {
+        manager = BenchmarkOffice.open(rooms);
+        for (int roomId = 1; roomId <= rooms; roomId++) BenchmarkOffice.fill(manager, roomId, bookingsPerRoom);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        manager.shutdownNow();
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+        BenchmarkOffice.Ring ring;
+
+        @Setup(Level.Trial)
+        public void setup(SnapshotBenchmark office, ThreadParams threads) {
+            int roomId = 1 + threads.getSubgroupThreadIndex() % office.rooms;
+            ring = new BenchmarkOffice.Ring(BenchmarkOffice.gapBookings(roomId, office.bookingsPerRoom, 0, 1));
+        }
+    }
+
+    @Benchmark
+    public Map<Integer, List<Booking>> getAllBookings() {
+        return manager.getAllBookings();
+    }
+
+    @Benchmark
+    @Group("readWhileBooking")
+    @GroupThreads(1)
+    public Map<Integer, List<Booking>> reader() {
+        return manager.getAllBookings();
+    }
+
+    @Benchmark
+    @Group("readWhileBooking")
+    @GroupThreads(3)
+    public void writer(Writer writer) {
+        Booking booking = writer.ring.next();
+        manager.bookRoom(booking);
+        manager.cancelBooking(booking.getBookingId());
+    }
+}
@@ -2,18 +2,27 @@ package com.smartoffice;
 
 import com.smartoffice.command.AddOccupantCommand;
 import com.smartoffice.command.BookRoomCommand;
+import com.smartoffice.command.CancelRoomCommand;
+import com.smartoffice.command.CommandHistory;
 import com.smartoffice.command.CommandInvoker;
+import com.smartoffice.command.CommandJournal;
+import com.smartoffice.command.JoinWaitlistCommand;
 import com.smartoffice.config.OfficeConfiguration;
 import com.smartoffice.exception.BookingConflictException;
+import com.smartoffice.exception.CapacityExceededException;
 import com.smartoffice.manager.BookingManager;
 import com.smartoffice.model.Booking;
 import com.smartoffice.model.User;
+import com.smartoffice.model.WaitlistEntry;
 import com.smartoffice.observer.ACSystem;
+import com.smartoffice.observer.DeviceController;
 import com.smartoffice.observer.LightSystem;
 import com.smartoffice.observer.OccupancySensor;
+import com.smartoffice.observer.SensorIngestPipeline;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -21,15 +30,23 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.Executors;
 
 public class InteractiveShell {
 
     private static final Logger log = LoggerFactory.getLogger(InteractiveShell.class);
+    // -Dsmartoffice.journal=<file> records every command for replay with JournalReplayer
+    private static final String JOURNAL_PROPERTY = "smartoffice.journal";
+    // lights and AC: ON at 3+, OFF at 1 or fewer, so a count wobbling around 2 keeps the current state
+    private static final DeviceController.Settings DEVICE_SETTINGS =
+            new DeviceController.Settings(3, 1, Duration.ofSeconds(10), Duration.ofSeconds(10));
     private final Scanner scanner = new Scanner(System.in);
 
     // Lazy initialized after office config
     private BookingManager bookingManager;
     private OccupancySensor sensor;
+    private DeviceController deviceController;
+    private SensorIngestPipeline sensorFeed;
     private CommandInvoker invoker;
 
     public void run() {
@@ -85,11 +102,24 @@ public class InteractiveShell {
                         showOccupancy();
                         break;
                     case 10:
-                        printHelp();
+                        requireConfig();
+                        streamSensorReadings();
                         break;
                     case 11:
+                        printHelp();
+                        break;
+                    case 12:
                         exitRequested = true;
                         System.out.println("👋 Exiting Smart Office. Goodbye!");
+                        if (sensorFeed != null) {
+                            sensorFeed.shutdown();
+                        }
+                        if (deviceController != null) {
+                            deviceController.shutdown();
+                        }
+                        if (invoker != null) {
+                            invoker.close();
+                        }
                         if (bookingManager != null) {
                             bookingManager.shutdownNow();
                         }
@@ -128,10 +158,23 @@ public class InteractiveShell {
 
             // Initialize managers & observers only now
             bookingManager = new BookingManager(Duration.ofMinutes(delayMinutes), 2);
+            bookingManager.addWaitlistListener((entry, booking) ->
+                    System.out.printf("%n🔔 %s: waitlisted request admitted — Room %d at %s (booking %s)%n",
+                            entry.getUser().getDisplayName(), booking.getRoomId(), booking.getStart(), booking.getBookingId()));
             sensor = new OccupancySensor(bookingManager);
-            sensor.registerObserver(new LightSystem());
-            sensor.registerObserver(new ACSystem());
-            invoker = new CommandInvoker();
+            // lights and AC are driven through the debouncing controller rather than per reading
+            deviceController = new DeviceController(config, DEVICE_SETTINGS);
+            deviceController.addActuator(new LightSystem());
+            deviceController.addActuator(new ACSystem());
+            sensor.registerObserver(deviceController);
+            deviceController.start(Duration.ofMillis(100));
+            sensorFeed = new SensorIngestPipeline(sensor, config, Duration.ofMillis(200), 2);
+            String journalFile = System.getProperty(JOURNAL_PROPERTY);
+            invoker = journalFile == null
+                    ? new CommandInvoker()
+                    : new CommandInvoker(Executors.newVirtualThreadPerTaskExecutor(),
+                            new CommandHistory(CommandHistory.DEFAULT_CAPACITY),
+                            CommandJournal.create(Path.of(journalFile), config.snapshot()));
 
         } catch (NumberFormatException e) {
             System.out.println("❌ Please enter valid numbers for rooms, capacity, and delay.");
@@ -168,9 +211,12 @@ public class InteractiveShell {
 
     private void bookRoom() {
         try {
-            System.out.print("Enter room ID: ");
+            System.out.print("Enter room ID (0 = smallest free room that fits): ");
             int roomId = Integer.parseInt(scanner.nextLine());
 
+            System.out.print("Enter number of attendees: ");
+            int attendees = Integer.parseInt(scanner.nextLine());
+
             System.out.print("Enter your email: ");
             String email = scanner.nextLine().trim();
 
@@ -190,12 +236,23 @@ public class InteractiveShell {
             LocalDateTime start = LocalDateTime.of(now.toLocalDate(), parsedTime);
 
             User user = new User(email, name);
-            Booking booking = new Booking(roomId, user, start, duration);
-
-            invoker.executeCommand(new BookRoomCommand(bookingManager, booking));
+            if (roomId == 0) {
+                // each attempt goes through the invoker, so the booking is journaled like any other
+                Booking booking = bookingManager.bookSmallestFreeRoom(user, start, duration, attendees,
+                        b -> invoker.executeCommand(new BookRoomCommand(bookingManager, b)));
+                roomId = booking.getRoomId();
+            } else {
+                Booking booking = new Booking(roomId, user, start, duration, attendees);
+                try {
+                    invoker.executeCommand(new BookRoomCommand(bookingManager, booking));
+                } catch (BookingConflictException e) {
+                    offerWaitlist(new WaitlistEntry(roomId, user, start, duration, attendees, 0), e.getMessage());
+                    return;
+                }
+            }
 
-            System.out.printf("Room %d booked from %s for %d minutes by %s.%n",
-                    roomId, parsedTime, duration, name);
+            System.out.printf("Room %d booked from %s for %d minutes by %s (%d attendees).%n",
+                    roomId, parsedTime, duration, name, attendees);
 
         } catch (DateTimeParseException e) {
             System.out.println("❌ Invalid time format. Please use HH:mm (e.g., 09:30).");
@@ -203,11 +260,27 @@ public class InteractiveShell {
             System.out.println("❌ Invalid input. Please enter valid numbers.");
         } catch (BookingConflictException e) {
             log.info("⚠️ {}", e.getMessage());
+        } catch (CapacityExceededException e) {
+            System.out.printf("❌ %s%n", e.getMessage());
         } catch (Exception e) {
             System.out.printf("⚠️ Error: %s%n", e.getMessage());
         }
     }
 
+    private void offerWaitlist(WaitlistEntry entry, String conflict) {
+        System.out.printf("⚠️ %s%n", conflict);
+        System.out.print("Join the waitlist for this slot? (y/n): ");
+        if (!scanner.nextLine().trim().equalsIgnoreCase("y")) return;
+        JoinWaitlistCommand join = new JoinWaitlistCommand(bookingManager, entry);
+        invoker.executeCommand(join);
+        if (join.wasBooked()) {
+            System.out.printf("The slot freed up meanwhile: Room %d booked (ID: %s).%n", entry.getRoomId(), entry.getEntryId());
+        } else {
+            System.out.printf("⏳ Waitlisted for Room %d (ID: %s). You'll be notified if the slot frees up.%n",
+                    entry.getRoomId(), entry.getEntryId());
+        }
+    }
+
     private void cancelBooking() {
         try {
             var allBookings = bookingManager.getAllBookings();
@@ -227,8 +300,9 @@ public class InteractiveShell {
             System.out.print("Enter booking ID (UUID) to cancel: ");
             String bookingId = scanner.nextLine().trim();
 
-            boolean cancelled = bookingManager.cancelBooking(bookingId);
-            if (cancelled) {
+            CancelRoomCommand cancel = new CancelRoomCommand(bookingManager, bookingId);
+            invoker.executeCommand(cancel);
+            if (cancel.wasCancelled()) {
                 System.out.printf("✅ Booking for Room cancelled successfully (ID: %s).%n", bookingId);
             } else {
                 System.out.printf("⚠️ Booking not found: %s%n", bookingId);
@@ -249,12 +323,12 @@ public class InteractiveShell {
 
             invoker.executeCommand(new AddOccupantCommand(sensor, roomId, count));
 
-            if (count == 0) {
-                System.out.printf("Room %d is now unoccupied. AC and lights turned off.%n", roomId);
-            } else if (count >= 2) {
-                System.out.printf("Room %d is now occupied by %d persons. AC and lights turned on.%n", roomId, count);
+            if (count >= DEVICE_SETTINGS.onThreshold()) {
+                System.out.printf("Room %d is now occupied by %d persons. AC and lights will turn on.%n", roomId, count);
+            } else if (count <= DEVICE_SETTINGS.offThreshold()) {
+                System.out.printf("Room %d occupancy is %d. AC and lights will turn off.%n", roomId, count);
             } else {
-                System.out.printf("Room %d occupancy insufficient to mark as occupied.%n", roomId);
+                System.out.printf("Room %d occupancy is %d. AC and lights keep their current state.%n", roomId, count);
             }
 
         } catch (NumberFormatException e) {
@@ -264,6 +338,33 @@ public class InteractiveShell {
         }
     }
 
+    /**
+     * Raw sensor feed: readings go through the coalescing pipeline rather than one command each,
+     * so they are not recorded in the command journal.
+     */
+    private void streamSensorReadings() {
+        System.out.println("Enter readings as '<room ID> <count>', one per line; an empty line ends the feed.");
+        int accepted = 0;
+        while (scanner.hasNextLine()) {
+            String line = scanner.nextLine().trim();
+            if (line.isEmpty()) break;
+            String[] parts = line.split("\\s+");
+            try {
+                if (parts.length != 2) throw new NumberFormatException();
+                sensorFeed.submit(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+                accepted++;
+            } catch (NumberFormatException e) {
+                System.out.printf("❌ Skipped '%s': expected '<room ID> <count>'.%n", line);
+            } catch (Exception e) {
+                System.out.printf("⚠️ Skipped '%s': %s%n", line, e.getMessage());
+            }
+        }
+        sensorFeed.flush();
+        SensorIngestPipeline.Stats stats = sensorFeed.getStats();
+        System.out.printf("✅ %d readings accepted. Since start: %d ingested, %d coalesced, %d unchanged, %d delivered.%n",
+                accepted, stats.ingested(), stats.coalesced(), stats.unchanged(), stats.delivered());
+    }
+
     private void showBookingsForRoom() {
         try {
             System.out.print("Enter room ID: ");
@@ -344,8 +445,9 @@ public class InteractiveShell {
         System.out.println("7. Show bookings for a room");
         System.out.println("8. Show all bookings");
         System.out.println("9. Show occupancy for a room");
-        System.out.println("10. Help");
-        System.out.println("11. Exit");
+        System.out.println("10. Stream sensor readings");
+        System.out.println("11. Help");
+        System.out.println("12. Exit");
         System.out.print("Enter choice: ");
     }
 
@@ -1,10 +1,101 @@
 package com.smartoffice;
 
+import com.smartoffice.batch.BatchProcessor;
+import com.smartoffice.batch.BatchStats;
+import com.smartoffice.command.CommandInvoker;
+import com.smartoffice.config.OfficeConfiguration;
+import com.smartoffice.http.BookingHttpServer;
+import com.smartoffice.manager.BookingManager;
+import com.smartoffice.observer.OccupancySensor;
+import com.smartoffice.util.LoggerUtil;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
 public class Main {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            runBatch(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--http")) {
+            runHttp(args);
+            return;
+        }
         System.out.println("=== Smart Office Interactive Demo ===");
 
         InteractiveShell shell = new InteractiveShell();
         shell.run();
     }
+
+    /**
+     * --http <port> [rooms] [capacity]
+     * Serves the booking API until the process is stopped. BookingManager metrics are served at
+     * /metrics and published over JMX as com.smartoffice:type=Metrics,name="bookings".
+     */
+    private static void runHttp(String[] args) throws IOException {
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+        int rooms = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int capacity = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        int[] capacities = new int[rooms];
+        Arrays.fill(capacities, capacity);
+        OfficeConfiguration.getInstance(rooms, capacity).reload(capacities);
+        LoggerUtil.setRootLevel("WARN");
+
+        BookingManager manager = new BookingManager(Duration.ofMinutes(5), 2);
+        manager.getMetrics().registerMBean("bookings");
+        CommandInvoker invoker = new CommandInvoker();
+        BookingHttpServer server = new BookingHttpServer(manager, new OccupancySensor(manager), invoker, port);
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            invoker.close();
+            manager.shutdownNow();
+            stopped.countDown();
+        }));
+        server.start();
+        System.out.println(STR."Booking API on http://localhost:\{server.getPort()}/ (\{rooms} rooms x \{capacity}), Ctrl+C to stop");
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * --batch <commands.csv|.jsonl> [--output <results.csv>]
+     * Results go to the output file (stdout if omitted); the summary goes to stdout, or to
+     * stderr when results are on stdout.
+     */
+    private static void runBatch(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: --batch <commands.csv|commands.jsonl> [--output <results.csv>]");
+            System.exit(2);
+        }
+        Path input = Path.of(args[1]);
+        Path output = args.length > 3 && args[2].equals("--output") ? Path.of(args[3]) : null;
+        // per-command INFO logging would dominate a bulk run; results carry the outcomes
+        LoggerUtil.setRootLevel("WARN");
+
+        BatchProcessor processor = new BatchProcessor();
+        BatchStats stats;
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             Writer writer = output != null
+                     ? Files.newBufferedWriter(output, StandardCharsets.UTF_8)
+                     : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16)) {
+            stats = processor.run(reader, writer);
+        } finally {
+            if (processor.getManager() != null) processor.getManager().shutdownNow();
+        }
+        (output != null ? System.out : System.err).print(stats.summary());
+    }
 }
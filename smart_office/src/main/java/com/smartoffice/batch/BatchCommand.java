@@ -0,0 +1,48 @@
+package com.smartoffice.batch;
+
+import java.time.LocalDateTime;
+
+/**
+ * One parsed line of a batch file.
+ *
+ * Bookings carry a caller-chosen reference so a later cancel line in the same file can name
+ * them; a cancel whose reference was never booked in the batch is treated as a booking id.
+ */
+public sealed interface BatchCommand {
+
+    String op();
+
+    record Configure(int rooms, int capacity, int autoReleaseMinutes) implements BatchCommand {
+        public String op() {
+            return "configure";
+        }
+    }
+
+    record Book(String ref, int roomId, String userId, String name, LocalDateTime start,
+                int durationMinutes, int attendees) implements BatchCommand {
+        public String op() {
+            return "book";
+        }
+    }
+
+    record Cancel(String ref) implements BatchCommand {
+        public String op() {
+            return "cancel";
+        }
+    }
+
+    record Occupancy(int roomId, int count) implements BatchCommand {
+        public String op() {
+            return "occupancy";
+        }
+    }
+
+    /**
+     * A line that could not be parsed; reported in the results, never executed.
+     */
+    record Invalid(String reason) implements BatchCommand {
+        public String op() {
+            return "invalid";
+        }
+    }
+}
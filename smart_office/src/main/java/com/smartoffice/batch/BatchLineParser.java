@@ -0,0 +1,97 @@
+package com.smartoffice.batch;
+
+import com.smartoffice.util.Json;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+/**
+ * BatchLineParser: turns one CSV or JSON-lines record into a BatchCommand.
+ *
+ * A line starting with '{' is a flat JSON object with an "op" field, anything else is CSV:
+ *
+ *   configure,<rooms>,<capacity>[,<autoReleaseMinutes>]
+ *   book,<ref>,<roomId>,<userId>,<name>,<start ISO-8601>,<durationMinutes>[,<attendees>]
+ *   cancel,<ref or bookingId>
+ *   occupancy,<roomId>,<count>
+ *
+ *   {"op":"book","ref":"b1","room":1,"user":"a@x.com","name":"A","start":"2030-01-01T10:00","duration":60,"attendees":3}
+ *
+ * CSV fields are not quoted (names must not contain commas). Malformed lines become
+ * BatchCommand.Invalid instead of throwing, so one bad line never stops a batch.
+ * Stateless and thread-safe.
+ */
+public final class BatchLineParser {
+
+    private static final int DEFAULT_AUTO_RELEASE_MINUTES = 5;
+
+    public BatchCommand parse(String line) {
+        try {
+            String trimmed = line.strip();
+            return trimmed.startsWith("{") ? parseJson(trimmed) : parseCsv(trimmed);
+        } catch (NumberFormatException e) {
+            return new BatchCommand.Invalid(STR."bad number: \{e.getMessage()}");
+        } catch (DateTimeParseException e) {
+            return new BatchCommand.Invalid(STR."bad start time: \{e.getParsedString()}");
+        } catch (IllegalArgumentException e) {
+            return new BatchCommand.Invalid(e.getMessage());
+        }
+    }
+
+    private BatchCommand parseCsv(String line) {
+        String[] f = line.split(",", -1);
+        return switch (f[0].strip().toLowerCase()) {
+            case "configure" -> {
+                arity(f, 3, 4);
+                yield new BatchCommand.Configure(integer(f[1]), integer(f[2]),
+                        f.length > 3 ? integer(f[3]) : DEFAULT_AUTO_RELEASE_MINUTES);
+            }
+            case "book" -> {
+                arity(f, 7, 8);
+                yield new BatchCommand.Book(f[1].strip(), integer(f[2]), f[3].strip(), f[4].strip(),
+                        LocalDateTime.parse(f[5].strip()), integer(f[6]), f.length > 7 ? integer(f[7]) : 1);
+            }
+            case "cancel" -> {
+                arity(f, 2, 2);
+                yield new BatchCommand.Cancel(f[1].strip());
+            }
+            case "occupancy" -> {
+                arity(f, 3, 3);
+                yield new BatchCommand.Occupancy(integer(f[1]), integer(f[2]));
+            }
+            default -> new BatchCommand.Invalid(STR."unknown op '\{f[0]}'");
+        };
+    }
+
+    private BatchCommand parseJson(String line) {
+        Map<String, String> o = Json.parseFlatObject(line);
+        String op = o.getOrDefault("op", "");
+        return switch (op.toLowerCase()) {
+            case "configure" -> new BatchCommand.Configure(integer(required(o, "rooms")), integer(required(o, "capacity")),
+                    o.containsKey("autoReleaseMinutes") ? integer(o.get("autoReleaseMinutes")) : DEFAULT_AUTO_RELEASE_MINUTES);
+            case "book" -> new BatchCommand.Book(required(o, "ref"), integer(required(o, "room")), required(o, "user"),
+                    o.getOrDefault("name", o.get("user")), LocalDateTime.parse(required(o, "start")),
+                    integer(required(o, "duration")), o.containsKey("attendees") ? integer(o.get("attendees")) : 1);
+            case "cancel" -> new BatchCommand.Cancel(required(o, "ref"));
+            case "occupancy" -> new BatchCommand.Occupancy(integer(required(o, "room")), integer(required(o, "count")));
+            default -> new BatchCommand.Invalid(STR."unknown op '\{op}'");
+        };
+    }
+
+    private static void arity(String[] fields, int min, int max) {
+        if (fields.length < min || fields.length > max) {
+            throw new IllegalArgumentException(STR."\{fields[0]} expects \{min - 1}\{min == max ? "" : STR."-\{max - 1}"} fields, got \{fields.length - 1}");
+        }
+    }
+
+    private static int integer(String value) {
+        return Integer.parseInt(value.strip());
+    }
+
+    private static String required(Map<String, String> object, String key) {
+        String value = object.get(key);
+        if (value == null) throw new IllegalArgumentException(STR."missing field '\{key}'");
+        return value;
+    }
+}
@@ -0,0 +1,325 @@
+package com.smartoffice.batch;
+
+import com.smartoffice.command.AddOccupantCommand;
+import com.smartoffice.command.BookRoomCommand;
+import com.smartoffice.command.CancelRoomCommand;
+import com.smartoffice.command.Command;
+import com.smartoffice.command.CommandInvoker;
+import com.smartoffice.config.OfficeConfiguration;
+import com.smartoffice.manager.BookingManager;
+import com.smartoffice.model.Booking;
+import com.smartoffice.model.User;
+import com.smartoffice.observer.OccupancySensor;
+import com.smartoffice.util.LoggerUtil;
+import org.slf4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * BatchProcessor: runs a CSV / JSON-lines command file through the command layer, no prompts.
+ *
+ * Pipeline (each stage hands whole chunks of CHUNK_LINES lines to the next through a bounded
+ * queue, so a slow stage throttles the reader instead of buffering the whole file):
+ * 1. the calling thread reads lines and hands each chunk to a parser pool
+ * 2. the dispatcher thread takes parsed chunks in file order and submits their commands to a
+ *    CommandInvoker, which runs rooms in parallel and each room's commands in file order
+ * 3. the writer thread waits for each chunk's results in file order and writes one result line
+ *    per input line ("<line>,<OK|FAILED|INVALID>,<detail>") through a buffered writer
+ *
+ * A configure line is a barrier: it waits for all earlier commands, then creates the
+ * BookingManager (first time) or reloads the room layout. Lines before the first configure
+ * fail. Blank lines and lines starting with '#' are skipped.
+ *
+ * If writing the results fails, the reader stops, the dispatcher stops submitting, and the
+ * writer drains what is still queued without writing it, so every stage ends; run() then throws.
+ */
+public class BatchProcessor {
+    private static final Logger log = LoggerUtil.getLogger(BatchProcessor.class);
+
+    static final int CHUNK_LINES = 1024;
+    private static final int QUEUE_CHUNKS = 16;
+
+    private final BatchLineParser parser = new BatchLineParser();
+    // owned by the dispatcher thread
+    private final Map<String, Booking> bookingsByRef = new HashMap<>();
+    // submitted commands the next configure barrier waits for; completed ones are pruned as it grows
+    private final List<CompletableFuture<Result>> outstanding = new ArrayList<>();
+    private int pruneAt = CHUNK_LINES * QUEUE_CHUNKS;
+    // set by the writer when the output fails; stops the reader and the dispatcher
+    private volatile IOException writeFailure;
+    private BookingManager manager;
+    private OccupancySensor sensor;
+    private CommandInvoker invoker;
+
+    private record Chunk(long firstLine, String[] lines, int size) {
+    }
+
+    private record Parsed(long firstLine, long[] lineNumbers, BatchCommand[] commands) {
+    }
+
+    /**
+     * Outcome of one line; detail is the booking id for bookings, the error message for failures.
+     */
+    private record Result(long line, String op, String status, String detail) {
+    }
+
+    private record Executed(List<CompletableFuture<Result>> results) {
+    }
+
+    private static final Future<Parsed> END_OF_INPUT = CompletableFuture.completedFuture(null);
+    private static final Executed END_OF_RESULTS = new Executed(List.of());
+
+    /**
+     * Process every line of the input and write the results. Closes neither stream.
+     *
+     * @throws UncheckedIOException if reading the input or writing the results fails
+     */
+    public BatchStats run(BufferedReader input, Writer output) {
+        BatchStats stats = new BatchStats();
+        long begin = System.nanoTime();
+        BlockingQueue<Future<Parsed>> parsed = new ArrayBlockingQueue<>(QUEUE_CHUNKS);
+        BlockingQueue<Executed> executed = new ArrayBlockingQueue<>(QUEUE_CHUNKS);
+        ExecutorService parsers = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), r -> {
+            Thread t = new Thread(r);
+            t.setDaemon(true);
+            t.setName("batch-parser");
+            return t;
+        });
+        Thread dispatcher = stage("batch-dispatcher", () -> dispatch(parsed, executed));
+        Thread writer = stage("batch-writer", () -> write(executed, output, stats));
+        try {
+            read(input, parsed, parsers);
+            dispatcher.join();
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dispatcher.interrupt();
+            writer.interrupt();
+        } finally {
+            parsers.shutdownNow();
+            if (invoker != null) invoker.close();
+        }
+        if (writeFailure != null) throw new UncheckedIOException("Writing batch results failed", writeFailure);
+        stats.elapsedNanos = System.nanoTime() - begin;
+        return stats;
+    }
+
+    /**
+     * BookingManager created by the first configure line, or null. The caller shuts it down.
+     */
+    public BookingManager getManager() {
+        return manager;
+    }
+
+    private static Thread stage(String name, Runnable body) {
+        Thread t = new Thread(body);
+        t.setDaemon(true);
+        t.setName(name);
+        t.start();
+        return t;
+    }
+
+    // ----- stage 1: read -----
+
+    private void read(BufferedReader input, BlockingQueue<Future<Parsed>> parsed, ExecutorService parsers)
+            throws InterruptedException {
+        long lineNumber = 0;
+        String[] lines = new String[CHUNK_LINES];
+        int size = 0;
+        long firstLine = 1;
+        try {
+            String line;
+            while (writeFailure == null && (line = input.readLine()) != null) {
+                lineNumber++;
+                if (size == 0) firstLine = lineNumber;
+                lines[size++] = line;
+                if (size == CHUNK_LINES) {
+                    Chunk chunk = new Chunk(firstLine, lines, size);
+                    parsed.put(parsers.submit(() -> parse(chunk)));
+                    lines = new String[CHUNK_LINES];
+                    size = 0;
+                }
+            }
+            if (size > 0) {
+                Chunk chunk = new Chunk(firstLine, lines, size);
+                parsed.put(parsers.submit(() -> parse(chunk)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Reading batch input failed", e);
+        } finally {
+            parsed.put(END_OF_INPUT);
+        }
+    }
+
+    private Parsed parse(Chunk chunk) {
+        long[] numbers = new long[chunk.size()];
+        BatchCommand[] commands = new BatchCommand[chunk.size()];
+        int n = 0;
+        for (int i = 0; i < chunk.size(); i++) {
+            String line = chunk.lines()[i];
+            if (line.isBlank() || line.stripLeading().startsWith("#")) continue;
+            numbers[n] = chunk.firstLine() + i;
+            commands[n++] = parser.parse(line);
+        }
+        return new Parsed(chunk.firstLine(), Arrays.copyOf(numbers, n), Arrays.copyOf(commands, n));
+    }
+
+    // ----- stage 2: dispatch -----
+
+    private void dispatch(BlockingQueue<Future<Parsed>> parsed, BlockingQueue<Executed> executed) {
+        try {
+            while (true) {
+                Future<Parsed> next = parsed.take();
+                if (next == END_OF_INPUT) break;
+                // the results could not be written: keep taking chunks so the reader can finish
+                if (writeFailure != null) continue;
+                Parsed chunk;
+                try {
+                    chunk = next.get();
+                } catch (ExecutionException e) {
+                    // parse() reports bad lines itself, so this is a bug; keep draining so the reader never blocks
+                    log.error("Batch parsing failed", e.getCause());
+                    continue;
+                }
+                List<CompletableFuture<Result>> results = new ArrayList<>(chunk.commands().length);
+                for (int i = 0; i < chunk.commands().length; i++) {
+                    results.add(dispatch(chunk.lineNumbers()[i], chunk.commands()[i]));
+                }
+                executed.put(new Executed(results));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                executed.put(END_OF_RESULTS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private CompletableFuture<Result> dispatch(long line, BatchCommand command) {
+        String op = command.op();
+        try {
+            return switch (command) {
+                case BatchCommand.Invalid invalid -> CompletableFuture.completedFuture(new Result(line, op, "INVALID", invalid.reason()));
+                case BatchCommand.Configure configure -> {
+                    configure(configure);
+                    yield CompletableFuture.completedFuture(new Result(line, op, "OK", STR."\{configure.rooms()} rooms"));
+                }
+                case BatchCommand.Book book -> {
+                    requireConfigured();
+                    Booking booking = new Booking(book.roomId(), new User(book.userId(), book.name()), book.start(),
+                            book.durationMinutes(), book.attendees());
+                    bookingsByRef.put(book.ref(), booking);
+                    yield submit(line, op, new BookRoomCommand(manager, booking), booking.getBookingId());
+                }
+                case BatchCommand.Cancel cancel -> {
+                    requireConfigured();
+                    Booking booking = bookingsByRef.remove(cancel.ref());
+                    CancelRoomCommand cmd = booking == null
+                            ? new CancelRoomCommand(manager, cancel.ref())
+                            : new CancelRoomCommand(manager, booking.getBookingId(), booking.getRoomId());
+                    yield submit(line, op, cmd, null);
+                }
+                case BatchCommand.Occupancy occupancy -> {
+                    requireConfigured();
+                    yield submit(line, op, new AddOccupantCommand(sensor, occupancy.roomId(), occupancy.count()), null);
+                }
+            };
+        } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(new Result(line, op, "FAILED", message(e)));
+        }
+    }
+
+    private CompletableFuture<Result> submit(long line, String op, Command command, String detail) {
+        CompletableFuture<Result> result = invoker.submit(command).handle((ignored, error) -> {
+            if (error != null) return new Result(line, op, "FAILED", message(error.getCause() != null ? error.getCause() : error));
+            if (command instanceof CancelRoomCommand cancel && !cancel.wasCancelled()) {
+                return new Result(line, op, "FAILED", "booking not found");
+            }
+            return new Result(line, op, "OK", detail);
+        });
+        outstanding.add(result);
+        if (outstanding.size() >= pruneAt) {
+            outstanding.removeIf(CompletableFuture::isDone);
+            pruneAt = Math.max(CHUNK_LINES * QUEUE_CHUNKS, 2 * outstanding.size());
+        }
+        return result;
+    }
+
+    private void configure(BatchCommand.Configure configure) {
+        // barrier: earlier commands must finish against the old layout
+        CompletableFuture.allOf(outstanding.toArray(new CompletableFuture<?>[0])).join();
+        outstanding.clear();
+        int[] capacities = new int[configure.rooms()];
+        Arrays.fill(capacities, configure.capacity());
+        OfficeConfiguration.getInstance(configure.rooms(), configure.capacity()).reload(capacities);
+        if (manager == null) {
+            manager = new BookingManager(Duration.ofMinutes(configure.autoReleaseMinutes()), 2);
+            sensor = new OccupancySensor(manager);
+            invoker = new CommandInvoker();
+        }
+    }
+
+    private void requireConfigured() {
+        if (manager == null) throw new IllegalStateException("office not configured (missing configure line)");
+    }
+
+    private static String message(Throwable e) {
+        return STR."\{e.getClass().getSimpleName()}: \{e.getMessage()}";
+    }
+
+    // ----- stage 3: write -----
+
+    private void write(BlockingQueue<Executed> executed, Writer output, BatchStats stats) {
+        StringBuilder sb = new StringBuilder(64 * CHUNK_LINES);
+        try {
+            while (true) {
+                Executed chunk = executed.take();
+                if (chunk == END_OF_RESULTS) break;
+                // after a failed write, results are dropped so the dispatcher never blocks
+                if (writeFailure != null) continue;
+                sb.setLength(0);
+                for (CompletableFuture<Result> future : chunk.results()) {
+                    Result r = future.join();
+                    stats.record(r.op(), r.status());
+                    sb.append(r.line()).append(',').append(r.status()).append(',');
+                    if (r.detail() != null) sb.append(r.detail().replace('\n', ' '));
+                    sb.append('\n');
+                }
+                try {
+                    output.append(sb);
+                } catch (IOException e) {
+                    fail(e);
+                }
+            }
+            if (writeFailure == null) output.flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    private void fail(IOException e) {
+        log.error("Writing batch results failed: {}", e.getMessage());
+        writeFailure = e;
+    }
+}
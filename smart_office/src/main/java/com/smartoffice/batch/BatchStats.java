@@ -0,0 +1,61 @@
+package com.smartoffice.batch;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts per op and outcome for one batch run. Filled in by the writer stage only; read after
+ * the run completes.
+ */
+public class BatchStats {
+    // op -> [ok, failed, invalid]
+    private final Map<String, long[]> byOp = new TreeMap<>();
+    long elapsedNanos;
+
+    void record(String op, String status) {
+        long[] counts = byOp.computeIfAbsent(op, k -> new long[3]);
+        switch (status) {
+            case "OK" -> counts[0]++;
+            case "FAILED" -> counts[1]++;
+            default -> counts[2]++;
+        }
+    }
+
+    public long getLines() {
+        return byOp.values().stream().mapToLong(c -> c[0] + c[1] + c[2]).sum();
+    }
+
+    public long getSucceeded() {
+        return byOp.values().stream().mapToLong(c -> c[0]).sum();
+    }
+
+    public long getFailed() {
+        return byOp.values().stream().mapToLong(c -> c[1]).sum();
+    }
+
+    public long getInvalid() {
+        return byOp.values().stream().mapToLong(c -> c[2]).sum();
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getLinesPerSecond() {
+        return elapsedNanos == 0 ? 0 : getLines() * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Multi-line summary for the end of a run.
+     */
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("=== Batch summary ===%n"));
+        byOp.forEach((op, c) -> sb.append(String.format("%-10s ok=%d failed=%d invalid=%d%n", op, c[0], c[1], c[2])));
+        sb.append(String.format("lines=%d ok=%d failed=%d invalid=%d in %d ms (%.0f lines/s, %.2f M lines/min)%n",
+                getLines(), getSucceeded(), getFailed(), getInvalid(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                getLinesPerSecond(), getLinesPerSecond() * 60 / 1e6));
+        return sb.toString();
+    }
+}
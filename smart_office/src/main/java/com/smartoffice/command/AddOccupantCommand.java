@@ -10,6 +10,8 @@ public class AddOccupantCommand implements Command {
     private final OccupancySensor sensor;
     private final int roomId;
     private final int occupantCount;
+    // occupancy replaced by execute(); restored by undo()
+    private int previousCount;
 
     public AddOccupantCommand(OccupancySensor sensor, int roomId, int occupantCount) {
         this.sensor = sensor;
@@ -19,7 +21,27 @@ public class AddOccupantCommand implements Command {
 
     @Override
     public void execute() {
-        log.info("Executing AddOccupantCommand for room {} with count {}", roomId, occupantCount);
-        sensor.setOccupancy(roomId, occupantCount);
+        if (log.isInfoEnabled()) log.info("Executing AddOccupantCommand for room {} with count {}", roomId, occupantCount);
+        previousCount = sensor.setOccupancy(roomId, occupantCount);
+    }
+
+    @Override
+    public void undo() {
+        log.info("Undoing AddOccupantCommand for room {}: back to {}", roomId, previousCount);
+        sensor.setOccupancy(roomId, previousCount);
+    }
+
+    @Override
+    public int getRoomId() {
+        return roomId;
+    }
+
+    public int getOccupantCount() {
+        return occupantCount;
+    }
+
+    @Override
+    public String toString() {
+        return STR."AddOccupantCommand{roomId=\{roomId}, occupantCount=\{occupantCount}}";
     }
 }
@@ -21,4 +21,38 @@ public class BookRoomCommand implements Command {
         log.info("Executing BookRoomCommand for booking {}", booking.getBookingId());
         manager.bookRoom(booking);
     }
+
+    /**
+     * Compensate by cancelling the booking (which may admit a waitlisted request).
+     */
+    @Override
+    public void undo() {
+        log.info("Undoing BookRoomCommand for booking {}", booking.getBookingId());
+        if (!manager.cancelBooking(booking.getBookingId())) {
+            log.info("Booking {} was already cancelled or released", booking.getBookingId());
+        }
+    }
+
+    /**
+     * Book the same booking again, if its slot is still free.
+     */
+    @Override
+    public void redo() {
+        log.info("Redoing BookRoomCommand for booking {}", booking.getBookingId());
+        manager.restoreBooking(booking);
+    }
+
+    public Booking getBooking() {
+        return booking;
+    }
+
+    @Override
+    public int getRoomId() {
+        return booking.getRoomId();
+    }
+
+    @Override
+    public String toString() {
+        return STR."BookRoomCommand{booking=\{booking}}";
+    }
 }
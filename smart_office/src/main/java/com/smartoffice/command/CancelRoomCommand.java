@@ -1,6 +1,7 @@
 package com.smartoffice.command;
 
 import com.smartoffice.manager.BookingManager;
+import com.smartoffice.model.Booking;
 import com.smartoffice.util.LoggerUtil;
 import org.slf4j.Logger;
 
@@ -9,15 +10,64 @@ public class CancelRoomCommand implements Command {
 
     private final BookingManager manager;
     private final String bookingId;
+    private final int roomId;
+    // the booking this command removed; restored by undo()
+    private Booking cancelled;
 
     public CancelRoomCommand(BookingManager manager, String bookingId) {
+        this(manager, bookingId, manager.findBookingById(bookingId).map(Booking::getRoomId).orElse(NO_ROOM));
+    }
+
+    /**
+     * For callers that already know the booking's room (e.g. when the booking is still being
+     * created by an earlier queued command).
+     */
+    public CancelRoomCommand(BookingManager manager, String bookingId, int roomId) {
         this.manager = manager;
         this.bookingId = bookingId;
+        this.roomId = roomId;
     }
 
     @Override
     public void execute() {
         log.info("Executing CancelRoomCommand for booking {}", bookingId);
-        manager.cancelBooking(bookingId);
+        Booking existing = manager.findBookingById(bookingId).orElse(null);
+        cancelled = manager.cancelBooking(bookingId) ? existing : null;
+    }
+
+    /**
+     * Put the cancelled booking back, atomically and only if its slot is still free.
+     *
+     * @throws com.smartoffice.exception.BookingConflictException if the slot was taken meanwhile
+     */
+    @Override
+    public void undo() {
+        if (cancelled == null) {
+            log.info("Nothing to undo for CancelRoomCommand {}: booking was not active", bookingId);
+            return;
+        }
+        log.info("Undoing CancelRoomCommand for booking {}", bookingId);
+        manager.restoreBooking(cancelled);
+    }
+
+    /**
+     * True if the last execute() found and removed an active booking.
+     */
+    public boolean wasCancelled() {
+        return cancelled != null;
+    }
+
+    public String getBookingId() {
+        return bookingId;
+    }
+
+    @Override
+    public int getRoomId() {
+        return roomId;
+    }
+
+    @Override
+    public String toString() {
+        return STR."CancelRoomCommand{bookingId='\{bookingId}'}";
     }
 }
@@ -1,9 +1,50 @@
 package com.smartoffice.command;
 
+import java.util.List;
+
 /**
  * Command interface.
  * Every operation in the system (book, cancel, add occupant) implements this.
+ *
+ * Commands are reversible: undo() applies a compensating action and redo() re-applies the
+ * command after an undo. Both may fail if the world moved on meanwhile (e.g. a slot freed by a
+ * cancel was taken by someone else before the cancel is undone).
  */
 public interface Command {
+    /**
+     * Returned by getRoomId() for commands that are not tied to one room.
+     */
+    int NO_ROOM = 0;
+
     void execute();
+
+    /**
+     * Reverse the effect of execute() (or of the last redo()).
+     */
+    default void undo() {
+        throw new UnsupportedOperationException(STR."\{getClass().getSimpleName()} cannot be undone");
+    }
+
+    /**
+     * Re-apply the command after undo().
+     */
+    default void redo() {
+        execute();
+    }
+
+    /**
+     * Room this command operates on. CommandInvoker runs commands for the same room one at a
+     * time, in submission order; commands for different rooms (or NO_ROOM) may run in parallel.
+     */
+    default int getRoomId() {
+        return NO_ROOM;
+    }
+
+    /**
+     * All rooms this command operates on; commands spanning several rooms override this.
+     */
+    default List<Integer> getRoomIds() {
+        int roomId = getRoomId();
+        return roomId == NO_ROOM ? List.of() : List.of(roomId);
+    }
 }
@@ -0,0 +1,141 @@
+package com.smartoffice.command;
+
+import com.smartoffice.exception.ValidationException;
+import com.smartoffice.util.LoggerUtil;
+import org.slf4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * CommandHistory: fixed-capacity ring of the most recently executed commands.
+ *
+ * Design:
+ * - backed by a preallocated array; adding to a full history overwrites the oldest slot, so
+ *   memory stays constant however long the process runs
+ * - optionally, evicted commands are appended to a spill file (one line each: timestamp and the
+ *   command's toString) instead of being forgotten
+ * - a failing spill file is logged and disabled; it never fails the command being recorded
+ */
+public class CommandHistory implements AutoCloseable {
+    private static final Logger log = LoggerUtil.getLogger(CommandHistory.class);
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final Command[] ring;
+    private int head;   // index of the oldest entry
+    private int size;
+    private long spilled;
+    private BufferedWriter spill;
+
+    public CommandHistory(int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * @param spillFile file that evicted commands are appended to, or null to drop them
+     */
+    public CommandHistory(int capacity, Path spillFile) {
+        if (capacity <= 0) throw new ValidationException("History capacity must be > 0");
+        this.ring = new Command[capacity];
+        if (spillFile != null) {
+            try {
+                this.spill = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                throw new ValidationException(STR."Cannot open history spill file \{spillFile}: \{e.getMessage()}");
+            }
+        }
+    }
+
+    public synchronized void add(Command command) {
+        if (size < ring.length) {
+            ring[(head + size) % ring.length] = command;
+            size++;
+            return;
+        }
+        spill(ring[head]);
+        ring[head] = command;
+        head = (head + 1) % ring.length;
+    }
+
+    /**
+     * Remove and return the most recent command, or null if the history is empty.
+     */
+    public synchronized Command removeLast() {
+        if (size == 0) return null;
+        int index = (head + size - 1) % ring.length;
+        Command command = ring[index];
+        ring[index] = null;
+        size--;
+        return command;
+    }
+
+    /**
+     * Forget all retained commands (nothing is spilled).
+     */
+    public synchronized void clear() {
+        Arrays.fill(ring, null);
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Retained commands, oldest first.
+     */
+    public synchronized List<Command> snapshot() {
+        List<Command> commands = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) commands.add(ring[(head + i) % ring.length]);
+        return commands;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return ring.length;
+    }
+
+    /**
+     * Number of commands written to the spill file so far.
+     */
+    public synchronized long getSpilledCount() {
+        return spilled;
+    }
+
+    private void spill(Command evicted) {
+        if (spill == null) return;
+        try {
+            spill.write(STR."\{Instant.now()} \{evicted}");
+            spill.newLine();
+            spilled++;
+        } catch (IOException e) {
+            log.warn("History spill failed, further evicted commands are dropped: {}", e.getMessage());
+            closeSpill();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closeSpill();
+    }
+
+    private void closeSpill() {
+        if (spill == null) return;
+        try {
+            spill.close();
+        } catch (IOException e) {
+            log.warn("Closing history spill file failed: {}", e.getMessage());
+        }
+        spill = null;
+    }
+}
@@ -1,21 +1,203 @@
 package com.smartoffice.command;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
+import com.smartoffice.util.LoggerUtil;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Invoker class holds and executes commands.
- * Can also keep history if undo/redo is needed.
+ *
+ * Design:
+ * - commands run on an executor (virtual threads by default) and submit() returns a future
+ * - commands for the same room are chained: each starts only after the previous one for that
+ *   room has finished, so per-room order is the submission order; different rooms run in parallel
+ * - a command spanning several rooms waits for all of their chains; such commands are chained
+ *   under one lock so two of them always queue in the same order in every room they share
+ * - the chain tail per room is dropped once it completes, so idle rooms cost nothing
+ * - successfully executed commands go into a bounded CommandHistory (ring buffer, optional spill);
+ *   undo() reverses the most recently completed one and moves it to the redo history, and any
+ *   newly executed command clears the redo history
+ * - with a CommandJournal attached, every command, undo and redo is appended (with its outcome)
+ *   once it has run, for replay by JournalReplayer
  */
-public class CommandInvoker {
-    private final Deque<Command> history = new ArrayDeque<>();
+public class CommandInvoker implements AutoCloseable {
+    private static final Logger log = LoggerUtil.getLogger(CommandInvoker.class);
+
+    private final ExecutorService executor;
+    private final CommandHistory history;
+    private final CommandHistory redoHistory;
+    // roomId -> future of the last command submitted for that room
+    private final Map<Integer, CompletableFuture<Void>> roomTails = new ConcurrentHashMap<>();
+    private final Object multiRoomLock = new Object();
+    private final CommandJournal journal;
+
+    /**
+     * Virtual-thread executor and an in-memory history of CommandHistory.DEFAULT_CAPACITY commands.
+     */
+    public CommandInvoker() {
+        this(Executors.newVirtualThreadPerTaskExecutor(), new CommandHistory(CommandHistory.DEFAULT_CAPACITY));
+    }
 
+    /**
+     * @param executor runs the commands; shut down by close()
+     * @param history  receives every successfully executed command; closed by close()
+     */
+    public CommandInvoker(ExecutorService executor, CommandHistory history) {
+        this(executor, history, null);
+    }
+
+    /**
+     * @param journal receives every command that ran, or null; closed by close()
+     */
+    public CommandInvoker(ExecutorService executor, CommandHistory history, CommandJournal journal) {
+        this.executor = executor;
+        this.history = history;
+        this.redoHistory = new CommandHistory(history.capacity());
+        this.journal = journal;
+    }
+
+    /**
+     * Queue a command. The future completes when the command has run, exceptionally if it threw.
+     */
+    public CompletableFuture<Void> submit(Command cmd) {
+        return schedule(cmd.getRoomIds(), () -> {
+            try {
+                cmd.execute();
+            } catch (RuntimeException e) {
+                if (journal != null) journal.append(cmd, false);
+                throw e;
+            }
+            if (journal != null) journal.append(cmd, true);
+            history.add(cmd);
+            redoHistory.clear();
+        });
+    }
+
+    /**
+     * Run a command and wait for it. Exceptions thrown by the command are rethrown as-is.
+     */
     public void executeCommand(Command cmd) {
-        cmd.execute();
-        history.push(cmd);
+        await(submit(cmd));
+    }
+
+    /**
+     * Undo the most recently completed command, in its room order. If the compensation fails
+     * the command stays in the history and the failure is rethrown.
+     *
+     * @return false if there was nothing to undo
+     */
+    public boolean undo() {
+        Command cmd = history.removeLast();
+        if (cmd == null) return false;
+        await(schedule(cmd.getRoomIds(), () -> {
+            try {
+                cmd.undo();
+            } catch (RuntimeException e) {
+                if (journal != null) journal.appendUndo(false);
+                history.add(cmd);
+                throw e;
+            }
+            if (journal != null) journal.appendUndo(true);
+            redoHistory.add(cmd);
+        }));
+        return true;
+    }
+
+    /**
+     * Re-apply the most recently undone command. If that fails the command stays undone.
+     *
+     * @return false if there was nothing to redo
+     */
+    public boolean redo() {
+        Command cmd = redoHistory.removeLast();
+        if (cmd == null) return false;
+        await(schedule(cmd.getRoomIds(), () -> {
+            try {
+                cmd.redo();
+            } catch (RuntimeException e) {
+                if (journal != null) journal.appendRedo(false);
+                redoHistory.add(cmd);
+                throw e;
+            }
+            if (journal != null) journal.appendRedo(true);
+            history.add(cmd);
+        }));
+        return true;
+    }
+
+    private CompletableFuture<Void> schedule(List<Integer> roomIds, Runnable task) {
+        if (roomIds.isEmpty()) {
+            return CompletableFuture.runAsync(task, executor);
+        }
+        CompletableFuture<Void> future;
+        if (roomIds.size() == 1) {
+            future = chain(roomIds, task);
+        } else {
+            synchronized (multiRoomLock) {
+                future = chain(roomIds, task);
+            }
+        }
+        for (Integer roomId : roomIds) {
+            future.whenComplete((ignored, error) -> roomTails.remove(roomId, future));
+        }
+        return future;
+    }
+
+    /**
+     * Make task the new tail of every given room, starting once all previous tails finished.
+     */
+    private CompletableFuture<Void> chain(List<Integer> roomIds, Runnable task) {
+        CompletableFuture<Void> ready = new CompletableFuture<>();
+        CompletableFuture<Void> future = ready.thenRunAsync(task, executor);
+        List<CompletableFuture<?>> previous = new ArrayList<>(roomIds.size());
+        for (Integer roomId : roomIds) {
+            CompletableFuture<Void> tail = roomTails.put(roomId, future);
+            // a failed predecessor must not stop the chain
+            if (tail != null) previous.add(tail.handle((ignored, error) -> null));
+        }
+        CompletableFuture.allOf(previous.toArray(new CompletableFuture<?>[0]))
+                .whenComplete((ignored, error) -> ready.complete(null));
+        return future;
+    }
+
+    private static void await(CompletableFuture<Void> future) {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
     }
 
     public int getHistorySize() {
         return history.size();
     }
+
+    public int getRedoSize() {
+        return redoHistory.size();
+    }
+
+    public CommandHistory getHistory() {
+        return history;
+    }
+
+    /**
+     * Stop accepting commands, let queued ones finish, and close the history.
+     */
+    @Override
+    public void close() {
+        executor.close();
+        history.close();
+        if (journal != null) journal.close();
+        log.info("CommandInvoker stopped ({} commands in history, {} spilled)", history.size(), history.getSpilledCount());
+    }
 }
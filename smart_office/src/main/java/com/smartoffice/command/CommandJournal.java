@@ -0,0 +1,322 @@
+package com.smartoffice.command;
+
+import com.smartoffice.config.ConfigSnapshot;
+import com.smartoffice.exception.ValidationException;
+import com.smartoffice.model.Booking;
+import com.smartoffice.model.WaitlistEntry;
+import com.smartoffice.util.LoggerUtil;
+import org.slf4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * CommandJournal: compact binary log of executed commands, for replaying real traffic.
+ *
+ * Layout (big-endian, java.io.DataOutput):
+ * - header: magic "SOJ1", recording start (epoch millis), room count, capacity per room
+ * - one record per command: op byte, nanos since the journal was opened, success flag, payload
+ * - booking ids that are UUIDs take 16 bytes; other strings are modified UTF-8
+ *
+ * Records are appended in completion order from any thread. Appends go to a buffered stream; the
+ * tail is only guaranteed on disk after flush() or close().
+ *
+ * Commands the journal doesn't know are skipped with a debug log line.
+ */
+public class CommandJournal implements AutoCloseable {
+    private static final Logger log = LoggerUtil.getLogger(CommandJournal.class);
+
+    private static final int MAGIC = 0x534F4A31; // "SOJ1"
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final byte OP_BOOK = 1;
+    private static final byte OP_CANCEL = 2;
+    private static final byte OP_OCCUPANCY = 3;
+    private static final byte OP_MACRO = 4;
+    private static final byte OP_UNDO = 5;
+    private static final byte OP_REDO = 6;
+    private static final byte OP_WAITLIST = 7;
+
+    private static final byte ID_UUID = 0;
+    private static final byte ID_TEXT = 1;
+
+    private final DataOutputStream out;
+    private final long openedNanos = System.nanoTime();
+    private long records;
+
+    private CommandJournal(DataOutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Start a new journal file (replacing any existing one) for an office with the given layout.
+     */
+    public static CommandJournal create(Path file, ConfigSnapshot config) {
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE));
+            out.writeInt(MAGIC);
+            out.writeLong(System.currentTimeMillis());
+            out.writeInt(config.getTotalRooms());
+            for (int roomId = 1; roomId <= config.getTotalRooms(); roomId++) {
+                out.writeInt(config.getRoomCapacity(roomId));
+            }
+            log.info("Journaling commands to {}", file);
+            return new CommandJournal(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(STR."Cannot create journal \{file}", e);
+        }
+    }
+
+    /**
+     * Record a command that ran, with its outcome.
+     */
+    public synchronized void append(Command command, boolean succeeded) {
+        if (!isJournaled(command)) {
+            log.debug("Not journaling unsupported command {}", command);
+            return;
+        }
+        try {
+            writePayload(command, true, succeeded);
+            records++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Journal append failed", e);
+        }
+    }
+
+    public void appendUndo(boolean succeeded) {
+        appendMarker(OP_UNDO, succeeded);
+    }
+
+    public void appendRedo(boolean succeeded) {
+        appendMarker(OP_REDO, succeeded);
+    }
+
+    private synchronized void appendMarker(byte op, boolean succeeded) {
+        try {
+            out.writeByte(op);
+            out.writeLong(System.nanoTime() - openedNanos);
+            out.writeBoolean(succeeded);
+            records++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Journal append failed", e);
+        }
+    }
+
+    private static boolean isJournaled(Command command) {
+        if (command instanceof MacroCommand macro) {
+            return macro.getCommands().stream().allMatch(CommandJournal::isJournaled);
+        }
+        return command instanceof BookRoomCommand
+                || command instanceof CancelRoomCommand
+                || command instanceof AddOccupantCommand
+                || command instanceof JoinWaitlistCommand;
+    }
+
+    /**
+     * Write one op; top-level ops carry the timestamp and success flag, macro members don't.
+     */
+    private void writePayload(Command command, boolean topLevel, boolean succeeded) throws IOException {
+        switch (command) {
+            case BookRoomCommand book -> {
+                writeHeader(OP_BOOK, topLevel, succeeded);
+                Booking b = book.getBooking();
+                out.writeInt(b.getRoomId());
+                writeId(b.getBookingId());
+                out.writeUTF(b.getOwner().getUserId());
+                out.writeUTF(b.getOwner().getDisplayName());
+                out.writeLong(b.getStart().toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(b.getDurationMinutes());
+                out.writeInt(b.getAttendeeCount());
+            }
+            case CancelRoomCommand cancel -> {
+                writeHeader(OP_CANCEL, topLevel, succeeded);
+                out.writeInt(cancel.getRoomId());
+                writeId(cancel.getBookingId());
+            }
+            case AddOccupantCommand occupancy -> {
+                writeHeader(OP_OCCUPANCY, topLevel, succeeded);
+                out.writeInt(occupancy.getRoomId());
+                out.writeInt(occupancy.getOccupantCount());
+            }
+            case JoinWaitlistCommand join -> {
+                writeHeader(OP_WAITLIST, topLevel, succeeded);
+                WaitlistEntry e = join.getEntry();
+                out.writeInt(e.getRoomId());
+                writeId(e.getEntryId());
+                out.writeUTF(e.getUser().getUserId());
+                out.writeUTF(e.getUser().getDisplayName());
+                out.writeLong(e.getStart().toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(e.getDurationMinutes());
+                out.writeInt(e.getAttendeeCount());
+                out.writeInt(e.getPriority());
+            }
+            case MacroCommand macro -> {
+                writeHeader(OP_MACRO, topLevel, succeeded);
+                out.writeInt(macro.getCommands().size());
+                for (Command member : macro.getCommands()) writePayload(member, false, succeeded);
+            }
+            default -> throw new IllegalStateException(STR."Unsupported command \{command}");
+        }
+    }
+
+    private void writeHeader(byte op, boolean topLevel, boolean succeeded) throws IOException {
+        out.writeByte(op);
+        if (topLevel) {
+            out.writeLong(System.nanoTime() - openedNanos);
+            out.writeBoolean(succeeded);
+        }
+    }
+
+    private void writeId(String id) throws IOException {
+        UUID uuid = parseUuid(id);
+        if (uuid != null && uuid.toString().equals(id)) {
+            out.writeByte(ID_UUID);
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        } else {
+            out.writeByte(ID_TEXT);
+            out.writeUTF(id);
+        }
+    }
+
+    private static UUID parseUuid(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public synchronized long getRecordCount() {
+        return records;
+    }
+
+    public synchronized void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Journal flush failed", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            log.warn("Closing journal failed: {}", e.getMessage());
+        }
+    }
+
+    // ----- reading -----
+
+    /**
+     * A journaled operation. Bookings and waitlist entries keep their original id and start; the
+     * replayer maps them.
+     */
+    public sealed interface Op {
+        record Book(int roomId, String bookingId, String userId, String name, LocalDateTime start,
+                    int durationMinutes, int attendees) implements Op {
+        }
+
+        record Cancel(int roomId, String bookingId) implements Op {
+        }
+
+        record Occupancy(int roomId, int count) implements Op {
+        }
+
+        record JoinWaitlist(int roomId, String entryId, String userId, String name, LocalDateTime start,
+                            int durationMinutes, int attendees, int priority) implements Op {
+        }
+
+        record Macro(List<Op> ops) implements Op {
+        }
+
+        record Undo() implements Op {
+        }
+
+        record Redo() implements Op {
+        }
+    }
+
+    /**
+     * @param offsetNanos time since the journal was opened
+     * @param succeeded   whether the command succeeded when it was recorded
+     */
+    public record Entry(long offsetNanos, boolean succeeded, Op op) {
+    }
+
+    /**
+     * A whole journal read back into memory.
+     *
+     * @param recordedAtEpochMillis wall-clock time the recording started
+     * @param roomCapacities        capacity of rooms 1..n at recording time
+     */
+    public record Recording(long recordedAtEpochMillis, int[] roomCapacities, List<Entry> entries) {
+    }
+
+    /**
+     * Read a journal. A truncated last record (e.g. after a crash) is ignored.
+     */
+    public static Recording read(Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC) throw new ValidationException(STR."\{file} is not a command journal");
+            long recordedAt = in.readLong();
+            int[] capacities = new int[in.readInt()];
+            for (int i = 0; i < capacities.length; i++) capacities[i] = in.readInt();
+
+            List<Entry> entries = new ArrayList<>();
+            while (true) {
+                int op = in.read();
+                if (op < 0) break;
+                try {
+                    long offset = in.readLong();
+                    boolean succeeded = in.readBoolean();
+                    entries.add(new Entry(offset, succeeded, readOp((byte) op, in)));
+                } catch (EOFException truncated) {
+                    log.warn("Journal {} ends with a truncated record; ignoring it", file);
+                    break;
+                }
+            }
+            return new Recording(recordedAt, capacities, entries);
+        } catch (IOException e) {
+            throw new UncheckedIOException(STR."Cannot read journal \{file}", e);
+        }
+    }
+
+    private static Op readOp(byte op, DataInputStream in) throws IOException {
+        return switch (op) {
+            case OP_BOOK -> new Op.Book(in.readInt(), readId(in), in.readUTF(), in.readUTF(),
+                    LocalDateTime.ofEpochSecond(in.readLong(), 0, ZoneOffset.UTC), in.readInt(), in.readInt());
+            case OP_CANCEL -> new Op.Cancel(in.readInt(), readId(in));
+            case OP_OCCUPANCY -> new Op.Occupancy(in.readInt(), in.readInt());
+            case OP_WAITLIST -> new Op.JoinWaitlist(in.readInt(), readId(in), in.readUTF(), in.readUTF(),
+                    LocalDateTime.ofEpochSecond(in.readLong(), 0, ZoneOffset.UTC), in.readInt(), in.readInt(), in.readInt());
+            case OP_MACRO -> {
+                int count = in.readInt();
+                List<Op> ops = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) ops.add(readOp(in.readByte(), in));
+                yield new Op.Macro(ops);
+            }
+            case OP_UNDO -> new Op.Undo();
+            case OP_REDO -> new Op.Redo();
+            default -> throw new ValidationException(STR."Unknown journal op \{op}");
+        };
+    }
+
+    private static String readId(DataInputStream in) throws IOException {
+        return in.readByte() == ID_UUID ? new UUID(in.readLong(), in.readLong()).toString() : in.readUTF();
+    }
+}
@@ -0,0 +1,64 @@
+package com.smartoffice.command;
+
+import com.smartoffice.manager.BookingManager;
+import com.smartoffice.model.Booking;
+import com.smartoffice.model.WaitlistEntry;
+import com.smartoffice.util.LoggerUtil;
+import org.slf4j.Logger;
+
+/**
+ * Wait for a taken slot. If the slot is free by the time the command runs, it is booked straight
+ * away. Either way the booking the request turns into has the entry's id (WaitlistEntry.toBooking),
+ * so a later cancel of it can be journaled and replayed like any other.
+ */
+public class JoinWaitlistCommand implements Command {
+    private static final Logger log = LoggerUtil.getLogger(JoinWaitlistCommand.class);
+
+    private final BookingManager manager;
+    private final WaitlistEntry entry;
+    // the booking made by the last execute(), if the slot was free
+    private Booking booked;
+
+    public JoinWaitlistCommand(BookingManager manager, WaitlistEntry entry) {
+        this.manager = manager;
+        this.entry = entry;
+    }
+
+    @Override
+    public void execute() {
+        log.info("Executing JoinWaitlistCommand for entry {}", entry.getEntryId());
+        booked = manager.joinWaitlist(entry).orElse(null);
+    }
+
+    /**
+     * Leave the waitlist, or cancel the booking if the request was booked or admitted meanwhile.
+     */
+    @Override
+    public void undo() {
+        log.info("Undoing JoinWaitlistCommand for entry {}", entry.getEntryId());
+        if (!manager.leaveWaitlist(entry.getEntryId()) && !manager.cancelBooking(entry.getEntryId())) {
+            log.info("Entry {} is neither waiting nor booked", entry.getEntryId());
+        }
+    }
+
+    /**
+     * True if the last execute() booked the slot right away instead of waiting.
+     */
+    public boolean wasBooked() {
+        return booked != null;
+    }
+
+    public WaitlistEntry getEntry() {
+        return entry;
+    }
+
+    @Override
+    public int getRoomId() {
+        return entry.getRoomId();
+    }
+
+    @Override
+    public String toString() {
+        return STR."JoinWaitlistCommand{entry=\{entry}}";
+    }
+}
@@ -0,0 +1,199 @@
+package com.smartoffice.command;
+
+import com.smartoffice.config.OfficeConfiguration;
+import com.smartoffice.manager.BookingManager;
+import com.smartoffice.model.Booking;
+import com.smartoffice.model.User;
+import com.smartoffice.model.WaitlistEntry;
+import com.smartoffice.observer.OccupancySensor;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * JournalReplayer: re-runs a CommandJournal against a fresh BookingManager.
+ *
+ * - commands go through a CommandInvoker, so the per-room ordering matches production
+ * - booking start times are shifted by (replay start - recording start), so the recorded
+ *   bookings are in the future again
+ * - recorded booking ids are mapped to the ids of the re-created bookings, so cancels hit the
+ *   right booking; a waitlist entry's id is mapped the same way, since the booking it turns into
+ *   when admitted carries that id
+ * - real-time mode submits each command at its recorded offset; fast mode submits back to back
+ * - undo/redo entries wait for all outstanding commands first, since they act on the most
+ *   recently completed one
+ *
+ * Usage: JournalReplayer <journal> [--fast]
+ */
+public class JournalReplayer {
+
+    private final BookingManager manager;
+    private final OccupancySensor sensor;
+    private final boolean realTime;
+
+    public JournalReplayer(BookingManager manager, OccupancySensor sensor, boolean realTime) {
+        this.manager = manager;
+        this.sensor = sensor;
+        this.realTime = realTime;
+    }
+
+    /**
+     * Configure the office singleton to the layout the journal was recorded with.
+     */
+    public static void configureOffice(CommandJournal.Recording recording) {
+        int[] capacities = recording.roomCapacities();
+        OfficeConfiguration.getInstance(capacities.length, capacities[0]).reload(capacities);
+    }
+
+    public Report replay(CommandJournal.Recording recording) {
+        List<CommandJournal.Entry> entries = recording.entries();
+        Duration shift = Duration.ofMillis(System.currentTimeMillis() - recording.recordedAtEpochMillis());
+        Map<String, String> bookingIds = new HashMap<>();
+        long[] latencies = new long[entries.size()];
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger diverged = new AtomicInteger();
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+
+        long begin = System.nanoTime();
+        try (CommandInvoker invoker = new CommandInvoker()) {
+            for (int i = 0; i < entries.size(); i++) {
+                CommandJournal.Entry entry = entries.get(i);
+                if (realTime) waitUntil(begin + entry.offsetNanos());
+                int index = i;
+                long submitted = System.nanoTime();
+
+                if (entry.op() instanceof CommandJournal.Op.Undo || entry.op() instanceof CommandJournal.Op.Redo) {
+                    awaitQuietly(pending);
+                    boolean succeeded;
+                    try {
+                        succeeded = entry.op() instanceof CommandJournal.Op.Undo ? invoker.undo() : invoker.redo();
+                    } catch (RuntimeException e) {
+                        succeeded = false;
+                    }
+                    latencies[index] = System.nanoTime() - submitted;
+                    count(succeeded, entry, failed, diverged);
+                    continue;
+                }
+
+                Command command = toCommand(entry.op(), shift, bookingIds);
+                pending.add(invoker.submit(command).whenComplete((ignored, error) -> {
+                    latencies[index] = System.nanoTime() - submitted;
+                    count(error == null, entry, failed, diverged);
+                }));
+            }
+            awaitQuietly(pending);
+        }
+        long elapsed = System.nanoTime() - begin;
+        return Report.of(latencies, failed.get(), diverged.get(), elapsed);
+    }
+
+    private Command toCommand(CommandJournal.Op op, Duration shift, Map<String, String> bookingIds) {
+        return switch (op) {
+            case CommandJournal.Op.Book book -> {
+                Booking booking = new Booking(book.roomId(), new User(book.userId(), book.name()),
+                        book.start().plus(shift), book.durationMinutes(), book.attendees());
+                bookingIds.put(book.bookingId(), booking.getBookingId());
+                yield new BookRoomCommand(manager, booking);
+            }
+            case CommandJournal.Op.Cancel cancel -> new CancelRoomCommand(manager,
+                    bookingIds.getOrDefault(cancel.bookingId(), cancel.bookingId()), cancel.roomId());
+            case CommandJournal.Op.Occupancy occupancy -> new AddOccupantCommand(sensor, occupancy.roomId(), occupancy.count());
+            case CommandJournal.Op.JoinWaitlist join -> {
+                WaitlistEntry entry = new WaitlistEntry(join.roomId(), new User(join.userId(), join.name()),
+                        join.start().plus(shift), join.durationMinutes(), join.attendees(), join.priority());
+                bookingIds.put(join.entryId(), entry.getEntryId());
+                yield new JoinWaitlistCommand(manager, entry);
+            }
+            case CommandJournal.Op.Macro macro -> {
+                List<Command> commands = new ArrayList<>(macro.ops().size());
+                for (CommandJournal.Op member : macro.ops()) commands.add(toCommand(member, shift, bookingIds));
+                yield new MacroCommand(manager, commands);
+            }
+            case CommandJournal.Op.Undo undo -> throw new IllegalStateException("undo is not a command");
+            case CommandJournal.Op.Redo redo -> throw new IllegalStateException("redo is not a command");
+        };
+    }
+
+    private static void count(boolean succeeded, CommandJournal.Entry entry, AtomicInteger failed, AtomicInteger diverged) {
+        if (!succeeded) failed.incrementAndGet();
+        if (succeeded != entry.succeeded()) diverged.incrementAndGet();
+    }
+
+    private static void awaitQuietly(List<CompletableFuture<Void>> pending) {
+        for (CompletableFuture<Void> future : pending) {
+            future.handle((ignored, error) -> null).join();
+        }
+        pending.clear();
+    }
+
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /**
+     * Outcome of a replay. Latency is submission to completion of each command.
+     *
+     * @param failed   commands that threw during the replay
+     * @param diverged commands whose outcome differs from the recording
+     */
+    public record Report(int commands, int failed, int diverged, long elapsedNanos,
+                         long p50Nanos, long p90Nanos, long p99Nanos, long maxNanos) {
+
+        static Report of(long[] latencies, int failed, int diverged, long elapsedNanos) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            return new Report(sorted.length, failed, diverged, elapsedNanos,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1]);
+        }
+
+        private static long percentile(long[] sorted, double q) {
+            if (sorted.length == 0) return 0;
+            return sorted[Math.max(0, (int) Math.ceil(q * sorted.length) - 1)];
+        }
+
+        public double commandsPerSecond() {
+            return elapsedNanos == 0 ? 0 : commands * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return STR."""
+                    commands=\{commands} failed=\{failed} diverged=\{diverged} \
+                    elapsed=\{TimeUnit.NANOSECONDS.toMillis(elapsedNanos)} ms \
+                    throughput=\{String.format("%.0f", commandsPerSecond())} cmd/s \
+                    latency p50=\{p50Nanos / 1_000} us p90=\{p90Nanos / 1_000} us \
+                    p99=\{p99Nanos / 1_000} us max=\{maxNanos / 1_000} us""";
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: JournalReplayer <journal> [--fast]");
+            System.exit(2);
+        }
+        boolean fast = args.length > 1 && args[1].equals("--fast");
+        CommandJournal.Recording recording = CommandJournal.read(Path.of(args[0]));
+        configureOffice(recording);
+
+        BookingManager manager = new BookingManager(Duration.ofMinutes(5), 2);
+        try {
+            Report report = new JournalReplayer(manager, new OccupancySensor(manager), !fast).replay(recording);
+            System.out.printf("Replayed %s (%s): %s%n", args[0], fast ? "as fast as possible" : "original speed", report);
+        } finally {
+            manager.shutdownNow();
+        }
+    }
+}
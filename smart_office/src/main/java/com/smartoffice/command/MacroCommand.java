@@ -0,0 +1,101 @@
+package com.smartoffice.command;
+
+import com.smartoffice.exception.ValidationException;
+import com.smartoffice.manager.BookingManager;
+import com.smartoffice.util.LoggerUtil;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * MacroCommand: several room commands applied as one unit.
+ *
+ * Design:
+ * - the locks of every room involved are taken once, in ascending room order, for the whole
+ *   macro (BookingManager.withRoomLocks); the inner commands re-enter them instead of locking per
+ *   command, and no other operation on those rooms can interleave
+ * - if a command fails, the ones already applied are undone in reverse order before the failure
+ *   is rethrown, so the macro either applies completely or not at all
+ * - undo() reverses all commands in reverse order under the same locks
+ */
+public class MacroCommand implements Command {
+    private static final Logger log = LoggerUtil.getLogger(MacroCommand.class);
+
+    private final BookingManager manager;
+    private final List<Command> commands;
+    private final List<Integer> roomIds;
+
+    public MacroCommand(BookingManager manager, List<Command> commands) {
+        if (commands == null || commands.isEmpty()) throw new ValidationException("MacroCommand needs at least one command");
+        this.manager = manager;
+        this.commands = List.copyOf(commands);
+        TreeSet<Integer> rooms = new TreeSet<>();
+        for (Command command : this.commands) rooms.addAll(command.getRoomIds());
+        this.roomIds = List.copyOf(rooms);
+    }
+
+    @Override
+    public void execute() {
+        log.info("Executing MacroCommand with {} commands over rooms {}", commands.size(), roomIds);
+        manager.withRoomLocks(roomIds, () -> applyAll(false));
+    }
+
+    @Override
+    public void redo() {
+        log.info("Redoing MacroCommand with {} commands", commands.size());
+        manager.withRoomLocks(roomIds, () -> applyAll(true));
+    }
+
+    @Override
+    public void undo() {
+        log.info("Undoing MacroCommand with {} commands", commands.size());
+        manager.withRoomLocks(roomIds, () -> {
+            for (int i = commands.size() - 1; i >= 0; i--) commands.get(i).undo();
+        });
+    }
+
+    private void applyAll(boolean redo) {
+        List<Command> applied = new ArrayList<>(commands.size());
+        for (Command command : commands) {
+            try {
+                if (redo) command.redo();
+                else command.execute();
+            } catch (RuntimeException e) {
+                log.warn("MacroCommand step {} failed ({}); rolling back {} applied commands", command, e.getMessage(), applied.size());
+                for (int i = applied.size() - 1; i >= 0; i--) {
+                    try {
+                        applied.get(i).undo();
+                    } catch (RuntimeException rollbackFailure) {
+                        e.addSuppressed(rollbackFailure);
+                    }
+                }
+                throw e;
+            }
+            applied.add(command);
+        }
+    }
+
+    public List<Command> getCommands() {
+        return commands;
+    }
+
+    /**
+     * The single room of the macro, or NO_ROOM if it spans several rooms.
+     */
+    @Override
+    public int getRoomId() {
+        return roomIds.size() == 1 ? roomIds.get(0) : NO_ROOM;
+    }
+
+    @Override
+    public List<Integer> getRoomIds() {
+        return roomIds;
+    }
+
+    @Override
+    public String toString() {
+        return STR."MacroCommand{rooms=\{roomIds}, commands=\{commands}}";
+    }
+}
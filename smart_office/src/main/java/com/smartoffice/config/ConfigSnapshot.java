@@ -0,0 +1,68 @@
+package com.smartoffice.config;
+
+import com.smartoffice.exception.ValidationException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable, versioned view of the office configuration.
+ *
+ * OfficeConfiguration publishes a new snapshot for every change, so a reader that holds one
+ * sees a consistent room count and capacity table no matter what writers do meanwhile.
+ * Capacities are stored in an int[] indexed by room id (index 0 unused).
+ */
+public final class ConfigSnapshot {
+    private final long version;
+    private final int[] capacities;
+
+    ConfigSnapshot(long version, int[] capacities) {
+        this.version = version;
+        this.capacities = capacities;
+    }
+
+    /**
+     * Monotonically increasing; bumped by every configuration change.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public int getTotalRooms() {
+        return capacities.length - 1;
+    }
+
+    public boolean hasRoom(int roomId) {
+        return roomId > 0 && roomId < capacities.length;
+    }
+
+    public int getRoomCapacity(int roomId) {
+        if (!hasRoom(roomId)) throw new ValidationException(STR."Invalid room id: \{roomId}");
+        return capacities[roomId];
+    }
+
+    /**
+     * roomId -> capacity, in room order. The map is a copy; it never changes.
+     */
+    public Map<Integer, Integer> getAllRoomCapacities() {
+        Map<Integer, Integer> map = new LinkedHashMap<>(capacities.length * 2);
+        for (int roomId = 1; roomId < capacities.length; roomId++) {
+            map.put(roomId, capacities[roomId]);
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Copy of the capacity table for building the next snapshot.
+     */
+    int[] copyCapacities(int totalRooms) {
+        return Arrays.copyOf(capacities, totalRooms + 1);
+    }
+
+    @Override
+    public String toString() {
+        return STR."ConfigSnapshot{version=\{version}, totalRooms=\{getTotalRooms()}, roomCapacities=\{getAllRoomCapacities()}}";
+    }
+}
@@ -0,0 +1,16 @@
+package com.smartoffice.config;
+
+/**
+ * Listener notified by OfficeConfiguration when the room layout changes.
+ *
+ * Callbacks run on the thread that changed the configuration, after the new value is visible
+ * through OfficeConfiguration, and in the order the changes were made.
+ */
+public interface ConfigurationListener {
+
+    /**
+     * Total room count changed. Rooms oldTotalRooms+1..newTotalRooms were added when growing;
+     * rooms newTotalRooms+1..oldTotalRooms were removed when shrinking.
+     */
+    void onTotalRoomsChanged(int oldTotalRooms, int newTotalRooms);
+}
@@ -4,18 +4,19 @@ import com.smartoffice.exception.ValidationException;
 import com.smartoffice.util.LoggerUtil;
 import org.slf4j.Logger;
 
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Thread-safe Singleton that holds global office configuration.
  * Uses double-checked locking + volatile instance for lazy init.
  * Responsibilities:
- *  - Hold totalRooms and per-room capacities
+ *  - Hold totalRooms and per-room capacities as an immutable, versioned ConfigSnapshot
  *  - Validate inputs (defensive programming)
- *  - Provide read-only view of configurations
+ *  - Provide read-only view of configurations (readers never lock; writers publish a new snapshot)
+ *  - Notify ConfigurationListeners when the room count changes
  */
 public final class OfficeConfiguration {
     private static final Logger log = LoggerUtil.getLogger(OfficeConfiguration.class);
@@ -23,10 +24,10 @@ public final class OfficeConfiguration {
     // volatile for safe-publish with double-checked locking
     private static volatile OfficeConfiguration instance;
 
-    // configuration fields
-    private int totalRooms;
-    // per-room capacity map: roomId (1-based) -> capacity
-    private final Map<Integer, Integer> roomCapacities;
+    // current configuration; replaced as a whole (never mutated) so readers need no lock
+    private volatile ConfigSnapshot snapshot;
+    // notified after totalRooms changes
+    private final CopyOnWriteArrayList<ConfigurationListener> listeners = new CopyOnWriteArrayList<>();
 
     // private constructor
     private OfficeConfiguration(int totalRooms, int defaultCapacity) {
@@ -36,11 +37,9 @@ public final class OfficeConfiguration {
         if (defaultCapacity <= 0) {
             throw new IllegalArgumentException("defaultCapacity must be > 0");
         }
-        this.totalRooms = totalRooms;
-        this.roomCapacities = new HashMap<>(totalRooms);
-        for (int i = 1; i <= totalRooms; i++) {
-            this.roomCapacities.put(i, defaultCapacity);
-        }
+        int[] capacities = new int[totalRooms + 1];
+        Arrays.fill(capacities, 1, capacities.length, defaultCapacity);
+        this.snapshot = new ConfigSnapshot(1, capacities);
         log.info("OfficeConfiguration created: totalRooms={}, defaultCapacity={}", totalRooms, defaultCapacity);
     }
 
@@ -77,48 +76,99 @@ public final class OfficeConfiguration {
         return instance;
     }
 
+    /**
+     * Register a listener for room-count changes. Adding the same listener twice has no effect.
+     */
+    public void addListener(ConfigurationListener listener) {
+        listeners.addIfAbsent(Objects.requireNonNull(listener, "listener required"));
+    }
+
+    public void removeListener(ConfigurationListener listener) {
+        listeners.remove(listener);
+    }
+
     // getters & setters (with validations)
+
+    /**
+     * Current configuration. Never blocks; the returned snapshot is immutable, so callers that
+     * need several values (e.g. room count and capacities) should read them all from one snapshot.
+     */
+    public ConfigSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Change the number of rooms. The new snapshot is published first, so removed rooms are
+     * rejected by validation from then on; listeners are then notified in registration order.
+     */
     public synchronized void setTotalRooms(int totalRooms) {
         if (totalRooms <= 0) throw new ValidationException("totalRooms must be > 0");
-        if (totalRooms < this.totalRooms) {
-            // reduce rooms — remove extra entries
-            for (int i = this.totalRooms; i > totalRooms; i--) {
-                roomCapacities.remove(i);
-            }
-        } else {
-            // add new rooms with default capacity equal to nearest existing or 1
-            int defaultCap = roomCapacities.getOrDefault(1, 1);
-            for (int i = this.totalRooms + 1; i <= totalRooms; i++) {
-                roomCapacities.put(i, defaultCap);
-            }
+        ConfigSnapshot current = snapshot;
+        int oldTotalRooms = current.getTotalRooms();
+        if (totalRooms == oldTotalRooms) return;
+        int[] capacities = current.copyCapacities(totalRooms);
+        if (totalRooms > oldTotalRooms) {
+            // add new rooms with default capacity equal to room 1's
+            Arrays.fill(capacities, oldTotalRooms + 1, capacities.length, capacities[1]);
         }
-        this.totalRooms = totalRooms;
+        publish(current, capacities);
         log.info("totalRooms updated to {}", totalRooms);
+        notifyTotalRoomsChanged(oldTotalRooms, totalRooms);
     }
 
     public int getTotalRooms() {
-        return totalRooms;
+        return snapshot.getTotalRooms();
     }
 
     public synchronized void setRoomCapacity(int roomId, int capacity) {
-        validateRoomExists(roomId);
+        ConfigSnapshot current = snapshot;
+        if (!current.hasRoom(roomId)) throw new ValidationException(STR."Invalid room id: \{roomId}");
         if (capacity <= 0) throw new ValidationException("capacity must be > 0");
-        roomCapacities.put(roomId, capacity);
+        int[] capacities = current.copyCapacities(current.getTotalRooms());
+        capacities[roomId] = capacity;
+        publish(current, capacities);
         log.info("Room {} capacity set to {}", roomId, capacity);
     }
 
+    /**
+     * Replace the whole room layout in one step: room i+1 gets capacities[i].
+     * Readers see either the old layout or the new one, never a mix.
+     */
+    public synchronized void reload(int... capacities) {
+        if (capacities == null || capacities.length == 0) throw new ValidationException("totalRooms must be > 0");
+        int[] table = new int[capacities.length + 1];
+        for (int i = 0; i < capacities.length; i++) {
+            if (capacities[i] <= 0) throw new ValidationException(STR."capacity must be > 0 (room \{i + 1})");
+            table[i + 1] = capacities[i];
+        }
+        ConfigSnapshot current = snapshot;
+        publish(current, table);
+        log.info("Configuration reloaded: version={}, totalRooms={}", snapshot.getVersion(), capacities.length);
+        if (capacities.length != current.getTotalRooms()) {
+            notifyTotalRoomsChanged(current.getTotalRooms(), capacities.length);
+        }
+    }
+
     public int getRoomCapacity(int roomId) {
-        validateRoomExists(roomId);
-        return roomCapacities.get(roomId);
+        return snapshot.getRoomCapacity(roomId);
     }
 
     public Map<Integer, Integer> getAllRoomCapacities() {
-        return Collections.unmodifiableMap(roomCapacities);
+        return snapshot.getAllRoomCapacities();
     }
 
-    private void validateRoomExists(int roomId) {
-        if (roomId <= 0 || roomId > totalRooms) {
-            throw new ValidationException(STR."Invalid room id: \{roomId}");
+    // caller holds the monitor, so versions are assigned in publish order
+    private void publish(ConfigSnapshot current, int[] capacities) {
+        snapshot = new ConfigSnapshot(current.getVersion() + 1, capacities);
+    }
+
+    private void notifyTotalRoomsChanged(int oldTotalRooms, int newTotalRooms) {
+        for (ConfigurationListener listener : listeners) {
+            try {
+                listener.onTotalRoomsChanged(oldTotalRooms, newTotalRooms);
+            } catch (RuntimeException e) {
+                log.error("Configuration listener {} failed", listener, e);
+            }
         }
     }
 
@@ -129,7 +179,7 @@ public final class OfficeConfiguration {
 
     @Override
     public String toString() {
-        return STR."OfficeConfiguration{totalRooms=\{totalRooms}, roomCapacities=\{roomCapacities}}";
+        return STR."OfficeConfiguration{\{snapshot}}";
     }
 
     @Override
@@ -138,12 +188,11 @@ public final class OfficeConfiguration {
         if (o == null || getClass() != o.getClass()) return false;
 
         OfficeConfiguration that = (OfficeConfiguration) o;
-        return totalRooms == that.totalRooms &&
-                Objects.equals(roomCapacities, that.roomCapacities);
+        return Objects.equals(getAllRoomCapacities(), that.getAllRoomCapacities());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(totalRooms, roomCapacities);
+        return getAllRoomCapacities().hashCode();
     }
 }
@@ -0,0 +1,36 @@
+package com.smartoffice.event;
+
+import com.smartoffice.model.Booking;
+
+import java.time.Instant;
+
+/**
+ * Typed booking lifecycle events published by BookingManager.
+ *
+ * Events are immutable records; the timestamp is when the change was applied.
+ */
+public sealed interface BookingEvent {
+
+    int roomId();
+
+    Instant timestamp();
+
+    /** A booking was stored (directly, by allocation, or admitted from a waitlist). */
+    record BookingCreated(Booking booking, Instant timestamp) implements BookingEvent {
+        public int roomId() { return booking.getRoomId(); }
+    }
+
+    /** A booking was cancelled by its owner or because its room was removed. */
+    record BookingCancelled(Booking booking, Instant timestamp) implements BookingEvent {
+        public int roomId() { return booking.getRoomId(); }
+    }
+
+    /** A booking was released because nobody showed up within the grace period. */
+    record BookingAutoReleased(Booking booking, Instant timestamp) implements BookingEvent {
+        public int roomId() { return booking.getRoomId(); }
+    }
+
+    /** A sensor reported a new occupant count for a room. */
+    record OccupancyChanged(int roomId, int previousCount, int currentCount, Instant timestamp) implements BookingEvent {
+    }
+}
@@ -0,0 +1,192 @@
+package com.smartoffice.event;
+
+import com.smartoffice.exception.ValidationException;
+import com.smartoffice.util.LoggerUtil;
+import org.slf4j.Logger;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * BookingEventBus: non-blocking fan-out of BookingEvents to subscribers.
+ *
+ * Design:
+ * - every subscription owns a bounded EventRingBuffer and one daemon dispatcher thread
+ * - publish() only offers the event to each ring (a CAS); it never waits, whatever the subscribers do
+ * - dispatchers that just ran dry nap in 1 ms steps and are only woken early once their ring is half
+ *   full, so bursts of publishes cost no wake-up syscalls; after a quiet spell they sleep and the
+ *   next publish wakes them
+ * - a full ring applies the subscription's OverflowPolicy and counts the dropped event
+ * - the subscription list is copy-on-write, so publish() takes no lock; with no subscribers it
+ *   is a single volatile read
+ */
+public class BookingEventBus {
+    private static final Logger log = LoggerUtil.getLogger(BookingEventBus.class);
+    private static final Subscription[] NONE = new Subscription[0];
+
+    // dispatcher states
+    private static final int RUNNING = 0;
+    private static final int NAPPING = 1;
+    private static final int SLEEPING = 2;
+    private static final long NAP_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLEEP_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    // empty naps before a dispatcher goes to sleep
+    private static final int NAPS_BEFORE_SLEEP = 50;
+
+    private final AtomicReference<Subscription[]> subscriptions = new AtomicReference<>(NONE);
+
+    /**
+     * Subscribe with a ring of the given capacity (rounded up to a power of two).
+     */
+    public Subscription subscribe(String name, BookingEventSubscriber subscriber, int capacity, OverflowPolicy policy) {
+        Objects.requireNonNull(subscriber, "subscriber required");
+        Objects.requireNonNull(policy, "policy required");
+        if (capacity <= 0) throw new ValidationException("capacity must be > 0");
+        Subscription subscription = new Subscription(name == null ? "subscriber" : name, subscriber, capacity, policy);
+        subscriptions.getAndUpdate(current -> {
+            Subscription[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = subscription;
+            return next;
+        });
+        subscription.dispatcher.start();
+        log.info("Event subscriber '{}' registered (capacity={}, policy={})", subscription.name, subscription.ring.capacity(), policy);
+        return subscription;
+    }
+
+    public boolean hasSubscribers() {
+        return subscriptions.get().length > 0;
+    }
+
+    /**
+     * Hand the event to every subscriber. Never blocks.
+     */
+    public void publish(BookingEvent event) {
+        for (Subscription subscription : subscriptions.get()) {
+            subscription.enqueue(event);
+        }
+    }
+
+    /**
+     * Stop all subscriptions; events still queued are delivered first.
+     */
+    public void shutdown() {
+        for (Subscription subscription : subscriptions.getAndSet(NONE)) {
+            subscription.stop();
+        }
+    }
+
+    private void remove(Subscription subscription) {
+        subscriptions.getAndUpdate(current -> {
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == subscription) {
+                    Subscription[] next = new Subscription[current.length - 1];
+                    System.arraycopy(current, 0, next, 0, i);
+                    System.arraycopy(current, i + 1, next, i, current.length - i - 1);
+                    return next;
+                }
+            }
+            return current;
+        });
+    }
+
+    /**
+     * One subscriber's queue and dispatcher. close() unsubscribes after draining queued events.
+     */
+    public final class Subscription implements AutoCloseable {
+        private final String name;
+        private final BookingEventSubscriber subscriber;
+        private final EventRingBuffer<BookingEvent> ring;
+        private final OverflowPolicy policy;
+        private final Thread dispatcher;
+        private final LongAdder delivered = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private volatile int state = RUNNING;
+        private volatile boolean running = true;
+
+        private Subscription(String name, BookingEventSubscriber subscriber, int capacity, OverflowPolicy policy) {
+            this.name = name;
+            this.subscriber = subscriber;
+            this.ring = new EventRingBuffer<>(capacity);
+            this.policy = policy;
+            this.dispatcher = new Thread(this::dispatch);
+            dispatcher.setDaemon(true);
+            dispatcher.setName(STR."event-dispatcher-\{name}");
+        }
+
+        private void enqueue(BookingEvent event) {
+            if (!ring.offer(event)) {
+                if (policy == OverflowPolicy.DROP_NEWEST) {
+                    dropped.increment();
+                } else {
+                    // evict the oldest until the new event fits (another producer may refill in between)
+                    while (!ring.offer(event)) {
+                        if (ring.poll() != null) dropped.increment();
+                    }
+                }
+            }
+            int s = state;
+            if (s == SLEEPING || (s == NAPPING && ring.size() >= ring.capacity() / 2)) {
+                LockSupport.unpark(dispatcher);
+            }
+        }
+
+        private void dispatch() {
+            int emptyNaps = 0;
+            while (running || !ring.isEmpty()) {
+                BookingEvent event = ring.poll();
+                if (event == null) {
+                    if (emptyNaps < NAPS_BEFORE_SLEEP) {
+                        emptyNaps++;
+                        state = NAPPING;
+                        if (running) LockSupport.parkNanos(this, NAP_NANOS);
+                    } else {
+                        state = SLEEPING;
+                        // re-check after announcing the sleep so a concurrent enqueue is never missed
+                        if (ring.isEmpty() && running) LockSupport.parkNanos(this, SLEEP_NANOS);
+                    }
+                    state = RUNNING;
+                    continue;
+                }
+                emptyNaps = 0;
+                try {
+                    subscriber.onEvent(event);
+                } catch (RuntimeException e) {
+                    log.warn("Event subscriber '{}' failed on {}: {}", name, event, e.getMessage());
+                }
+                delivered.increment();
+            }
+        }
+
+        private void stop() {
+            running = false;
+            LockSupport.unpark(dispatcher);
+            try {
+                dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getDelivered() {
+            return delivered.sum();
+        }
+
+        public long getDropped() {
+            return dropped.sum();
+        }
+
+        @Override
+        public void close() {
+            remove(this);
+            stop();
+        }
+    }
+}
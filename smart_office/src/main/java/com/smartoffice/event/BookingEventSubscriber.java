@@ -0,0 +1,9 @@
+package com.smartoffice.event;
+
+/**
+ * Receives booking events on its subscription's dispatcher thread, in publish order per publisher.
+ */
+@FunctionalInterface
+public interface BookingEventSubscriber {
+    void onEvent(BookingEvent event);
+}
@@ -0,0 +1,12 @@
+package com.smartoffice.event;
+
+/**
+ * What a subscriber's ring buffer does when an event arrives and it is full.
+ * Either way the publisher never waits.
+ */
+public enum OverflowPolicy {
+    /** Keep what is queued; the new event is dropped. */
+    DROP_NEWEST,
+    /** Evict the oldest queued event to make room for the new one. */
+    DROP_OLDEST
+}
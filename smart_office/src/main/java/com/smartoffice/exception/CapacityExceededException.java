@@ -0,0 +1,12 @@
+package com.smartoffice.exception;
+
+/**
+ * Thrown when a booking's attendee count exceeds the capacity of the requested room.
+ */
+public class CapacityExceededException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public CapacityExceededException(String message) {
+        super(message);
+    }
+}
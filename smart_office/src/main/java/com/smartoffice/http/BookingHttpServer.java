@@ -0,0 +1,375 @@
+package com.smartoffice.http;
+
+import com.smartoffice.command.AddOccupantCommand;
+import com.smartoffice.command.BookRoomCommand;
+import com.smartoffice.command.CancelRoomCommand;
+import com.smartoffice.command.CommandInvoker;
+import com.smartoffice.config.OfficeConfiguration;
+import com.smartoffice.exception.BookingConflictException;
+import com.smartoffice.exception.CapacityExceededException;
+import com.smartoffice.exception.InvalidRoomException;
+import com.smartoffice.exception.ValidationException;
+import com.smartoffice.manager.BookingManager;
+import com.smartoffice.model.Booking;
+import com.smartoffice.model.User;
+import com.smartoffice.observer.OccupancySensor;
+import com.smartoffice.util.Json;
+import com.smartoffice.util.LoggerUtil;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * BookingHttpServer: JSON-over-HTTP front end for BookingManager on the JDK's built-in server.
+ *
+ * Endpoints (times are ISO-8601 local date-times, e.g. 2030-01-01T10:00):
+ *   POST   /bookings                      {"room":1,"user":"a@x.com","name":"A","start":..,"duration":60,"attendees":3}
+ *                                         room 0 (or absent) books the smallest free room that fits
+ *   GET    /bookings?from=..&to=..        all bookings overlapping the range, streamed room by room
+ *   GET    /bookings/{id}
+ *   DELETE /bookings/{id}
+ *   GET    /rooms/{id}/bookings?from=..&to=..
+ *   GET    /rooms/{id}/occupancy
+ *   PUT    /rooms/{id}/occupancy          {"count":3}
+ *   GET    /rooms/free?attendees=..&from=..&to=..
+ *   GET    /metrics                       BookingManager latency/counter dump, text/plain
+ *
+ * Design:
+ * - one virtual thread per request, so handlers simply block (on room locks, on the invoker)
+ * - book / cancel / occupancy go through a CommandInvoker, so HTTP requests get the same
+ *   per-room ordering (and journaling, if configured) as every other command source
+ * - list responses use chunked transfer encoding and are written booking by booking, so a large
+ *   range never has to be materialized as one string
+ * - TCP_NODELAY on accepted connections (unless sun.net.httpserver.nodelay is set explicitly)
+ * - exceptions map to status codes: validation 400, unknown room/booking 404, conflict 409,
+ *   capacity 422
+ */
+public class BookingHttpServer implements AutoCloseable {
+    private static final Logger log = LoggerUtil.getLogger(BookingHttpServer.class);
+
+    private static final String JSON = "application/json; charset=utf-8";
+
+    static {
+        // headers and chunked bodies go out as separate small writes; with Nagle on, each response
+        // can stall on the client's delayed ACK (~40 ms). Read once, when the first server is created.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final BookingManager manager;
+    private final OccupancySensor sensor;
+    private final CommandInvoker invoker;
+    private final HttpServer server;
+    private final ExecutorService requestExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * @param port 0 picks a free port (see getPort())
+     */
+    public BookingHttpServer(BookingManager manager, OccupancySensor sensor, CommandInvoker invoker, int port) throws IOException {
+        this.manager = manager;
+        this.sensor = sensor;
+        this.invoker = invoker;
+        this.server = HttpServer.create(new InetSocketAddress(port), 1024);
+        server.setExecutor(requestExecutor);
+        server.createContext("/bookings", exchange -> handle(exchange, this::bookings));
+        server.createContext("/rooms", exchange -> handle(exchange, this::rooms));
+        server.createContext("/metrics", exchange -> handle(exchange, this::metrics));
+    }
+
+    public void start() {
+        server.start();
+        log.info("Booking HTTP API listening on port {}", getPort());
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stop accepting connections, give in-flight requests a second to finish.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        requestExecutor.close();
+    }
+
+    private interface Handler {
+        void handle(HttpExchange exchange, String[] path) throws IOException;
+    }
+
+    private void handle(HttpExchange exchange, Handler handler) throws IOException {
+        boolean aborted = false;
+        try {
+            respond(exchange, handler);
+        } catch (ResponseAbortedException e) {
+            aborted = true;
+            log.warn("HTTP {} {} aborted after the response started", exchange.getRequestMethod(), exchange.getRequestURI(), e.getCause());
+            throw e;
+        } finally {
+            // closing would end a started body as if it were complete; left open, the server drops
+            // the connection and the client sees a truncated response
+            if (!aborted) exchange.close();
+        }
+    }
+
+    private void respond(HttpExchange exchange, Handler handler) throws IOException {
+        try {
+            String[] path = exchange.getRequestURI().getPath().replaceAll("^/+|/+$", "").split("/");
+            handler.handle(exchange, path);
+        } catch (BookingConflictException e) {
+            error(exchange, 409, e.getMessage());
+        } catch (CapacityExceededException e) {
+            error(exchange, 422, e.getMessage());
+        } catch (InvalidRoomException e) {
+            error(exchange, 404, e.getMessage());
+        } catch (ValidationException | IllegalArgumentException | DateTimeParseException e) {
+            error(exchange, 400, e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("HTTP {} {} failed", exchange.getRequestMethod(), exchange.getRequestURI(), e);
+            error(exchange, 500, "internal error");
+        }
+    }
+
+    // ----- /metrics -----
+
+    private void metrics(HttpExchange exchange, String[] path) throws IOException {
+        if (!exchange.getRequestMethod().equals("GET")) {
+            error(exchange, 405, STR."\{exchange.getRequestMethod()} not allowed");
+            return;
+        }
+        byte[] bytes = manager.getMetrics().dump().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // ----- /bookings -----
+
+    private void bookings(HttpExchange exchange, String[] path) throws IOException {
+        String method = exchange.getRequestMethod();
+        if (path.length == 1) {
+            switch (method) {
+                case "POST" -> createBooking(exchange);
+                case "GET" -> {
+                    Map<String, String> query = query(exchange);
+                    LocalDateTime from = LocalDateTime.parse(required(query, "from"));
+                    LocalDateTime to = LocalDateTime.parse(required(query, "to"));
+                    streamBookings(exchange, 1, OfficeConfiguration.getInstance().getTotalRooms(), from, to);
+                }
+                default -> error(exchange, 405, STR."\{method} not allowed");
+            }
+            return;
+        }
+        if (path.length != 2) {
+            error(exchange, 404, "not found");
+            return;
+        }
+        String bookingId = path[1];
+        switch (method) {
+            case "GET" -> {
+                Booking booking = manager.findBookingById(bookingId).orElse(null);
+                if (booking == null) error(exchange, 404, STR."Booking not found: \{bookingId}");
+                else json(exchange, 200, appendBooking(new StringBuilder(), booking).toString());
+            }
+            case "DELETE" -> {
+                CancelRoomCommand cancel = new CancelRoomCommand(manager, bookingId);
+                invoker.executeCommand(cancel);
+                if (cancel.wasCancelled()) {
+                    exchange.sendResponseHeaders(204, -1);
+                } else {
+                    error(exchange, 404, STR."Booking not found: \{bookingId}");
+                }
+            }
+            default -> error(exchange, 405, STR."\{method} not allowed");
+        }
+    }
+
+    private void createBooking(HttpExchange exchange) throws IOException {
+        Map<String, String> body = Json.parseFlatObject(body(exchange));
+        int roomId = Integer.parseInt(body.getOrDefault("room", "0"));
+        String userId = required(body, "user");
+        User user = new User(userId, body.getOrDefault("name", userId));
+        LocalDateTime start = LocalDateTime.parse(required(body, "start"));
+        int duration = Integer.parseInt(required(body, "duration"));
+        int attendees = Integer.parseInt(body.getOrDefault("attendees", "1"));
+
+        Booking booking = roomId == 0
+                ? manager.bookSmallestFreeRoom(user, start, duration, attendees, this::book)
+                : book(new Booking(roomId, user, start, duration, attendees));
+        exchange.getResponseHeaders().set("Location", STR."/bookings/\{booking.getBookingId()}");
+        json(exchange, 201, appendBooking(new StringBuilder(), booking).toString());
+    }
+
+    // every booking, including each auto-allocation attempt, goes through the invoker so it is
+    // ordered and journaled like any other
+    private Booking book(Booking booking) {
+        invoker.executeCommand(new BookRoomCommand(manager, booking));
+        return booking;
+    }
+
+    // ----- /rooms -----
+
+    private void rooms(HttpExchange exchange, String[] path) throws IOException {
+        String method = exchange.getRequestMethod();
+        if (path.length == 2 && path[1].equals("free") && method.equals("GET")) {
+            Map<String, String> query = query(exchange);
+            int attendees = Integer.parseInt(query.getOrDefault("attendees", "1"));
+            LocalDateTime from = LocalDateTime.parse(required(query, "from"));
+            LocalDateTime to = LocalDateTime.parse(required(query, "to"));
+            int roomId = manager.findSmallestFreeRoom(attendees, from, to);
+            if (roomId < 0) {
+                error(exchange, 404, STR."No free room for \{attendees} people");
+            } else {
+                json(exchange, 200, STR."{\"room\":\{roomId},\"capacity\":\{OfficeConfiguration.getInstance().getRoomCapacity(roomId)}}");
+            }
+            return;
+        }
+        if (path.length != 3) {
+            error(exchange, 404, "not found");
+            return;
+        }
+        int roomId = Integer.parseInt(path[1]);
+        switch (path[2] + " " + method) {
+            case "bookings GET" -> {
+                Map<String, String> query = query(exchange);
+                LocalDateTime from = LocalDateTime.parse(required(query, "from"));
+                LocalDateTime to = LocalDateTime.parse(required(query, "to"));
+                streamBookings(exchange, roomId, roomId, from, to);
+            }
+            case "occupancy GET" -> json(exchange, 200, occupancy(roomId, manager.getOccupancy(roomId)));
+            case "occupancy PUT" -> {
+                int count = Integer.parseInt(required(Json.parseFlatObject(body(exchange)), "count"));
+                invoker.executeCommand(new AddOccupantCommand(sensor, roomId, count));
+                json(exchange, 200, occupancy(roomId, count));
+            }
+            default -> error(exchange, 404, "not found");
+        }
+    }
+
+    private static String occupancy(int roomId, int count) {
+        return STR."{\"room\":\{roomId},\"occupancy\":\{count}}";
+    }
+
+    // ----- responses -----
+
+    /**
+     * Stream a JSON array of the bookings of rooms first..last overlapping [from, to).
+     * Rooms are queried one at a time, so only one room's bookings are held at once. A failure
+     * after the 200 is sent (e.g. a room removed mid-stream) aborts the response: no error body
+     * can follow a started one.
+     */
+    private void streamBookings(HttpExchange exchange, int firstRoom, int lastRoom, LocalDateTime from, LocalDateTime to)
+            throws IOException {
+        // validate before committing to a 200
+        List<Booking> first = manager.getBookingsForRoom(firstRoom, from, to);
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(200, 0);
+        StringBuilder sb = new StringBuilder(256);
+        // not try-with-resources: closing the body would end the response cleanly after a failure
+        Writer out = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8), 8192);
+        try {
+            out.write('[');
+            boolean firstItem = true;
+            for (int roomId = firstRoom; roomId <= lastRoom; roomId++) {
+                List<Booking> bookings = roomId == firstRoom ? first : manager.getBookingsForRoom(roomId, from, to);
+                for (Booking booking : bookings) {
+                    sb.setLength(0);
+                    if (!firstItem) sb.append(',');
+                    firstItem = false;
+                    out.append(appendBooking(sb, booking));
+                }
+            }
+            out.write(']');
+        } catch (IOException | RuntimeException e) {
+            throw new ResponseAbortedException(e);
+        }
+        out.close();
+    }
+
+    private static StringBuilder appendBooking(StringBuilder sb, Booking b) {
+        sb.append("{\"id\":");
+        Json.quote(sb, b.getBookingId());
+        sb.append(",\"room\":").append(b.getRoomId()).append(",\"user\":");
+        Json.quote(sb, b.getOwner().getUserId());
+        sb.append(",\"name\":");
+        Json.quote(sb, b.getOwner().getDisplayName());
+        sb.append(",\"start\":\"").append(b.getStart()).append("\",\"end\":\"").append(b.getEnd())
+                .append("\",\"attendees\":").append(b.getAttendeeCount()).append('}');
+        return sb;
+    }
+
+    private static void json(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void error(HttpExchange exchange, int status, String message) throws IOException {
+        StringBuilder sb = new StringBuilder("{\"error\":");
+        Json.quote(sb, message == null ? "" : message);
+        json(exchange, status, sb.append('}').toString());
+    }
+
+    /**
+     * A response failed after its headers were sent; handle() drops the connection.
+     */
+    private static final class ResponseAbortedException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        ResponseAbortedException(Throwable cause) {
+            super("response aborted after headers were sent", cause);
+        }
+    }
+
+    // ----- requests -----
+
+    private static String body(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) return params;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static String required(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null || value.isEmpty()) throw new ValidationException(STR."\{name} required");
+        return value;
+    }
+}
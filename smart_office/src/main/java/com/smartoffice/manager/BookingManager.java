@@ -1,19 +1,30 @@
 package com.smartoffice.manager;
 
+import com.smartoffice.config.ConfigurationListener;
 import com.smartoffice.config.OfficeConfiguration;
+import com.smartoffice.event.BookingEvent;
+import com.smartoffice.event.BookingEventBus;
 import com.smartoffice.exception.BookingConflictException;
+import com.smartoffice.exception.CapacityExceededException;
 import com.smartoffice.exception.InvalidRoomException;
 import com.smartoffice.exception.ValidationException;
 import com.smartoffice.model.Booking;
+import com.smartoffice.model.BookingSeries;
+import com.smartoffice.model.User;
+import com.smartoffice.model.WaitlistEntry;
+import com.smartoffice.util.LatencyTimer;
 import com.smartoffice.util.LoggerUtil;
+import com.smartoffice.util.MetricsRegistry;
 import org.slf4j.Logger;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 /**
  * BookingManager: concurrency-aware in-memory booking manager.
@@ -21,42 +32,79 @@ import java.util.concurrent.locks.ReentrantLock;
  * Responsibilities:
  * - Accept bookings and cancel bookings
  * - Prevent overlapping bookings for same room
+ * - Store recurring series once and check them against bookings/series without expanding them
+ * - Reject bookings whose attendee count exceeds the room's capacity
+ * - Find and book the smallest free room that fits a group (capacity-bucketed, time-sliced RoomAllocator)
  * - Schedule auto-release of bookings if room remains unoccupied for configured delay
+ * - Keep per-room waitlists and admit waiting requests in the same critical section that frees a slot;
+ *   requests whose slot has passed are dropped by a periodic purge
  * - Maintain occupancy counts (updated by occupancy sensors/manager)
+ * - Publish lifecycle events (created, cancelled, auto-released, occupancy) on a non-blocking BookingEventBus
+ * - Follow room-count changes: new rooms become usable, bookings in removed rooms are drained
+ * - Record latency and outcome metrics for the hot operations (getMetrics(); sampled timers, no locks)
  *
  * Thread-safety strategy:
- * - Use a ConcurrentHashMap<Integer, List<Booking>> for per-room bookings
+ * - Per-room state (bookings, occupancy, lock) lives in a dense RoomStateTable indexed by room id
  * - Use a ReentrantLock per room to serialize modifications for that room only (fine-grained locking)
  * - Use ScheduledExecutorService to schedule auto-release tasks (no busy loops)
+ * - Room existence is re-checked after taking a room's lock, so a booking can't land in a room
+ *   that is being removed (removal drains each room under that same lock)
  */
-public class BookingManager {
+public class BookingManager implements ConfigurationListener {
 
     private static final Logger log = LoggerUtil.getLogger(BookingManager.class);
-
-    // maps roomId -> list of bookings (guarded by per-room lock when modified)
-    private final ConcurrentHashMap<Integer, List<Booking>> bookingsByRoom = new ConcurrentHashMap<>();
+    // how often waitlisted requests whose slot has passed are dropped, whether or not their room frees up
+    private static final long WAITLIST_PURGE_MINUTES = 1;
 
     // map bookingId -> booking (for quick lookup and cancel)
     private final ConcurrentHashMap<String, Booking> bookingById = new ConcurrentHashMap<>();
 
-    // occupancy tracking: roomId -> current occupant count (updated by occupancy sensors)
-    private final ConcurrentHashMap<Integer, AtomicInteger> occupancy = new ConcurrentHashMap<>();
+    // map seriesId -> recurring series
+    private final ConcurrentHashMap<String, BookingSeries> seriesById = new ConcurrentHashMap<>();
+
+    // roomId -> bookings, occupant count and lock (bookings guarded by the room's lock)
+    private final RoomStateTable rooms;
 
-    // locks for per-room operations (fine-grained)
-    private final ConcurrentHashMap<Integer, ReentrantLock> roomLockMap = new ConcurrentHashMap<>();
+    // capacity buckets of idle/booked rooms for smallest-fit allocation
+    private final RoomAllocator allocator;
 
     // scheduler for auto-release tasks
     private final ScheduledExecutorService scheduler;
 
-    // map bookingId -> ScheduledFuture for the auto-release, so we can cancel if occupied or booking cancelled
+    // map bookingId / seriesId -> ScheduledFuture for the auto-release, so we can cancel if occupied or booking cancelled
+    // (a series has at most one pending task: the one for its next occurrence)
     private final ConcurrentHashMap<String, ScheduledFuture<?>> autoReleaseTasks = new ConcurrentHashMap<>();
 
+    // map entryId -> waiting request (entries themselves live in the room's RoomWaitlist)
+    private final ConcurrentHashMap<String, WaitlistEntry> waitlistById = new ConcurrentHashMap<>();
+
+    // notified off the room lock when waiting requests are admitted or dropped
+    private final CopyOnWriteArrayList<WaitlistListener> waitlistListeners = new CopyOnWriteArrayList<>();
+    private final ExecutorService notifier;
+
+    // lifecycle events; publishing is a ring-buffer offer per subscriber and never blocks
+    private final BookingEventBus events = new BookingEventBus();
+
     // how long to wait before auto-releasing an unoccupied booking (configurable)
     private final Duration autoReleaseDelay;
 
     // reference to global office config
     private final OfficeConfiguration config;
 
+    // latency timers and outcome counters for the hot paths; handles are looked up once here
+    private final MetricsRegistry metrics = new MetricsRegistry();
+    private final LatencyTimer bookTimer = metrics.timer("booking.book");
+    private final LatencyTimer cancelTimer = metrics.timer("booking.cancel");
+    private final LatencyTimer occupancyTimer = metrics.timer("booking.occupancy");
+    private final LatencyTimer autoReleaseTimer = metrics.timer("booking.autoRelease", 1);
+    // only contended acquisitions are timed, so every one is worth recording
+    private final LatencyTimer lockWaitTimer = metrics.timer("booking.lockWait", 1);
+    private final LongAdder bookConflicts = metrics.counter("booking.book.conflicts");
+    private final LongAdder bookRejected = metrics.counter("booking.book.rejected");
+    private final LongAdder cancelMissing = metrics.counter("booking.cancel.missing");
+    private final LongAdder autoReleased = metrics.counter("booking.autoRelease.released");
+    private final LongAdder autoReleaseSkipped = metrics.counter("booking.autoRelease.skipped");
+
     /**
      * Create a BookingManager.
      *
@@ -67,21 +115,33 @@ public class BookingManager {
         Objects.requireNonNull(autoReleaseDelay, "autoReleaseDelay required");
         if (threadPoolSize <= 0) threadPoolSize = 1;
         this.autoReleaseDelay = autoReleaseDelay;
-        this.scheduler = Executors.newScheduledThreadPool(threadPoolSize, runnable -> {
+        ScheduledThreadPoolExecutor pool = new ScheduledThreadPoolExecutor(threadPoolSize, runnable -> {
             Thread t = new Thread(runnable);
             t.setDaemon(true);
             t.setName(STR."booking-scheduler-\{t.getId()}");
             return t;
         });
+        // a cancelled auto-release (booking cancelled, room occupied) leaves the queue right away
+        // instead of staying there until its delay expires, days later for bookings made ahead
+        pool.setRemoveOnCancelPolicy(true);
+        this.scheduler = pool;
+        this.notifier = Executors.newSingleThreadExecutor(runnable -> {
+            Thread t = new Thread(runnable);
+            t.setDaemon(true);
+            t.setName("waitlist-notifier");
+            return t;
+        });
 
         // Obtain reference to OfficeConfiguration (must have been initialized before creating manager)
         this.config = OfficeConfiguration.getInstance();
-        // initialize maps for rooms
-        for (int i = 1; i <= config.getTotalRooms(); i++) {
-            bookingsByRoom.put(i, new ArrayList<>());
-            occupancy.put(i, new AtomicInteger(0));
-            roomLockMap.put(i, new ReentrantLock());
-        }
+        // size the room table for the configured rooms; rooms added later are allocated on first use
+        this.rooms = new RoomStateTable(config.getTotalRooms());
+        this.allocator = new RoomAllocator(config);
+        config.addListener(this);
+        pool.scheduleWithFixedDelay(this::purgeExpiredWaitlist, WAITLIST_PURGE_MINUTES, WAITLIST_PURGE_MINUTES, TimeUnit.MINUTES);
+        metrics.gauge("booking.active", bookingById::size);
+        metrics.gauge("booking.autoRelease.pending", autoReleaseTasks::size);
+        metrics.gauge("scheduler.queueDepth", () -> pool.getQueue().size());
         log.info("BookingManager initialized with {} rooms, autoReleaseDelay={}", config.getTotalRooms(), autoReleaseDelay);
     }
 
@@ -89,87 +149,641 @@ public class BookingManager {
      * Attempt to book a room. Validates room existence and conflicts.
      *
      * @param booking Booking object (immutable)
-     * @throws InvalidRoomException     if room doesn't exist
-     * @throws BookingConflictException if time overlap detected
-     * @throws ValidationException      if booking invalid
+     * @throws InvalidRoomException       if room doesn't exist
+     * @throws CapacityExceededException  if attendees exceed the room's capacity
+     * @throws BookingConflictException   if time overlap detected
+     * @throws ValidationException        if booking invalid
      */
     public void bookRoom(Booking booking) {
-        validateBooking(booking);
+        long start = bookTimer.start();
+        try {
+            validateBooking(booking);
+            bookIfFree(booking);
+        } catch (BookingConflictException e) {
+            bookConflicts.increment();
+            throw e;
+        } catch (ValidationException | InvalidRoomException | CapacityExceededException e) {
+            bookRejected.increment();
+            throw e;
+        } finally {
+            bookTimer.stop(start);
+        }
+    }
+
+    /**
+     * Put a previously cancelled booking (same id) back, but only if its slot is still free.
+     * Unlike bookRoom, a start time in the past is accepted, since the booking may already have
+     * been running when it was cancelled. Used to compensate a cancellation.
+     *
+     * @throws BookingConflictException if the slot was taken meanwhile (e.g. by a waitlisted request)
+     * @throws ValidationException      if the booking is still active
+     */
+    public void restoreBooking(Booking booking) {
+        if (booking == null) throw new ValidationException("booking is null");
+        if (bookingById.containsKey(booking.getBookingId())) {
+            throw new ValidationException(STR."Booking \{booking.getBookingId()} is still active");
+        }
+        bookIfFree(booking);
+        log.info("Booking {} restored", booking.getBookingId());
+    }
+
+    private void bookIfFree(Booking booking) {
         int roomId = booking.getRoomId();
         validateRoomExists(roomId);
+        validateCapacity(booking);
 
         ReentrantLock lock = getLockForRoom(roomId);
-        lock.lock();
+        lockRoom(lock);
         try {
-            List<Booking> list = bookingsByRoom.get(roomId);
-            // check for overlap
-            for (Booking existing : list) {
-                if (existing.overlapsWith(booking)) {
-                    String msg = String.format("New booking [%s] conflicts with [%s]", booking.getBookingId(), existing.getBookingId());
-                    log.warn(msg);
-                    throw new BookingConflictException(msg);
+            // the room may have been removed while we waited for the lock
+            validateRoomExists(roomId);
+            String conflict = findConflict(booking);
+            if (conflict != null) {
+                log.warn(conflict);
+                throw new BookingConflictException(conflict);
+            }
+            addBookingLocked(booking);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Describe the first booking or series the new booking overlaps, or null if it fits.
+     * The text doubles as the exception message, so it is only built once a conflict is found.
+     * Caller holds the room lock.
+     */
+    private String findConflict(Booking booking) {
+        int roomId = booking.getRoomId();
+        List<Booking> list = rooms.bookingsIfPresent(roomId);
+        if (list != null) {
+            int i = firstEndingAfter(list, booking.getStart());
+            if (i < list.size() && list.get(i).overlapsWith(booking)) {
+                return STR."New booking [\{booking.getBookingId()}] conflicts with [\{list.get(i).getBookingId()}]";
+            }
+        }
+        BookingSeries series = findConflictingSeries(roomId, booking);
+        if (series != null) {
+            return STR."New booking [\{booking.getBookingId()}] conflicts with series [\{series.getSeriesId()}]";
+        }
+        return null;
+    }
+
+    /**
+     * Index of the first booking in a room's list that ends after the given time (list size if none).
+     * A room's bookings never overlap, so the list, kept in start order, is in end order too.
+     */
+    private static int firstEndingAfter(List<Booking> list, LocalDateTime time) {
+        int low = 0;
+        int high = list.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (list.get(mid).getEnd().isAfter(time)) high = mid;
+            else low = mid + 1;
+        }
+        return low;
+    }
+
+    /**
+     * Remove a booking from its room's start-ordered list. Caller holds the room lock.
+     */
+    private static boolean removeBooking(List<Booking> list, Booking booking) {
+        for (int i = firstEndingAfter(list, booking.getStart()); i < list.size(); i++) {
+            Booking candidate = list.get(i);
+            if (candidate.getBookingId().equals(booking.getBookingId())) {
+                list.remove(i);
+                return true;
+            }
+            if (candidate.getStart().isAfter(booking.getStart())) break;
+        }
+        return false;
+    }
+
+    /**
+     * True if a booking in a room's start-ordered list overlaps [from, to). Caller holds the room lock.
+     */
+    private static boolean overlapsAny(List<Booking> list, LocalDateTime from, LocalDateTime to) {
+        int i = firstEndingAfter(list, from);
+        return i < list.size() && list.get(i).getStart().isBefore(to);
+    }
+
+    /**
+     * Tell the allocator a booking was removed from the room's list. Caller holds the room lock.
+     */
+    private void releaseBooking(Booking removed, List<Booking> remaining) {
+        allocator.removeBooking(removed.getRoomId(), removed.getStart(), removed.getEnd(),
+                (from, to) -> overlapsAny(remaining, from, to));
+    }
+
+    /**
+     * Store a conflict-free booking and schedule its auto-release. Caller holds the room lock.
+     */
+    private void addBookingLocked(Booking booking) {
+        int roomId = booking.getRoomId();
+        List<Booking> list = rooms.bookings(roomId);
+        list.add(firstEndingAfter(list, booking.getStart()), booking);
+        allocator.addBooking(roomId, booking.getStart(), booking.getEnd());
+        bookingById.put(booking.getBookingId(), booking);
+        log.info("Booking created: {}", booking);
+        if (events.hasSubscribers()) events.publish(new BookingEvent.BookingCreated(booking, Instant.now()));
+
+        // schedule auto-release: if room remains unoccupied for autoReleaseDelay after creation, release
+        long delayMillis = Duration.between(LocalDateTime.now(), booking.getStart().plus(autoReleaseDelay)).toMillis();
+        if (delayMillis < 0) {
+            delayMillis = autoReleaseDelay.toMillis(); // fallback if start already passed
+        }
+
+        ScheduledFuture<?> future = scheduler.schedule(
+                () -> autoReleaseIfUnoccupied(booking.getBookingId()),
+                delayMillis,
+                TimeUnit.MILLISECONDS
+        );
+
+        autoReleaseTasks.put(booking.getBookingId(), future);
+    }
+
+    /**
+     * Wait for a slot that is currently taken. If the slot is actually free, the request is booked
+     * straight away. Otherwise it is queued on the room and admitted when an overlapping booking is
+     * cancelled or auto-released; listeners are told either way.
+     *
+     * @return the booking if it was made immediately, empty if the request is waiting
+     * @throws InvalidRoomException      if room doesn't exist
+     * @throws CapacityExceededException if attendees exceed the room's capacity
+     */
+    public Optional<Booking> joinWaitlist(WaitlistEntry entry) {
+        if (entry == null) throw new ValidationException("waitlist entry is null");
+        int roomId = entry.getRoomId();
+        validateRoomExists(roomId);
+        Booking booking = entry.toBooking();
+        validateBooking(booking);
+        validateCapacity(booking);
+
+        ReentrantLock lock = getLockForRoom(roomId);
+        lockRoom(lock);
+        try {
+            validateRoomExists(roomId);
+            if (findConflict(booking) == null) {
+                addBookingLocked(booking);
+                notifyAdmitted(entry, booking);
+                return Optional.of(booking);
+            }
+            rooms.waitlist(roomId).add(entry);
+            waitlistById.put(entry.getEntryId(), entry);
+            log.info("Waitlisted: {}", entry);
+            return Optional.empty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean leaveWaitlist(String entryId) {
+        if (entryId == null) return false;
+        WaitlistEntry entry = waitlistById.remove(entryId);
+        if (entry == null) return false;
+        ReentrantLock lock = getLockForRoom(entry.getRoomId());
+        lockRoom(lock);
+        try {
+            RoomWaitlist waitlist = rooms.waitlistIfPresent(entry.getRoomId());
+            return waitlist != null && waitlist.remove(entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waiting requests for a room, in slot order then admission order.
+     */
+    public List<WaitlistEntry> getWaitlist(int roomId) {
+        validateRoomExists(roomId);
+        ReentrantLock lock = getLockForRoom(roomId);
+        lockRoom(lock);
+        try {
+            RoomWaitlist waitlist = rooms.waitlistIfPresent(roomId);
+            return waitlist == null ? List.of() : Collections.unmodifiableList(waitlist.all());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void addWaitlistListener(WaitlistListener listener) {
+        waitlistListeners.addIfAbsent(Objects.requireNonNull(listener, "listener required"));
+    }
+
+    public void removeWaitlistListener(WaitlistListener listener) {
+        waitlistListeners.remove(listener);
+    }
+
+    /**
+     * [from, to) was just freed in the room: admit waiting requests that now fit, best first.
+     * Runs in the critical section that freed the slot, so no other booking can take it in between.
+     * Caller holds the room lock.
+     */
+    private void admitFromWaitlist(int roomId, LocalDateTime from, LocalDateTime to) {
+        RoomWaitlist waitlist = rooms.waitlistIfPresent(roomId);
+        if (waitlist == null || waitlist.isEmpty()) return;
+        removeExpired(waitlist, LocalDateTime.now());
+        int capacity = config.getRoomCapacity(roomId);
+        for (WaitlistEntry entry : waitlist.overlapping(from, to)) {
+            if (entry.getAttendeeCount() > capacity) continue;
+            Booking booking = entry.toBooking();
+            if (findConflict(booking) != null) continue;
+            waitlist.remove(entry);
+            waitlistById.remove(entry.getEntryId());
+            addBookingLocked(booking);
+            log.info("Waitlisted request {} admitted as booking {}", entry.getEntryId(), booking.getBookingId());
+            notifyAdmitted(entry, booking);
+        }
+    }
+
+    /**
+     * Every future occurrence of a cancelled series was freed: admit waiting requests for each
+     * occurrence that one of them overlaps. Only the waiting requests' windows are expanded, so an
+     * open-ended series costs no more than the room's waitlist. Caller holds the room lock.
+     */
+    private void admitFromWaitlist(int roomId, BookingSeries freed) {
+        RoomWaitlist waitlist = rooms.waitlistIfPresent(roomId);
+        if (waitlist == null || waitlist.isEmpty()) return;
+        TreeMap<LocalDateTime, LocalDateTime> occurrences = new TreeMap<>();
+        for (WaitlistEntry entry : waitlist.all()) {
+            for (Booking occurrence : freed.occurrences(entry.getStart(), entry.getEnd())) {
+                occurrences.put(occurrence.getStart(), occurrence.getEnd());
+            }
+        }
+        occurrences.forEach((from, to) -> admitFromWaitlist(roomId, from, to));
+    }
+
+    /**
+     * Drop waiting requests whose slot has passed in every room, one room lock at a time.
+     * Runs on the scheduler every WAITLIST_PURGE_MINUTES.
+     *
+     * @return number of requests dropped
+     */
+    private int purgeExpiredWaitlist() {
+        return purgeExpiredWaitlist(LocalDateTime.now());
+    }
+
+    // package-private for tests, which pass a clock reading past the requests' slots
+    int purgeExpiredWaitlist(LocalDateTime now) {
+        int purged = 0;
+        try {
+            Set<Integer> waitingRooms = new TreeSet<>();
+            for (WaitlistEntry entry : waitlistById.values()) waitingRooms.add(entry.getRoomId());
+            for (int roomId : waitingRooms) {
+                ReentrantLock lock = getLockForRoom(roomId);
+                lockRoom(lock);
+                try {
+                    RoomWaitlist waitlist = rooms.waitlistIfPresent(roomId);
+                    if (waitlist != null) purged += removeExpired(waitlist, now);
+                } finally {
+                    lock.unlock();
                 }
             }
-            // add booking
-            list.add(booking);
-            bookingById.put(booking.getBookingId(), booking);
-            log.info("Booking created: {}", booking);
-
-            // schedule auto-release: if room remains unoccupied for autoReleaseDelay after creation, release
-            long delayMillis = Duration.between(LocalDateTime.now(), booking.getStart().plus(autoReleaseDelay)).toMillis();
-            if (delayMillis < 0) {
-                delayMillis = autoReleaseDelay.toMillis(); // fallback if start already passed
+        } catch (Exception ex) {
+            log.error("Error purging expired waitlist entries", ex);
+        }
+        if (purged > 0) log.info("Dropped {} waitlisted requests whose slot has passed", purged);
+        return purged;
+    }
+
+    // caller holds the room lock
+    private int removeExpired(RoomWaitlist waitlist, LocalDateTime now) {
+        List<WaitlistEntry> expired = waitlist.removeStartingBefore(now.minusMinutes(1));
+        for (WaitlistEntry entry : expired) {
+            waitlistById.remove(entry.getEntryId());
+            notifyRemoved(entry, "slot has passed");
+        }
+        return expired.size();
+    }
+
+    private void notifyAdmitted(WaitlistEntry entry, Booking booking) {
+        if (waitlistListeners.isEmpty()) return;
+        notifier.execute(() -> {
+            for (WaitlistListener listener : waitlistListeners) {
+                try {
+                    listener.onAdmitted(entry, booking);
+                } catch (RuntimeException e) {
+                    log.warn("Waitlist listener {} failed: {}", listener, e.getMessage());
+                }
+            }
+        });
+    }
+
+    private void notifyRemoved(WaitlistEntry entry, String reason) {
+        if (waitlistListeners.isEmpty()) return;
+        notifier.execute(() -> {
+            for (WaitlistListener listener : waitlistListeners) {
+                try {
+                    listener.onRemoved(entry, reason);
+                } catch (RuntimeException e) {
+                    log.warn("Waitlist listener {} failed: {}", listener, e.getMessage());
+                }
             }
+        });
+    }
 
-            ScheduledFuture<?> future = scheduler.schedule(
-                    () -> autoReleaseIfUnoccupied(booking.getBookingId()),
-                    delayMillis,
-                    TimeUnit.MILLISECONDS
-            );
+    /**
+     * Find the smallest room (by capacity) that fits the group and has no booking overlapping [from, to).
+     * Only rooms in capacity buckets >= attendees are considered. The allocator's time slices settle
+     * most rooms without a lock; only rooms booked in the interval's partly covered first or last
+     * slice, or holding a series, are checked under their room lock.
+     *
+     * @return room id, or -1 if no room fits
+     */
+    public int findSmallestFreeRoom(int attendees, LocalDateTime from, LocalDateTime to) {
+        if (attendees <= 0) throw new ValidationException("attendeeCount must be > 0");
+        if (from == null || to == null || !from.isBefore(to)) throw new ValidationException("from must be before to");
+        RoomAllocator.Candidates candidates = allocator.candidates(attendees, from, to);
+        for (int roomId : candidates.uncertainRooms()) {
+            if (isFree(roomId, from, to)) return roomId;
+        }
+        return candidates.freeRoom();
+    }
 
-            autoReleaseTasks.put(booking.getBookingId(), future);
+    /**
+     * Book the smallest free room that fits the group. Retries the next candidate if another
+     * booking takes the chosen room first.
+     *
+     * @return the created booking
+     * @throws BookingConflictException if no room fits the group in that interval
+     */
+    public Booking bookSmallestFreeRoom(User owner, LocalDateTime start, int durationMinutes, int attendees) {
+        return bookSmallestFreeRoom(owner, start, durationMinutes, attendees, this::bookRoom);
+    }
 
+    /**
+     * Same allocation, but each attempt is booked by `book`, e.g. through a CommandInvoker so the
+     * booking is ordered and journaled like any other. `book` must throw BookingConflictException
+     * if the room was taken, so the next candidate is tried.
+     */
+    public Booking bookSmallestFreeRoom(User owner, LocalDateTime start, int durationMinutes, int attendees,
+                                        Consumer<Booking> book) {
+        Objects.requireNonNull(book, "book required");
+        LocalDateTime end = start == null ? null : start.plusMinutes(durationMinutes);
+        for (int attempt = 0; attempt < 3; attempt++) {
+            int roomId = findSmallestFreeRoom(attendees, start, end);
+            if (roomId < 0) break;
+            Booking booking = new Booking(roomId, owner, start, durationMinutes, attendees);
+            try {
+                book.accept(booking);
+                return booking;
+            } catch (BookingConflictException raced) {
+                log.debug("Room {} was taken concurrently, retrying allocation", roomId);
+            }
+        }
+        throw new BookingConflictException(STR."No free room for \{attendees} people from \{start} to \{end}");
+    }
+
+    private boolean isFree(int roomId, LocalDateTime from, LocalDateTime to) {
+        ReentrantLock lock = getLockForRoom(roomId);
+        lockRoom(lock);
+        try {
+            List<Booking> list = rooms.bookingsIfPresent(roomId);
+            if (list != null && overlapsAny(list, from, to)) return false;
+            List<BookingSeries> series = rooms.seriesIfPresent(roomId);
+            if (series != null) {
+                for (BookingSeries s : series) {
+                    if (s.getRule().overlaps(from, to)) return false;
+                }
+            }
+            return true;
         } finally {
             lock.unlock();
         }
     }
 
     /**
-     * Cancel a booking by id.
+     * Book a recurring series. The series is stored once; it is checked against the room's single
+     * bookings only within each booking's window, and against other series arithmetically.
      *
-     * @param bookingId booking id
-     * @return
+     * @throws InvalidRoomException       if room doesn't exist
+     * @throws CapacityExceededException  if attendees exceed the room's capacity
+     * @throws BookingConflictException   if any occurrence overlaps an existing booking or series
+     * @throws ValidationException        if the series has no future occurrence
      */
-    public boolean cancelBooking(String bookingId) {
-        if (bookingId == null || bookingId.trim().isEmpty()) return false;
-        Booking existing = bookingById.remove(bookingId);
+    public void bookSeries(BookingSeries series) {
+        if (series == null) throw new ValidationException("series is null");
+        int roomId = series.getRoomId();
+        validateRoomExists(roomId);
+        int capacity = config.getRoomCapacity(roomId);
+        if (series.getAttendeeCount() > capacity) {
+            throw new CapacityExceededException(STR."Room \{roomId} holds \{capacity} people; series is for \{series.getAttendeeCount()}");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (series.getRule().nextOccurrenceAfter(now.minusMinutes(1)) == null) {
+            throw new ValidationException("series has no future occurrences");
+        }
+
+        ReentrantLock lock = getLockForRoom(roomId);
+        lockRoom(lock);
+        try {
+            validateRoomExists(roomId);
+            List<Booking> list = rooms.bookingsIfPresent(roomId);
+            if (list != null) {
+                for (Booking existing : list) {
+                    if (series.conflictsWith(existing)) {
+                        String msg = STR."New series [\{series.getSeriesId()}] conflicts with [\{existing.getBookingId()}]";
+                        log.warn(msg);
+                        throw new BookingConflictException(msg);
+                    }
+                }
+            }
+            List<BookingSeries> seriesList = rooms.series(roomId);
+            for (BookingSeries existing : seriesList) {
+                if (series.conflictsWith(existing)) {
+                    String msg = STR."New series [\{series.getSeriesId()}] conflicts with series [\{existing.getSeriesId()}]";
+                    log.warn(msg);
+                    throw new BookingConflictException(msg);
+                }
+            }
+            seriesList.add(series);
+            allocator.setSeries(roomId, true);
+            seriesById.put(series.getSeriesId(), series);
+            log.info("Series created: {}", series);
+            scheduleSeriesAutoRelease(series, now.minusMinutes(1));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cancel a whole series (all future occurrences). Waiting requests for any of the freed
+     * occurrences are admitted in the same critical section, as for a single cancellation.
+     */
+    public boolean cancelSeries(String seriesId) {
+        if (seriesId == null) return false;
+        BookingSeries existing = seriesById.remove(seriesId);
         if (existing == null) {
-            log.info("Attempted to cancel non-existent booking {}", bookingId);
+            log.info("Attempted to cancel non-existent series {}", seriesId);
             return false;
         }
         int roomId = existing.getRoomId();
         ReentrantLock lock = getLockForRoom(roomId);
-        lock.lock();
+        lockRoom(lock);
         try {
-            List<Booking> list = bookingsByRoom.get(roomId);
-            list.removeIf(b -> bookingId.equals(b.getBookingId()));
-            // cancel scheduled auto-release if exists
-            ScheduledFuture<?> f = autoReleaseTasks.remove(bookingId);
-            if (f != null) f.cancel(false);
-            log.info("Booking {} cancelled and removed", bookingId);
+            List<BookingSeries> list = rooms.seriesIfPresent(roomId);
+            if (list != null && list.remove(existing)) {
+                allocator.setSeries(roomId, !list.isEmpty());
+            }
+            cancelAutoRelease(seriesId);
+            admitFromWaitlist(roomId, existing);
+            log.info("Series {} cancelled and removed", seriesId);
         } finally {
             lock.unlock();
         }
         return true;
     }
 
+    public Optional<BookingSeries> findSeriesById(String seriesId) {
+        if (seriesId == null) return Optional.empty();
+        return Optional.ofNullable(seriesById.get(seriesId));
+    }
+
+    /**
+     * Bookings of a room overlapping [from, to), with series occurrences expanded for that window only.
+     */
+    public List<Booking> getBookingsForRoom(int roomId, LocalDateTime from, LocalDateTime to) {
+        validateRoomExists(roomId);
+        if (from == null || to == null || !from.isBefore(to)) throw new ValidationException("from must be before to");
+        List<Booking> result = new ArrayList<>();
+        ReentrantLock lock = getLockForRoom(roomId);
+        lockRoom(lock);
+        try {
+            List<Booking> list = rooms.bookingsIfPresent(roomId);
+            if (list != null) {
+                for (int i = firstEndingAfter(list, from); i < list.size() && list.get(i).getStart().isBefore(to); i++) {
+                    result.add(list.get(i));
+                }
+            }
+            List<BookingSeries> series = rooms.seriesIfPresent(roomId);
+            if (series != null) {
+                for (BookingSeries s : series) result.addAll(s.occurrences(from, to));
+            }
+        } finally {
+            lock.unlock();
+        }
+        result.sort(Comparator.comparing(Booking::getStart));
+        return Collections.unmodifiableList(result);
+    }
+
+    // caller holds the room lock
+    private BookingSeries findConflictingSeries(int roomId, Booking booking) {
+        List<BookingSeries> series = rooms.seriesIfPresent(roomId);
+        if (series == null) return null;
+        for (BookingSeries s : series) {
+            if (s.conflictsWith(booking)) return s;
+        }
+        return null;
+    }
+
+    /**
+     * Schedule the auto-release check for the first occurrence after `after`. Only one task per
+     * series is pending at any time; each task schedules the next when it runs.
+     */
+    private void scheduleSeriesAutoRelease(BookingSeries series, LocalDateTime after) {
+        LocalDateTime next = series.getRule().nextOccurrenceAfter(after);
+        if (next == null) {
+            autoReleaseTasks.remove(series.getSeriesId());
+            return;
+        }
+        long delayMillis = Math.max(0, Duration.between(LocalDateTime.now(), next.plus(autoReleaseDelay)).toMillis());
+        ScheduledFuture<?> future = scheduler.schedule(
+                () -> autoReleaseSeriesOccurrence(series.getSeriesId(), next),
+                delayMillis,
+                TimeUnit.MILLISECONDS
+        );
+        autoReleaseTasks.put(series.getSeriesId(), future);
+    }
+
+    /**
+     * Release one occurrence of a series if its room is still unoccupied after the grace period,
+     * then move on to the next occurrence. Unlike single bookings, occupancy is checked when the
+     * task fires, since one task serves every occurrence in turn.
+     */
+    private void autoReleaseSeriesOccurrence(String seriesId, LocalDateTime occurrenceStart) {
+        try {
+            BookingSeries series = seriesById.get(seriesId);
+            if (series == null) return;
+            int roomId = series.getRoomId();
+            ReentrantLock lock = getLockForRoom(roomId);
+            lockRoom(lock);
+            try {
+                if (seriesById.get(seriesId) != series) return;
+                int occ = rooms.getOccupancy(roomId);
+                if (occ < 2) {
+                    series.skipOccurrence(occurrenceStart.toLocalDate());
+                    if (log.isInfoEnabled()) {
+                        log.info("Occurrence {} auto-released due to no occupancy within {} (room {})",
+                                series.occurrenceId(occurrenceStart.toLocalDate()), autoReleaseDelay, roomId);
+                    }
+                    admitFromWaitlist(roomId, occurrenceStart,
+                            occurrenceStart.plusMinutes(series.getRule().getDurationMinutes()));
+                } else if (log.isInfoEnabled()) {
+                    log.info("Auto-release skipped for {}: room {} currently occupied ({} occupants)",
+                            series.occurrenceId(occurrenceStart.toLocalDate()), roomId, occ);
+                }
+                scheduleSeriesAutoRelease(series, occurrenceStart);
+            } finally {
+                lock.unlock();
+            }
+        } catch (Exception ex) {
+            log.error("Error during autoRelease task for series {}", seriesId, ex);
+        }
+    }
+
+    private void cancelAutoRelease(String id) {
+        ScheduledFuture<?> f = autoReleaseTasks.remove(id);
+        if (f != null) f.cancel(false);
+    }
+
+    /**
+     * Cancel a booking by id.
+     *
+     * @param bookingId booking id
+     * @return
+     */
+    public boolean cancelBooking(String bookingId) {
+        long start = cancelTimer.start();
+        try {
+            if (bookingId == null || bookingId.trim().isEmpty()) return false;
+            Booking existing = bookingById.remove(bookingId);
+            if (existing == null) {
+                cancelMissing.increment();
+                log.info("Attempted to cancel non-existent booking {}", bookingId);
+                return false;
+            }
+            int roomId = existing.getRoomId();
+            ReentrantLock lock = getLockForRoom(roomId);
+            lockRoom(lock);
+            try {
+                List<Booking> list = rooms.bookingsIfPresent(roomId);
+                if (list != null && removeBooking(list, existing)) {
+                    releaseBooking(existing, list);
+                    if (events.hasSubscribers()) events.publish(new BookingEvent.BookingCancelled(existing, Instant.now()));
+                    admitFromWaitlist(roomId, existing.getStart(), existing.getEnd());
+                }
+                // cancel scheduled auto-release if exists
+                ScheduledFuture<?> f = autoReleaseTasks.remove(bookingId);
+                if (f != null) f.cancel(false);
+                log.info("Booking {} cancelled and removed", bookingId);
+            } finally {
+                lock.unlock();
+            }
+            return true;
+        } finally {
+            cancelTimer.stop(start);
+        }
+    }
+
     public Map<Integer, List<Booking>> getAllBookings() {
         Map<Integer, List<Booking>> snapshot = new ConcurrentHashMap<>();
-        for (Map.Entry<Integer, List<Booking>> entry : bookingsByRoom.entrySet()) {
-            ReentrantLock lock = getLockForRoom(entry.getKey());
-            lock.lock();
+        int totalRooms = config.getTotalRooms();
+        for (int roomId = 1; roomId <= totalRooms; roomId++) {
+            ReentrantLock lock = getLockForRoom(roomId);
+            lockRoom(lock);
             try {
-                snapshot.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+                List<Booking> list = rooms.bookingsIfPresent(roomId);
+                snapshot.put(roomId, list == null ? new ArrayList<>() : new ArrayList<>(list));
             } finally {
                 lock.unlock();
             }
@@ -183,30 +797,158 @@ public class BookingManager {
      *
      * @param roomId     room id
      * @param occupantCount current occupant count (>=0)
+     * @return the count this update replaced
      */
-    public void updateOccupancy(int roomId, int occupantCount) {
+    public int updateOccupancy(int roomId, int occupantCount) {
+        long start = occupancyTimer.start();
+        try {
+            return applyOccupancy(roomId, occupantCount);
+        } finally {
+            occupancyTimer.stop(start);
+        }
+    }
+
+    private int applyOccupancy(int roomId, int occupantCount) {
         validateRoomExists(roomId);
         if (occupantCount < 0) throw new ValidationException("occupantCount must be >=0");
-        occupancy.get(roomId).set(occupantCount);
-        log.debug("Room {} occupancy updated to {}", roomId, occupantCount);
+        int previous = rooms.getAndSetOccupancy(roomId, occupantCount);
+        if (roomId > config.getTotalRooms()) {
+            // removed concurrently; leave the drained room at zero
+            rooms.setOccupancy(roomId, 0);
+            throw new InvalidRoomException("Invalid room id: " + roomId);
+        }
+        if (log.isDebugEnabled()) log.debug("Room {} occupancy updated to {}", roomId, occupantCount);
+        if (previous != occupantCount && events.hasSubscribers()) {
+            events.publish(new BookingEvent.OccupancyChanged(roomId, previous, occupantCount, Instant.now()));
+        }
 
         if (occupantCount >= 2) {
             // cancel auto-release for all future bookings for this room (they are now occupied)
             ReentrantLock lock = getLockForRoom(roomId);
-            lock.lock();
+            lockRoom(lock);
             try {
-                List<Booking> list = bookingsByRoom.get(roomId);
+                List<Booking> list = rooms.bookingsIfPresent(roomId);
+                if (list == null) return previous;
                 for (Booking b : list) {
                     ScheduledFuture<?> f = autoReleaseTasks.remove(b.getBookingId());
                     if (f != null) {
                         f.cancel(false);
-                        log.info("Cancelled auto-release for booking {} because room {} is occupied", b.getBookingId(), roomId);
+                        if (log.isInfoEnabled()) {
+                            log.info("Cancelled auto-release for booking {} because room {} is occupied", b.getBookingId(), roomId);
+                        }
                     }
                 }
             } finally {
                 lock.unlock();
             }
         }
+        return previous;
+    }
+
+    /**
+     * Run an action while holding the locks of all given rooms, so no other booking operation on
+     * those rooms interleaves with it. Locks are taken once per room, in ascending room order (the
+     * same order for every caller, so two multi-room actions cannot deadlock). BookingManager calls
+     * made by the action re-enter the held locks, which only bumps the hold count.
+     *
+     * @throws InvalidRoomException if any room doesn't exist
+     */
+    public void withRoomLocks(Collection<Integer> roomIds, Runnable action) {
+        int[] ids = roomIds.stream().mapToInt(Integer::intValue).distinct().sorted().toArray();
+        for (int roomId : ids) validateRoomExists(roomId);
+        int locked = 0;
+        try {
+            for (int roomId : ids) {
+                lockRoom(getLockForRoom(roomId));
+                locked++;
+            }
+            action.run();
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) getLockForRoom(ids[i]).unlock();
+        }
+    }
+
+    /**
+     * Room count changed in OfficeConfiguration. Only the rooms in the delta are touched:
+     * added rooms get table space, removed rooms are drained one at a time under their own lock,
+     * so bookings and sensor updates for all other rooms proceed without waiting.
+     */
+    @Override
+    public void onTotalRoomsChanged(int oldTotalRooms, int newTotalRooms) {
+        if (newTotalRooms > oldTotalRooms) {
+            rooms.ensureCapacity(newTotalRooms);
+            log.info("BookingManager grew from {} to {} rooms", oldTotalRooms, newTotalRooms);
+            return;
+        }
+        int drained = 0;
+        for (int roomId = newTotalRooms + 1; roomId <= oldTotalRooms; roomId++) {
+            drained += drainRoom(roomId);
+        }
+        log.info("BookingManager shrank from {} to {} rooms; {} bookings in removed rooms cancelled",
+                oldTotalRooms, newTotalRooms, drained);
+    }
+
+    /**
+     * Cancel every booking of a removed room and reset its occupancy, so the slot starts clean
+     * if the room is added again later.
+     */
+    private int drainRoom(int roomId) {
+        if (roomId > rooms.capacity()) return 0;
+        ReentrantLock lock = getLockForRoom(roomId);
+        lockRoom(lock);
+        try {
+            rooms.setOccupancy(roomId, 0);
+            int count = 0;
+            List<Booking> list = rooms.bookingsIfPresent(roomId);
+            if (list != null) {
+                for (Booking b : list) {
+                    bookingById.remove(b.getBookingId());
+                    cancelAutoRelease(b.getBookingId());
+                    log.warn("Booking {} cancelled because room {} was removed", b.getBookingId(), roomId);
+                    if (events.hasSubscribers()) events.publish(new BookingEvent.BookingCancelled(b, Instant.now()));
+                }
+                count += list.size();
+                list.clear();
+            }
+            List<BookingSeries> series = rooms.seriesIfPresent(roomId);
+            if (series != null) {
+                for (BookingSeries s : series) {
+                    seriesById.remove(s.getSeriesId());
+                    cancelAutoRelease(s.getSeriesId());
+                    log.warn("Series {} cancelled because room {} was removed", s.getSeriesId(), roomId);
+                }
+                count += series.size();
+                series.clear();
+            }
+            RoomWaitlist waitlist = rooms.waitlistIfPresent(roomId);
+            if (waitlist != null) {
+                for (WaitlistEntry entry : waitlist.clear()) {
+                    waitlistById.remove(entry.getEntryId());
+                    notifyRemoved(entry, "room was removed");
+                }
+            }
+            allocator.clearRoom(roomId);
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Lifecycle event stream. Subscribe with a ring capacity and OverflowPolicy; slow subscribers
+     * lose events according to their policy instead of slowing down bookings.
+     */
+    public BookingEventBus getEventBus() {
+        return events;
+    }
+
+    /**
+     * Latency timers (booking.book, booking.cancel, booking.occupancy, booking.autoRelease,
+     * booking.lockWait), outcome counters and gauges for this manager. Read it with snapshot() or
+     * dump(), or publish it over JMX with registerMBean().
+     */
+    public MetricsRegistry getMetrics() {
+        return metrics;
     }
 
     /**
@@ -214,7 +956,7 @@ public class BookingManager {
      */
     public int getOccupancy(int roomId) {
         validateRoomExists(roomId);
-        return occupancy.get(roomId).get();
+        return rooms.getOccupancy(roomId);
     }
 
     /**
@@ -224,9 +966,10 @@ public class BookingManager {
         validateRoomExists(roomId);
         List<Booking> copy;
         ReentrantLock lock = getLockForRoom(roomId);
-        lock.lock();
+        lockRoom(lock);
         try {
-            copy = new ArrayList<>(bookingsByRoom.get(roomId));
+            List<Booking> list = rooms.bookingsIfPresent(roomId);
+            copy = list == null ? new ArrayList<>() : new ArrayList<>(list);
         } finally {
             lock.unlock();
         }
@@ -249,6 +992,7 @@ public class BookingManager {
      * Note: we check the booking's start time — if booking already started or was cancelled, do nothing.
      */
     private void autoReleaseIfUnoccupied(String bookingId) {
+        long start = autoReleaseTimer.start();
         try {
             Booking b = bookingById.get(bookingId);
             if (b == null) {
@@ -256,10 +1000,13 @@ public class BookingManager {
                 return;
             }
             int roomId = b.getRoomId();
-            int occ = occupancy.get(roomId).get();
+            int occ = rooms.getOccupancy(roomId);
             // if occupied, do not release
             if (occ >= 2) {
-                log.info("Auto-release skipped for {}: room {} currently occupied ({} occupants)", bookingId, roomId, occ);
+                if (log.isInfoEnabled()) {
+                    log.info("Auto-release skipped for {}: room {} currently occupied ({} occupants)", bookingId, roomId, occ);
+                }
+                autoReleaseSkipped.increment();
                 autoReleaseTasks.remove(bookingId);
                 return;
             }
@@ -269,14 +1016,20 @@ public class BookingManager {
             // If still before grace deadline and occupancy < 2 → cancel
             if (now.isAfter(deadline) && occ < 2) {
                 ReentrantLock lock = getLockForRoom(roomId);
-                lock.lock();
+                lockRoom(lock);
                 try {
-                    List<Booking> list = bookingsByRoom.get(roomId);
-                    boolean removed = list.removeIf(x -> bookingId.equals(x.getBookingId()));
+                    List<Booking> list = rooms.bookingsIfPresent(roomId);
+                    boolean removed = list != null && removeBooking(list, b);
                     if (removed) {
+                        autoReleased.increment();
+                        releaseBooking(b, list);
                         bookingById.remove(bookingId);
-                        log.info("Booking {} auto-released at {} due to no occupancy within {} (room {})",
-                                bookingId, now, autoReleaseDelay, roomId);
+                        if (events.hasSubscribers()) events.publish(new BookingEvent.BookingAutoReleased(b, Instant.now()));
+                        admitFromWaitlist(roomId, b.getStart(), b.getEnd());
+                        if (log.isInfoEnabled()) {
+                            log.info("Booking {} auto-released at {} due to no occupancy within {} (room {})",
+                                    bookingId, now, autoReleaseDelay, roomId);
+                        }
                     }
                 } finally {
                     lock.unlock();
@@ -287,21 +1040,28 @@ public class BookingManager {
 
             // If room is occupied, cancel the auto-release task
             if (occ >= 2) {
-                log.info("Auto-release cancelled for {}: room {} is occupied ({} occupants)", bookingId, roomId, occ);
+                if (log.isInfoEnabled()) {
+                    log.info("Auto-release cancelled for {}: room {} is occupied ({} occupants)", bookingId, roomId, occ);
+                }
                 autoReleaseTasks.remove(bookingId);
             }
 
 
             // proceed to remove booking
             ReentrantLock lock = getLockForRoom(roomId);
-            lock.lock();
+            lockRoom(lock);
             try {
-                List<Booking> list = bookingsByRoom.get(roomId);
-                boolean removed = list.removeIf(x -> bookingId.equals(x.getBookingId()));
+                List<Booking> list = rooms.bookingsIfPresent(roomId);
+                boolean removed = list != null && removeBooking(list, b);
                 if (removed) {
+                    autoReleased.increment();
+                    releaseBooking(b, list);
                     bookingById.remove(bookingId);
-                    log.info("Booking {} auto-released due to no occupancy within {} (room {})", bookingId, autoReleaseDelay, roomId);
-                    // TODO: notify listeners / send notifications if implemented
+                    if (events.hasSubscribers()) events.publish(new BookingEvent.BookingAutoReleased(b, Instant.now()));
+                    admitFromWaitlist(roomId, b.getStart(), b.getEnd());
+                    if (log.isInfoEnabled()) {
+                        log.info("Booking {} auto-released due to no occupancy within {} (room {})", bookingId, autoReleaseDelay, roomId);
+                    }
                 } else {
                     log.debug("Auto-release: booking {} not found in room list (maybe already removed)", bookingId);
                 }
@@ -310,10 +1070,24 @@ public class BookingManager {
                 autoReleaseTasks.remove(bookingId);
             }
         } catch (Exception ex) {
-            log.error("Error during autoRelease task for booking " + bookingId, ex);
+            log.error("Error during autoRelease task for booking {}", bookingId, ex);
+        } finally {
+            autoReleaseTimer.stop(start);
         }
     }
 
+    /**
+     * Take a room lock, timing the wait into booking.lockWait only when the lock is contended:
+     * the uncontended path is one tryLock and no clock read. The locks are non-fair, so trying
+     * first doesn't change who gets the lock.
+     */
+    private void lockRoom(ReentrantLock lock) {
+        if (lock.tryLock()) return;
+        long start = lockWaitTimer.start();
+        lock.lock();
+        lockWaitTimer.stop(start);
+    }
+
     /**
      * Validate booking object basic invariants.
      */
@@ -327,6 +1101,16 @@ public class BookingManager {
         }
     }
 
+    /**
+     * Reject bookings for more attendees than the room holds.
+     */
+    private void validateCapacity(Booking b) {
+        int capacity = config.getRoomCapacity(b.getRoomId());
+        if (b.getAttendeeCount() > capacity) {
+            throw new CapacityExceededException(STR."Room \{b.getRoomId()} holds \{capacity} people; booking is for \{b.getAttendeeCount()}");
+        }
+    }
+
     /**
      * Validate room existence using OfficeConfiguration.
      */
@@ -337,10 +1121,11 @@ public class BookingManager {
     }
 
     /**
-     * Get or create a lock for a room. This uses computeIfAbsent to guarantee only one lock per room.
+     * Get the lock for a room. Each room has exactly one lock, allocated with its table chunk.
+     * Package-private so tests can hold a room's lock.
      */
-    private ReentrantLock getLockForRoom(int roomId) {
-        return roomLockMap.computeIfAbsent(roomId, id -> new ReentrantLock());
+    ReentrantLock getLockForRoom(int roomId) {
+        return rooms.lock(roomId);
     }
 
     /**
@@ -348,6 +1133,9 @@ public class BookingManager {
      */
     public void shutdownNow() {
         log.info("Shutting down BookingManager scheduler...");
+        config.removeListener(this);
+        notifier.shutdownNow();
+        events.shutdown();
         scheduler.shutdownNow();
     }
 
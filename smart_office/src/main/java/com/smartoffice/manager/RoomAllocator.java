@@ -0,0 +1,339 @@
+package com.smartoffice.manager;
+
+import com.smartoffice.config.ConfigSnapshot;
+import com.smartoffice.config.OfficeConfiguration;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiPredicate;
+
+/**
+ * RoomAllocator: capacity-bucketed, time-sliced index of rooms for "smallest room that fits N
+ * people and is free in [from, to)" queries.
+ *
+ * Design:
+ * - rooms are laid out by (capacity, room id), so each capacity bucket is a contiguous range of
+ *   bit positions
+ * - positions are split into stripes of 64 (one long word). Each stripe maps every slice of
+ *   SLICE_SECONDS that a booking touches to a word with one bit per room, set while one of the
+ *   room's bookings overlaps the slice, and keeps a word of rooms that have a series
+ * - a query ORs the slices overlapping [from, to). A set bit in a slice that lies wholly inside
+ *   the interval means the room is taken; a set bit only in the first or last, partly covered
+ *   slice means the room might be free and has to be checked exactly. Rooms with a series are
+ *   always checked exactly, since series are not sliced.
+ * - buckets are walked from the smallest capacity >= N upwards, a stripe at a time; the first
+ *   bucket with a room that is clear in every slice ends the search. Rooms in buckets that are
+ *   too small are never looked at, and no room lock is taken.
+ *
+ * The layout is rebuilt from the current ConfigSnapshot whenever its version changes; slice bits
+ * are carried over to the rooms' new positions.
+ *
+ * Locking:
+ * - the layout is guarded by a read/write lock. Bookings, cancellations and queries hold the
+ *   read side, so they never wait for each other on it; only a layout rebuild takes the write
+ *   side.
+ * - each stripe's slices are guarded by the stripe's monitor, held for one stripe at a time.
+ *   Updates for rooms in different stripes do not contend, and a query sees each stripe as of
+ *   the moment it read it. Callers treat the answer as a hint and recheck under the room lock.
+ * - BookingManager updates the index while holding the room's lock; the allocator never takes a
+ *   room lock, so the order is always room lock -> layout lock -> stripe.
+ */
+final class RoomAllocator {
+
+    static final int SLICE_SECONDS = 15 * 60;
+
+    private static final int[] NO_ROOMS = new int[0];
+
+    private final OfficeConfiguration config;
+    private final ReentrantReadWriteLock layoutLock = new ReentrantReadWriteLock();
+
+    // roomId -> has at least one series; authoritative across layout rebuilds, guarded by itself
+    private final BitSet seriesRooms = new BitSet();
+
+    // layout derived from one config snapshot, guarded by layoutLock
+    private long layoutVersion = -1;
+    private int[] bucketCapacity = new int[0];     // ascending
+    private int[] bucketStart = new int[1];        // bucket -> first position; last entry = room count
+    private int[] roomAt = new int[0];             // position -> roomId
+    private int[] positionOfRoom = new int[1];     // roomId -> position, -1 for room 0
+    private Stripe[] stripes = new Stripe[0];      // position / 64 -> stripe
+
+    RoomAllocator(OfficeConfiguration config) {
+        this.config = config;
+    }
+
+    /**
+     * Mark the slices a new booking overlaps. Caller holds the room's lock.
+     */
+    void addBooking(int roomId, LocalDateTime start, LocalDateTime end) {
+        lockLayout();
+        try {
+            if (roomId >= positionOfRoom.length || roomId < 1) return;
+            int pos = positionOfRoom[roomId];
+            Stripe stripe = stripes[pos >>> 6];
+            long bit = 1L << pos;
+            synchronized (stripe) {
+                for (long slice = firstSlice(start), last = lastSlice(end); slice <= last; slice++) {
+                    stripe.slices.merge(slice, bit, (bits, added) -> bits | added);
+                }
+            }
+        } finally {
+            layoutLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Unmark the slices of a removed booking that none of the room's remaining bookings overlaps.
+     * Caller holds the room's lock; `stillBooked` tells whether a remaining booking overlaps
+     * [from, to).
+     */
+    void removeBooking(int roomId, LocalDateTime start, LocalDateTime end,
+                       BiPredicate<LocalDateTime, LocalDateTime> stillBooked) {
+        lockLayout();
+        try {
+            if (roomId >= positionOfRoom.length || roomId < 1) return;
+            int pos = positionOfRoom[roomId];
+            Stripe stripe = stripes[pos >>> 6];
+            long bit = 1L << pos;
+            synchronized (stripe) {
+                for (long slice = firstSlice(start), last = lastSlice(end); slice <= last; slice++) {
+                    Long bits = stripe.slices.get(slice);
+                    if (bits == null || (bits & bit) == 0) continue;
+                    if (stillBooked.test(sliceTime(slice), sliceTime(slice + 1))) continue;
+                    if (bits == bit) stripe.slices.remove(slice);
+                    else stripe.slices.put(slice, bits & ~bit);
+                }
+            }
+        } finally {
+            layoutLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Record whether a room has any series. Caller holds the room's lock.
+     */
+    void setSeries(int roomId, boolean hasSeries) {
+        lockLayout();
+        try {
+            synchronized (seriesRooms) {
+                seriesRooms.set(roomId, hasSeries);
+            }
+            if (roomId >= positionOfRoom.length || roomId < 1) return;
+            int pos = positionOfRoom[roomId];
+            Stripe stripe = stripes[pos >>> 6];
+            synchronized (stripe) {
+                if (hasSeries) stripe.series |= 1L << pos;
+                else stripe.series &= ~(1L << pos);
+            }
+        } finally {
+            layoutLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Forget everything about a room that was drained. Caller holds the room's lock.
+     */
+    void clearRoom(int roomId) {
+        lockLayout();
+        try {
+            synchronized (seriesRooms) {
+                seriesRooms.clear(roomId);
+            }
+            if (roomId >= positionOfRoom.length || roomId < 1) return;
+            int pos = positionOfRoom[roomId];
+            Stripe stripe = stripes[pos >>> 6];
+            long bit = 1L << pos;
+            synchronized (stripe) {
+                stripe.series &= ~bit;
+                for (Iterator<Map.Entry<Long, Long>> it = stripe.slices.entrySet().iterator(); it.hasNext(); ) {
+                    Map.Entry<Long, Long> entry = it.next();
+                    long bits = entry.getValue() & ~bit;
+                    if (bits == 0) it.remove();
+                    else entry.setValue(bits);
+                }
+            }
+        } finally {
+            layoutLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Candidate rooms for a group of the given size in [from, to), smallest capacity first.
+     * freeRoom is a room of the smallest bucket that has one free for the whole interval;
+     * uncertainRooms are the rooms of smaller fitting buckets that have to be checked exactly.
+     */
+    Candidates candidates(int attendees, LocalDateTime from, LocalDateTime to) {
+        lockLayout();
+        try {
+            int first = firstBucketFitting(attendees);
+            if (first == bucketCapacity.length) return new Candidates(-1, NO_ROOMS);
+
+            // slices wholly inside [from, to) prove a room taken; the partly covered ones only may
+            long firstSlice = firstSlice(from);
+            long lastSlice = lastSlice(to);
+            long inside = ceilSecond(from);
+            long insideEnd = to.toEpochSecond(ZoneOffset.UTC);
+
+            int[] uncertain = NO_ROOMS;
+            int uncertainCount = 0;
+            for (int bucket = first; bucket < bucketCapacity.length; bucket++) {
+                int bucketMark = uncertainCount;
+                int start = bucketStart[bucket];
+                int end = bucketStart[bucket + 1];
+                for (int word = start >>> 6; word <= (end - 1) >>> 6; word++) {
+                    long range = -1L;
+                    if (word == start >>> 6) range &= -1L << start;
+                    if (word == (end - 1) >>> 6) range &= -1L >>> (63 - ((end - 1) & 63));
+                    long busy = 0;
+                    long maybe;
+                    Stripe stripe = stripes[word];
+                    synchronized (stripe) {
+                        maybe = stripe.series;
+                        for (Map.Entry<Long, Long> entry : stripe.slices.subMap(firstSlice, true, lastSlice, true).entrySet()) {
+                            long sliceStart = entry.getKey() * SLICE_SECONDS;
+                            if (sliceStart >= inside && sliceStart + SLICE_SECONDS <= insideEnd) busy |= entry.getValue();
+                            else maybe |= entry.getValue();
+                        }
+                    }
+
+                    long free = ~(busy | maybe) & range;
+                    if (free != 0) {
+                        // rooms of this bucket that might be free are no smaller than this one
+                        int freeRoom = roomAt[(word << 6) + Long.numberOfTrailingZeros(free)];
+                        return new Candidates(freeRoom, Arrays.copyOf(uncertain, bucketMark));
+                    }
+                    for (long check = maybe & ~busy & range; check != 0; check &= check - 1) {
+                        if (uncertainCount == uncertain.length) {
+                            uncertain = Arrays.copyOf(uncertain, Math.max(16, uncertainCount * 2));
+                        }
+                        uncertain[uncertainCount++] = roomAt[(word << 6) + Long.numberOfTrailingZeros(check)];
+                    }
+                }
+            }
+            return new Candidates(-1, Arrays.copyOf(uncertain, uncertainCount));
+        } finally {
+            layoutLock.readLock().unlock();
+        }
+    }
+
+    private int firstBucketFitting(int attendees) {
+        int index = Arrays.binarySearch(bucketCapacity, attendees);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private static long firstSlice(LocalDateTime start) {
+        return Math.floorDiv(start.toEpochSecond(ZoneOffset.UTC), SLICE_SECONDS);
+    }
+
+    // slice holding the last instant before `end`
+    private static long lastSlice(LocalDateTime end) {
+        return Math.floorDiv(ceilSecond(end) - 1, SLICE_SECONDS);
+    }
+
+    private static long ceilSecond(LocalDateTime time) {
+        long seconds = time.toEpochSecond(ZoneOffset.UTC);
+        return time.getNano() == 0 ? seconds : seconds + 1;
+    }
+
+    private static LocalDateTime sliceTime(long slice) {
+        return LocalDateTime.ofEpochSecond(slice * SLICE_SECONDS, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Take the read side of the layout lock, rebuilding the layout first if the configuration
+     * changed. The caller releases the read lock.
+     */
+    private void lockLayout() {
+        long version = config.snapshot().getVersion();
+        layoutLock.readLock().lock();
+        if (version == layoutVersion) return;
+        layoutLock.readLock().unlock();
+        layoutLock.writeLock().lock();
+        try {
+            refreshLayout();
+        } finally {
+            // downgrade: a rebuild by another writer in between is picked up on the next call
+            layoutLock.readLock().lock();
+            layoutLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuild buckets if the configuration changed, moving slice bits to the rooms' new positions.
+     * O(rooms + set slice bits), only on configuration changes. Caller holds the write lock.
+     */
+    private void refreshLayout() {
+        ConfigSnapshot snapshot = config.snapshot();
+        if (snapshot.getVersion() == layoutVersion) return;
+
+        int totalRooms = snapshot.getTotalRooms();
+        int[] capacities = new int[totalRooms + 1];
+        for (int roomId = 1; roomId <= totalRooms; roomId++) {
+            capacities[roomId] = snapshot.getRoomCapacity(roomId);
+        }
+        int[] distinct = Arrays.stream(capacities, 1, capacities.length).distinct().sorted().toArray();
+
+        int[] starts = new int[distinct.length + 1];
+        for (int roomId = 1; roomId <= totalRooms; roomId++) {
+            starts[Arrays.binarySearch(distinct, capacities[roomId]) + 1]++;
+        }
+        for (int bucket = 0; bucket < distinct.length; bucket++) starts[bucket + 1] += starts[bucket];
+
+        int[] rooms = new int[totalRooms];
+        int[] position = new int[totalRooms + 1];
+        Stripe[] moved = new Stripe[(totalRooms + 63) >>> 6];
+        for (int word = 0; word < moved.length; word++) moved[word] = new Stripe();
+        int[] fill = Arrays.copyOf(starts, distinct.length);
+        position[0] = -1;
+        for (int roomId = 1; roomId <= totalRooms; roomId++) {
+            int pos = fill[Arrays.binarySearch(distinct, capacities[roomId])]++;
+            rooms[pos] = roomId;
+            position[roomId] = pos;
+            if (seriesRooms.get(roomId)) moved[pos >>> 6].series |= 1L << pos;
+        }
+
+        for (int word = 0; word < stripes.length; word++) {
+            for (Map.Entry<Long, Long> entry : stripes[word].slices.entrySet()) {
+                for (long bits = entry.getValue(); bits != 0; bits &= bits - 1) {
+                    int roomId = roomAt[(word << 6) + Long.numberOfTrailingZeros(bits)];
+                    if (roomId > totalRooms) continue;
+                    int pos = position[roomId];
+                    moved[pos >>> 6].slices.merge(entry.getKey(), 1L << pos, (old, added) -> old | added);
+                }
+            }
+        }
+
+        bucketCapacity = distinct;
+        bucketStart = starts;
+        roomAt = rooms;
+        positionOfRoom = position;
+        stripes = moved;
+        layoutVersion = snapshot.getVersion();
+    }
+
+    /**
+     * The slices and series bits of 64 consecutive layout positions, guarded by its own monitor.
+     */
+    private static final class Stripe {
+        // slice index -> bits of rooms with a booking overlapping the slice; zero words are removed
+        final TreeMap<Long, Long> slices = new TreeMap<>();
+        // rooms with a series
+        long series;
+    }
+
+    /**
+     * Result of a candidates query.
+     *
+     * @param freeRoom       a room free for the whole interval in the smallest fitting bucket that
+     *                       has one, or -1
+     * @param uncertainRooms rooms of the smaller fitting buckets that may be free, in capacity order
+     */
+    record Candidates(int freeRoom, int[] uncertainRooms) {
+    }
+}
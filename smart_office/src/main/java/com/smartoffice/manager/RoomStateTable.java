@@ -0,0 +1,160 @@
+package com.smartoffice.manager;
+
+import com.smartoffice.model.Booking;
+import com.smartoffice.model.BookingSeries;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * RoomStateTable: dense, index-addressed per-room state for BookingManager.
+ *
+ * Room ids are dense integers (1..totalRooms), so state lives in arrays indexed by room id
+ * instead of maps keyed by boxed Integers:
+ * - occupancy: AtomicIntegerArray (4 bytes per room, lock-free reads/writes)
+ * - locks: one ReentrantLock per room
+ * - bookings / series / waitlist: per-room state, created on first use (guarded by the room's lock)
+ * - a room's bookings never overlap and are kept in start order, so BookingManager finds
+ *   conflicts by binary search
+ *
+ * Rooms are stored in fixed-size chunks. Growing only appends new chunks and republishes the
+ * (small) chunk directory, so existing counters and locks never move and callers on existing
+ * rooms are never blocked by a resize.
+ */
+final class RoomStateTable {
+    static final int CHUNK_SHIFT = 8;
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private static final class Chunk {
+        final AtomicIntegerArray occupancy = new AtomicIntegerArray(CHUNK_SIZE);
+        final ReentrantLock[] locks = new ReentrantLock[CHUNK_SIZE];
+        @SuppressWarnings("unchecked")
+        final List<Booking>[] bookings = (List<Booking>[]) new List[CHUNK_SIZE];
+        @SuppressWarnings("unchecked")
+        final List<BookingSeries>[] series = (List<BookingSeries>[]) new List[CHUNK_SIZE];
+        final RoomWaitlist[] waitlists = new RoomWaitlist[CHUNK_SIZE];
+
+        Chunk() {
+            for (int i = 0; i < CHUNK_SIZE; i++) locks[i] = new ReentrantLock();
+        }
+    }
+
+    // chunk directory; replaced (never mutated in place) when the table grows
+    private volatile Chunk[] chunks = new Chunk[0];
+
+    RoomStateTable(int rooms) {
+        ensureCapacity(rooms);
+    }
+
+    /**
+     * Make sure room ids 1..rooms are addressable. Only the missing chunks are allocated.
+     */
+    void ensureCapacity(int rooms) {
+        int needed = (rooms >>> CHUNK_SHIFT) + 1;
+        if (needed <= chunks.length) return;
+        synchronized (this) {
+            Chunk[] current = chunks;
+            if (needed <= current.length) return;
+            Chunk[] grown = Arrays.copyOf(current, needed);
+            for (int i = current.length; i < needed; i++) grown[i] = new Chunk();
+            chunks = grown;
+        }
+    }
+
+    /**
+     * Highest room id currently addressable.
+     */
+    int capacity() {
+        return chunks.length * CHUNK_SIZE - 1;
+    }
+
+    int getOccupancy(int roomId) {
+        return chunk(roomId).occupancy.get(roomId & CHUNK_MASK);
+    }
+
+    void setOccupancy(int roomId, int count) {
+        chunk(roomId).occupancy.set(roomId & CHUNK_MASK, count);
+    }
+
+    int getAndSetOccupancy(int roomId, int count) {
+        return chunk(roomId).occupancy.getAndSet(roomId & CHUNK_MASK, count);
+    }
+
+    ReentrantLock lock(int roomId) {
+        return chunk(roomId).locks[roomId & CHUNK_MASK];
+    }
+
+    /**
+     * Bookings of a room, created on first use. Caller must hold the room's lock.
+     */
+    List<Booking> bookings(int roomId) {
+        List<Booking>[] slots = chunk(roomId).bookings;
+        int slot = roomId & CHUNK_MASK;
+        List<Booking> list = slots[slot];
+        if (list == null) {
+            list = new ArrayList<>(2);
+            slots[slot] = list;
+        }
+        return list;
+    }
+
+    /**
+     * Bookings of a room, or null if it never had any. Caller must hold the room's lock.
+     */
+    List<Booking> bookingsIfPresent(int roomId) {
+        return chunk(roomId).bookings[roomId & CHUNK_MASK];
+    }
+
+    /**
+     * Recurring series of a room, created on first use. Caller must hold the room's lock.
+     */
+    List<BookingSeries> series(int roomId) {
+        List<BookingSeries>[] slots = chunk(roomId).series;
+        int slot = roomId & CHUNK_MASK;
+        List<BookingSeries> list = slots[slot];
+        if (list == null) {
+            list = new ArrayList<>(2);
+            slots[slot] = list;
+        }
+        return list;
+    }
+
+    /**
+     * Recurring series of a room, or null if it never had any. Caller must hold the room's lock.
+     */
+    List<BookingSeries> seriesIfPresent(int roomId) {
+        return chunk(roomId).series[roomId & CHUNK_MASK];
+    }
+
+    /**
+     * Waitlist of a room, created on first use. Caller must hold the room's lock.
+     */
+    RoomWaitlist waitlist(int roomId) {
+        RoomWaitlist[] slots = chunk(roomId).waitlists;
+        int slot = roomId & CHUNK_MASK;
+        if (slots[slot] == null) slots[slot] = new RoomWaitlist();
+        return slots[slot];
+    }
+
+    /**
+     * Waitlist of a room, or null if nobody ever waited. Caller must hold the room's lock.
+     */
+    RoomWaitlist waitlistIfPresent(int roomId) {
+        return chunk(roomId).waitlists[roomId & CHUNK_MASK];
+    }
+
+    private Chunk chunk(int roomId) {
+        Chunk[] current = chunks;
+        int index = roomId >>> CHUNK_SHIFT;
+        if (index >= current.length) {
+            // room exists in the configuration but was added after the table was sized
+            ensureCapacity(roomId);
+            current = chunks;
+        }
+        return current[index];
+    }
+}
@@ -0,0 +1,88 @@
+package com.smartoffice.manager;
+
+import com.smartoffice.model.WaitlistEntry;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * RoomWaitlist: waiting requests of one room, grouped by requested slot start.
+ *
+ * Each slot holds a PriorityQueue in admission order (priority, then arrival). A released
+ * interval only looks at slots that can overlap it, found through the sorted slot map.
+ * Not thread-safe; guarded by the room's lock like the room's bookings.
+ */
+final class RoomWaitlist {
+    private final TreeMap<LocalDateTime, PriorityQueue<WaitlistEntry>> slots = new TreeMap<>();
+    // longest request ever queued; bounds how far before a released interval a slot may start
+    private int maxDurationMinutes;
+    private int size;
+
+    void add(WaitlistEntry entry) {
+        slots.computeIfAbsent(entry.getStart(), s -> new PriorityQueue<>(WaitlistEntry.ADMISSION_ORDER)).add(entry);
+        maxDurationMinutes = Math.max(maxDurationMinutes, entry.getDurationMinutes());
+        size++;
+    }
+
+    boolean remove(WaitlistEntry entry) {
+        PriorityQueue<WaitlistEntry> queue = slots.get(entry.getStart());
+        if (queue == null || !queue.remove(entry)) return false;
+        if (queue.isEmpty()) slots.remove(entry.getStart());
+        size--;
+        return true;
+    }
+
+    /**
+     * Waiting requests overlapping [from, to), in admission order.
+     */
+    List<WaitlistEntry> overlapping(LocalDateTime from, LocalDateTime to) {
+        List<WaitlistEntry> result = new ArrayList<>();
+        for (PriorityQueue<WaitlistEntry> queue : slots.subMap(from.minusMinutes(maxDurationMinutes), false, to, false).values()) {
+            for (WaitlistEntry entry : queue) {
+                if (from.isBefore(entry.getEnd())) result.add(entry);
+            }
+        }
+        result.sort(WaitlistEntry.ADMISSION_ORDER);
+        return result;
+    }
+
+    /**
+     * Remove and return requests whose slot starts before the given time.
+     */
+    List<WaitlistEntry> removeStartingBefore(LocalDateTime time) {
+        List<WaitlistEntry> expired = new ArrayList<>();
+        Map<LocalDateTime, PriorityQueue<WaitlistEntry>> head = slots.headMap(time, false);
+        for (PriorityQueue<WaitlistEntry> queue : head.values()) expired.addAll(queue);
+        head.clear();
+        size -= expired.size();
+        return expired;
+    }
+
+    /**
+     * All waiting requests, in slot order then admission order.
+     */
+    List<WaitlistEntry> all() {
+        List<WaitlistEntry> result = new ArrayList<>(size);
+        for (PriorityQueue<WaitlistEntry> queue : slots.values()) {
+            List<WaitlistEntry> slot = new ArrayList<>(queue);
+            slot.sort(WaitlistEntry.ADMISSION_ORDER);
+            result.addAll(slot);
+        }
+        return result;
+    }
+
+    List<WaitlistEntry> clear() {
+        List<WaitlistEntry> removed = all();
+        slots.clear();
+        size = 0;
+        return removed;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+}
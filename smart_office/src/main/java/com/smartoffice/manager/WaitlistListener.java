@@ -0,0 +1,24 @@
+package com.smartoffice.manager;
+
+import com.smartoffice.model.Booking;
+import com.smartoffice.model.WaitlistEntry;
+
+/**
+ * Receives waitlist outcomes from BookingManager.
+ *
+ * Callbacks run on BookingManager's notifier thread, after the room lock is released, so they may
+ * be slow (e-mail, push) without holding up bookings.
+ */
+public interface WaitlistListener {
+
+    /**
+     * A waiting request was admitted; the booking already exists.
+     */
+    void onAdmitted(WaitlistEntry entry, Booking booking);
+
+    /**
+     * A waiting request left the waitlist without a booking (slot passed, room removed).
+     */
+    default void onRemoved(WaitlistEntry entry, String reason) {
+    }
+}
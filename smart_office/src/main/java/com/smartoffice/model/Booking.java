@@ -14,6 +14,7 @@ import java.util.UUID;
  * - owner: User who created the booking
  * - start: start time (LocalDateTime)
  * - durationMinutes: integer > 0
+ * - attendeeCount: expected headcount (> 0), checked against the room's capacity on admission
  *
  * Booking is immutable after creation; cancellation or status changes are managed by BookingManager.
  */
@@ -23,28 +24,45 @@ public final class Booking {
     private final User owner;
     private final LocalDateTime start;
     private final int durationMinutes;
+    private final int attendeeCount;
+    // derived once; conflict checks compare it against every booking of the room
+    private final LocalDateTime end;
 
     public Booking(int roomId, User owner, LocalDateTime start, int durationMinutes) {
+        this(roomId, owner, start, durationMinutes, 1);
+    }
+
+    public Booking(int roomId, User owner, LocalDateTime start, int durationMinutes, int attendeeCount) {
         if (roomId <= 0) throw new ValidationException("roomId must be positive");
         if (owner == null) throw new ValidationException("owner required");
         if (start == null) throw new ValidationException("start time required");
         if (durationMinutes <= 0) throw new ValidationException("durationMinutes must be > 0");
+        if (attendeeCount <= 0) throw new ValidationException("attendeeCount must be > 0");
 
         this.bookingId = UUID.randomUUID().toString();
         this.roomId = roomId;
         this.owner = owner;
         this.start = start;
         this.durationMinutes = durationMinutes;
+        this.attendeeCount = attendeeCount;
+        this.end = start.plusMinutes(durationMinutes);
     }
 
     // Secondary constructor with explicit bookingId (useful for tests)
     Booking(String bookingId, int roomId, User owner, LocalDateTime start, int durationMinutes) {
+        this(bookingId, roomId, owner, start, durationMinutes, 1);
+    }
+
+    // Explicit bookingId and headcount (tests, occurrences of a BookingSeries)
+    Booking(String bookingId, int roomId, User owner, LocalDateTime start, int durationMinutes, int attendeeCount) {
         if (bookingId == null || bookingId.trim().isEmpty()) throw new ValidationException("bookingId required");
         this.bookingId = bookingId;
         this.roomId = roomId;
         this.owner = owner;
         this.start = start;
         this.durationMinutes = durationMinutes;
+        this.attendeeCount = attendeeCount;
+        this.end = start.plusMinutes(durationMinutes);
     }
 
     // getters
@@ -68,8 +86,12 @@ public final class Booking {
         return durationMinutes;
     }
 
+    public int getAttendeeCount() {
+        return attendeeCount;
+    }
+
     public LocalDateTime getEnd() {
-        return start.plusMinutes(durationMinutes);
+        return end;
     }
 
     /**
@@ -80,8 +102,8 @@ public final class Booking {
         if (this.roomId != other.roomId) return false;
 
         // Two intervals [s1,e1) and [s2,e2) overlap if s1 < e2 && s2 < e1
-        LocalDateTime e1 = this.getEnd();
-        LocalDateTime e2 = other.getEnd();
+        LocalDateTime e1 = this.end;
+        LocalDateTime e2 = other.end;
 
         return this.start.isBefore(e2) && other.start.isBefore(e1);
     }
@@ -109,6 +131,6 @@ public final class Booking {
 
     @Override
     public String toString() {
-        return STR."Booking{bookingId='\{bookingId}', roomId=\{roomId}, owner=\{owner}, start=\{start}, durationMinutes=\{durationMinutes}}";
+        return STR."Booking{bookingId='\{bookingId}', roomId=\{roomId}, owner=\{owner}, start=\{start}, durationMinutes=\{durationMinutes}, attendeeCount=\{attendeeCount}}";
     }
 }
@@ -0,0 +1,119 @@
+package com.smartoffice.model;
+
+import com.smartoffice.exception.ValidationException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * BookingSeries is one recurring reservation of a room, stored once regardless of how many
+ * occurrences it has.
+ * - seriesId: unique id
+ * - roomId, owner, attendeeCount: shared by every occurrence
+ * - rule: when the occurrences happen (see RecurrenceRule)
+ *
+ * Occurrences are materialized as Booking objects only for a requested window; their ids are
+ * "seriesId@date", so the same occurrence always has the same id.
+ *
+ * The rule is replaced (never mutated) when a single occurrence is released; BookingManager does
+ * that under the room's lock.
+ */
+public final class BookingSeries {
+    private final String seriesId;
+    private final int roomId;
+    private final User owner;
+    private final int attendeeCount;
+    private volatile RecurrenceRule rule;
+
+    public BookingSeries(int roomId, User owner, RecurrenceRule rule, int attendeeCount) {
+        if (roomId <= 0) throw new ValidationException("roomId must be positive");
+        if (owner == null) throw new ValidationException("owner required");
+        if (rule == null) throw new ValidationException("recurrence rule required");
+        if (attendeeCount <= 0) throw new ValidationException("attendeeCount must be > 0");
+        this.seriesId = UUID.randomUUID().toString();
+        this.roomId = roomId;
+        this.owner = owner;
+        this.rule = rule;
+        this.attendeeCount = attendeeCount;
+    }
+
+    public String getSeriesId() {
+        return seriesId;
+    }
+
+    public int getRoomId() {
+        return roomId;
+    }
+
+    public User getOwner() {
+        return owner;
+    }
+
+    public int getAttendeeCount() {
+        return attendeeCount;
+    }
+
+    public RecurrenceRule getRule() {
+        return rule;
+    }
+
+    /**
+     * Drop the occurrence on the given date (e.g. auto-released); later occurrences are kept.
+     */
+    public void skipOccurrence(LocalDate date) {
+        rule = rule.except(date);
+    }
+
+    /**
+     * Occurrences overlapping [from, to) as bookings, in start order.
+     */
+    public List<Booking> occurrences(LocalDateTime from, LocalDateTime to) {
+        RecurrenceRule current = rule;
+        List<LocalDateTime> starts = current.occurrences(from, to);
+        List<Booking> bookings = new ArrayList<>(starts.size());
+        for (LocalDateTime start : starts) {
+            bookings.add(new Booking(occurrenceId(start.toLocalDate()), roomId, owner, start,
+                    current.getDurationMinutes(), attendeeCount));
+        }
+        return bookings;
+    }
+
+    public String occurrenceId(LocalDate date) {
+        return STR."\{seriesId}@\{date}";
+    }
+
+    /**
+     * True if an occurrence overlaps the single booking; only the booking's window is expanded.
+     */
+    public boolean conflictsWith(Booking booking) {
+        return booking.getRoomId() == roomId && rule.overlaps(booking.getStart(), booking.getEnd());
+    }
+
+    /**
+     * True if any occurrences of the two series overlap; neither series is expanded.
+     */
+    public boolean conflictsWith(BookingSeries other) {
+        return other.roomId == roomId && rule.conflictsWith(other.rule);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return Objects.equals(seriesId, ((BookingSeries) o).seriesId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(seriesId);
+    }
+
+    @Override
+    public String toString() {
+        return STR."BookingSeries{seriesId='\{seriesId}', roomId=\{roomId}, owner=\{owner}, attendeeCount=\{attendeeCount}, rule=\{rule}}";
+    }
+}
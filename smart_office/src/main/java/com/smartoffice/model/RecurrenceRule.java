@@ -0,0 +1,330 @@
+package com.smartoffice.model;
+
+import com.smartoffice.exception.ValidationException;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * RecurrenceRule describes when a recurring booking happens, without listing the occurrences.
+ *
+ * Supported patterns:
+ * - DAILY every N days
+ * - WEEKLY every N weeks on a set of weekdays (cron-like "MO,WE,FR")
+ * - optional end date (inclusive) and single-date exceptions
+ *
+ * Every rule is periodic: an occurrence falls on day x iff (x - anchor) mod period is one of a few
+ * offsets. Occurrences are only computed for the window that is asked for, and two rules are
+ * compared arithmetically (gcd/CRT over their periods) instead of by expanding either one.
+ *
+ * Times are local wall-clock times, like Booking. Instances are immutable; withers return copies.
+ */
+public final class RecurrenceRule {
+    public enum Frequency { DAILY, WEEKLY }
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    // open-ended rules; far enough out that day arithmetic never overflows
+    private static final long NO_END = Long.MAX_VALUE / 4;
+
+    private final Frequency frequency;
+    private final int interval;
+    private final int dayMask;              // WEEKLY: bit (dayOfWeek - 1) set for each weekday
+    private final LocalDateTime firstStart;
+    private final int durationMinutes;
+    private final LocalDate until;          // inclusive, null = open-ended
+    private final long[] exceptions;        // sorted epoch days without an occurrence
+
+    // derived periodic form
+    private final long anchorDay;
+    private final int period;               // days
+    private final int[] offsets;            // occurrence days within one period, relative to anchorDay
+    private final int startMinute;          // minute of day
+    private final long firstDay;
+    private final long lastDay;
+
+    private RecurrenceRule(Frequency frequency, int interval, int dayMask, LocalDateTime firstStart,
+                           int durationMinutes, LocalDate until, long[] exceptions) {
+        if (firstStart == null) throw new ValidationException("start time required");
+        if (interval <= 0) throw new ValidationException("interval must be > 0");
+        if (durationMinutes <= 0) throw new ValidationException("durationMinutes must be > 0");
+        if (until != null && until.isBefore(firstStart.toLocalDate())) throw new ValidationException("until must not be before start");
+        this.frequency = frequency;
+        this.interval = interval;
+        this.dayMask = dayMask;
+        this.firstStart = firstStart;
+        this.durationMinutes = durationMinutes;
+        this.until = until;
+        this.exceptions = exceptions;
+
+        this.firstDay = firstStart.toLocalDate().toEpochDay();
+        this.lastDay = until == null ? NO_END : until.toEpochDay();
+        this.startMinute = firstStart.getHour() * 60 + firstStart.getMinute();
+        if (frequency == Frequency.DAILY) {
+            this.anchorDay = firstDay;
+            this.period = interval;
+            this.offsets = new int[]{0};
+        } else {
+            if (dayMask == 0) throw new ValidationException("weekly rule needs at least one weekday");
+            // anchor on the Monday of the first week so offsets are weekday indexes
+            this.anchorDay = firstDay - (firstStart.getDayOfWeek().getValue() - 1);
+            this.period = 7 * interval;
+            this.offsets = new int[Integer.bitCount(dayMask)];
+            int i = 0;
+            for (int day = 0; day < 7; day++) {
+                if ((dayMask & (1 << day)) != 0) offsets[i++] = day;
+            }
+        }
+    }
+
+    /**
+     * Every interval days at firstStart's time of day.
+     */
+    public static RecurrenceRule daily(LocalDateTime firstStart, int durationMinutes, int interval) {
+        return new RecurrenceRule(Frequency.DAILY, interval, 0, firstStart, durationMinutes, null, new long[0]);
+    }
+
+    /**
+     * Every interval weeks on the given weekdays (firstStart's weekday when none are given).
+     */
+    public static RecurrenceRule weekly(LocalDateTime firstStart, int durationMinutes, int interval, DayOfWeek... days) {
+        if (firstStart == null) throw new ValidationException("start time required");
+        int mask = 0;
+        if (days == null || days.length == 0) {
+            mask = 1 << (firstStart.getDayOfWeek().getValue() - 1);
+        } else {
+            for (DayOfWeek day : days) mask |= 1 << (day.getValue() - 1);
+        }
+        return new RecurrenceRule(Frequency.WEEKLY, interval, mask, firstStart, durationMinutes, null, new long[0]);
+    }
+
+    /**
+     * Parse an iCalendar-style rule, e.g. "FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,WE;UNTIL=2026-12-31".
+     * Supported keys: FREQ (DAILY|WEEKLY), INTERVAL, BYDAY (weekly only), UNTIL (ISO date).
+     */
+    public static RecurrenceRule parse(String spec, LocalDateTime firstStart, int durationMinutes) {
+        if (spec == null || spec.isBlank()) throw new ValidationException("recurrence rule required");
+        Frequency frequency = null;
+        int interval = 1;
+        List<DayOfWeek> days = new ArrayList<>();
+        LocalDate until = null;
+        try {
+            for (String part : spec.trim().toUpperCase(Locale.ROOT).split(";")) {
+                String[] kv = part.split("=", 2);
+                if (kv.length != 2) throw new ValidationException(STR."Invalid recurrence part: \{part}");
+                switch (kv[0].trim()) {
+                    case "FREQ" -> frequency = Frequency.valueOf(kv[1].trim());
+                    case "INTERVAL" -> interval = Integer.parseInt(kv[1].trim());
+                    case "BYDAY" -> {
+                        for (String day : kv[1].split(",")) days.add(weekday(day.trim()));
+                    }
+                    case "UNTIL" -> until = LocalDate.parse(kv[1].trim());
+                    default -> throw new ValidationException(STR."Unsupported recurrence key: \{kv[0]}");
+                }
+            }
+        } catch (IllegalArgumentException | java.time.format.DateTimeParseException e) {
+            throw new ValidationException(STR."Invalid recurrence rule '\{spec}': \{e.getMessage()}");
+        }
+        if (frequency == null) throw new ValidationException("FREQ is required");
+        RecurrenceRule rule = frequency == Frequency.DAILY
+                ? daily(firstStart, durationMinutes, interval)
+                : weekly(firstStart, durationMinutes, interval, days.toArray(new DayOfWeek[0]));
+        return until == null ? rule : rule.until(until);
+    }
+
+    private static DayOfWeek weekday(String code) {
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (day.name().startsWith(code) && code.length() >= 2) return day;
+        }
+        throw new ValidationException(STR."Unknown weekday: \{code}");
+    }
+
+    /**
+     * Same rule ending on the given date (inclusive).
+     */
+    public RecurrenceRule until(LocalDate lastDate) {
+        return new RecurrenceRule(frequency, interval, dayMask, firstStart, durationMinutes, lastDate, exceptions);
+    }
+
+    /**
+     * Same rule without the occurrence on the given date.
+     */
+    public RecurrenceRule except(LocalDate date) {
+        long day = date.toEpochDay();
+        int index = Arrays.binarySearch(exceptions, day);
+        if (index >= 0) return this;
+        long[] next = new long[exceptions.length + 1];
+        int at = -index - 1;
+        System.arraycopy(exceptions, 0, next, 0, at);
+        next[at] = day;
+        System.arraycopy(exceptions, at, next, at + 1, exceptions.length - at);
+        return new RecurrenceRule(frequency, interval, dayMask, firstStart, durationMinutes, until, next);
+    }
+
+    public int getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public LocalDateTime getFirstStart() {
+        return firstStart;
+    }
+
+    public boolean occursOn(LocalDate date) {
+        return occursOnDay(date.toEpochDay());
+    }
+
+    /**
+     * Start times of the occurrences overlapping [from, to), in order. Only this window is expanded.
+     */
+    public List<LocalDateTime> occurrences(LocalDateTime from, LocalDateTime to) {
+        List<LocalDateTime> starts = new ArrayList<>();
+        long fromMinute = epochMinute(from);
+        long toMinute = epochMinute(to);
+        // an occurrence starting up to durationMinutes before `from` still overlaps it
+        long lo = Math.max(firstDay, Math.floorDiv(fromMinute - startMinute - durationMinutes, MINUTES_PER_DAY));
+        long hi = Math.min(lastDay, Math.floorDiv(toMinute - startMinute, MINUTES_PER_DAY));
+        for (long base = lo - Math.floorMod(lo - anchorDay, period); base <= hi; base += period) {
+            for (int offset : offsets) {
+                long day = base + offset;
+                if (day < lo || day > hi || isException(day)) continue;
+                long start = day * MINUTES_PER_DAY + startMinute;
+                if (start < toMinute && fromMinute < start + durationMinutes) {
+                    starts.add(LocalDateTime.ofEpochSecond(start * 60, 0, ZoneOffset.UTC));
+                }
+            }
+        }
+        return starts;
+    }
+
+    /**
+     * True if any occurrence overlaps [from, to).
+     */
+    public boolean overlaps(LocalDateTime from, LocalDateTime to) {
+        return !occurrences(from, to).isEmpty();
+    }
+
+    /**
+     * Start of the first occurrence strictly after the given time, or null if the rule has ended.
+     */
+    public LocalDateTime nextOccurrenceAfter(LocalDateTime after) {
+        long afterMinute = epochMinute(after);
+        long lo = Math.max(firstDay, Math.floorDiv(afterMinute - startMinute, MINUTES_PER_DAY));
+        // every period without exceptions has an occurrence, so this ends after at most |exceptions|+2 periods
+        for (long base = lo - Math.floorMod(lo - anchorDay, period); base <= lastDay; base += period) {
+            for (int offset : offsets) {
+                long day = base + offset;
+                if (day < lo || day > lastDay || isException(day)) continue;
+                long start = day * MINUTES_PER_DAY + startMinute;
+                if (start > afterMinute) return LocalDateTime.ofEpochSecond(start * 60, 0, ZoneOffset.UTC);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * True if any occurrence of this rule overlaps any occurrence of the other, decided without
+     * expanding either rule.
+     *
+     * For occurrences on days x (this) and x + delta (other), the time-of-day intervals can only
+     * overlap for a handful of deltas. For each delta and pair of period offsets the days must satisfy
+     * x = a (mod p1) and x + delta = b (mod p2); that system has no solution unless gcd(p1, p2)
+     * divides the difference, which rejects most pairs at once. Otherwise the solutions repeat every
+     * lcm(p1, p2) days and are walked only past exception dates.
+     */
+    public boolean conflictsWith(RecurrenceRule other) {
+        int minDelta = Math.floorDiv(startMinute - other.startMinute - other.durationMinutes, MINUTES_PER_DAY) + 1;
+        int maxDelta = Math.floorDiv(startMinute + durationMinutes - other.startMinute - 1, MINUTES_PER_DAY);
+        long g = gcd(period, other.period);
+        long lcm = period / g * other.period;
+        for (int delta = minDelta; delta <= maxDelta; delta++) {
+            long shift = delta * (long) MINUTES_PER_DAY;
+            // intervals [s1, s1+d1) and [s2+shift, s2+shift+d2) overlap?
+            if (!(startMinute < other.startMinute + shift + other.durationMinutes
+                    && other.startMinute + shift < startMinute + durationMinutes)) continue;
+            long lo = Math.max(firstDay, other.firstDay - delta);
+            long hi = Math.min(lastDay, other.lastDay - delta);
+            if (lo > hi) continue;
+            for (int a : offsets) {
+                long residueA = anchorDay + a;
+                for (int b : other.offsets) {
+                    long residueB = other.anchorDay + b - delta;
+                    if (Math.floorMod(residueB - residueA, g) != 0) continue;   // fast reject
+                    long x0 = solve(residueA, period, residueB, other.period, g);
+                    long x = lo + Math.floorMod(x0 - lo, lcm);
+                    int budget = exceptions.length + other.exceptions.length + 1;
+                    for (; x <= hi && budget-- > 0; x += lcm) {
+                        if (!isException(x) && !other.isException(x + delta)) return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean occursOnDay(long day) {
+        if (day < firstDay || day > lastDay || isException(day)) return false;
+        int offset = Math.floorMod(day - anchorDay, period);
+        return Arrays.binarySearch(offsets, offset) >= 0;
+    }
+
+    private boolean isException(long day) {
+        return exceptions.length > 0 && Arrays.binarySearch(exceptions, day) >= 0;
+    }
+
+    // x = a (mod m), x = b (mod n), given gcd(m, n) = g divides b - a; returns a solution mod lcm(m, n)
+    private static long solve(long a, long m, long b, long n, long g) {
+        long mg = m / g;
+        long ng = n / g;
+        long k = ng == 1 ? 0 : Math.floorMod(Math.floorMod((b - a) / g, ng) * inverse(mg % ng, ng), ng);
+        return a + m * k;
+    }
+
+    private static long inverse(long value, long modulus) {
+        long r0 = modulus, r1 = Math.floorMod(value, modulus);
+        long t0 = 0, t1 = 1;
+        while (r1 != 0) {
+            long q = r0 / r1;
+            long r = r0 - q * r1;
+            r0 = r1;
+            r1 = r;
+            long t = t0 - q * t1;
+            t0 = t1;
+            t1 = t;
+        }
+        return Math.floorMod(t0, modulus);
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    private static long epochMinute(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(STR."FREQ=\{frequency};INTERVAL=\{interval}");
+        if (frequency == Frequency.WEEKLY) {
+            sb.append(";BYDAY=");
+            for (int day = 0; day < 7; day++) {
+                if ((dayMask & (1 << day)) != 0) {
+                    if (sb.charAt(sb.length() - 1) != '=') sb.append(',');
+                    sb.append(DayOfWeek.of(day + 1).name(), 0, 2);
+                }
+            }
+        }
+        if (until != null) sb.append(";UNTIL=").append(until);
+        return STR."\{sb} from \{firstStart} for \{durationMinutes} min, \{exceptions.length} exceptions";
+    }
+}
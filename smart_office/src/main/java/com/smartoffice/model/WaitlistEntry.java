@@ -0,0 +1,112 @@
+package com.smartoffice.model;
+
+import com.smartoffice.exception.ValidationException;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WaitlistEntry is a request for a room slot that was taken when it was made.
+ * - entryId: unique id
+ * - roomId, user, start, durationMinutes, attendeeCount: the booking it turns into when admitted
+ * - priority: higher is admitted first; equal priorities are first come, first served
+ *
+ * Immutable; BookingManager keeps entries per room and slot and admits them when the slot frees up.
+ */
+public final class WaitlistEntry {
+    /** Admission order: highest priority first, then oldest request. */
+    public static final Comparator<WaitlistEntry> ADMISSION_ORDER =
+            Comparator.comparingInt(WaitlistEntry::getPriority).reversed()
+                    .thenComparingLong(WaitlistEntry::getSequence);
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final String entryId;
+    private final int roomId;
+    private final User user;
+    private final LocalDateTime start;
+    private final int durationMinutes;
+    private final int attendeeCount;
+    private final int priority;
+    private final long sequence;
+
+    public WaitlistEntry(int roomId, User user, LocalDateTime start, int durationMinutes, int attendeeCount, int priority) {
+        if (roomId <= 0) throw new ValidationException("roomId must be positive");
+        if (user == null) throw new ValidationException("user required");
+        if (start == null) throw new ValidationException("start time required");
+        if (durationMinutes <= 0) throw new ValidationException("durationMinutes must be > 0");
+        if (attendeeCount <= 0) throw new ValidationException("attendeeCount must be > 0");
+        this.entryId = UUID.randomUUID().toString();
+        this.roomId = roomId;
+        this.user = user;
+        this.start = start;
+        this.durationMinutes = durationMinutes;
+        this.attendeeCount = attendeeCount;
+        this.priority = priority;
+        this.sequence = SEQUENCE.incrementAndGet();
+    }
+
+    public String getEntryId() {
+        return entryId;
+    }
+
+    public int getRoomId() {
+        return roomId;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public LocalDateTime getEnd() {
+        return start.plusMinutes(durationMinutes);
+    }
+
+    public int getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public int getAttendeeCount() {
+        return attendeeCount;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * The booking this request becomes when admitted. It has the entry's id, so the request can
+     * be followed (and cancelled, or mapped by a journal replay) from waitlist to booking.
+     */
+    public Booking toBooking() {
+        return new Booking(entryId, roomId, user, start, durationMinutes, attendeeCount);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return Objects.equals(entryId, ((WaitlistEntry) o).entryId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(entryId);
+    }
+
+    @Override
+    public String toString() {
+        return STR."WaitlistEntry{entryId='\{entryId}', roomId=\{roomId}, user=\{user}, start=\{start}, durationMinutes=\{durationMinutes}, attendeeCount=\{attendeeCount}, priority=\{priority}}";
+    }
+}
@@ -5,8 +5,9 @@ import org.slf4j.Logger;
 
 /**
  * ACSystem listens to occupancy updates and turns AC ON/OFF accordingly.
+ * As an Actuator it applies the debounced commands issued by DeviceController.
  */
-public class ACSystem implements Observer {
+public class ACSystem implements Observer, Actuator {
     private static final Logger log = LoggerUtil.getLogger(ACSystem.class);
 
     @Override
@@ -17,4 +18,13 @@ public class ACSystem implements Observer {
             log.info("Room {}: AC OFF (room empty)", roomId);
         }
     }
+
+    @Override
+    public void apply(DeviceCommandBatch batch) {
+        // the batch is this actuator's only output; skip the loop (and boxing every room id) when INFO is off
+        if (!log.isInfoEnabled()) return;
+        for (int i = 0; i < batch.size(); i++) {
+            log.info("Room {}: AC {}", batch.roomId(i), batch.isOn(i) ? "ON" : "OFF");
+        }
+    }
 }
@@ -0,0 +1,9 @@
+package com.smartoffice.observer;
+
+/**
+ * Actuator receives batched ON/OFF commands from the DeviceController.
+ * Only real state changes are sent; the batch object is reused, so implementations must not keep it.
+ */
+public interface Actuator {
+    void apply(DeviceCommandBatch batch);
+}
@@ -0,0 +1,43 @@
+package com.smartoffice.observer;
+
+import java.util.Arrays;
+
+/**
+ * Reusable batch of device state changes: parallel primitive arrays of room id and target state.
+ */
+public final class DeviceCommandBatch {
+    private int[] roomIds;
+    private boolean[] on;
+    private int size;
+
+    DeviceCommandBatch(int capacity) {
+        this.roomIds = new int[Math.max(1, capacity)];
+        this.on = new boolean[roomIds.length];
+    }
+
+    void add(int roomId, boolean turnOn) {
+        if (size == roomIds.length) {
+            roomIds = Arrays.copyOf(roomIds, size * 2);
+            on = Arrays.copyOf(on, size * 2);
+        }
+        roomIds[size] = roomId;
+        on[size] = turnOn;
+        size++;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int roomId(int index) {
+        return roomIds[index];
+    }
+
+    public boolean isOn(int index) {
+        return on[index];
+    }
+}
@@ -0,0 +1,231 @@
+package com.smartoffice.observer;
+
+import com.smartoffice.config.ConfigurationListener;
+import com.smartoffice.config.OfficeConfiguration;
+import com.smartoffice.exception.ValidationException;
+import com.smartoffice.util.LoggerUtil;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * DeviceController turns raw occupancy updates into debounced device ON/OFF commands.
+ *
+ * - update() (Observer) only records the latest count per room; it never drives devices directly
+ * - tick() evaluates every room against the hysteresis band and the minimum dwell times and sends
+ *   the rooms whose state really changes to each Actuator in one batch
+ *
+ * Hysteresis: a room switches ON when count >= onThreshold and OFF when count <= offThreshold,
+ * so counts that wobble between the two thresholds do not toggle devices.
+ * Dwell: a room must stay ON for minOn (OFF for minOff) before it may switch again; a change held
+ * back by dwell is retried on later ticks.
+ *
+ * State is kept in primitive arrays indexed by room id; tick() is single-threaded.
+ * Counts live in fixed-size segments that are only ever appended, so when rooms are added
+ * (onTotalRoomsChanged) a sensor write racing with the growth is never lost in a copy.
+ * Removed rooms read as empty and switch OFF on the next ticks.
+ */
+public class DeviceController implements Observer, ConfigurationListener {
+    private static final Logger log = LoggerUtil.getLogger(DeviceController.class);
+    private static final long NEVER = Long.MIN_VALUE;
+    private static final int SEGMENT_SHIFT = 6;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+
+    /**
+     * Hysteresis band and dwell times.
+     */
+    public record Settings(int onThreshold, int offThreshold, Duration minOn, Duration minOff) {
+        public Settings {
+            Objects.requireNonNull(minOn, "minOn required");
+            Objects.requireNonNull(minOff, "minOff required");
+            if (offThreshold < 0) throw new ValidationException("offThreshold must be >= 0");
+            if (onThreshold <= offThreshold) throw new ValidationException("onThreshold must be > offThreshold");
+            if (minOn.isNegative() || minOff.isNegative()) throw new ValidationException("dwell times must be >= 0");
+        }
+
+        /**
+         * Same thresholds as the original AC/Light rule (ON at 2+, OFF below 2) with no dwell.
+         */
+        public static Settings defaults() {
+            return new Settings(2, 1, Duration.ZERO, Duration.ZERO);
+        }
+    }
+
+    // rooms accepted by update(); tick() also visits removed rooms until they are OFF
+    private volatile int roomCount;
+    private final int onThreshold;
+    private final int offThreshold;
+    private final long minOnNanos;
+    private final long minOffNanos;
+
+    // latest count per room (room r at segments[r >> SEGMENT_SHIFT], index r & (SEGMENT_SIZE - 1)),
+    // written by sensor threads; grown by appending segments
+    private final AtomicReference<AtomicIntegerArray[]> segments = new AtomicReference<>(new AtomicIntegerArray[0]);
+    // device state and time of last switch per room, guarded by this
+    private boolean[] on;
+    private long[] lastSwitchNanos;
+
+    private final DeviceCommandBatch batch;
+    private final CopyOnWriteArrayList<Actuator> actuators = new CopyOnWriteArrayList<>();
+
+    private ScheduledExecutorService ticker;
+    // set when the controller follows an OfficeConfiguration
+    private OfficeConfiguration config;
+
+    public DeviceController(int roomCount, Settings settings) {
+        Objects.requireNonNull(settings, "settings required");
+        if (roomCount <= 0) throw new ValidationException("roomCount must be > 0");
+        this.onThreshold = settings.onThreshold();
+        this.offThreshold = settings.offThreshold();
+        this.minOnNanos = settings.minOn().toNanos();
+        this.minOffNanos = settings.minOff().toNanos();
+        this.on = new boolean[0];
+        this.lastSwitchNanos = new long[0];
+        this.batch = new DeviceCommandBatch(64);
+        grow(roomCount);
+        this.roomCount = roomCount;
+    }
+
+    /**
+     * Controller for every room of the configuration, following later room-count changes.
+     */
+    public DeviceController(OfficeConfiguration config, Settings settings) {
+        this(config.getTotalRooms(), settings);
+        this.config = config;
+        config.addListener(this);
+    }
+
+    public void addActuator(Actuator actuator) {
+        if (actuator != null) actuators.add(actuator);
+    }
+
+    public void removeActuator(Actuator actuator) {
+        actuators.remove(actuator);
+    }
+
+    @Override
+    public void update(int roomId, int occupancyCount) {
+        if (roomId <= 0 || roomId > roomCount) {
+            log.debug("Ignoring occupancy for room {} outside controller range 1..{}", roomId, roomCount);
+            return;
+        }
+        segments.get()[roomId >> SEGMENT_SHIFT].set(roomId & (SEGMENT_SIZE - 1), occupancyCount);
+    }
+
+    /**
+     * Room count changed: added rooms get state (starting OFF), removed rooms stop taking
+     * readings and are treated as empty, so devices left ON there are switched OFF by tick().
+     */
+    @Override
+    public synchronized void onTotalRoomsChanged(int oldTotalRooms, int newTotalRooms) {
+        if (newTotalRooms > oldTotalRooms) {
+            grow(newTotalRooms);
+            roomCount = newTotalRooms;
+        } else {
+            roomCount = newTotalRooms;
+            AtomicIntegerArray[] current = segments.get();
+            for (int room = newTotalRooms + 1; room <= oldTotalRooms && room < on.length; room++) {
+                current[room >> SEGMENT_SHIFT].set(room & (SEGMENT_SIZE - 1), 0);
+            }
+        }
+        log.info("DeviceController now covers {} rooms", newTotalRooms);
+    }
+
+    /**
+     * Evaluate all rooms at time nowNanos (System.nanoTime() scale) and send real changes.
+     *
+     * @return number of rooms switched
+     */
+    public synchronized int tick(long nowNanos) {
+        batch.clear();
+        AtomicIntegerArray[] counts = segments.get();
+        for (int room = 1; room < on.length; room++) {
+            boolean current = on[room];
+            if (room > roomCount && !current) continue;
+            int count = counts[room >> SEGMENT_SHIFT].get(room & (SEGMENT_SIZE - 1));
+            boolean desired = current ? count > offThreshold : count >= onThreshold;
+            if (desired == current) continue;
+
+            long last = lastSwitchNanos[room];
+            long dwell = current ? minOnNanos : minOffNanos;
+            if (last != NEVER && nowNanos - last < dwell) continue; // held back, retried next tick
+
+            on[room] = desired;
+            lastSwitchNanos[room] = nowNanos;
+            batch.add(room, desired);
+        }
+        if (batch.size() > 0) {
+            for (Actuator actuator : actuators) {
+                try {
+                    actuator.apply(batch);
+                } catch (RuntimeException e) {
+                    log.error("Actuator {} failed to apply {} commands", actuator.getClass().getSimpleName(), batch.size(), e);
+                }
+            }
+        }
+        return batch.size();
+    }
+
+    /**
+     * Current device state of a room as last sent to the actuators.
+     */
+    public synchronized boolean isOn(int roomId) {
+        if (roomId <= 0 || roomId > roomCount) throw new ValidationException(STR."Invalid room id: \{roomId}");
+        return on[roomId];
+    }
+
+    /**
+     * Run tick() periodically on a daemon thread.
+     */
+    public synchronized void start(Duration period) {
+        Objects.requireNonNull(period, "period required");
+        if (ticker != null) return;
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread t = new Thread(runnable);
+            t.setDaemon(true);
+            t.setName("device-controller");
+            return t;
+        });
+        long periodNanos = period.toNanos();
+        ticker.scheduleAtFixedRate(() -> {
+            try {
+                tick(System.nanoTime());
+            } catch (Exception e) {
+                log.error("Device controller tick failed", e);
+            }
+        }, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+        log.info("DeviceController started for {} rooms, tick every {}", roomCount, period);
+    }
+
+    public synchronized void shutdown() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+        if (config != null) config.removeListener(this);
+    }
+
+    // caller holds this (or is the constructor); room ids 1..rooms become addressable
+    private void grow(int rooms) {
+        if (rooms < on.length) return;
+        AtomicIntegerArray[] current = segments.get();
+        int needed = (rooms >> SEGMENT_SHIFT) + 1;
+        if (needed > current.length) {
+            AtomicIntegerArray[] next = Arrays.copyOf(current, needed);
+            for (int i = current.length; i < needed; i++) next[i] = new AtomicIntegerArray(SEGMENT_SIZE);
+            segments.set(next);
+        }
+        int oldLength = on.length;
+        on = Arrays.copyOf(on, rooms + 1);
+        lastSwitchNanos = Arrays.copyOf(lastSwitchNanos, rooms + 1);
+        Arrays.fill(lastSwitchNanos, oldLength, rooms + 1, NEVER);
+    }
+}
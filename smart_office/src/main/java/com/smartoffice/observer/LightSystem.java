@@ -5,8 +5,9 @@ import org.slf4j.Logger;
 
 /**
  * LightSystem listens to occupancy updates and turns lights ON/OFF accordingly.
+ * As an Actuator it applies the debounced commands issued by DeviceController.
  */
-public class LightSystem implements Observer {
+public class LightSystem implements Observer, Actuator {
     private static final Logger log = LoggerUtil.getLogger(LightSystem.class);
 
     @Override
@@ -17,4 +18,13 @@ public class LightSystem implements Observer {
             log.info("Room {}: Lights OFF (no sufficient occupancy)", roomId);
         }
     }
+
+    @Override
+    public void apply(DeviceCommandBatch batch) {
+        // the batch is this actuator's only output; skip the loop (and boxing every room id) when INFO is off
+        if (!log.isInfoEnabled()) return;
+        for (int i = 0; i < batch.size(); i++) {
+            log.info("Room {}: Lights {}", batch.roomId(i), batch.isOn(i) ? "ON" : "OFF");
+        }
+    }
 }
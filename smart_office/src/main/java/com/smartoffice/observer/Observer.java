@@ -5,4 +5,13 @@ package com.smartoffice.observer;
  */
 public interface Observer {
     void update(int roomId, int occupancyCount);
+
+    /**
+     * Several readings at once (entries 0..size-1, one per room), as delivered by
+     * SensorIngestPipeline. The default hands each reading to update(); the arrays are reused
+     * by the caller, so implementations must not keep them.
+     */
+    default void updateAll(int[] roomIds, int[] counts, int size) {
+        for (int i = 0; i < size; i++) update(roomIds[i], counts[i]);
+    }
 }
@@ -5,18 +5,33 @@ import com.smartoffice.util.LoggerUtil;
 import org.slf4j.Logger;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * OccupancySensor acts as the Subject in Observer pattern.
  * - Keeps track of registered Observers (AC, LightSystem, etc.)
  * - Notifies them whenever occupancy changes
  * - Also informs BookingManager (so bookings can be auto-released if empty)
+ *
+ * Thread-safety strategy:
+ * - Observers live in a copy-on-write array behind an AtomicReference. Register/remove swap in a new
+ *   array with CAS; notification iterates whatever array it read, without locks, and never sees a
+ *   list being modified under it.
+ * - Each observer call is timed so a slow device controller shows up in getObserverTimings() and the log;
+ *   a batch from setOccupancies() is one call per observer.
  */
 public class OccupancySensor {
     private static final Logger log = LoggerUtil.getLogger(OccupancySensor.class);
 
-    private final List<Observer> observers = new ArrayList<>();
+    // a single observer call slower than this is logged as a warning
+    private static final long SLOW_OBSERVER_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final AtomicReference<ObserverSlot[]> observers = new AtomicReference<>(new ObserverSlot[0]);
     private final BookingManager bookingManager;
 
     public OccupancySensor(BookingManager bookingManager) {
@@ -24,22 +39,137 @@ public class OccupancySensor {
     }
 
     public void registerObserver(Observer obs) {
-        observers.add(obs);
+        if (obs == null) return;
+        ObserverSlot slot = new ObserverSlot(obs);
+        observers.getAndUpdate(current -> {
+            ObserverSlot[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = slot;
+            return next;
+        });
     }
 
     public void removeObserver(Observer obs) {
-        observers.remove(obs);
+        observers.getAndUpdate(current -> {
+            for (int i = 0; i < current.length; i++) {
+                if (current[i].observer.equals(obs)) {
+                    ObserverSlot[] next = new ObserverSlot[current.length - 1];
+                    System.arraycopy(current, 0, next, 0, i);
+                    System.arraycopy(current, i + 1, next, i, current.length - i - 1);
+                    return next;
+                }
+            }
+            return current;
+        });
     }
 
-    public void setOccupancy(int roomId, int count) {
-        log.info("Sensor detected occupancy in room {}: {} persons", roomId, count);
+    /**
+     * @return the occupancy this reading replaced
+     */
+    public int setOccupancy(int roomId, int count) {
+        if (log.isDebugEnabled()) log.debug("Sensor detected occupancy in room {}: {} persons", roomId, count);
 
         // Notify booking manager (affects auto-release logic)
-        bookingManager.updateOccupancy(roomId, count);
+        int previous = bookingManager.updateOccupancy(roomId, count);
+
+        // Notify all observers (lights, AC, etc.) from a fixed snapshot
+        for (ObserverSlot slot : observers.get()) {
+            long start = System.nanoTime();
+            try {
+                slot.observer.update(roomId, count);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                slot.record(elapsed);
+                if (elapsed > SLOW_OBSERVER_NANOS) {
+                    log.warn("Slow observer {} took {} ms for room {}",
+                            slot.observer.getClass().getSimpleName(), TimeUnit.NANOSECONDS.toMillis(elapsed), roomId);
+                }
+            }
+        }
+        return previous;
+    }
+
+    /**
+     * Apply a batch of readings (entries 0..size-1, one per room): BookingManager is updated room
+     * by room, then every observer gets the applied readings in one updateAll() call.
+     *
+     * A reading BookingManager rejects (e.g. a room removed meanwhile) is logged and left out.
+     * On return, entries 0..n-1 of both arrays hold the applied readings in their original order.
+     *
+     * @return n, the number of readings applied
+     */
+    public int setOccupancies(int[] roomIds, int[] counts, int size) {
+        int applied = 0;
+        for (int i = 0; i < size; i++) {
+            try {
+                bookingManager.updateOccupancy(roomIds[i], counts[i]);
+            } catch (RuntimeException e) {
+                log.warn("Dropped occupancy {} for room {}: {}", counts[i], roomIds[i], e.getMessage());
+                continue;
+            }
+            roomIds[applied] = roomIds[i];
+            counts[applied] = counts[i];
+            applied++;
+        }
+        if (applied == 0) return 0;
+
+        for (ObserverSlot slot : observers.get()) {
+            long start = System.nanoTime();
+            try {
+                slot.observer.updateAll(roomIds, counts, applied);
+            } catch (RuntimeException e) {
+                // one failing device must not keep the batch from the others
+                log.error("Observer {} failed on a batch of {} readings", slot.observer.getClass().getSimpleName(), applied, e);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                slot.record(elapsed);
+                if (elapsed > SLOW_OBSERVER_NANOS) {
+                    log.warn("Slow observer {} took {} ms for a batch of {} readings",
+                            slot.observer.getClass().getSimpleName(), TimeUnit.NANOSECONDS.toMillis(elapsed), applied);
+                }
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Per-observer call statistics, in registration order.
+     */
+    public List<ObserverTiming> getObserverTimings() {
+        ObserverSlot[] snapshot = observers.get();
+        List<ObserverTiming> timings = new ArrayList<>(snapshot.length);
+        for (ObserverSlot slot : snapshot) {
+            long calls = slot.calls.sum();
+            double avgMicros = calls == 0 ? 0 : slot.totalNanos.sum() / (double) calls / 1_000;
+            timings.add(new ObserverTiming(slot.observer.getClass().getSimpleName(), calls, avgMicros,
+                    slot.maxNanos.get() / 1_000.0));
+        }
+        return timings;
+    }
+
+    public int getObserverCount() {
+        return observers.get().length;
+    }
+
+    /**
+     * Timing summary for one registered observer.
+     */
+    public record ObserverTiming(String observer, long calls, double avgMicros, double maxMicros) {
+    }
+
+    private static final class ObserverSlot {
+        final Observer observer;
+        final LongAdder calls = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+
+        ObserverSlot(Observer observer) {
+            this.observer = observer;
+        }
 
-        // Notify all observers (lights, AC, etc.)
-        for (Observer obs : observers) {
-            obs.update(roomId, count);
+        void record(long nanos) {
+            calls.increment();
+            totalNanos.add(nanos);
+            if (nanos > maxNanos.get()) maxNanos.accumulateAndGet(nanos, Math::max);
         }
     }
 }
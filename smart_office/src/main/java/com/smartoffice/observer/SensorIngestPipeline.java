@@ -0,0 +1,332 @@
+package com.smartoffice.observer;
+
+import com.smartoffice.config.ConfigurationListener;
+import com.smartoffice.config.OfficeConfiguration;
+import com.smartoffice.exception.InvalidRoomException;
+import com.smartoffice.exception.ValidationException;
+import com.smartoffice.util.LoggerUtil;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SensorIngestPipeline sits between raw sensor readings and the OccupancySensor.
+ *
+ * Pipeline stages:
+ * - submit(): lock-free; keeps only the latest reading per room (older readings in the window are coalesced)
+ * - flush (every window): drains rooms with a pending reading and groups them into one batch per worker
+ * - worker: drops readings equal to the last count delivered for the room, then hands the rest to
+ *   OccupancySensor.setOccupancies, which updates BookingManager and notifies every observer once
+ *   for the whole batch
+ *
+ * A room always maps to the same worker, so readings for one room are delivered in order, and the
+ * worker is the only thread that reads or writes the room's last delivered count. That count is
+ * only updated for readings the sensor applied, so a rejected reading is not mistaken for
+ * "unchanged" later.
+ *
+ * Per-room state lives in fixed-size segments that are only ever appended: when rooms are added
+ * (onTotalRoomsChanged) no array is copied, so no concurrent write can be lost.
+ */
+public class SensorIngestPipeline implements ConfigurationListener {
+    private static final Logger log = LoggerUtil.getLogger(SensorIngestPipeline.class);
+
+    private static final int SEGMENT_SHIFT = 6;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private final OccupancySensor sensor;
+    private final OfficeConfiguration config;
+    private final Duration window;
+
+    // rooms accepted by submit() (room ids 1..roomCount)
+    private volatile int roomCount;
+    // per-room state, replaced (never copied) when rooms are added
+    private volatile Slots slots;
+    // rooms whose pending slot went from empty to set; each room is queued at most once per window
+    private final ConcurrentLinkedQueue<Integer> dirtyRooms = new ConcurrentLinkedQueue<>();
+
+    private final ScheduledExecutorService flusher;
+    private final ExecutorService[] workers;
+
+    // stats
+    private final LongAdder ingested = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder unchanged = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private final long startedAt = System.nanoTime();
+
+    /**
+     * @param sensor      downstream subject that updates BookingManager and notifies observers
+     * @param config      office layout; the pipeline covers its rooms and follows later changes
+     * @param window      coalescing window; readings within a window collapse to the latest
+     * @param workerCount number of delivery threads
+     */
+    public SensorIngestPipeline(OccupancySensor sensor, OfficeConfiguration config, Duration window, int workerCount) {
+        this.sensor = Objects.requireNonNull(sensor, "sensor required");
+        this.config = Objects.requireNonNull(config, "config required");
+        Objects.requireNonNull(window, "window required");
+        if (window.isZero() || window.isNegative()) throw new ValidationException("window must be positive");
+        if (workerCount <= 0) workerCount = 1;
+
+        this.window = window;
+        int rooms = config.getTotalRooms();
+        this.slots = new Slots().grownTo(rooms);
+        this.roomCount = rooms;
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(daemon("sensor-flusher"));
+        this.workers = new ExecutorService[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = Executors.newSingleThreadExecutor(daemon(STR."sensor-worker-\{i}"));
+        }
+        config.addListener(this);
+        long periodNanos = window.toNanos();
+        flusher.scheduleAtFixedRate(this::flushSafely, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+        log.info("SensorIngestPipeline started: rooms={}, window={}, workers={}", rooms, window, workerCount);
+    }
+
+    /**
+     * Accept a raw reading. Never blocks; the reading is delivered at the next flush unless superseded.
+     */
+    public void submit(int roomId, int count) {
+        if (roomId <= 0 || roomId > roomCount) throw new InvalidRoomException("Invalid room id: " + roomId);
+        if (count < 0) throw new ValidationException("occupantCount must be >=0");
+        ingested.increment();
+        Slots current = slots;
+        int segment = roomId >> SEGMENT_SHIFT;
+        int index = roomId & SEGMENT_MASK;
+        current.submittedAt[segment].set(index, System.nanoTime());
+        int previous = current.pending[segment].getAndSet(index, count + 1);
+        if (previous == 0) {
+            dirtyRooms.offer(roomId);
+        } else {
+            coalesced.increment();
+        }
+    }
+
+    /**
+     * Drain pending readings now and hand them to the workers, one batch per worker.
+     * Runs on the flusher thread every window; exposed for shutdown and tests.
+     */
+    public synchronized void flush() {
+        Slots current = slots;
+        int workerCount = workers.length;
+        int[][] rooms = new int[workerCount][];
+        int[][] counts = new int[workerCount][];
+        long[][] stamps = new long[workerCount][];
+        int[] sizes = new int[workerCount];
+
+        Integer roomId;
+        while ((roomId = dirtyRooms.poll()) != null) {
+            int room = roomId;
+            int segment = room >> SEGMENT_SHIFT;
+            int index = room & SEGMENT_MASK;
+            long stamp = current.submittedAt[segment].get(index);
+            int count = current.pending[segment].getAndSet(index, 0) - 1;
+            if (count < 0) continue;
+
+            int w = room % workerCount;
+            if (rooms[w] == null) {
+                rooms[w] = new int[16];
+                counts[w] = new int[16];
+                stamps[w] = new long[16];
+            } else if (sizes[w] == rooms[w].length) {
+                rooms[w] = Arrays.copyOf(rooms[w], sizes[w] * 2);
+                counts[w] = Arrays.copyOf(counts[w], sizes[w] * 2);
+                stamps[w] = Arrays.copyOf(stamps[w], sizes[w] * 2);
+            }
+            rooms[w][sizes[w]] = room;
+            counts[w][sizes[w]] = count;
+            stamps[w][sizes[w]] = stamp;
+            sizes[w]++;
+        }
+
+        for (int w = 0; w < workerCount; w++) {
+            if (sizes[w] == 0) continue;
+            int[] batchRooms = rooms[w];
+            int[] batchCounts = counts[w];
+            long[] batchStamps = stamps[w];
+            int size = sizes[w];
+            batches.increment();
+            workers[w].execute(() -> deliver(batchRooms, batchCounts, batchStamps, size));
+        }
+    }
+
+    /**
+     * Room count changed. Added rooms get state before submit() accepts them. For removed rooms,
+     * each worker forgets the last delivered count of its rooms (BookingManager resets their
+     * occupancy), so a room that comes back starts clean; readings still in flight for them are
+     * rejected by BookingManager.
+     */
+    @Override
+    public synchronized void onTotalRoomsChanged(int oldTotalRooms, int newTotalRooms) {
+        if (newTotalRooms > oldTotalRooms) {
+            slots = slots.grownTo(newTotalRooms);
+            roomCount = newTotalRooms;
+        } else {
+            roomCount = newTotalRooms;
+            for (int w = 0; w < workers.length; w++) {
+                int worker = w;
+                workers[w].execute(() -> forget(worker, newTotalRooms + 1, oldTotalRooms));
+            }
+        }
+        log.info("SensorIngestPipeline now covers {} rooms", newTotalRooms);
+    }
+
+    // runs on a worker thread
+    private void deliver(int[] rooms, int[] counts, long[] stamps, int size) {
+        Slots current = slots;
+        int changed = 0;
+        for (int i = 0; i < size; i++) {
+            int room = rooms[i];
+            if (current.lastDelivered[room >> SEGMENT_SHIFT][room & SEGMENT_MASK] == counts[i]) {
+                unchanged.increment();
+                continue;
+            }
+            rooms[changed] = room;
+            counts[changed] = counts[i];
+            stamps[changed] = stamps[i];
+            changed++;
+        }
+        if (changed == 0) return;
+
+        int applied;
+        try {
+            applied = sensor.setOccupancies(rooms, counts, changed);
+        } catch (RuntimeException e) {
+            log.error("Failed to deliver a batch of {} readings", changed, e);
+            rejected.add(changed);
+            return;
+        }
+        long now = System.nanoTime();
+        for (int i = 0; i < changed; i++) {
+            long latency = now - stamps[i];
+            latencyNanos.add(latency);
+            maxLatencyNanos.accumulateAndGet(latency, Math::max);
+        }
+        // setOccupancies moved the applied readings to the front
+        for (int i = 0; i < applied; i++) {
+            int room = rooms[i];
+            current.lastDelivered[room >> SEGMENT_SHIFT][room & SEGMENT_MASK] = counts[i];
+        }
+        delivered.add(applied);
+        rejected.add(changed - applied);
+    }
+
+    // runs on worker w: reset the rooms in from..to that map to it
+    private void forget(int w, int from, int to) {
+        Slots current = slots;
+        for (int room = from; room <= to; room++) {
+            if (room % workers.length == w) current.lastDelivered[room >> SEGMENT_SHIFT][room & SEGMENT_MASK] = -1;
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Sensor pipeline flush failed", e);
+        }
+    }
+
+    /**
+     * Snapshot of ingest and delivery counters.
+     */
+    public Stats getStats() {
+        long in = ingested.sum();
+        long out = delivered.sum();
+        long handed = out + rejected.sum();
+        double seconds = Math.max(1e-9, (System.nanoTime() - startedAt) / 1e9);
+        double avgLatencyMillis = handed == 0 ? 0 : latencyNanos.sum() / (double) handed / 1e6;
+        return new Stats(in, coalesced.sum(), unchanged.sum(), rejected.sum(), out, batches.sum(),
+                in / seconds, avgLatencyMillis, maxLatencyNanos.get() / 1e6);
+    }
+
+    /**
+     * Flush what is pending, deliver it, then stop all threads.
+     */
+    public void shutdown() {
+        config.removeListener(this);
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(window.toMillis() + 1000, TimeUnit.MILLISECONDS);
+            flush();
+            for (ExecutorService worker : workers) worker.shutdown();
+            for (ExecutorService worker : workers) worker.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("SensorIngestPipeline stopped: {}", getStats());
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread t = new Thread(runnable);
+            t.setDaemon(true);
+            t.setName(name);
+            return t;
+        };
+    }
+
+    /**
+     * Per-room state, SEGMENT_SIZE rooms per segment (room r at segment r >> SEGMENT_SHIFT).
+     * Growing shares every existing segment and appends new ones.
+     */
+    private static final class Slots {
+        // latest pending reading + 1 (0 = nothing pending)
+        final AtomicIntegerArray[] pending;
+        // System.nanoTime() of the latest pending reading
+        final AtomicLongArray[] submittedAt;
+        // last count the sensor applied (-1 = none); each room's entry belongs to its worker
+        final int[][] lastDelivered;
+
+        Slots() {
+            this(new AtomicIntegerArray[0], new AtomicLongArray[0], new int[0][]);
+        }
+
+        private Slots(AtomicIntegerArray[] pending, AtomicLongArray[] submittedAt, int[][] lastDelivered) {
+            this.pending = pending;
+            this.submittedAt = submittedAt;
+            this.lastDelivered = lastDelivered;
+        }
+
+        Slots grownTo(int rooms) {
+            int segments = (rooms >> SEGMENT_SHIFT) + 1;
+            if (segments <= pending.length) return this;
+            AtomicIntegerArray[] nextPending = Arrays.copyOf(pending, segments);
+            AtomicLongArray[] nextSubmittedAt = Arrays.copyOf(submittedAt, segments);
+            int[][] nextLastDelivered = Arrays.copyOf(lastDelivered, segments);
+            for (int s = pending.length; s < segments; s++) {
+                nextPending[s] = new AtomicIntegerArray(SEGMENT_SIZE);
+                nextSubmittedAt[s] = new AtomicLongArray(SEGMENT_SIZE);
+                nextLastDelivered[s] = new int[SEGMENT_SIZE];
+                Arrays.fill(nextLastDelivered[s], -1);
+            }
+            return new Slots(nextPending, nextSubmittedAt, nextLastDelivered);
+        }
+    }
+
+    /**
+     * Pipeline counters. ingestRate is readings per second since start; rejected readings were
+     * refused by BookingManager (e.g. room removed); latencies are submit-to-delivery for readings
+     * handed to the sensor.
+     */
+    public record Stats(long ingested, long coalesced, long unchanged, long rejected, long delivered, long batches,
+                        double ingestRatePerSecond, double avgLatencyMillis, double maxLatencyMillis) {
+    }
+}
@@ -0,0 +1,191 @@
+package com.smartoffice.util;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.encoder.Encoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Console appender that takes formatting and I/O off the logging thread.
+ *
+ * Design:
+ * - append() pins only the caller's state that would otherwise be lost: the thread name, the
+ *   MDC, and arguments that are mutable text (StringBuilder and the like), which are replaced by
+ *   their current string. It then offers the event to a bounded queue. Message formatting,
+ *   layout and I/O run on the writer thread. Other arguments are kept by reference, so they
+ *   should be immutable (ids, times, Booking) or only logged once they stop changing.
+ * - one daemon writer drains up to maxBatch events at a time, encodes them into one buffer and
+ *   writes and flushes System.out once per batch
+ * - with neverBlock (the default), TRACE..INFO events are dropped when the queue is full and the
+ *   count is reported in the next batch; WARN and ERROR always wait for room
+ * - stop() (e.g. from logback's shutdown hook) writes whatever is still queued
+ * - unlike logback's AsyncAppender, which hands events one by one to a ConsoleAppender that
+ *   writes and flushes each, a batch costs one write and one flush
+ *
+ * Configured in logback.xml; LoggerUtil.configureConsole switches between this and a plain
+ * synchronous ConsoleAppender at runtime.
+ */
+public class AsyncBatchingAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+    public static final int DEFAULT_QUEUE_SIZE = 8192;
+    public static final int DEFAULT_MAX_BATCH = 512;
+
+    private Encoder<ILoggingEvent> encoder;
+    private int queueSize = DEFAULT_QUEUE_SIZE;
+    private int maxBatch = DEFAULT_MAX_BATCH;
+    private boolean neverBlock = true;
+
+    private BlockingQueue<ILoggingEvent> queue;
+    private Thread writer;
+    private volatile boolean stopping;
+    private final LongAdder dropped = new LongAdder();
+    // written by the writer thread only
+    private volatile long droppedTotal;
+
+    public void setEncoder(Encoder<ILoggingEvent> encoder) {
+        this.encoder = encoder;
+    }
+
+    public Encoder<ILoggingEvent> getEncoder() {
+        return encoder;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public void setMaxBatch(int maxBatch) {
+        this.maxBatch = maxBatch;
+    }
+
+    public void setNeverBlock(boolean neverBlock) {
+        this.neverBlock = neverBlock;
+    }
+
+    /**
+     * Events dropped because the queue was full, since start.
+     */
+    public long getDroppedCount() {
+        return droppedTotal + dropped.sum();
+    }
+
+    @Override
+    public void start() {
+        if (encoder == null) {
+            addError(STR."No encoder set for appender \{name}");
+            return;
+        }
+        if (queueSize < 1 || maxBatch < 1) {
+            addError(STR."queueSize and maxBatch must be positive for appender \{name}");
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueSize);
+        stopping = false;
+        writer = new Thread(this::drain, STR."log-writer-\{name}");
+        writer.setDaemon(true);
+        writer.start();
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) return;
+        super.stop();
+        stopping = true;
+        writer.interrupt();
+        try {
+            writer.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        pinCallerState(event);
+        if (queue.offer(event)) return;
+        if (neverBlock && !event.getLevel().isGreaterOrEqual(Level.WARN)) {
+            dropped.increment();
+            return;
+        }
+        try {
+            queue.put(event);
+        } catch (InterruptedException e) {
+            dropped.increment();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * What prepareForDeferredProcessing() keeps, minus formatting the message. The argument array
+     * belongs to this logging call (logback or the varargs call built it), so entries are
+     * replaced in place.
+     */
+    private static void pinCallerState(ILoggingEvent event) {
+        event.getThreadName();
+        event.getMDCPropertyMap();
+        Object[] args = event.getArgumentArray();
+        if (args == null) return;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof CharSequence text && !(args[i] instanceof String)) args[i] = text.toString();
+        }
+    }
+
+    private void drain() {
+        List<ILoggingEvent> batch = new ArrayList<>(maxBatch);
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * maxBatch);
+        while (true) {
+            try {
+                if (stopping) {
+                    if (queue.drainTo(batch, maxBatch) == 0) break;
+                } else {
+                    batch.add(queue.take());
+                    queue.drainTo(batch, maxBatch - 1);
+                }
+            } catch (InterruptedException e) {
+                // stop() interrupts a writer blocked in take(); loop round to flush the rest
+                continue;
+            }
+            write(batch, buffer);
+        }
+        long lost = dropped.sumThenReset();
+        if (lost > 0) {
+            droppedTotal += lost;
+            System.out.print(droppedLine(lost));
+            System.out.flush();
+        }
+    }
+
+    private void write(List<ILoggingEvent> batch, ByteArrayOutputStream buffer) {
+        try {
+            for (ILoggingEvent event : batch) {
+                buffer.writeBytes(encoder.encode(event));
+            }
+            long lost = dropped.sumThenReset();
+            if (lost > 0) {
+                droppedTotal += lost;
+                buffer.writeBytes(droppedLine(lost).getBytes(StandardCharsets.UTF_8));
+            }
+            PrintStream out = System.out;
+            buffer.writeTo(out);
+            out.flush();
+        } catch (Exception e) {
+            addError("Writing log batch failed", e);
+        } finally {
+            batch.clear();
+            buffer.reset();
+        }
+    }
+
+    private static String droppedLine(long count) {
+        return STR."... \{count} log events below WARN dropped (log queue full)\{System.lineSeparator()}";
+    }
+}
@@ -0,0 +1,118 @@
+package com.smartoffice.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Minimal JSON helpers for the batch and HTTP front ends, which only exchange flat objects
+ * (no nesting) and so don't need a JSON library.
+ */
+public final class Json {
+    private Json() {}
+
+    /**
+     * Parse a flat JSON object (string, number, boolean or null values; no nesting) into
+     * key -> value text. Numbers and booleans keep their literal text; null maps to no entry.
+     */
+    public static Map<String, String> parseFlatObject(String s) {
+        Map<String, String> result = new HashMap<>();
+        int[] pos = {skipSpace(s, 1)};
+        if (s.charAt(0) != '{') throw new IllegalArgumentException("JSON object expected");
+        if (peek(s, pos) == '}') return result;
+        while (true) {
+            String key = string(s, pos);
+            pos[0] = skipSpace(s, pos[0]);
+            expect(s, pos, ':');
+            pos[0] = skipSpace(s, pos[0]);
+            String value;
+            if (peek(s, pos) == '"') {
+                value = string(s, pos);
+            } else {
+                int start = pos[0];
+                while (pos[0] < s.length() && ",} \t".indexOf(s.charAt(pos[0])) < 0) pos[0]++;
+                value = s.substring(start, pos[0]);
+                if (value.isEmpty() || value.charAt(0) == '{' || value.charAt(0) == '[') {
+                    throw new IllegalArgumentException(STR."unsupported value for '\{key}'");
+                }
+                if (value.equals("null")) value = null;
+            }
+            if (value != null) result.put(key, value);
+            pos[0] = skipSpace(s, pos[0]);
+            char c = peek(s, pos);
+            pos[0]++;
+            if (c == '}') return result;
+            if (c != ',') throw new IllegalArgumentException(STR."',' or '}' expected at \{pos[0] - 1}");
+            pos[0] = skipSpace(s, pos[0]);
+        }
+    }
+
+    private static String string(String s, int[] pos) {
+        expect(s, pos, '"');
+        StringBuilder sb = null;
+        int start = pos[0];
+        while (pos[0] < s.length()) {
+            char c = s.charAt(pos[0]++);
+            if (c == '"') {
+                return sb == null ? s.substring(start, pos[0] - 1) : sb.toString();
+            }
+            if (c == '\\') {
+                if (sb == null) sb = new StringBuilder(s.substring(start, pos[0] - 1));
+                if (pos[0] >= s.length()) break;
+                char e = s.charAt(pos[0]++);
+                switch (e) {
+                    case 'n' -> sb.append('\n');
+                    case 't' -> sb.append('\t');
+                    case 'r' -> sb.append('\r');
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'u' -> {
+                        if (pos[0] + 4 > s.length()) throw new IllegalArgumentException("bad \\u escape");
+                        sb.append((char) Integer.parseInt(s.substring(pos[0], pos[0] + 4), 16));
+                        pos[0] += 4;
+                    }
+                    default -> sb.append(e);
+                }
+            } else if (sb != null) {
+                sb.append(c);
+            }
+        }
+        throw new IllegalArgumentException("unterminated string");
+    }
+
+    private static void expect(String s, int[] pos, char c) {
+        if (peek(s, pos) != c) throw new IllegalArgumentException(STR."'\{c}' expected at \{pos[0]}");
+        pos[0]++;
+    }
+
+    private static char peek(String s, int[] pos) {
+        if (pos[0] >= s.length()) throw new IllegalArgumentException("unexpected end of line");
+        return s.charAt(pos[0]);
+    }
+
+    private static int skipSpace(String s, int i) {
+        while (i < s.length() && Character.isWhitespace(s.charAt(i))) i++;
+        return i;
+    }
+
+    /**
+     * Append s as a JSON string literal (quoted and escaped).
+     */
+    public static StringBuilder quote(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+                }
+            }
+        }
+        return sb.append('"');
+    }
+}
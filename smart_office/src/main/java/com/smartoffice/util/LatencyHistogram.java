@@ -0,0 +1,84 @@
+package com.smartoffice.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with HDR-style log-linear buckets.
+ *
+ * Design:
+ * - values below 16 ns get one bucket each; above that every power of two is split into 16
+ *   equal sub-buckets, so a bucket is never wider than 1/16 (6.25%) of its values
+ * - the bucket index is computed from the value's leading zeros (no search, no division) and
+ *   recording is one atomic increment, plus a sum update and a max check
+ * - values above MAX_TRACKABLE_NANOS (~18 minutes) land in the last bucket; negative values count as 0
+ * - snapshot() reads the buckets without stopping writers, so a snapshot taken under load may
+ *   be off by the few records that raced with it
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    public static final long MAX_TRACKABLE_NANOS = (1L << (MAX_EXPONENT + 1)) - 1;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Percentiles are bucket midpoints (within 3.2% of the recorded value); mean and max are exact.
+     */
+    public record Snapshot(long count, double meanNanos, long p50Nanos, long p90Nanos, long p99Nanos,
+                           long p999Nanos, long maxNanos) {
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(0, Math.min(nanos, MAX_TRACKABLE_NANOS));
+        counts.getAndIncrement(index(value));
+        sum.add(value);
+        if (value > max.get()) max.accumulateAndGet(value, Math::max);
+    }
+
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        if (count == 0) return new Snapshot(0, 0, 0, 0, 0, 0, 0);
+        long maxNanos = max.get();
+        return new Snapshot(count, (double) sum.sum() / count,
+                Math.min(percentile(copy, count, 0.50), maxNanos), Math.min(percentile(copy, count, 0.90), maxNanos),
+                Math.min(percentile(copy, count, 0.99), maxNanos), Math.min(percentile(copy, count, 0.999), maxNanos),
+                maxNanos);
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int shift = index / SUB_BUCKETS - 1;
+        return (long) (index % SUB_BUCKETS + SUB_BUCKETS) << shift;
+    }
+
+    private static long percentile(long[] counts, long total, double fraction) {
+        long rank = Math.max(1, (long) Math.ceil(total * fraction));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                long low = lowerBound(i);
+                long width = i < SUB_BUCKETS ? 1 : 1L << (i / SUB_BUCKETS - 1);
+                return low + width / 2;
+            }
+        }
+        return lowerBound(counts.length - 1);
+    }
+}
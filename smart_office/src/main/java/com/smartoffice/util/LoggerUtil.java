@@ -1,16 +1,75 @@
 package com.smartoffice.util;
 
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.ConsoleAppender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Small helper to obtain loggers consistently across the app.
  * Central place to modify logging policy (e.g., add MDC, trace ids in future).
+ *
+ * Hot-path logging convention: parameterized messages only (no concatenation or String.format in
+ * the call), and an isXxxEnabled() guard when an argument would cost something to produce
+ * (boxing a primitive, computing a value, more than two arguments - the varargs array).
+ * The async appender formats on its writer thread, so pass immutable arguments or ones that no
+ * longer change.
  */
 public final class LoggerUtil {
+    /** Same layout as logback.xml. */
+    public static final String CONSOLE_PATTERN = "%d{HH:mm:ss} %-5level [%thread] %logger{36} - %msg%n";
+
+    private static final String CONSOLE_APPENDER = "STDOUT";
+
     private LoggerUtil() {}
 
     public static Logger getLogger(Class<?> cls) {
         return LoggerFactory.getLogger(cls);
     }
+
+    /**
+     * Change the root log level at runtime (e.g. "WARN" for bulk runs where per-command INFO
+     * lines would cost more than the commands). No-op if the backend isn't logback.
+     */
+    public static void setRootLevel(String level) {
+        if (LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME) instanceof ch.qos.logback.classic.Logger root) {
+            root.setLevel(ch.qos.logback.classic.Level.toLevel(level, ch.qos.logback.classic.Level.INFO));
+        }
+    }
+
+    /**
+     * Replace the root console appender: async = the batching AsyncBatchingAppender (the
+     * logback.xml default), otherwise a synchronous ConsoleAppender that formats and writes on
+     * the calling thread. The old appender is stopped first, so its queued events are written.
+     * No-op if the backend isn't logback.
+     */
+    public static void configureConsole(boolean async) {
+        if (!(LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME) instanceof ch.qos.logback.classic.Logger root)) return;
+        LoggerContext context = root.getLoggerContext();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(CONSOLE_PATTERN);
+        encoder.start();
+
+        UnsynchronizedAppenderBase<ILoggingEvent> appender;
+        if (async) {
+            AsyncBatchingAppender batching = new AsyncBatchingAppender();
+            batching.setEncoder(encoder);
+            appender = batching;
+        } else {
+            ConsoleAppender<ILoggingEvent> console = new ConsoleAppender<>();
+            console.setEncoder(encoder);
+            appender = console;
+        }
+        appender.setContext(context);
+        appender.setName(CONSOLE_APPENDER);
+        appender.start();
+
+        root.detachAndStopAllAppenders();
+        root.addAppender(appender);
+    }
 }
@@ -0,0 +1,183 @@
+package com.smartoffice.util;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanParameterInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Named counters, gauges and latency timers, readable as a flat snapshot, a text dump or a JMX MBean.
+ *
+ * Design:
+ * - instrumented code looks its metrics up once (usually in a constructor) and keeps the handles;
+ *   the registry itself is only touched to register and to read
+ * - counters are LongAdders and timers are LatencyTimers, so updates never lock
+ * - gauges are read on demand (queue depths, map sizes)
+ * - a timer "x" appears in snapshots as x.count, x.sampled, x.meanNanos, x.p50Nanos, x.p90Nanos,
+ *   x.p99Nanos, x.p999Nanos and x.maxNanos; those flat names are also the MBean's attributes
+ */
+public final class MetricsRegistry {
+    public static final String JMX_DOMAIN = "com.smartoffice";
+
+    private final Map<String, LongAdder> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentSkipListMap<>();
+    private final Map<String, LatencyTimer> timers = new ConcurrentSkipListMap<>();
+    private volatile ObjectName registeredAs;
+
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, k -> new LongAdder());
+    }
+
+    public LatencyTimer timer(String name) {
+        return timers.computeIfAbsent(name, k -> new LatencyTimer());
+    }
+
+    /**
+     * A timer that times one in sampleEvery operations (see LatencyTimer); if the name is
+     * already registered, the existing timer is returned unchanged.
+     */
+    public LatencyTimer timer(String name, int sampleEvery) {
+        return timers.computeIfAbsent(name, k -> new LatencyTimer(sampleEvery));
+    }
+
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    /**
+     * Every metric as flat name -> value (Long, or Double for means): counters, gauges, then
+     * timers, each sorted by name.
+     */
+    public Map<String, Number> snapshot() {
+        Map<String, Number> values = new LinkedHashMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.sum()));
+        gauges.forEach((name, gauge) -> values.put(name, gauge.getAsLong()));
+        timers.forEach((name, timer) -> {
+            LatencyHistogram.Snapshot latency = timer.snapshot();
+            values.put(name + ".count", timer.getCount());
+            values.put(name + ".sampled", latency.count());
+            values.put(name + ".meanNanos", latency.meanNanos());
+            values.put(name + ".p50Nanos", latency.p50Nanos());
+            values.put(name + ".p90Nanos", latency.p90Nanos());
+            values.put(name + ".p99Nanos", latency.p99Nanos());
+            values.put(name + ".p999Nanos", latency.p999Nanos());
+            values.put(name + ".maxNanos", latency.maxNanos());
+        });
+        return values;
+    }
+
+    /**
+     * Human-readable dump, one line per metric, latencies in microseconds.
+     */
+    public String dump() {
+        StringBuilder sb = new StringBuilder(256);
+        counters.forEach((name, counter) -> sb.append(name).append(' ').append(counter.sum()).append('\n'));
+        gauges.forEach((name, gauge) -> sb.append(name).append(' ').append(gauge.getAsLong()).append('\n'));
+        timers.forEach((name, timer) -> {
+            LatencyHistogram.Snapshot l = timer.snapshot();
+            sb.append(String.format("%s count=%d sampled=%d mean=%.2fus p50=%.2fus p90=%.2fus p99=%.2fus p99.9=%.2fus max=%.2fus%n",
+                    name, timer.getCount(), l.count(), l.meanNanos() / 1e3, l.p50Nanos() / 1e3, l.p90Nanos() / 1e3,
+                    l.p99Nanos() / 1e3, l.p999Nanos() / 1e3, l.maxNanos() / 1e3));
+        });
+        return sb.toString();
+    }
+
+    /**
+     * Publish this registry on the platform MBean server as com.smartoffice:type=Metrics,name=&lt;name&gt;.
+     *
+     * @throws IllegalStateException if the name is taken or the registry is already registered
+     */
+    public ObjectName registerMBean(String name) {
+        try {
+            ObjectName objectName = new ObjectName(STR."\{JMX_DOMAIN}:type=Metrics,name=\{ObjectName.quote(name)}");
+            synchronized (this) {
+                if (registeredAs != null) throw new IllegalStateException(STR."Already registered as \{registeredAs}");
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricsMBean(), objectName);
+                registeredAs = objectName;
+            }
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException(STR."Registering metrics MBean '\{name}' failed: \{e.getMessage()}", e);
+        }
+    }
+
+    /**
+     * Remove the MBean registered by registerMBean, if any.
+     */
+    public synchronized void unregisterMBean() {
+        if (registeredAs == null) return;
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (server.isRegistered(registeredAs)) server.unregisterMBean(registeredAs);
+        } catch (JMException e) {
+            // already gone
+        }
+        registeredAs = null;
+    }
+
+    /**
+     * Read-only view for JMX clients: one attribute per snapshot entry plus a dump() operation.
+     */
+    private final class MetricsMBean implements DynamicMBean {
+        @Override
+        public Object getAttribute(String attribute) throws AttributeNotFoundException {
+            Number value = snapshot().get(attribute);
+            if (value == null) throw new AttributeNotFoundException(attribute);
+            return value;
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] attributes) {
+            Map<String, Number> values = snapshot();
+            AttributeList list = new AttributeList();
+            for (String attribute : attributes) {
+                Number value = values.get(attribute);
+                if (value != null) list.add(new Attribute(attribute, value));
+            }
+            return list;
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+            throw new AttributeNotFoundException(STR."\{attribute.getName()} is read-only");
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList attributes) {
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+            if (actionName.equals("dump") && (params == null || params.length == 0)) return dump();
+            throw new ReflectionException(new NoSuchMethodException(actionName));
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            Map<String, Number> values = snapshot();
+            MBeanAttributeInfo[] attributes = values.entrySet().stream()
+                    .map(e -> new MBeanAttributeInfo(e.getKey(), e.getValue().getClass().getName(), e.getKey(),
+                            true, false, false))
+                    .toArray(MBeanAttributeInfo[]::new);
+            MBeanOperationInfo dump = new MBeanOperationInfo("dump", "All metrics as text",
+                    new MBeanParameterInfo[0], String.class.getName(), MBeanOperationInfo.INFO);
+            return new MBeanInfo(MetricsRegistry.class.getName(), "Smart office metrics", attributes, null,
+                    new MBeanOperationInfo[]{dump}, null);
+        }
+    }
+}
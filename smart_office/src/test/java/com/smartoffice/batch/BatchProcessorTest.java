@@ -0,0 +1,131 @@
+package com.smartoffice.batch;
+
+import junit.framework.TestCase;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class BatchProcessorTest extends TestCase {
+
+    private final String tomorrow = LocalDateTime.now().plusDays(1).toLocalDate().toString();
+    private BatchProcessor processor;
+
+    @Override
+    protected void setUp() {
+        processor = new BatchProcessor();
+    }
+
+    @Override
+    protected void tearDown() {
+        if (processor.getManager() != null) processor.getManager().shutdownNow();
+    }
+
+    public void testCsvAndJsonLinesRunThroughTheCommandLayerInOrder() {
+        String input = String.join("\n",
+                "# rooms first",
+                "configure,4,10",
+                STR."book,b1,1,alice@example.com,Alice,\{tomorrow}T10:00,60,3",
+                STR."{\"op\":\"book\",\"ref\":\"b2\",\"room\":1,\"user\":\"bob@example.com\",\"start\":\"\{tomorrow}T10:30\",\"duration\":30}",
+                "cancel,b1",
+                STR."book,b3,1,carol@example.com,Carol,\{tomorrow}T10:30,30",
+                "{\"op\":\"occupancy\",\"room\":2,\"count\":2}",
+                "",
+                "cancel,missing",
+                "reserve,1,2",
+                STR."book,b4,1,dave@example.com,Dave,\{tomorrow}T12:00,60,50");
+        StringWriter output = new StringWriter();
+
+        BatchStats stats = processor.run(new BufferedReader(new StringReader(input)), output);
+
+        String[] lines = output.toString().split("\n");
+        assertEquals(9, lines.length);
+        assertTrue(lines[0].startsWith("2,OK,"));
+        assertTrue(lines[1].startsWith("3,OK,"));
+        assertTrue(lines[2], lines[2].startsWith("4,FAILED,BookingConflictException"));
+        assertEquals("5,OK,", lines[3]);
+        // the cancel on line 5 freed the slot before line 6 ran
+        assertTrue(lines[4].startsWith("6,OK,"));
+        assertEquals("7,OK,", lines[5]);
+        assertEquals("9,FAILED,booking not found", lines[6]);
+        assertEquals("10,INVALID,unknown op 'reserve'", lines[7]);
+        assertTrue(lines[8], lines[8].startsWith("11,FAILED,CapacityExceededException"));
+
+        assertEquals(9, stats.getLines());
+        assertEquals(5, stats.getSucceeded());
+        assertEquals(3, stats.getFailed());
+        assertEquals(1, stats.getInvalid());
+        assertEquals(2, processor.getManager().getOccupancy(2));
+        assertEquals(1, processor.getManager().getBookingsForRoom(1).size());
+    }
+
+    public void testParserReportsMalformedLinesInsteadOfThrowing() {
+        BatchLineParser parser = new BatchLineParser();
+
+        assertEquals(new BatchCommand.Occupancy(3, 4), parser.parse("occupancy, 3, 4"));
+        assertEquals(new BatchCommand.Cancel("x y"), parser.parse("{ \"op\" : \"cancel\", \"ref\" : \"x\\u0020y\" }"));
+        assertTrue(parser.parse("occupancy,3") instanceof BatchCommand.Invalid);
+        assertTrue(parser.parse("occupancy,three,4") instanceof BatchCommand.Invalid);
+        assertTrue(parser.parse("book,b,1,u,U,tomorrow,60") instanceof BatchCommand.Invalid);
+        assertTrue(parser.parse("{\"op\":\"book\",\"ref\":\"b\"}") instanceof BatchCommand.Invalid);
+        assertTrue(parser.parse("{\"op\":\"cancel\",\"ref\":\"b\"") instanceof BatchCommand.Invalid);
+    }
+
+    public void testFailedOutputEndsTheRunWithAnError() throws Exception {
+        // far more chunks than the stage queues hold, so a stalled writer would block every stage
+        StringBuilder input = new StringBuilder("configure,4,10\n");
+        for (int i = 0; i < 40 * BatchProcessor.CHUNK_LINES; i++) {
+            input.append(i % 2 == 0 ? "occupancy,1,2\n" : "reserve,1,2\n");
+        }
+        Writer brokenPipe = new Writer() {
+            private int writes;
+
+            @Override
+            public void write(char[] buffer, int offset, int length) throws IOException {
+                if (++writes > 2) throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        CompletableFuture<BatchStats> run = CompletableFuture.supplyAsync(
+                () -> processor.run(new BufferedReader(new StringReader(input.toString())), brokenPipe));
+        try {
+            run.get(30, TimeUnit.SECONDS);
+            fail("expected the write failure to be reported");
+        } catch (ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof UncheckedIOException);
+            assertEquals("Broken pipe", expected.getCause().getCause().getMessage());
+        }
+    }
+
+    public void testConfigureWaitsForEarlierCommands() {
+        StringBuilder input = new StringBuilder("configure,4,10\n");
+        for (int i = 0; i < 2 * BatchProcessor.CHUNK_LINES; i++) {
+            input.append(STR."book,b\{i},\{1 + i % 4},u\{i}@example.com,U,\{tomorrow}T09:00,30\n");
+        }
+        // shrinking to one room after the bookings must not fail any of them
+        input.append("configure,1,10\n");
+        StringWriter output = new StringWriter();
+
+        BatchStats stats = processor.run(new BufferedReader(new StringReader(input.toString())), output);
+
+        // one booking per room wins the 9:00 slot, the rest conflict
+        assertEquals(2L * BatchProcessor.CHUNK_LINES + 2, stats.getLines());
+        assertEquals(4 + 2, stats.getSucceeded());
+        assertTrue(output.toString().endsWith(STR."\{2 * BatchProcessor.CHUNK_LINES + 2},OK,1 rooms\n"));
+    }
+}
@@ -0,0 +1,64 @@
+package com.smartoffice.bench;
+
+import ch.qos.logback.classic.Level;
+import com.smartoffice.config.OfficeConfiguration;
+import com.smartoffice.event.OverflowPolicy;
+import com.smartoffice.manager.BookingManager;
+import com.smartoffice.model.Booking;
+import com.smartoffice.model.User;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * bookRoom + cancelBooking latency with 0, 1 and 4 event subscribers (one of them stalled, so
+ * its ring stays full and every publish hits the overflow path).
+ * Run: mvn test-compile && java --enable-preview -cp target/classes:target/test-classes:$(cat cp.txt) \
+ *      com.smartoffice.bench.BookingEventBenchmark
+ * (cp.txt from: mvn dependency:build-classpath -Dmdep.outputFile=cp.txt)
+ */
+public class BookingEventBenchmark {
+    private static final int ROOMS = 64;
+    private static final int OPS = 200_000;
+
+    public static void main(String[] args) {
+        // console logging would dominate the measurement
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        OfficeConfiguration.getInstance(ROOMS, 10);
+
+        for (int subscribers : new int[]{0, 1, 4, 0, 1, 4}) {
+            BookingManager manager = new BookingManager(Duration.ofMinutes(5), 1);
+            for (int s = 0; s < subscribers; s++) {
+                boolean stalled = s == subscribers - 1 && subscribers > 1;
+                manager.getEventBus().subscribe(STR."bench-\{s}", event -> {
+                    if (stalled) LockSupport.parkNanos(10_000_000L);
+                }, 1024, s % 2 == 0 ? OverflowPolicy.DROP_OLDEST : OverflowPolicy.DROP_NEWEST);
+            }
+            long[] samples = run(manager);
+            Arrays.sort(samples);
+            System.out.printf("subscribers=%d: p50=%d ns, p99=%d ns, mean=%.0f ns (book + cancel)%n", subscribers,
+                    samples[samples.length / 2], samples[(int) (samples.length * 0.99)],
+                    Arrays.stream(samples).average().orElse(0));
+            manager.shutdownNow();
+        }
+    }
+
+    private static long[] run(BookingManager manager) {
+        User user = new User("bench@example.com", "Bench");
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        long[] samples = new long[OPS];
+        for (int i = 0; i < OPS; i++) {
+            Booking booking = new Booking(1 + i % ROOMS, user, base.plusMinutes(i % 1000), 30);
+            long start = System.nanoTime();
+            manager.bookRoom(booking);
+            manager.cancelBooking(booking.getBookingId());
+            samples[i] = System.nanoTime() - start;
+        }
+        return samples;
+    }
+
+    private BookingEventBenchmark() {}
+}
@@ -0,0 +1,84 @@
+package com.smartoffice.bench;
+
+import com.smartoffice.config.OfficeConfiguration;
+import com.smartoffice.manager.BookingManager;
+import com.smartoffice.model.Booking;
+import com.smartoffice.model.User;
+import com.smartoffice.util.LoggerUtil;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Latency of BookingManager.bookRoom under three logging setups: INFO through a synchronous
+ * ConsoleAppender, INFO through AsyncBatchingAppender (the logback.xml default), and INFO off.
+ * Every booking logs one INFO line; one in CONFLICT_EVERY bookings conflicts and logs a WARN.
+ *
+ * Log lines go to stdout and results to stderr, so redirect stdout to see the numbers:
+ * Run: mvn test-compile && java --enable-preview -cp target/classes:target/test-classes:$(cat cp.txt) \
+ *      com.smartoffice.bench.BookingLoggingBenchmark > /tmp/booking.log
+ * (or > /dev/null; a real terminal makes the synchronous case slower still)
+ */
+public class BookingLoggingBenchmark {
+    private static final int ROOMS = 500;
+    private static final int BOOKINGS = 100_000;
+    private static final int CONFLICT_EVERY = 20;
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) {
+        int[] capacities = new int[ROOMS];
+        Arrays.fill(capacities, 10);
+        OfficeConfiguration.getInstance(ROOMS, 10).reload(capacities);
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.err.printf("--- round %d of %d (round 1 is warmup) ---%n", round, ROUNDS);
+            LoggerUtil.configureConsole(false);
+            LoggerUtil.setRootLevel("INFO");
+            run("INFO, sync console");
+
+            LoggerUtil.configureConsole(true);
+            run("INFO, async batching");
+
+            LoggerUtil.setRootLevel("WARN");
+            run("INFO off");
+        }
+        LoggerUtil.configureConsole(true);
+    }
+
+    private static void run(String label) {
+        BookingManager manager = new BookingManager(Duration.ofMinutes(5), 1);
+        User user = new User("bench@example.com", "Bench");
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+        Booking[] bookings = new Booking[BOOKINGS];
+        for (int i = 0; i < BOOKINGS; i++) {
+            int slot = i / ROOMS;
+            // every CONFLICT_EVERY-th booking repeats the previous booking's slot in its room
+            if (i % CONFLICT_EVERY == CONFLICT_EVERY - 1 && slot > 0) slot--;
+            bookings[i] = new Booking(1 + i % ROOMS, user, base.plusMinutes(30L * slot), 30, 2);
+        }
+
+        long[] nanos = new long[BOOKINGS];
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long begin = System.nanoTime();
+        for (int i = 0; i < BOOKINGS; i++) {
+            long t0 = System.nanoTime();
+            try {
+                manager.bookRoom(bookings[i]);
+            } catch (RuntimeException conflict) {
+                // expected for the repeated slots
+            }
+            nanos[i] = System.nanoTime() - t0;
+        }
+        long elapsed = System.nanoTime() - begin;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        manager.shutdownNow();
+
+        Arrays.sort(nanos);
+        System.err.printf("%-22s %,8.0f bookings/s | p50 %6.2f us  p99 %7.2f us  p99.9 %8.2f us | %,6d bytes/booking on the caller%n",
+                label, BOOKINGS * 1e9 / elapsed, nanos[BOOKINGS / 2] / 1e3, nanos[(int) (BOOKINGS * 0.99)] / 1e3,
+                nanos[(int) (BOOKINGS * 0.999)] / 1e3, allocated / BOOKINGS);
+    }
+}
@@ -0,0 +1,45 @@
+package com.smartoffice.bench;
+
+import com.smartoffice.observer.DeviceController;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+/**
+ * Simulates 10k rooms reporting at 10 Hz into one DeviceController and times tick() on one thread.
+ * Run: mvn test-compile && java --enable-preview -cp target/classes:target/test-classes:$(cat cp.txt) \
+ *      com.smartoffice.bench.DeviceControllerBenchmark
+ * (cp.txt from: mvn dependency:build-classpath -Dmdep.outputFile=cp.txt)
+ */
+public class DeviceControllerBenchmark {
+    private static final int ROOMS = 10_000;
+    private static final int SECONDS = 30;
+    private static final int HZ = 10;
+
+    public static void main(String[] args) {
+        DeviceController controller = new DeviceController(ROOMS, new DeviceController.Settings(
+                3, 1, Duration.ofSeconds(2), Duration.ofSeconds(2)));
+        long[] switched = {0};
+        controller.addActuator(batch -> switched[0] += batch.size());
+
+        SplittableRandom random = new SplittableRandom(42);
+        long tickNanos = 1_000_000_000L / HZ;
+        long busyNanos = 0;
+        long simulatedNow = 0;
+        for (int t = 0; t < SECONDS * HZ; t++) {
+            long start = System.nanoTime();
+            for (int room = 1; room <= ROOMS; room++) {
+                controller.update(room, random.nextInt(6));
+            }
+            controller.tick(simulatedNow);
+            busyNanos += System.nanoTime() - start;
+            simulatedNow += tickNanos;
+        }
+
+        int ticks = SECONDS * HZ;
+        System.out.printf("%d rooms @ %d Hz: %.3f ms per tick (updates + evaluation), %.1f%% of one core, %d switches%n",
+                ROOMS, HZ, busyNanos / 1e6 / ticks, 100.0 * busyNanos / (ticks * (double) tickNanos), switched[0]);
+    }
+
+    private DeviceControllerBenchmark() {}
+}
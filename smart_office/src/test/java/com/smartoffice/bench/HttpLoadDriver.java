@@ -0,0 +1,185 @@
+package com.smartoffice.bench;
+
+import ch.qos.logback.classic.Level;
+import com.smartoffice.command.CommandInvoker;
+import com.smartoffice.config.OfficeConfiguration;
+import com.smartoffice.http.BookingHttpServer;
+import com.smartoffice.manager.BookingManager;
+import com.smartoffice.observer.OccupancySensor;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Closed-loop load test for BookingHttpServer: CLIENTS virtual threads each send a request, wait
+ * for the response, and repeat until the run ends. Mix: 50% book, 10% cancel of an own booking,
+ * 20% room range query, 10% free-room search, 10% occupancy update.
+ *
+ * With no URL argument an in-process server on an ephemeral port is started, so client and
+ * server share the machine; give a base URL (e.g. http://host:8080) to load a separate
+ * `Main --http` process instead.
+ * Run: mvn test-compile && java --enable-preview -cp target/classes:target/test-classes:$(cat cp.txt) \
+ *      com.smartoffice.bench.HttpLoadDriver [baseUrl] [clients] [seconds]
+ */
+public class HttpLoadDriver {
+    private static final int ROOMS = 64;
+    private static final int WARMUP_SECONDS = 3;
+
+    public static void main(String[] args) throws Exception {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        boolean external = args.length > 0 && args[0].startsWith("http");
+        int clients = args.length > (external ? 1 : 0) ? Integer.parseInt(args[external ? 1 : 0]) : 64;
+        int seconds = args.length > (external ? 2 : 1) ? Integer.parseInt(args[external ? 2 : 1]) : 10;
+
+        BookingManager manager = null;
+        CommandInvoker invoker = null;
+        BookingHttpServer server = null;
+        String baseUrl;
+        if (external) {
+            baseUrl = args[0].replaceAll("/+$", "");
+        } else {
+            int[] capacities = new int[ROOMS];
+            Arrays.fill(capacities, 10);
+            OfficeConfiguration.getInstance(ROOMS, 10).reload(capacities);
+            manager = new BookingManager(Duration.ofMinutes(5), 2);
+            invoker = new CommandInvoker();
+            server = new BookingHttpServer(manager, new OccupancySensor(manager), invoker, 0);
+            server.start();
+            baseUrl = STR."http://localhost:\{server.getPort()}";
+        }
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        System.out.printf("%d clients against %s%n", clients, baseUrl);
+        run(client, baseUrl, clients, WARMUP_SECONDS, "warmup");
+        run(client, baseUrl, clients, seconds, "measured");
+
+        if (server != null) {
+            server.close();
+            invoker.close();
+            manager.shutdownNow();
+        }
+    }
+
+    private static void run(HttpClient client, String baseUrl, int clients, int seconds, String label) throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        long[][] latencies = new long[clients][];
+        int[] counts = new int[clients];
+        AtomicIntegerArray statuses = new AtomicIntegerArray(6);
+        long begin = System.nanoTime();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int id = c;
+                pool.submit(() -> {
+                    long[] samples = new long[1 << 14];
+                    int n = 0;
+                    Client session = new Client(client, baseUrl, id);
+                    while (System.nanoTime() < deadline) {
+                        long t0 = System.nanoTime();
+                        int status = session.next();
+                        long elapsed = System.nanoTime() - t0;
+                        if (n == samples.length) samples = Arrays.copyOf(samples, n * 2);
+                        samples[n++] = elapsed;
+                        statuses.incrementAndGet(Math.min(status / 100, 5));
+                    }
+                    latencies[id] = samples;
+                    counts[id] = n;
+                    return null;
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - begin;
+
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int pos = 0;
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(latencies[c], 0, all, pos, counts[c]);
+            pos += counts[c];
+        }
+        Arrays.sort(all);
+        System.out.printf("%-8s %,d requests in %.1f s = %,.0f req/s | p50 %.2f ms p99 %.2f ms max %.2f ms"
+                        + " | 2xx %d 4xx %d 5xx/io %d%n",
+                label, total, elapsed / 1e9, total * 1e9 / elapsed, percentile(all, 0.50), percentile(all, 0.99),
+                all.length == 0 ? 0 : all[all.length - 1] / 1e6, statuses.get(2), statuses.get(4),
+                statuses.get(5) + statuses.get(0));
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted.length == 0 ? 0 : sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] / 1e6;
+    }
+
+    /**
+     * One simulated client: remembers its last booking so it can cancel it.
+     */
+    private static final class Client {
+        private final HttpClient http;
+        private final String baseUrl;
+        private final String user;
+        private final LocalDate firstDay = LocalDate.now().plusDays(1);
+        private String lastBookingId;
+
+        Client(HttpClient http, String baseUrl, int id) {
+            this.http = http;
+            this.baseUrl = baseUrl;
+            this.user = STR."load\{id}@example.com";
+        }
+
+        /**
+         * Send one request; returns its status, or 0 on an I/O failure.
+         */
+        int next() {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+            int room = 1 + rnd.nextInt(ROOMS);
+            // a year of quarter-hour slots, so the conflict rate stays moderate
+            LocalDateTime start = firstDay.plusDays(rnd.nextInt(365)).atTime(8, 0).plusMinutes(15L * rnd.nextInt(40));
+            int pick = rnd.nextInt(100);
+            try {
+                if (pick < 50) {
+                    HttpResponse<String> response = send("POST", "/bookings",
+                            STR."{\"room\":\{room},\"user\":\"\{user}\",\"start\":\"\{start}\",\"duration\":30,\"attendees\":\{1 + rnd.nextInt(10)}}");
+                    if (response.statusCode() == 201) {
+                        String body = response.body();
+                        int from = body.indexOf("\"id\":\"") + 6;
+                        lastBookingId = body.substring(from, body.indexOf('"', from));
+                    }
+                    return response.statusCode();
+                }
+                if (pick < 60 && lastBookingId != null) {
+                    String id = lastBookingId;
+                    lastBookingId = null;
+                    return send("DELETE", STR."/bookings/\{id}", null).statusCode();
+                }
+                if (pick < 80) {
+                    return send("GET", STR."/rooms/\{room}/bookings?from=\{start.toLocalDate().atStartOfDay()}&to=\{start.toLocalDate().plusDays(1).atStartOfDay()}", null).statusCode();
+                }
+                if (pick < 90) {
+                    return send("GET", STR."/rooms/free?attendees=\{1 + rnd.nextInt(10)}&from=\{start}&to=\{start.plusMinutes(30)}", null).statusCode();
+                }
+                return send("PUT", STR."/rooms/\{room}/occupancy", STR."{\"count\":\{rnd.nextInt(10)}}").statusCode();
+            } catch (Exception e) {
+                return 0;
+            }
+        }
+
+        private HttpResponse<String> send(String method, String path, String body) throws Exception {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            return http.send(request, HttpResponse.BodyHandlers.ofString());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.smartoffice.bench;
+
+import ch.qos.logback.classic.Level;
+import com.smartoffice.command.AddOccupantCommand;
+import com.smartoffice.command.BookRoomCommand;
+import com.smartoffice.command.CancelRoomCommand;
+import com.smartoffice.command.CommandHistory;
+import com.smartoffice.command.CommandInvoker;
+import com.smartoffice.command.CommandJournal;
+import com.smartoffice.command.JournalReplayer;
+import com.smartoffice.config.OfficeConfiguration;
+import com.smartoffice.manager.BookingManager;
+import com.smartoffice.model.Booking;
+import com.smartoffice.model.User;
+import com.smartoffice.observer.OccupancySensor;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+/**
+ * Records a synthetic session (book / cancel / occupancy mix over many rooms) into a
+ * CommandJournal, then replays it as fast as possible against a fresh BookingManager.
+ * Run: mvn test-compile && java --enable-preview -cp target/classes:target/test-classes:$(cat cp.txt) \
+ *      com.smartoffice.bench.JournalReplayBenchmark
+ */
+public class JournalReplayBenchmark {
+    private static final int ROOMS = 256;
+    private static final int COMMANDS = 200_000;
+
+    public static void main(String[] args) throws Exception {
+        // console logging would dominate the measurement
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        OfficeConfiguration config = OfficeConfiguration.getInstance(ROOMS, 10);
+        Path journalFile = Files.createTempFile("bench", ".journal");
+
+        BookingManager recorded = new BookingManager(Duration.ofMinutes(5), 1);
+        OccupancySensor sensor = new OccupancySensor(recorded);
+        Random random = new Random(42);
+        User user = new User("bench@example.com", "Bench");
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withSecond(0).withNano(0);
+        List<Booking> booked = new ArrayList<>();
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        long recordStart = System.nanoTime();
+        try (CommandInvoker invoker = new CommandInvoker(Executors.newVirtualThreadPerTaskExecutor(),
+                new CommandHistory(CommandHistory.DEFAULT_CAPACITY), CommandJournal.create(journalFile, config.snapshot()))) {
+            for (int i = 0; i < COMMANDS; i++) {
+                int kind = random.nextInt(10);
+                int roomId = 1 + random.nextInt(ROOMS);
+                if (kind < 5 || booked.isEmpty()) {
+                    Booking booking = new Booking(roomId, user, base.plusMinutes(30L * random.nextInt(2_000)), 30);
+                    booked.add(booking);
+                    pending.add(invoker.submit(new BookRoomCommand(recorded, booking)));
+                } else if (kind < 8) {
+                    Booking booking = booked.remove(booked.size() - 1);
+                    pending.add(invoker.submit(new CancelRoomCommand(recorded, booking.getBookingId(), booking.getRoomId())));
+                } else {
+                    pending.add(invoker.submit(new AddOccupantCommand(sensor, roomId, random.nextInt(4))));
+                }
+            }
+            for (CompletableFuture<Void> future : pending) future.handle((ignored, error) -> null).join();
+        } finally {
+            recorded.shutdownNow();
+        }
+        long recordMillis = (System.nanoTime() - recordStart) / 1_000_000;
+        long bytes = Files.size(journalFile);
+        System.out.printf("recorded %d commands in %d ms; journal %d bytes (%.1f bytes/command)%n",
+                COMMANDS, recordMillis, bytes, bytes / (double) COMMANDS);
+
+        CommandJournal.Recording recording = CommandJournal.read(journalFile);
+        for (int round = 0; round < 3; round++) {
+            BookingManager replayed = new BookingManager(Duration.ofMinutes(5), 1);
+            try {
+                JournalReplayer.Report report = new JournalReplayer(replayed, new OccupancySensor(replayed), false)
+                        .replay(recording);
+                System.out.println(STR."replay \{round}: \{report}");
+            } finally {
+                replayed.shutdownNow();
+            }
+        }
+        Files.delete(journalFile);
+    }
+}
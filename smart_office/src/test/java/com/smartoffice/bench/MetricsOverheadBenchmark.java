@@ -0,0 +1,72 @@
+package com.smartoffice.bench;
+
+import com.smartoffice.util.LatencyHistogram;
+import com.smartoffice.util.LatencyTimer;
+import com.smartoffice.util.MetricsRegistry;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cost of the instrumentation BookingManager adds per operation: one LatencyTimer start/stop
+ * pair plus one outcome counter increment, against a 50 ns budget. Also shows what timing every
+ * call (sampleEvery 1) and a bare System.nanoTime() cost on this machine, which is why the
+ * default timer samples.
+ *
+ * Run: mvn test-compile && java --enable-preview -cp target/classes:target/test-classes:$(cat cp.txt) \
+ *      com.smartoffice.bench.MetricsOverheadBenchmark
+ */
+public class MetricsOverheadBenchmark {
+    private static final int OPS = 20_000_000;
+    private static final int ROUNDS = 3;
+    private static final int THREADS = 4;
+
+    private static volatile long sink;
+
+    public static void main(String[] args) throws InterruptedException {
+        MetricsRegistry metrics = new MetricsRegistry();
+        LatencyTimer sampled = metrics.timer("sampled");
+        LatencyTimer everyCall = metrics.timer("everyCall", 1);
+        LongAdder counter = metrics.counter("outcome");
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.out.printf("--- round %d of %d (round 1 is warmup) ---%n", round, ROUNDS);
+            report("System.nanoTime()", 1, MetricsOverheadBenchmark::nanoTimeOnly);
+            report("timer 1-in-8 + counter", 1, () -> timed(sampled, counter));
+            report("timer every call + counter", 1, () -> timed(everyCall, counter));
+            report("timer 1-in-8 + counter, " + THREADS + " threads", THREADS, () -> timed(sampled, counter));
+        }
+        LatencyHistogram.Snapshot s = sampled.snapshot();
+        System.out.printf("sampled %,d of %,d ops; p50 %d ns, p99 %d ns (an empty timed section)%n",
+                s.count(), sampled.getCount(), s.p50Nanos(), s.p99Nanos());
+    }
+
+    private static void nanoTimeOnly() {
+        long acc = 0;
+        for (int i = 0; i < OPS; i++) acc += System.nanoTime();
+        sink = acc;
+    }
+
+    private static void timed(LatencyTimer timer, LongAdder counter) {
+        for (int i = 0; i < OPS; i++) {
+            long start = timer.start();
+            counter.increment();
+            timer.stop(start);
+        }
+    }
+
+    private static void report(String label, int threads, Runnable body) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(threads);
+        long begin = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            Thread thread = new Thread(() -> {
+                body.run();
+                done.countDown();
+            });
+            thread.start();
+        }
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+        System.out.printf("%-36s %6.1f ns/op%n", label, (double) elapsed / ((long) OPS * threads));
+    }
+}
@@ -0,0 +1,69 @@
+package com.smartoffice.bench;
+
+import com.smartoffice.config.OfficeConfiguration;
+import com.smartoffice.manager.BookingManager;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures BookingManager per-room memory and updateOccupancy throughput.
+ * Run: mvn test-compile && java --enable-preview -cp target/classes:target/test-classes:$(cat cp.txt) \
+ *      com.smartoffice.bench.OccupancyTableBenchmark [rooms] [threads]
+ * (cp.txt from: mvn dependency:build-classpath -Dmdep.outputFile=cp.txt)
+ */
+public class OccupancyTableBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int rooms = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        OfficeConfiguration.getInstance(rooms, 10);
+
+        long before = usedHeap();
+        BookingManager manager = new BookingManager(Duration.ofMinutes(5), 1);
+        long after = usedHeap();
+        System.out.printf("rooms=%d: %.1f bytes per room%n", rooms, (after - before) / (double) rooms);
+
+        run(manager, rooms, threads, 2_000);    // warm-up
+        for (int i = 0; i < 3; i++) {
+            double ops = run(manager, rooms, threads, 3_000);
+            System.out.printf("updateOccupancy, %d threads: %.2f M ops/s%n", threads, ops / 1e6);
+        }
+        manager.shutdownNow();
+    }
+
+    private static double run(BookingManager manager, int rooms, int threads, long millis) throws InterruptedException {
+        LongAdder ops = new LongAdder();
+        long deadline = System.nanoTime() + millis * 1_000_000L;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            long seed = t;
+            workers[t] = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                long done = 0;
+                while (System.nanoTime() < deadline) {
+                    for (int i = 0; i < 1024; i++) {
+                        manager.updateOccupancy(1 + random.nextInt(rooms), random.nextInt(4));
+                    }
+                    done += 1024;
+                }
+                ops.add(done);
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) worker.join();
+        return ops.sum() * 1000.0 / millis;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private OccupancyTableBenchmark() {}
+}
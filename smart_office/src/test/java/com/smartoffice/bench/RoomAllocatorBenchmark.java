@@ -0,0 +1,63 @@
+package com.smartoffice.bench;
+
+import com.smartoffice.config.OfficeConfiguration;
+import com.smartoffice.manager.BookingManager;
+import com.smartoffice.model.Booking;
+import com.smartoffice.model.User;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Times BookingManager.findSmallestFreeRoom on 5k rooms with mixed capacities, in two layouts:
+ * 60% of the rooms with one booking, and every room with bookings (two per room), so no room is
+ * idle and every answer depends on the interval.
+ * Run: mvn test-compile && java --enable-preview -cp target/classes:target/test-classes:$(cat cp.txt) \
+ *      com.smartoffice.bench.RoomAllocatorBenchmark
+ * (cp.txt from: mvn dependency:build-classpath -Dmdep.outputFile=cp.txt)
+ */
+public class RoomAllocatorBenchmark {
+    private static final int ROOMS = 5_000;
+    private static final int QUERIES = 200_000;
+
+    public static void main(String[] args) {
+        SplittableRandom random = new SplittableRandom(7);
+        int[] capacities = new int[ROOMS];
+        for (int i = 0; i < ROOMS; i++) capacities[i] = 2 + random.nextInt(19);
+        OfficeConfiguration.getInstance(ROOMS, 10).reload(capacities);
+
+        run("60% of rooms booked", random, 6, 1);
+        run("every room booked", random, 10, 2);
+    }
+
+    // tenths: share of rooms with bookings; perRoom: bookings in each of those rooms, 9:00 to 13:00
+    private static void run(String name, SplittableRandom random, int tenths, int perRoom) {
+        BookingManager manager = new BookingManager(Duration.ofMinutes(5), 1);
+        User user = new User("bench@example.com", "Bench");
+        LocalDateTime nine = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        for (int roomId = 1; roomId <= ROOMS; roomId++) {
+            if (random.nextInt(10) >= tenths) continue;
+            // slots 0-3 and 4-7 can't overlap, so a room's bookings never conflict
+            for (int k = 0; k < perRoom; k++) {
+                int slot = perRoom == 1 ? random.nextInt(8) : 4 * k + random.nextInt(3);
+                manager.bookRoom(new Booking(roomId, user, nine.plusMinutes(30L * slot), 60, 1));
+            }
+        }
+
+        System.out.println(name + ":");
+        for (int round = 0; round < 4; round++) {
+            long found = 0;
+            long start = System.nanoTime();
+            for (int q = 0; q < QUERIES; q++) {
+                LocalDateTime from = nine.plusMinutes(30L * random.nextInt(8));
+                if (manager.findSmallestFreeRoom(1 + random.nextInt(20), from, from.plusHours(1)) > 0) found++;
+            }
+            double micros = (System.nanoTime() - start) / 1e3 / QUERIES;
+            System.out.printf("  round %d: %.2f us per query (%d/%d found)%n", round, micros, found, QUERIES);
+        }
+        manager.shutdownNow();
+    }
+
+    private RoomAllocatorBenchmark() {}
+}
@@ -0,0 +1,157 @@
+package com.smartoffice.command;
+
+import com.smartoffice.config.OfficeConfiguration;
+import com.smartoffice.exception.ValidationException;
+import com.smartoffice.manager.BookingManager;
+import com.smartoffice.model.Booking;
+import com.smartoffice.model.User;
+import junit.framework.TestCase;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CommandInvokerTest extends TestCase {
+
+    private CommandInvoker invoker;
+
+    @Override
+    protected void setUp() {
+        invoker = new CommandInvoker();
+    }
+
+    @Override
+    protected void tearDown() {
+        invoker.close();
+    }
+
+    public void testCommandsForOneRoomRunSeriallyInSubmissionOrder() {
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            int seq = i;
+            futures.add(invoker.submit(room(1, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.yield();
+                order.add(seq);
+                running.decrementAndGet();
+            })));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+        assertEquals(1, maxRunning.get());
+        for (int i = 0; i < 50; i++) assertEquals(Integer.valueOf(i), order.get(i));
+        assertEquals(50, invoker.getHistorySize());
+    }
+
+    public void testCommandsForDifferentRoomsRunInParallel() throws Exception {
+        // each command waits for the other one, so this only completes if both run at once
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        Runnable meet = () -> {
+            bothStarted.countDown();
+            try {
+                if (!bothStarted.await(5, TimeUnit.SECONDS)) throw new IllegalStateException("not parallel");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        CompletableFuture<Void> first = invoker.submit(room(1, meet));
+        CompletableFuture<Void> second = invoker.submit(room(2, meet));
+
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+    }
+
+    public void testFailureIsRethrownAndDoesNotBreakTheRoomChain() {
+        AtomicInteger ran = new AtomicInteger();
+        try {
+            invoker.executeCommand(room(3, () -> {
+                throw new ValidationException("boom");
+            }));
+            fail("expected ValidationException");
+        } catch (ValidationException expected) {
+            assertEquals("boom", expected.getMessage());
+        }
+        invoker.executeCommand(room(3, ran::incrementAndGet));
+
+        assertEquals(1, ran.get());
+        // the failed command is not recorded
+        assertEquals(1, invoker.getHistorySize());
+    }
+
+    public void testCancelQueuedBehindItsBookRunsAfterIt() {
+        OfficeConfiguration.getInstance(2, 10).reload(10, 10);
+        BookingManager manager = new BookingManager(Duration.ofMinutes(5), 1);
+        try {
+            LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+            Booking booking = new Booking(2, new User("alice@example.com", "Alice"), start, 60);
+            // the booking doesn't exist yet when the cancel is built, so its room is given explicitly
+            CancelRoomCommand cancel = new CancelRoomCommand(manager, booking.getBookingId(), booking.getRoomId());
+            assertEquals(2, cancel.getRoomId());
+
+            CompletableFuture<Void> book = invoker.submit(new BookRoomCommand(manager, booking));
+            CompletableFuture<Void> cancelled = invoker.submit(cancel);
+            CompletableFuture.allOf(book, cancelled).join();
+
+            assertTrue(cancel.wasCancelled());
+            assertTrue(manager.findBookingById(booking.getBookingId()).isEmpty());
+        } finally {
+            manager.shutdownNow();
+        }
+    }
+
+    public void testHistoryKeepsNewestCommandsAndSpillsEvicted() throws Exception {
+        Path spillFile = Files.createTempFile("command-history", ".log");
+        try {
+            CommandHistory history = new CommandHistory(3, spillFile);
+            List<Command> commands = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                Command command = room(i + 1, () -> { });
+                commands.add(command);
+                history.add(command);
+            }
+            history.close();
+
+            assertEquals(3, history.size());
+            assertEquals(commands.subList(2, 5), history.snapshot());
+            assertEquals(2, history.getSpilledCount());
+            List<String> lines = Files.readAllLines(spillFile);
+            assertEquals(2, lines.size());
+            assertTrue(lines.get(0).endsWith(commands.get(0).toString()));
+
+            assertSame(commands.get(4), history.removeLast());
+            assertEquals(commands.subList(2, 4), history.snapshot());
+        } finally {
+            Files.deleteIfExists(spillFile);
+        }
+    }
+
+    private static Command room(int roomId, Runnable action) {
+        return new Command() {
+            @Override
+            public void execute() {
+                action.run();
+            }
+
+            @Override
+            public int getRoomId() {
+                return roomId;
+            }
+
+            @Override
+            public String toString() {
+                return "TestCommand{roomId=" + roomId + "}";
+            }
+        };
+    }
+}
@@ -0,0 +1,141 @@
+package com.smartoffice.command;
+
+import com.smartoffice.config.OfficeConfiguration;
+import com.smartoffice.exception.BookingConflictException;
+import com.smartoffice.manager.BookingManager;
+import com.smartoffice.model.Booking;
+import com.smartoffice.model.User;
+import com.smartoffice.model.WaitlistEntry;
+import com.smartoffice.observer.OccupancySensor;
+import junit.framework.TestCase;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+public class CommandJournalTest extends TestCase {
+    private static final User ALICE = new User("alice@example.com", "Alice");
+    private static final User BOB = new User("bob@example.com", "Bob");
+
+    private OfficeConfiguration config;
+    private Path journalFile;
+    private LocalDateTime ten;
+
+    @Override
+    protected void setUp() throws Exception {
+        config = OfficeConfiguration.getInstance(4, 10);
+        config.reload(10, 10, 10, 10);
+        journalFile = Files.createTempFile("commands", ".journal");
+        ten = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        Files.deleteIfExists(journalFile);
+    }
+
+    public void testRecordedSessionReplaysWithTheSameOutcomes() {
+        Booking kept = new Booking(2, ALICE, ten, 30);
+        BookingManager recorded = new BookingManager(Duration.ofMinutes(5), 1);
+        try (CommandInvoker invoker = new CommandInvoker(Executors.newVirtualThreadPerTaskExecutor(),
+                new CommandHistory(16), CommandJournal.create(journalFile, config.snapshot()))) {
+            Booking booking = new Booking(1, ALICE, ten, 60);
+            invoker.executeCommand(new BookRoomCommand(recorded, booking));
+            try {
+                invoker.executeCommand(new BookRoomCommand(recorded, new Booking(1, ALICE, ten.plusMinutes(30), 60)));
+                fail("expected BookingConflictException");
+            } catch (BookingConflictException expected) {
+                // journaled as failed
+            }
+            invoker.executeCommand(new CancelRoomCommand(recorded, booking.getBookingId()));
+            invoker.executeCommand(new AddOccupantCommand(new OccupancySensor(recorded), 3, 2));
+            invoker.executeCommand(new MacroCommand(recorded, List.of(
+                    new BookRoomCommand(recorded, kept),
+                    new BookRoomCommand(recorded, new Booking(4, ALICE, ten, 30)))));
+            invoker.undo();
+            invoker.redo();
+        } finally {
+            recorded.shutdownNow();
+        }
+
+        CommandJournal.Recording recording = CommandJournal.read(journalFile);
+        assertEquals(4, recording.roomCapacities().length);
+        List<CommandJournal.Entry> entries = recording.entries();
+        assertEquals(7, entries.size());
+        assertFalse(entries.get(1).succeeded());
+        CommandJournal.Op.Book first = (CommandJournal.Op.Book) entries.get(0).op();
+        assertEquals(ten, first.start());
+        assertEquals(ALICE.getUserId(), first.userId());
+        assertTrue(entries.get(4).op() instanceof CommandJournal.Op.Macro);
+        assertTrue(entries.get(5).op() instanceof CommandJournal.Op.Undo);
+
+        BookingManager replayed = new BookingManager(Duration.ofMinutes(5), 1);
+        try {
+            JournalReplayer.Report report = new JournalReplayer(replayed, new OccupancySensor(replayed), false)
+                    .replay(recording);
+            assertEquals(7, report.commands());
+            assertEquals(1, report.failed());
+            assertEquals(0, report.diverged());
+            assertTrue(replayed.getBookingsForRoom(1).isEmpty());
+            assertEquals(1, replayed.getBookingsForRoom(2).size());
+            assertEquals(1, replayed.getBookingsForRoom(4).size());
+            assertEquals(2, replayed.getOccupancy(3));
+            // bookings are re-created with new ids
+            assertFalse(kept.getBookingId().equals(replayed.getBookingsForRoom(2).get(0).getBookingId()));
+        } finally {
+            replayed.shutdownNow();
+        }
+    }
+
+    public void testAutoAllocatedAndWaitlistedBookingsReplay() {
+        // smallest rooms first: room 1 holds 2, room 2 holds 4
+        config.reload(2, 4, 10, 10);
+        WaitlistEntry waiting = new WaitlistEntry(1, BOB, ten, 60, 2, 0);
+        BookingManager recorded = new BookingManager(Duration.ofMinutes(5), 1);
+        try (CommandInvoker invoker = new CommandInvoker(Executors.newVirtualThreadPerTaskExecutor(),
+                new CommandHistory(16), CommandJournal.create(journalFile, config.snapshot()))) {
+            // as the shell books "room 0": every allocation attempt goes through the invoker
+            Booking held = recorded.bookSmallestFreeRoom(ALICE, ten, 60, 2,
+                    b -> invoker.executeCommand(new BookRoomCommand(recorded, b)));
+            assertEquals(1, held.getRoomId());
+
+            JoinWaitlistCommand join = new JoinWaitlistCommand(recorded, waiting);
+            invoker.executeCommand(join);
+            assertFalse(join.wasBooked());
+            // admits the waiting request, as a booking with the entry's id
+            invoker.executeCommand(new CancelRoomCommand(recorded, held.getBookingId()));
+            assertEquals(waiting.getEntryId(), recorded.getBookingsForRoom(1).get(0).getBookingId());
+
+            Booking moved = recorded.bookSmallestFreeRoom(ALICE, ten, 60, 2,
+                    b -> invoker.executeCommand(new BookRoomCommand(recorded, b)));
+            assertEquals(2, moved.getRoomId());
+            invoker.executeCommand(new CancelRoomCommand(recorded, waiting.getEntryId()));
+        } finally {
+            recorded.shutdownNow();
+        }
+
+        CommandJournal.Recording recording = CommandJournal.read(journalFile);
+        assertEquals(5, recording.entries().size());
+        CommandJournal.Op.JoinWaitlist joined = (CommandJournal.Op.JoinWaitlist) recording.entries().get(1).op();
+        assertEquals(waiting.getEntryId(), joined.entryId());
+        assertEquals(ten, joined.start());
+
+        BookingManager replayed = new BookingManager(Duration.ofMinutes(5), 1);
+        try {
+            JournalReplayer.Report report = new JournalReplayer(replayed, new OccupancySensor(replayed), false)
+                    .replay(recording);
+            assertEquals(5, report.commands());
+            assertEquals(0, report.failed());
+            assertEquals(0, report.diverged());
+            // the admitted booking was re-created under the replayed entry's id and cancelled again
+            assertTrue(replayed.getBookingsForRoom(1).isEmpty());
+            assertTrue(replayed.getWaitlist(1).isEmpty());
+            assertEquals(1, replayed.getBookingsForRoom(2).size());
+        } finally {
+            replayed.shutdownNow();
+        }
+    }
+}
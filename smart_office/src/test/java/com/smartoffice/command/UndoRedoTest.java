@@ -0,0 +1,111 @@
+package com.smartoffice.command;
+
+import com.smartoffice.config.OfficeConfiguration;
+import com.smartoffice.exception.BookingConflictException;
+import com.smartoffice.manager.BookingManager;
+import com.smartoffice.model.Booking;
+import com.smartoffice.model.User;
+import com.smartoffice.observer.OccupancySensor;
+import junit.framework.TestCase;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class UndoRedoTest extends TestCase {
+    private static final User ALICE = new User("alice@example.com", "Alice");
+    private static final User BOB = new User("bob@example.com", "Bob");
+
+    private BookingManager manager;
+    private CommandInvoker invoker;
+    private LocalDateTime ten;
+
+    @Override
+    protected void setUp() {
+        OfficeConfiguration.getInstance(4, 10).reload(10, 10, 10, 10);
+        manager = new BookingManager(Duration.ofMinutes(5), 1);
+        invoker = new CommandInvoker();
+        ten = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @Override
+    protected void tearDown() {
+        invoker.close();
+        manager.shutdownNow();
+    }
+
+    public void testBookingCanBeUndoneAndRedone() {
+        Booking booking = new Booking(1, ALICE, ten, 60);
+        invoker.executeCommand(new BookRoomCommand(manager, booking));
+
+        assertTrue(invoker.undo());
+        assertTrue(manager.findBookingById(booking.getBookingId()).isEmpty());
+        assertEquals(1, invoker.getRedoSize());
+
+        assertTrue(invoker.redo());
+        assertTrue(manager.findBookingById(booking.getBookingId()).isPresent());
+        assertEquals(1, invoker.getHistorySize());
+        assertFalse(invoker.redo());
+    }
+
+    public void testUndoingCancelRestoresBookingOnlyIfSlotIsStillFree() {
+        Booking booking = new Booking(1, ALICE, ten, 60);
+        manager.bookRoom(booking);
+        invoker.executeCommand(new CancelRoomCommand(manager, booking.getBookingId()));
+        assertTrue(invoker.undo());
+        assertEquals(booking, manager.findBookingById(booking.getBookingId()).orElseThrow());
+
+        invoker.executeCommand(new CancelRoomCommand(manager, booking.getBookingId()));
+        manager.bookRoom(new Booking(1, BOB, ten.plusMinutes(30), 60));
+        try {
+            invoker.undo();
+            fail("expected BookingConflictException");
+        } catch (BookingConflictException expected) {
+            // the cancel stays applied and in the history
+        }
+        assertTrue(manager.findBookingById(booking.getBookingId()).isEmpty());
+        assertEquals(1, invoker.getHistorySize());
+    }
+
+    public void testOccupancyUndoRestoresPreviousCount() {
+        OccupancySensor sensor = new OccupancySensor(manager);
+        invoker.executeCommand(new AddOccupantCommand(sensor, 2, 3));
+        invoker.executeCommand(new AddOccupantCommand(sensor, 2, 5));
+
+        invoker.undo();
+        assertEquals(3, manager.getOccupancy(2));
+        invoker.undo();
+        assertEquals(0, manager.getOccupancy(2));
+    }
+
+    public void testMacroAppliesAllOrNothing() {
+        manager.bookRoom(new Booking(3, BOB, ten, 60));
+        Booking first = new Booking(1, ALICE, ten, 60);
+        Booking second = new Booking(2, ALICE, ten, 60);
+        MacroCommand failing = new MacroCommand(manager, List.of(
+                new BookRoomCommand(manager, first),
+                new BookRoomCommand(manager, second),
+                new BookRoomCommand(manager, new Booking(3, ALICE, ten, 60))));
+        assertEquals(List.of(1, 2, 3), failing.getRoomIds());
+
+        try {
+            invoker.executeCommand(failing);
+            fail("expected BookingConflictException");
+        } catch (BookingConflictException expected) {
+            // rooms 1 and 2 were rolled back
+        }
+        assertTrue(manager.getBookingsForRoom(1).isEmpty());
+        assertTrue(manager.getBookingsForRoom(2).isEmpty());
+        assertEquals(0, invoker.getHistorySize());
+
+        MacroCommand macro = new MacroCommand(manager, List.of(
+                new BookRoomCommand(manager, first), new BookRoomCommand(manager, second)));
+        invoker.executeCommand(macro);
+        assertEquals(1, manager.getBookingsForRoom(1).size());
+        assertEquals(1, manager.getBookingsForRoom(2).size());
+
+        invoker.undo();
+        assertTrue(manager.getBookingsForRoom(1).isEmpty());
+        assertTrue(manager.getBookingsForRoom(2).isEmpty());
+    }
+}
@@ -0,0 +1,59 @@
+package com.smartoffice.config;
+
+import com.smartoffice.exception.ValidationException;
+import junit.framework.TestCase;
+
+import java.util.Map;
+
+public class ConfigSnapshotTest extends TestCase {
+    private OfficeConfiguration config;
+
+    @Override
+    protected void setUp() {
+        config = OfficeConfiguration.getInstance(4, 10);
+        config.reload(10, 10, 10, 10);
+    }
+
+    public void testSnapshotIsUnaffectedByLaterChanges() {
+        ConfigSnapshot before = config.snapshot();
+        config.setRoomCapacity(2, 6);
+        config.setTotalRooms(6);
+
+        assertEquals(4, before.getTotalRooms());
+        assertEquals(10, before.getRoomCapacity(2));
+        assertFalse(before.hasRoom(5));
+
+        ConfigSnapshot after = config.snapshot();
+        assertEquals(before.getVersion() + 2, after.getVersion());
+        assertEquals(6, after.getRoomCapacity(2));
+        assertEquals(10, after.getRoomCapacity(6));
+    }
+
+    public void testReloadReplacesLayoutAndNotifiesListeners() {
+        int[] change = new int[2];
+        ConfigurationListener listener = (oldTotal, newTotal) -> {
+            change[0] = oldTotal;
+            change[1] = newTotal;
+        };
+        config.addListener(listener);
+        try {
+            config.reload(2, 8, 12);
+        } finally {
+            config.removeListener(listener);
+        }
+
+        assertEquals(4, change[0]);
+        assertEquals(3, change[1]);
+        assertEquals(Map.of(1, 2, 2, 8, 3, 12), config.getAllRoomCapacities());
+    }
+
+    public void testInvalidReloadKeepsCurrentSnapshot() {
+        ConfigSnapshot current = config.snapshot();
+        try {
+            config.reload(5, 0);
+            fail("capacity 0 is invalid");
+        } catch (ValidationException expected) {
+        }
+        assertSame(current, config.snapshot());
+    }
+}
@@ -0,0 +1,111 @@
+package com.smartoffice.event;
+
+import com.smartoffice.model.Booking;
+import com.smartoffice.model.User;
+import junit.framework.TestCase;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class BookingEventBusTest extends TestCase {
+
+    private static BookingEvent occupancy(int count) {
+        return new BookingEvent.OccupancyChanged(1, count - 1, count, Instant.now());
+    }
+
+    public void testRingBufferKeepsEveryElementUnderContention() throws InterruptedException {
+        EventRingBuffer<Integer> ring = new EventRingBuffer<>(64);
+        int producers = 4;
+        int perProducer = 20_000;
+        Set<Integer> seen = Collections.synchronizedSet(new HashSet<>());
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ring.offer(base + i)) Thread.yield();
+                }
+            });
+            threads[p].start();
+        }
+        int received = 0;
+        while (received < producers * perProducer) {
+            Integer value = ring.poll();
+            if (value != null) {
+                assertTrue(seen.add(value));
+                received++;
+            } else {
+                Thread.yield();
+            }
+        }
+        for (Thread thread : threads) thread.join();
+        assertNull(ring.poll());
+    }
+
+    public void testSubscriberReceivesEventsInOrder() throws InterruptedException {
+        BookingEventBus bus = new BookingEventBus();
+        List<BookingEvent> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(3);
+        bus.subscribe("test", event -> {
+            received.add(event);
+            done.countDown();
+        }, 16, OverflowPolicy.DROP_NEWEST);
+
+        Booking booking = new Booking(1, new User("u@example.com", "U"), LocalDateTime.now().plusHours(1), 30);
+        BookingEvent created = new BookingEvent.BookingCreated(booking, Instant.now());
+        BookingEvent cancelled = new BookingEvent.BookingCancelled(booking, Instant.now());
+        BookingEvent occupied = occupancy(3);
+        bus.publish(created);
+        bus.publish(cancelled);
+        bus.publish(occupied);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(created, cancelled, occupied), received);
+        bus.shutdown();
+    }
+
+    public void testOverflowPoliciesNeverBlockThePublisher() throws InterruptedException {
+        BookingEventBus bus = new BookingEventBus();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch firstTaken = new CountDownLatch(2);
+        List<Integer> newest = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> oldest = Collections.synchronizedList(new ArrayList<>());
+        BookingEventBus.Subscription keepFirst = bus.subscribe("newest", event -> {
+            firstTaken.countDown();
+            await(release);
+            newest.add(((BookingEvent.OccupancyChanged) event).currentCount());
+        }, 4, OverflowPolicy.DROP_NEWEST);
+        BookingEventBus.Subscription keepLast = bus.subscribe("oldest", event -> {
+            firstTaken.countDown();
+            await(release);
+            oldest.add(((BookingEvent.OccupancyChanged) event).currentCount());
+        }, 4, OverflowPolicy.DROP_OLDEST);
+
+        bus.publish(occupancy(1));
+        assertTrue(firstTaken.await(5, TimeUnit.SECONDS));
+        // both dispatchers are stuck on event 1; rings hold 4 more
+        for (int count = 2; count <= 10; count++) bus.publish(occupancy(count));
+        release.countDown();
+        bus.shutdown();
+
+        assertEquals(List.of(1, 2, 3, 4, 5), newest);
+        assertEquals(List.of(1, 7, 8, 9, 10), oldest);
+        assertEquals(5, keepFirst.getDropped());
+        assertEquals(5, keepLast.getDropped());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
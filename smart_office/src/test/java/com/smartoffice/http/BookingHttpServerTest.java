@@ -0,0 +1,122 @@
+package com.smartoffice.http;
+
+import com.smartoffice.command.CommandInvoker;
+import com.smartoffice.config.OfficeConfiguration;
+import com.smartoffice.manager.BookingManager;
+import com.smartoffice.model.Booking;
+import com.smartoffice.model.User;
+import com.smartoffice.observer.OccupancySensor;
+import junit.framework.TestCase;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class BookingHttpServerTest extends TestCase {
+
+    private final String tomorrow = LocalDateTime.now().plusDays(1).toLocalDate().toString();
+    private BookingManager manager;
+    private CommandInvoker invoker;
+    private BookingHttpServer server;
+    private HttpClient client;
+
+    @Override
+    protected void setUp() throws Exception {
+        OfficeConfiguration.getInstance(4, 10).reload(4, 8, 10, 10);
+        manager = new BookingManager(Duration.ofMinutes(5), 1);
+        invoker = new CommandInvoker();
+        server = new BookingHttpServer(manager, new OccupancySensor(manager), invoker, 0);
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @Override
+    protected void tearDown() {
+        server.close();
+        invoker.close();
+        manager.shutdownNow();
+    }
+
+    public void testBookQueryAndCancel() throws Exception {
+        HttpResponse<String> created = send("POST", "/bookings",
+                STR."{\"room\":2,\"user\":\"alice@example.com\",\"name\":\"Alice\",\"start\":\"\{tomorrow}T10:00\",\"duration\":60,\"attendees\":3}");
+        assertEquals(201, created.statusCode());
+        String id = created.body().replaceAll(".*\"id\":\"([^\"]+)\".*", "$1");
+        assertEquals(STR."/bookings/\{id}", created.headers().firstValue("Location").orElse(null));
+
+        HttpResponse<String> conflict = send("POST", "/bookings",
+                STR."{\"room\":2,\"user\":\"bob@example.com\",\"start\":\"\{tomorrow}T10:30\",\"duration\":30}");
+        assertEquals(409, conflict.statusCode());
+
+        HttpResponse<String> range = send("GET", STR."/rooms/2/bookings?from=\{tomorrow}T00:00&to=\{tomorrow}T23:59", null);
+        assertEquals(200, range.statusCode());
+        assertTrue(range.body(), range.body().startsWith("[{\"id\":\"" + id + "\",\"room\":2,"));
+
+        assertEquals(200, send("GET", "/bookings/" + id, null).statusCode());
+        assertEquals(204, send("DELETE", "/bookings/" + id, null).statusCode());
+        assertEquals(404, send("DELETE", "/bookings/" + id, null).statusCode());
+        assertEquals("[]", send("GET", STR."/bookings?from=\{tomorrow}T00:00&to=\{tomorrow}T23:59", null).body());
+    }
+
+    public void testFreeRoomSearchAndOccupancy() throws Exception {
+        // the smallest room holding 6 people is room 2 (capacity 8)
+        HttpResponse<String> free = send("GET", STR."/rooms/free?attendees=6&from=\{tomorrow}T09:00&to=\{tomorrow}T10:00", null);
+        assertEquals("{\"room\":2,\"capacity\":8}", free.body());
+        HttpResponse<String> auto = send("POST", "/bookings",
+                STR."{\"user\":\"carol@example.com\",\"start\":\"\{tomorrow}T09:00\",\"duration\":60,\"attendees\":6}");
+        assertEquals(201, auto.statusCode());
+        assertTrue(auto.body(), auto.body().contains("\"room\":2,"));
+        assertEquals(404, send("GET", STR."/rooms/free?attendees=50&from=\{tomorrow}T09:00&to=\{tomorrow}T10:00", null).statusCode());
+
+        assertEquals(200, send("PUT", "/rooms/3/occupancy", "{\"count\":4}").statusCode());
+        assertEquals("{\"room\":3,\"occupancy\":4}", send("GET", "/rooms/3/occupancy", null).body());
+    }
+
+    public void testBadRequestsMapToClientErrors() throws Exception {
+        assertEquals(400, send("POST", "/bookings", "{\"room\":1}").statusCode());
+        assertEquals(400, send("POST", "/bookings", "not json").statusCode());
+        assertEquals(400, send("GET", "/bookings?from=yesterday&to=today", null).statusCode());
+        assertEquals(404, send("GET", "/rooms/99/occupancy", null).statusCode());
+        assertEquals(422, send("POST", "/bookings",
+                STR."{\"room\":1,\"user\":\"dave@example.com\",\"start\":\"\{tomorrow}T12:00\",\"duration\":60,\"attendees\":5}").statusCode());
+        assertEquals(405, send("PUT", "/bookings", "{}").statusCode());
+    }
+
+    public void testRoomRemovedWhileStreamingAbortsTheResponse() throws Exception {
+        // drops rooms 2..4 just as the range query reaches room 2, after the 200 has gone out
+        BookingManager shrinking = new BookingManager(Duration.ofMinutes(5), 1) {
+            @Override
+            public List<Booking> getBookingsForRoom(int roomId, LocalDateTime from, LocalDateTime to) {
+                if (roomId == 2) OfficeConfiguration.getInstance().reload(4);
+                return super.getBookingsForRoom(roomId, from, to);
+            }
+        };
+        shrinking.bookRoom(new Booking(1, new User("erin@example.com", "Erin"), LocalDateTime.parse(tomorrow + "T10:00"), 60));
+        server.close();
+        server = new BookingHttpServer(shrinking, new OccupancySensor(shrinking), invoker, 0);
+        server.start();
+        try {
+            send("GET", STR."/bookings?from=\{tomorrow}T00:00&to=\{tomorrow}T23:59", null);
+            fail("expected a truncated response, not a complete one");
+        } catch (IOException expected) {
+        }
+
+        // the server carries on
+        HttpResponse<String> range = send("GET", STR."/bookings?from=\{tomorrow}T00:00&to=\{tomorrow}T23:59", null);
+        assertEquals(200, range.statusCode());
+        assertTrue(range.body(), range.body().startsWith("[{") && range.body().endsWith("}]"));
+        shrinking.shutdownNow();
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(STR."http://localhost:\{server.getPort()}\{path}"))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
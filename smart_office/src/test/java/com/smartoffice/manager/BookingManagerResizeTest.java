@@ -0,0 +1,66 @@
+package com.smartoffice.manager;
+
+import com.smartoffice.config.OfficeConfiguration;
+import com.smartoffice.exception.InvalidRoomException;
+import com.smartoffice.model.Booking;
+import com.smartoffice.model.User;
+import junit.framework.TestCase;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+public class BookingManagerResizeTest extends TestCase {
+    private OfficeConfiguration config;
+    private BookingManager manager;
+
+    @Override
+    protected void setUp() {
+        config = OfficeConfiguration.getInstance(4, 10);
+        config.setTotalRooms(4);
+        manager = new BookingManager(Duration.ofMinutes(5), 1);
+    }
+
+    @Override
+    protected void tearDown() {
+        manager.shutdownNow();
+        config.setTotalRooms(4);
+    }
+
+    private static Booking booking(int roomId) {
+        return new Booking(roomId, new User("u@example.com", "User"), LocalDateTime.now().plusHours(1), 30);
+    }
+
+    public void testAddedRoomsAreUsable() {
+        int far = RoomStateTable.CHUNK_SIZE * 2 + 1;
+        config.setTotalRooms(far);
+
+        manager.bookRoom(booking(far));
+        manager.updateOccupancy(far, 3);
+
+        assertEquals(1, manager.getBookingsForRoom(far).size());
+        assertEquals(3, manager.getOccupancy(far));
+    }
+
+    public void testRemovedRoomsAreDrainedAndRejected() {
+        Booking kept = booking(2);
+        Booking dropped = booking(4);
+        manager.bookRoom(kept);
+        manager.bookRoom(dropped);
+        manager.updateOccupancy(4, 2);
+
+        config.setTotalRooms(3);
+
+        assertTrue(manager.findBookingById(kept.getBookingId()).isPresent());
+        assertFalse(manager.findBookingById(dropped.getBookingId()).isPresent());
+        try {
+            manager.bookRoom(booking(4));
+            fail("room 4 no longer exists");
+        } catch (InvalidRoomException expected) {
+        }
+
+        // re-added room starts empty
+        config.setTotalRooms(4);
+        assertEquals(0, manager.getBookingsForRoom(4).size());
+        assertEquals(0, manager.getOccupancy(4));
+    }
+}
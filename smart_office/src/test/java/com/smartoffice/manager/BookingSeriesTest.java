@@ -0,0 +1,79 @@
+package com.smartoffice.manager;
+
+import com.smartoffice.config.OfficeConfiguration;
+import com.smartoffice.exception.BookingConflictException;
+import com.smartoffice.model.Booking;
+import com.smartoffice.model.BookingSeries;
+import com.smartoffice.model.RecurrenceRule;
+import com.smartoffice.model.User;
+import junit.framework.TestCase;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+
+public class BookingSeriesTest extends TestCase {
+    private static final User USER = new User("u@example.com", "User");
+
+    private OfficeConfiguration config;
+    private BookingManager manager;
+    private LocalDateTime nextMonday;
+
+    @Override
+    protected void setUp() {
+        config = OfficeConfiguration.getInstance(4, 10);
+        config.reload(10, 10, 10, 10);
+        manager = new BookingManager(Duration.ofMinutes(5), 1);
+        nextMonday = LocalDateTime.now().plusDays(1).with(TemporalAdjusters.next(DayOfWeek.MONDAY))
+                .withHour(9).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @Override
+    protected void tearDown() {
+        manager.shutdownNow();
+    }
+
+    public void testSeriesIsExpandedOnlyForTheQueriedWindow() {
+        BookingSeries standup = new BookingSeries(1, USER, RecurrenceRule.weekly(nextMonday, 15, 1), 5);
+        manager.bookSeries(standup);
+
+        assertEquals(4, manager.getBookingsForRoom(1, nextMonday, nextMonday.plusWeeks(4)).size());
+        // a year of standups is still one stored series
+        assertEquals(0, manager.getBookingsForRoom(1).size());
+        assertTrue(manager.findSeriesById(standup.getSeriesId()).isPresent());
+    }
+
+    public void testSeriesConflictsWithBookingsAndSeries() {
+        manager.bookSeries(new BookingSeries(2, USER, RecurrenceRule.weekly(nextMonday, 30, 1), 2));
+
+        try {
+            manager.bookRoom(new Booking(2, USER, nextMonday.plusWeeks(10).plusMinutes(15), 30));
+            fail("overlaps the 11th occurrence");
+        } catch (BookingConflictException expected) {
+        }
+        manager.bookRoom(new Booking(2, USER, nextMonday.plusWeeks(10).plusMinutes(30), 30));
+
+        try {
+            manager.bookSeries(new BookingSeries(2, USER,
+                    RecurrenceRule.daily(nextMonday.plusDays(1).plusMinutes(20), 30, 3), 2));
+            fail("every third day hits a Monday sooner or later");
+        } catch (BookingConflictException expected) {
+        }
+        manager.bookSeries(new BookingSeries(2, USER,
+                RecurrenceRule.daily(nextMonday.plusDays(1), 60, 7), 2));
+    }
+
+    public void testCancelSeriesFreesTheRoom() {
+        BookingSeries series = new BookingSeries(3, USER, RecurrenceRule.daily(nextMonday, 60, 1), 2);
+        manager.bookSeries(series);
+        try {
+            manager.bookRoom(new Booking(3, USER, nextMonday.plusDays(3), 60));
+            fail("room 3 is taken every day");
+        } catch (BookingConflictException expected) {
+        }
+
+        assertTrue(manager.cancelSeries(series.getSeriesId()));
+        manager.bookRoom(new Booking(3, USER, nextMonday.plusDays(3), 60));
+    }
+}
@@ -0,0 +1,153 @@
+package com.smartoffice.manager;
+
+import com.smartoffice.config.OfficeConfiguration;
+import com.smartoffice.exception.BookingConflictException;
+import com.smartoffice.exception.CapacityExceededException;
+import com.smartoffice.model.Booking;
+import com.smartoffice.model.BookingSeries;
+import com.smartoffice.model.RecurrenceRule;
+import com.smartoffice.model.User;
+import junit.framework.TestCase;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+public class RoomAllocationTest extends TestCase {
+    private static final User USER = new User("u@example.com", "User");
+
+    private OfficeConfiguration config;
+    private BookingManager manager;
+    private LocalDateTime nine;
+
+    @Override
+    protected void setUp() {
+        config = OfficeConfiguration.getInstance(4, 10);
+        // rooms 1..4 hold 10, 4, 6, 4 people
+        config.reload(10, 4, 6, 4);
+        manager = new BookingManager(Duration.ofMinutes(5), 1);
+        nine = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @Override
+    protected void tearDown() {
+        manager.shutdownNow();
+        config.reload(10, 10, 10, 10);
+    }
+
+    public void testAdmissionChecksCapacity() {
+        try {
+            manager.bookRoom(new Booking(2, USER, nine, 30, 5));
+            fail("room 2 holds 4");
+        } catch (CapacityExceededException expected) {
+        }
+        manager.bookRoom(new Booking(2, USER, nine, 30, 4));
+    }
+
+    public void testSmallestFittingRoomIsChosen() {
+        assertEquals(2, manager.findSmallestFreeRoom(3, nine, nine.plusHours(1)));
+        assertEquals(3, manager.findSmallestFreeRoom(5, nine, nine.plusHours(1)));
+        assertEquals(-1, manager.findSmallestFreeRoom(11, nine, nine.plusHours(1)));
+    }
+
+    public void testBookedRoomsAreSkippedOnlyWhenTheyOverlap() {
+        manager.bookRoom(new Booking(2, USER, nine, 60, 2));
+        manager.bookRoom(new Booking(4, USER, nine.plusMinutes(30), 60, 2));
+
+        // both 4-seat rooms busy at 9:30 -> next bucket
+        assertEquals(3, manager.findSmallestFreeRoom(3, nine.plusMinutes(30), nine.plusMinutes(45)));
+        // room 2 is free again from 10:00, [from, to) is half-open
+        assertEquals(2, manager.findSmallestFreeRoom(3, nine.plusHours(1), nine.plusHours(2)));
+
+        Booking booked = manager.bookSmallestFreeRoom(USER, nine.plusMinutes(30), 15, 4);
+        assertEquals(3, booked.getRoomId());
+        assertEquals(4, booked.getAttendeeCount());
+    }
+
+    public void testCancelledRoomBecomesIdleAgain() {
+        Booking first = manager.bookSmallestFreeRoom(USER, nine, 30, 4);
+        Booking second = manager.bookSmallestFreeRoom(USER, nine, 30, 4);
+        assertEquals(2, first.getRoomId());
+        assertEquals(4, second.getRoomId());
+        manager.cancelBooking(first.getBookingId());
+        assertEquals(2, manager.findSmallestFreeRoom(4, nine, nine.plusMinutes(30)));
+    }
+
+    public void testCapacityChangesRebuildBuckets() {
+        config.setRoomCapacity(1, 3);
+        assertEquals(1, manager.findSmallestFreeRoom(3, nine, nine.plusHours(1)));
+        try {
+            manager.bookSmallestFreeRoom(USER, nine, 60, 10);
+            fail("no room holds 10 any more");
+        } catch (BookingConflictException expected) {
+        }
+    }
+
+    public void testBookingsSharingASliceAreCheckedExactly() {
+        // room 2 holds 9:00-9:05 and 9:05-9:10, room 4 holds 9:20-9:40: all inside 15-minute slices
+        Booking early = new Booking(2, USER, nine, 5, 2);
+        Booking late = new Booking(2, USER, nine.plusMinutes(5), 5, 2);
+        manager.bookRoom(early);
+        manager.bookRoom(late);
+        manager.bookRoom(new Booking(4, USER, nine.plusMinutes(20), 20, 2));
+
+        assertEquals(2, manager.findSmallestFreeRoom(3, nine.plusMinutes(10), nine.plusMinutes(20)));
+        assertEquals(3, manager.findSmallestFreeRoom(3, nine.plusMinutes(5), nine.plusMinutes(25)));
+
+        // the 9:00 slice stays marked for room 2 while one of its bookings is left
+        manager.cancelBooking(early.getBookingId());
+        assertEquals(4, manager.findSmallestFreeRoom(3, nine, nine.plusMinutes(15)));
+        manager.cancelBooking(late.getBookingId());
+        assertEquals(2, manager.findSmallestFreeRoom(3, nine, nine.plusMinutes(15)));
+    }
+
+    public void testRoomsWithASeriesAreCheckedExactly() {
+        // room 3 is the only 6-seat room; its standup runs 9:00-9:30 every fifth day
+        BookingSeries standup = new BookingSeries(3, USER, RecurrenceRule.daily(nine, 30, 5), 2);
+        manager.bookSeries(standup);
+
+        assertEquals(1, manager.findSmallestFreeRoom(5, nine, nine.plusMinutes(30)));
+        assertEquals(3, manager.findSmallestFreeRoom(5, nine.plusMinutes(30), nine.plusHours(1)));
+        assertEquals(3, manager.findSmallestFreeRoom(5, nine.plusDays(1), nine.plusDays(1).plusMinutes(30)));
+        assertEquals(1, manager.findSmallestFreeRoom(5, nine.plusDays(5), nine.plusDays(5).plusMinutes(30)));
+        manager.cancelSeries(standup.getSeriesId());
+        assertEquals(3, manager.findSmallestFreeRoom(5, nine, nine.plusMinutes(30)));
+    }
+
+    public void testBookingsFollowTheirRoomWhenCapacitiesChange() {
+        manager.bookRoom(new Booking(1, USER, nine, 60, 2));
+        // room 1 moves from the 10-seat bucket to the front of the layout
+        config.setRoomCapacity(1, 3);
+        assertEquals(2, manager.findSmallestFreeRoom(3, nine, nine.plusHours(1)));
+        assertEquals(1, manager.findSmallestFreeRoom(3, nine.plusHours(1), nine.plusHours(2)));
+    }
+
+    public void testConcurrentBookingsInDifferentStripesKeepTheIndexExact() throws Exception {
+        // 130 four-seat rooms span three 64-room stripes; each thread books and cancels its own rooms
+        int[] capacities = new int[130];
+        Arrays.fill(capacities, 4);
+        config.reload(capacities);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int lane = t;
+            threads[t] = new Thread(() -> {
+                for (int round = 0; round < 50; round++) {
+                    for (int roomId = 1 + lane; roomId <= capacities.length; roomId += threads.length) {
+                        Booking booking = new Booking(roomId, USER, nine, 30, 2);
+                        manager.bookRoom(booking);
+                        manager.cancelBooking(booking.getBookingId());
+                    }
+                }
+                // leave every room booked except room 129
+                for (int roomId = 1 + lane; roomId <= capacities.length; roomId += threads.length) {
+                    if (roomId != 129) manager.bookRoom(new Booking(roomId, USER, nine, 30, 2));
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) thread.join();
+
+        assertEquals(129, manager.findSmallestFreeRoom(4, nine, nine.plusMinutes(30)));
+        assertEquals(1, manager.findSmallestFreeRoom(4, nine.plusMinutes(30), nine.plusHours(1)));
+    }
+}
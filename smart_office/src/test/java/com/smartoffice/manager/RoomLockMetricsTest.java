@@ -0,0 +1,74 @@
+package com.smartoffice.manager;
+
+import com.smartoffice.config.OfficeConfiguration;
+import com.smartoffice.model.Booking;
+import com.smartoffice.model.User;
+import junit.framework.TestCase;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class RoomLockMetricsTest extends TestCase {
+    private static final User USER = new User("u@example.com", "User");
+
+    private BookingManager manager;
+
+    @Override
+    protected void setUp() {
+        OfficeConfiguration.getInstance(4, 10).reload(10, 10, 10, 10);
+        manager = new BookingManager(Duration.ofMinutes(5), 1);
+    }
+
+    @Override
+    protected void tearDown() {
+        manager.shutdownNow();
+    }
+
+    public void testUncontendedLockIsNotTimed() {
+        long before = lockWaits();
+        manager.bookRoom(new Booking(1, USER, LocalDateTime.now().plusDays(1), 30, 2));
+        assertEquals(before, lockWaits());
+    }
+
+    public void testContendedBookingCountsOneLockWait() throws Exception {
+        ReentrantLock lock = manager.getLockForRoom(2);
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            lock.lock();
+            try {
+                held.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+        });
+        holder.start();
+        held.await();
+
+        long before = lockWaits();
+        Thread booker = new Thread(() -> manager.bookRoom(new Booking(2, USER, LocalDateTime.now().plusDays(1), 30, 2)));
+        booker.start();
+        // let the booking spin up against the held lock for a while before it is released
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!lock.hasQueuedThread(booker)) {
+            if (System.nanoTime() > deadline) fail("booking never waited for the room lock");
+            Thread.sleep(1);
+        }
+        Thread.sleep(50);
+        release.countDown();
+        holder.join();
+        booker.join();
+
+        assertEquals(before + 1, lockWaits());
+        assertEquals(1, manager.getBookingsForRoom(2).size());
+    }
+
+    private long lockWaits() {
+        return manager.getMetrics().snapshot().get("booking.lockWait.count").longValue();
+    }
+}
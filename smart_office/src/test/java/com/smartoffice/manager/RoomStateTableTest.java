@@ -0,0 +1,33 @@
+package com.smartoffice.manager;
+
+import junit.framework.TestCase;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+public class RoomStateTableTest extends TestCase {
+
+    public void testRoomsAreIndependent() {
+        RoomStateTable table = new RoomStateTable(10);
+        table.setOccupancy(3, 4);
+        table.setOccupancy(4, 1);
+        assertEquals(4, table.getOccupancy(3));
+        assertEquals(1, table.getOccupancy(4));
+        assertNotSame(table.lock(3), table.lock(4));
+        assertNull(table.bookingsIfPresent(3));
+        assertSame(table.bookings(3), table.bookingsIfPresent(3));
+    }
+
+    public void testGrowingKeepsExistingState() {
+        RoomStateTable table = new RoomStateTable(10);
+        ReentrantLock lock = table.lock(7);
+        table.setOccupancy(7, 2);
+
+        int far = RoomStateTable.CHUNK_SIZE * 3 + 5;
+        table.setOccupancy(far, 6);
+
+        assertTrue(table.capacity() >= far);
+        assertEquals(6, table.getOccupancy(far));
+        assertEquals(2, table.getOccupancy(7));
+        assertSame(lock, table.lock(7));
+    }
+}
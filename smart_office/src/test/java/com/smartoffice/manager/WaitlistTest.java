@@ -0,0 +1,134 @@
+package com.smartoffice.manager;
+
+import com.smartoffice.config.OfficeConfiguration;
+import com.smartoffice.model.Booking;
+import com.smartoffice.model.BookingSeries;
+import com.smartoffice.model.RecurrenceRule;
+import com.smartoffice.model.User;
+import com.smartoffice.model.WaitlistEntry;
+import junit.framework.TestCase;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class WaitlistTest extends TestCase {
+    private static final User ALICE = new User("alice@example.com", "Alice");
+    private static final User BOB = new User("bob@example.com", "Bob");
+    private static final User CAROL = new User("carol@example.com", "Carol");
+
+    private BookingManager manager;
+    private LocalDateTime ten;
+
+    @Override
+    protected void setUp() {
+        OfficeConfiguration.getInstance(4, 10).reload(10, 10, 10, 10);
+        manager = new BookingManager(Duration.ofMinutes(5), 1);
+        ten = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @Override
+    protected void tearDown() {
+        manager.shutdownNow();
+    }
+
+    public void testCancellationAdmitsHighestPriorityCompatibleRequest() throws InterruptedException {
+        Booking held = new Booking(1, ALICE, ten, 60);
+        manager.bookRoom(held);
+        manager.bookRoom(new Booking(1, ALICE, ten.plusMinutes(60), 60));
+
+        WaitlistEntry tooLong = new WaitlistEntry(1, CAROL, ten, 90, 2, 9);
+        WaitlistEntry low = new WaitlistEntry(1, BOB, ten, 60, 2, 0);
+        WaitlistEntry high = new WaitlistEntry(1, CAROL, ten.plusMinutes(30), 30, 2, 5);
+        assertFalse(manager.joinWaitlist(tooLong).isPresent());
+        assertFalse(manager.joinWaitlist(low).isPresent());
+        assertFalse(manager.joinWaitlist(high).isPresent());
+
+        CountDownLatch notified = new CountDownLatch(2);
+        manager.addWaitlistListener((entry, booking) -> notified.countDown());
+
+        manager.cancelBooking(held.getBookingId());
+
+        // `tooLong` still overlaps 11:00; `high` takes 10:30, then `low` no longer fits
+        List<Booking> bookings = manager.getBookingsForRoom(1, ten, ten.plusHours(1));
+        assertEquals(1, bookings.size());
+        assertEquals(CAROL, bookings.get(0).getOwner());
+        assertEquals(ten.plusMinutes(30), bookings.get(0).getStart());
+        assertEquals(List.of(tooLong, low), manager.getWaitlist(1));
+        assertFalse(notified.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(1, notified.getCount());
+    }
+
+    public void testFreeSlotIsBookedImmediately() {
+        Optional<Booking> booking = manager.joinWaitlist(new WaitlistEntry(2, BOB, ten, 30, 1, 0));
+        assertTrue(booking.isPresent());
+        assertEquals(1, manager.getBookingsForRoom(2).size());
+        assertTrue(manager.getWaitlist(2).isEmpty());
+    }
+
+    public void testLeaveWaitlist() {
+        manager.bookRoom(new Booking(3, ALICE, ten, 60));
+        WaitlistEntry entry = new WaitlistEntry(3, BOB, ten, 60, 1, 0);
+        manager.joinWaitlist(entry);
+        assertTrue(manager.leaveWaitlist(entry.getEntryId()));
+        assertFalse(manager.leaveWaitlist(entry.getEntryId()));
+        assertTrue(manager.getWaitlist(3).isEmpty());
+    }
+
+    public void testSeriesCancellationAdmitsWaitersForItsOccurrences() throws InterruptedException {
+        BookingSeries daily = new BookingSeries(4, ALICE, RecurrenceRule.daily(ten, 60, 1), 4);
+        manager.bookSeries(daily);
+        // waiting for the second and fifth occurrences
+        WaitlistEntry second = new WaitlistEntry(4, BOB, ten.plusDays(1), 60, 2, 0);
+        WaitlistEntry fifth = new WaitlistEntry(4, CAROL, ten.plusDays(4).plusMinutes(30), 30, 2, 0);
+        assertFalse(manager.joinWaitlist(second).isPresent());
+        assertFalse(manager.joinWaitlist(fifth).isPresent());
+
+        CountDownLatch notified = new CountDownLatch(2);
+        manager.addWaitlistListener((entry, booking) -> notified.countDown());
+
+        assertTrue(manager.cancelSeries(daily.getSeriesId()));
+
+        assertTrue(notified.await(2, TimeUnit.SECONDS));
+        assertTrue(manager.getWaitlist(4).isEmpty());
+        List<Booking> bookings = manager.getBookingsForRoom(4);
+        assertEquals(2, bookings.size());
+        assertEquals(BOB, bookings.get(0).getOwner());
+        assertEquals(ten.plusDays(1), bookings.get(0).getStart());
+        assertEquals(CAROL, bookings.get(1).getOwner());
+    }
+
+    public void testExpiredRequestsArePurgedWithoutASlotBeingFreed() throws InterruptedException {
+        manager.bookRoom(new Booking(3, ALICE, ten, 60));
+        WaitlistEntry passed = new WaitlistEntry(3, BOB, ten, 60, 1, 0);
+        WaitlistEntry later = new WaitlistEntry(3, CAROL, ten.plusMinutes(30), 30, 1, 0);
+        manager.joinWaitlist(passed);
+        manager.joinWaitlist(later);
+
+        List<String> reasons = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch removed = new CountDownLatch(1);
+        manager.addWaitlistListener(new WaitlistListener() {
+            @Override
+            public void onAdmitted(WaitlistEntry entry, Booking booking) {
+            }
+
+            @Override
+            public void onRemoved(WaitlistEntry entry, String reason) {
+                reasons.add(entry.getEntryId() + ": " + reason);
+                removed.countDown();
+            }
+        });
+
+        // as the scheduled purge would see it two minutes after ten
+        assertEquals(1, manager.purgeExpiredWaitlist(ten.plusMinutes(2)));
+        assertEquals(List.of(later), manager.getWaitlist(3));
+        assertFalse(manager.leaveWaitlist(passed.getEntryId()));
+        assertTrue(removed.await(2, TimeUnit.SECONDS));
+        assertEquals(List.of(passed.getEntryId() + ": slot has passed"), reasons);
+    }
+}
@@ -0,0 +1,72 @@
+package com.smartoffice.model;
+
+import junit.framework.TestCase;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+public class RecurrenceRuleTest extends TestCase {
+    // a Monday
+    private static final LocalDateTime MONDAY_9 = LocalDateTime.of(2030, 1, 7, 9, 0);
+
+    public void testWeeklyOccurrencesInWindow() {
+        RecurrenceRule rule = RecurrenceRule.weekly(MONDAY_9, 30, 1, DayOfWeek.MONDAY, DayOfWeek.THURSDAY)
+                .except(LocalDate.of(2030, 1, 10));
+        List<LocalDateTime> starts = rule.occurrences(MONDAY_9, MONDAY_9.plusWeeks(2));
+        assertEquals(List.of(MONDAY_9, MONDAY_9.plusWeeks(1), MONDAY_9.plusWeeks(1).plusDays(3)), starts);
+        assertFalse(rule.occursOn(LocalDate.of(2030, 1, 10)));
+        assertEquals(MONDAY_9.plusDays(7), rule.nextOccurrenceAfter(MONDAY_9));
+    }
+
+    public void testParseAndUntil() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY;INTERVAL=2;UNTIL=2030-01-11", MONDAY_9, 60);
+        assertEquals(3, rule.occurrences(MONDAY_9.minusDays(1), MONDAY_9.plusYears(1)).size());
+        assertNull(rule.nextOccurrenceAfter(MONDAY_9.plusDays(4)));
+    }
+
+    public void testOccurrenceStartedBeforeWindowOverlapsIt() {
+        RecurrenceRule lateNight = RecurrenceRule.daily(MONDAY_9.withHour(23), 120, 1);
+        assertEquals(List.of(MONDAY_9.withHour(23)),
+                lateNight.occurrences(MONDAY_9.plusDays(1).withHour(0), MONDAY_9.plusDays(1).withHour(0).plusMinutes(30)));
+    }
+
+    public void testSeriesConflictMatchesExpansion() {
+        Random random = new Random(11);
+        LocalDateTime windowEnd = MONDAY_9.plusYears(2);
+        for (int i = 0; i < 2000; i++) {
+            RecurrenceRule a = randomRule(random);
+            RecurrenceRule b = randomRule(random);
+            boolean expected = false;
+            for (LocalDateTime start : a.occurrences(MONDAY_9.minusDays(7), windowEnd)) {
+                if (b.overlaps(start, start.plusMinutes(a.getDurationMinutes()))) {
+                    expected = true;
+                    break;
+                }
+            }
+            assertEquals(a + " vs " + b, expected, a.conflictsWith(b));
+            assertEquals(a + " vs " + b, expected, b.conflictsWith(a));
+        }
+    }
+
+    private static RecurrenceRule randomRule(Random random) {
+        LocalDateTime start = MONDAY_9.plusDays(random.nextInt(21)).withHour(random.nextInt(24)).withMinute(15 * random.nextInt(4));
+        int duration = 15 + 15 * random.nextInt(random.nextInt(10) == 0 ? 120 : 8);
+        RecurrenceRule rule;
+        if (random.nextBoolean()) {
+            rule = RecurrenceRule.daily(start, duration, 1 + random.nextInt(10));
+        } else {
+            DayOfWeek[] days = new DayOfWeek[1 + random.nextInt(3)];
+            for (int d = 0; d < days.length; d++) days[d] = DayOfWeek.of(1 + random.nextInt(7));
+            rule = RecurrenceRule.weekly(start, duration, 1 + random.nextInt(4), days);
+        }
+        // bounded rules so the brute-force expansion covers every occurrence
+        rule = rule.until(start.toLocalDate().plusDays(30 + random.nextInt(300)));
+        for (int e = random.nextInt(4); e > 0; e--) {
+            rule = rule.except(start.toLocalDate().plusDays(random.nextInt(40)));
+        }
+        return rule;
+    }
+}
@@ -0,0 +1,95 @@
+package com.smartoffice.observer;
+
+import com.smartoffice.config.OfficeConfiguration;
+import junit.framework.TestCase;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DeviceControllerTest extends TestCase {
+    private static final long SECOND = 1_000_000_000L;
+
+    private final List<String> commands = new ArrayList<>();
+
+    private DeviceController controller(Duration dwell) {
+        DeviceController controller = new DeviceController(4, new DeviceController.Settings(3, 1, dwell, dwell));
+        controller.addActuator(batch -> {
+            for (int i = 0; i < batch.size(); i++) {
+                commands.add(batch.roomId(i) + (batch.isOn(i) ? ":ON" : ":OFF"));
+            }
+        });
+        return controller;
+    }
+
+    public void testHysteresisIgnoresCountsInsideTheBand() {
+        DeviceController controller = controller(Duration.ZERO);
+        controller.update(1, 3);
+        assertEquals(1, controller.tick(0));
+        controller.update(1, 2);
+        assertEquals(0, controller.tick(SECOND));
+        assertTrue(controller.isOn(1));
+        controller.update(1, 1);
+        assertEquals(1, controller.tick(2 * SECOND));
+        assertEquals(List.of("1:ON", "1:OFF"), commands);
+    }
+
+    public void testDwellHoldsBackAndRetriesChange() {
+        DeviceController controller = controller(Duration.ofSeconds(10));
+        controller.update(2, 5);
+        controller.tick(0);
+        controller.update(2, 0);
+        assertEquals(0, controller.tick(5 * SECOND));
+        assertTrue(controller.isOn(2));
+        assertEquals(1, controller.tick(10 * SECOND));
+        assertFalse(controller.isOn(2));
+    }
+
+    public void testChangesAreBatchedAcrossRooms() {
+        DeviceController controller = controller(Duration.ZERO);
+        int[] batches = {0};
+        controller.addActuator(batch -> batches[0]++);
+        for (int room = 1; room <= 4; room++) controller.update(room, 4);
+        assertEquals(4, controller.tick(0));
+        assertEquals(1, batches[0]);
+        // unchanged readings issue nothing
+        for (int room = 1; room <= 4; room++) controller.update(room, 4);
+        assertEquals(0, controller.tick(SECOND));
+        assertEquals(1, batches[0]);
+    }
+
+    public void testFollowsConfigurationWhenRoomsAreAddedAndRemoved() {
+        OfficeConfiguration config = OfficeConfiguration.getInstance(4, 10);
+        config.reload(10, 10, 10, 10);
+        DeviceController controller = new DeviceController(config, new DeviceController.Settings(3, 1, Duration.ZERO, Duration.ZERO));
+        controller.addActuator(batch -> {
+            for (int i = 0; i < batch.size(); i++) {
+                commands.add(batch.roomId(i) + (batch.isOn(i) ? ":ON" : ":OFF"));
+            }
+        });
+        try {
+            // rooms past the first segment of counts, added after the controller was built
+            config.setTotalRooms(100);
+            controller.update(100, 5);
+            assertEquals(1, controller.tick(0));
+            assertTrue(controller.isOn(100));
+
+            // a removed room takes no more readings and is switched off
+            config.setTotalRooms(4);
+            controller.update(100, 5);
+            assertEquals(1, controller.tick(SECOND));
+            assertEquals(List.of("100:ON", "100:OFF"), commands);
+        } finally {
+            controller.shutdown();
+        }
+        config.setTotalRooms(8);
+        controller.update(8, 5);
+        assertEquals("stopped controller no longer follows the configuration", 0, controller.tick(2 * SECOND));
+    }
+
+    public void testOutOfRangeRoomIsIgnored() {
+        DeviceController controller = controller(Duration.ZERO);
+        controller.update(99, 10);
+        assertEquals(0, controller.tick(0));
+    }
+}
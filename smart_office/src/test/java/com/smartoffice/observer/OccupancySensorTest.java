@@ -0,0 +1,127 @@
+package com.smartoffice.observer;
+
+import com.smartoffice.config.OfficeConfiguration;
+import com.smartoffice.manager.BookingManager;
+import junit.framework.TestCase;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class OccupancySensorTest extends TestCase {
+
+    private BookingManager manager;
+    private OccupancySensor sensor;
+
+    @Override
+    protected void setUp() {
+        OfficeConfiguration.getInstance(2, 10).reload(10, 10);
+        manager = new BookingManager(Duration.ofMinutes(5), 1);
+        sensor = new OccupancySensor(manager);
+    }
+
+    @Override
+    protected void tearDown() {
+        manager.shutdownNow();
+    }
+
+    public void testObserversCanBeAddedAndRemovedWhileReadingsAreDelivered() throws Exception {
+        int readings = 20_000;
+        CountingObserver steady = new CountingObserver();
+        sensor.registerObserver(steady);
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch started = new CountDownLatch(1);
+        Thread feeder = new Thread(() -> {
+            try {
+                started.countDown();
+                for (int i = 1; i <= readings; i++) sensor.setOccupancy(1 + i % 2, i % 10);
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        feeder.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        List<CountingObserver> transients = new ArrayList<>();
+        while (feeder.isAlive()) {
+            CountingObserver observer = new CountingObserver();
+            transients.add(observer);
+            sensor.registerObserver(observer);
+            Thread.yield();
+            sensor.removeObserver(observer);
+        }
+        feeder.join();
+
+        assertNull(failure.get());
+        // the observer registered before the feeder started saw every reading
+        assertEquals(readings, steady.calls.get());
+        assertEquals(readings % 10, steady.lastCount);
+        assertEquals(1, sensor.getObserverCount());
+
+        // a removed observer gets no further readings
+        int[] before = transients.stream().mapToInt(o -> o.calls.get()).toArray();
+        sensor.setOccupancy(1, 3);
+        for (int i = 0; i < before.length; i++) assertEquals(before[i], transients.get(i).calls.get());
+        assertEquals(readings + 1, steady.calls.get());
+    }
+
+    public void testObserverTimingsAreRecordedPerObserverInRegistrationOrder() {
+        sensor.registerObserver(new SlowObserver());
+        sensor.registerObserver(new CountingObserver());
+        for (int i = 0; i < 5; i++) sensor.setOccupancy(1, i);
+
+        List<OccupancySensor.ObserverTiming> timings = sensor.getObserverTimings();
+        assertEquals(2, timings.size());
+
+        OccupancySensor.ObserverTiming slow = timings.get(0);
+        assertEquals("SlowObserver", slow.observer());
+        assertEquals(5, slow.calls());
+        assertTrue(slow.avgMicros() >= SlowObserver.SLEEP_MILLIS * 1_000);
+        assertTrue(slow.maxMicros() >= slow.avgMicros());
+
+        OccupancySensor.ObserverTiming fast = timings.get(1);
+        assertEquals("CountingObserver", fast.observer());
+        assertEquals(5, fast.calls());
+        assertTrue(fast.avgMicros() < slow.avgMicros());
+    }
+
+    public void testRemovedObserverDropsItsTimings() {
+        CountingObserver observer = new CountingObserver();
+        sensor.registerObserver(observer);
+        sensor.setOccupancy(1, 2);
+        sensor.removeObserver(observer);
+
+        assertTrue(sensor.getObserverTimings().isEmpty());
+        sensor.registerObserver(observer);
+        assertEquals(0, sensor.getObserverTimings().get(0).calls());
+    }
+
+    private static final class CountingObserver implements Observer {
+        final AtomicInteger calls = new AtomicInteger();
+        volatile int lastCount = -1;
+
+        @Override
+        public void update(int roomId, int occupancyCount) {
+            calls.incrementAndGet();
+            lastCount = occupancyCount;
+        }
+    }
+
+    private static final class SlowObserver implements Observer {
+        static final long SLEEP_MILLIS = 2;
+
+        @Override
+        public void update(int roomId, int occupancyCount) {
+            try {
+                Thread.sleep(SLEEP_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.smartoffice.observer;
+
+import com.smartoffice.config.OfficeConfiguration;
+import com.smartoffice.exception.InvalidRoomException;
+import com.smartoffice.manager.BookingManager;
+import junit.framework.TestCase;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class SensorIngestPipelineTest extends TestCase {
+    // long enough that only the test's own flush() calls move readings
+    private static final Duration WINDOW = Duration.ofHours(1);
+
+    private OfficeConfiguration config;
+    private BookingManager manager;
+    private RecordingObserver observer;
+    private SensorIngestPipeline pipeline;
+
+    @Override
+    protected void setUp() {
+        config = OfficeConfiguration.getInstance(4, 10);
+        config.reload(10, 10, 10, 10);
+        manager = new BookingManager(Duration.ofMinutes(5), 1);
+        OccupancySensor sensor = new OccupancySensor(manager);
+        observer = new RecordingObserver();
+        sensor.registerObserver(observer);
+        pipeline = new SensorIngestPipeline(sensor, config, WINDOW, 2);
+    }
+
+    @Override
+    protected void tearDown() {
+        pipeline.shutdown();
+        manager.shutdownNow();
+    }
+
+    public void testReadingsWithinAWindowCoalesceToTheLatest() throws Exception {
+        for (int count = 1; count <= 5; count++) pipeline.submit(1, count);
+        pipeline.flush();
+        awaitHandled(1);
+
+        assertEquals(List.of(5), observer.readings(1));
+        assertEquals(5, manager.getOccupancy(1));
+        SensorIngestPipeline.Stats stats = pipeline.getStats();
+        assertEquals(5, stats.ingested());
+        assertEquals(4, stats.coalesced());
+        assertEquals(1, stats.delivered());
+    }
+
+    public void testUnchangedReadingIsDropped() throws Exception {
+        pipeline.submit(2, 3);
+        pipeline.flush();
+        awaitHandled(1);
+        pipeline.submit(2, 3);
+        pipeline.flush();
+        awaitHandled(2);
+        pipeline.submit(2, 4);
+        pipeline.flush();
+        awaitHandled(3);
+
+        assertEquals(List.of(3, 4), observer.readings(2));
+        assertEquals(1, pipeline.getStats().unchanged());
+    }
+
+    public void testReadingsForOneRoomArriveInSubmissionOrder() throws Exception {
+        int rounds = 200;
+        for (int k = 1; k <= rounds; k++) {
+            for (int room = 1; room <= 4; room++) pipeline.submit(room, k);
+            pipeline.flush();
+        }
+        awaitHandled(4L * rounds);
+
+        List<Integer> expected = new ArrayList<>();
+        for (int k = 1; k <= rounds; k++) expected.add(k);
+        for (int room = 1; room <= 4; room++) assertEquals(expected, observer.readings(room));
+    }
+
+    public void testObserversGetOneCallPerWorkerBatch() throws Exception {
+        for (int room = 1; room <= 4; room++) pipeline.submit(room, 5);
+        pipeline.flush();
+        awaitHandled(4);
+
+        // rooms 2 and 4 go to worker 0, rooms 1 and 3 to worker 1
+        assertEquals(2, observer.batchCalls.size());
+        for (int size : observer.batchCalls) assertEquals(2, size);
+        assertEquals(2, pipeline.getStats().batches());
+    }
+
+    public void testRoomsAddedLaterAreAcceptedAndRejectedReadingsAreRetried() throws Exception {
+        try {
+            pipeline.submit(200, 1);
+            fail("expected InvalidRoomException");
+        } catch (InvalidRoomException expected) {
+            // room 200 doesn't exist yet
+        }
+
+        // room 200 lives in a segment that did not exist when the pipeline was built
+        config.setTotalRooms(200);
+        pipeline.submit(200, 3);
+        pipeline.flush();
+        awaitHandled(1);
+        assertEquals(List.of(3), observer.readings(200));
+
+        // the room goes away while its reading is pending: BookingManager refuses it
+        pipeline.submit(200, 6);
+        config.setTotalRooms(4);
+        pipeline.flush();
+        awaitHandled(2);
+        assertEquals(1, pipeline.getStats().rejected());
+        assertEquals(List.of(3), observer.readings(200));
+
+        // once the room is back, the same reading is delivered rather than dropped as unchanged
+        config.setTotalRooms(200);
+        pipeline.submit(200, 6);
+        pipeline.flush();
+        awaitHandled(3);
+        assertEquals(List.of(3, 6), observer.readings(200));
+        assertEquals(6, manager.getOccupancy(200));
+    }
+
+    // wait until the workers have delivered, dropped or rejected this many readings in total
+    private void awaitHandled(long readings) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (handled() < readings) {
+            if (System.nanoTime() > deadline) fail(STR."only \{handled()} of \{readings} readings handled");
+            Thread.sleep(1);
+        }
+    }
+
+    private long handled() {
+        SensorIngestPipeline.Stats stats = pipeline.getStats();
+        return stats.delivered() + stats.unchanged() + stats.rejected();
+    }
+
+    private static final class RecordingObserver implements Observer {
+        final Map<Integer, List<Integer>> byRoom = new ConcurrentHashMap<>();
+        final List<Integer> batchCalls = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void update(int roomId, int occupancyCount) {
+            byRoom.computeIfAbsent(roomId, id -> new CopyOnWriteArrayList<>()).add(occupancyCount);
+        }
+
+        @Override
+        public void updateAll(int[] roomIds, int[] counts, int size) {
+            batchCalls.add(size);
+            Observer.super.updateAll(roomIds, counts, size);
+        }
+
+        List<Integer> readings(int roomId) {
+            return byRoom.getOrDefault(roomId, List.of());
+        }
+    }
+}
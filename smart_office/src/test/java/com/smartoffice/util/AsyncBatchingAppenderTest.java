@@ -0,0 +1,158 @@
+package com.smartoffice.util;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.encoder.EncoderBase;
+import junit.framework.TestCase;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncBatchingAppenderTest extends TestCase {
+
+    private LoggerContext context;
+    private RecordingEncoder encoder;
+    private AsyncBatchingAppender appender;
+    private PrintStream stdout;
+    private ByteArrayOutputStream captured;
+
+    @Override
+    protected void setUp() {
+        context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        encoder = new RecordingEncoder();
+        encoder.setContext(context);
+        encoder.start();
+        appender = new AsyncBatchingAppender();
+        appender.setContext(context);
+        appender.setName("test");
+        appender.setEncoder(encoder);
+        stdout = System.out;
+        captured = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(captured, true, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    protected void tearDown() {
+        encoder.release.countDown();
+        appender.stop();
+        System.setOut(stdout);
+    }
+
+    public void testStopWritesEverythingStillQueued() {
+        appender.start();
+        for (int i = 0; i < 1000; i++) appender.doAppend(event(Level.INFO, "line {}", i));
+        appender.stop();
+
+        assertEquals(1000, encoder.messages.size());
+        for (int i = 0; i < 1000; i++) assertEquals("line " + i, encoder.messages.get(i));
+        assertEquals(0, appender.getDroppedCount());
+    }
+
+    public void testInfoIsDroppedWhenQueueIsFullButWarnIsNot() throws Exception {
+        appender.setQueueSize(1);
+        appender.setMaxBatch(1);
+        encoder.blockFirst = true;
+        appender.start();
+
+        appender.doAppend(event(Level.INFO, "first"));
+        // the writer holds "first" and is blocked encoding it
+        assertTrue(encoder.entered.await(5, TimeUnit.SECONDS));
+        appender.doAppend(event(Level.INFO, "queued"));
+        appender.doAppend(event(Level.INFO, "dropped"));
+        appender.doAppend(event(Level.DEBUG, "dropped too"));
+        assertEquals(2, appender.getDroppedCount());
+
+        Thread warn = new Thread(() -> appender.doAppend(event(Level.WARN, "warning")));
+        warn.start();
+        warn.join(200);
+        // WARN waits for room instead of being dropped
+        assertTrue(warn.isAlive());
+
+        encoder.release.countDown();
+        warn.join(5000);
+        assertFalse(warn.isAlive());
+        appender.stop();
+
+        assertEquals(List.of("first", "queued", "warning"), encoder.messages);
+        assertEquals(2, appender.getDroppedCount());
+        assertTrue(captured.toString(StandardCharsets.UTF_8).contains("2 log events below WARN dropped"));
+    }
+
+    public void testMessageShowsArgumentsAsTheyWereAtTheCall() throws Exception {
+        encoder.blockFirst = true;
+        appender.start();
+        appender.doAppend(event(Level.INFO, "first"));
+        assertTrue(encoder.entered.await(5, TimeUnit.SECONDS));
+
+        StringBuilder mutable = new StringBuilder("before");
+        appender.doAppend(event(Level.INFO, "value {}", mutable));
+        mutable.setLength(0);
+        mutable.append("after");
+        encoder.release.countDown();
+        appender.stop();
+
+        assertEquals(List.of("first", "value before"), encoder.messages);
+    }
+
+    public void testMessageIsFormattedOnTheWriterThread() {
+        appender.start();
+        Object argument = new Object() {
+            @Override
+            public String toString() {
+                return Thread.currentThread().getName();
+            }
+        };
+        appender.doAppend(event(Level.INFO, "formatted by {}", argument));
+        appender.stop();
+
+        assertEquals(List.of("formatted by log-writer-test"), encoder.messages);
+    }
+
+    private ILoggingEvent event(Level level, String message, Object... args) {
+        return new LoggingEvent(AsyncBatchingAppenderTest.class.getName(),
+                context.getLogger("test"), level, message, null, args);
+    }
+
+    /**
+     * Records each formatted message; optionally blocks on the first event until released.
+     */
+    private static final class RecordingEncoder extends EncoderBase<ILoggingEvent> {
+        final List<String> messages = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile boolean blockFirst;
+
+        @Override
+        public byte[] encode(ILoggingEvent event) {
+            if (blockFirst && entered.getCount() > 0) {
+                entered.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            messages.add(event.getFormattedMessage());
+            return new byte[0];
+        }
+
+        @Override
+        public byte[] headerBytes() {
+            return null;
+        }
+
+        @Override
+        public byte[] footerBytes() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.smartoffice.util;
+
+import com.smartoffice.config.OfficeConfiguration;
+import com.smartoffice.exception.BookingConflictException;
+import com.smartoffice.exception.InvalidRoomException;
+import com.smartoffice.manager.BookingManager;
+import com.smartoffice.model.Booking;
+import com.smartoffice.model.User;
+import junit.framework.TestCase;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public class MetricsRegistryTest extends TestCase {
+    private static final User ALICE = new User("alice@example.com", "Alice");
+
+    private MetricsRegistry registry;
+
+    @Override
+    protected void setUp() {
+        registry = new MetricsRegistry();
+    }
+
+    @Override
+    protected void tearDown() {
+        registry.unregisterMBean();
+    }
+
+    public void testBucketBoundsRoundTrip() {
+        for (long value : new long[]{0, 1, 15, 16, 17, 31, 32, 33, 1000, 123_456_789L, LatencyHistogram.MAX_TRACKABLE_NANOS}) {
+            int index = LatencyHistogram.index(value);
+            assertTrue(value + " below its bucket", LatencyHistogram.lowerBound(index) <= value);
+            assertTrue(value + " above its bucket", LatencyHistogram.lowerBound(index + 1) > value);
+        }
+    }
+
+    public void testPercentilesWithinBucketResolution() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 100_000; nanos++) histogram.record(nanos);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(100_000, snapshot.count());
+        assertEquals(50_000.5, snapshot.meanNanos(), 1e-9);
+        assertEquals(100_000, snapshot.maxNanos());
+        assertWithin(50_000, snapshot.p50Nanos());
+        assertWithin(90_000, snapshot.p90Nanos());
+        assertWithin(99_000, snapshot.p99Nanos());
+        assertWithin(99_900, snapshot.p999Nanos());
+    }
+
+    public void testEmptyAndOutOfRangeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.snapshot().count());
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(2, snapshot.count());
+        assertEquals(LatencyHistogram.MAX_TRACKABLE_NANOS, snapshot.maxNanos());
+    }
+
+    public void testTimerCountsEveryOperationAndSamplesSome() {
+        LatencyTimer all = registry.timer("all", 1);
+        LatencyTimer sampled = registry.timer("sampled");
+        for (int i = 0; i < 8_000; i++) {
+            all.stop(all.start());
+            sampled.stop(sampled.start());
+        }
+        assertEquals(8_000, all.getCount());
+        assertEquals(8_000, all.snapshot().count());
+        assertEquals(8_000, sampled.getCount());
+        long sampleSize = sampled.snapshot().count();
+        assertTrue("sample size " + sampleSize, sampleSize > 700 && sampleSize < 1_300);
+
+        try {
+            new LatencyTimer(3);
+            fail("sampleEvery must be a power of two");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    public void testSnapshotAndDump() {
+        registry.counter("requests").add(3);
+        registry.gauge("queue", () -> 7);
+        registry.timer("op", 1).stop(registry.timer("op").start());
+
+        Map<String, Number> snapshot = registry.snapshot();
+        assertEquals(3L, snapshot.get("requests"));
+        assertEquals(7L, snapshot.get("queue"));
+        assertEquals(1L, snapshot.get("op.count"));
+        assertEquals(1L, snapshot.get("op.sampled"));
+        assertTrue(snapshot.containsKey("op.p99Nanos"));
+
+        String dump = registry.dump();
+        assertTrue(dump, dump.contains("requests 3\n"));
+        assertTrue(dump, dump.contains("queue 7\n"));
+        assertTrue(dump, dump.contains("op count=1 sampled=1"));
+    }
+
+    public void testMBeanExposesSnapshot() throws Exception {
+        registry.counter("requests").add(2);
+        ObjectName name = registry.registerMBean("metrics-test");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        assertEquals(2L, server.getAttribute(name, "requests"));
+        registry.counter("requests").increment();
+        assertEquals(3L, server.getAttribute(name, "requests"));
+        assertTrue(((String) server.invoke(name, "dump", null, null)).contains("requests 3"));
+
+        try {
+            new MetricsRegistry().registerMBean("metrics-test");
+            fail("name already taken");
+        } catch (IllegalStateException expected) {
+        }
+
+        registry.unregisterMBean();
+        assertFalse(server.isRegistered(name));
+    }
+
+    public void testBookingManagerRecordsOutcomes() {
+        OfficeConfiguration.getInstance(2, 10).reload(10, 10);
+        BookingManager manager = new BookingManager(Duration.ofMinutes(5), 1);
+        try {
+            LocalDateTime ten = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+            Booking booking = new Booking(1, ALICE, ten, 60);
+            manager.bookRoom(booking);
+            try {
+                manager.bookRoom(new Booking(1, ALICE, ten.plusMinutes(30), 60));
+                fail("overlap");
+            } catch (BookingConflictException expected) {
+            }
+            try {
+                manager.bookRoom(new Booking(9, ALICE, ten, 60));
+                fail("no room 9");
+            } catch (InvalidRoomException expected) {
+            }
+            manager.updateOccupancy(1, 3);
+            assertTrue(manager.cancelBooking(booking.getBookingId()));
+            assertFalse(manager.cancelBooking(booking.getBookingId()));
+
+            Map<String, Number> metrics = manager.getMetrics().snapshot();
+            assertEquals(3L, metrics.get("booking.book.count"));
+            assertEquals(1L, metrics.get("booking.book.conflicts"));
+            assertEquals(1L, metrics.get("booking.book.rejected"));
+            assertEquals(1L, metrics.get("booking.occupancy.count"));
+            assertEquals(2L, metrics.get("booking.cancel.count"));
+            assertEquals(1L, metrics.get("booking.cancel.missing"));
+            assertEquals(0L, metrics.get("booking.active"));
+        } finally {
+            manager.shutdownNow();
+        }
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(STR."expected ~\{expected}, got \{actual}", Math.abs(actual - expected) <= expected * 0.032);
+    }
+}